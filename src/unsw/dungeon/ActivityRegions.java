@@ -0,0 +1,317 @@
+package unsw.dungeon;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.entity.meta.Parkable;
+import unsw.dungeon.events.LocationChanged;
+import unsw.dungeon.util.emitter.EventSAM;
+
+/**
+ * Runs the move handlers of enemies and saws only near the player.
+ *
+ * Entities further than the radius from the player along either axis are
+ * parked: their handler is taken off the player's moveEvent, so they cost
+ * nothing while the player is far away. Parked entities are kept in buckets the
+ * size of the radius, so each move only the buckets around the player are
+ * checked for entities to wake, and the cost of a move depends on the
+ * neighbourhood of the player rather than the size of the dungeon.
+ *
+ * What happens to a parked entity depends on its type. Most are frozen in
+ * place. Entities that are Parkable are told how many player moves they slept
+ * through when they wake, so they can catch up.
+ *
+ * Parking and waking happen at the start of each player move and take effect
+ * from the next one. An entity parked during a move still takes that move, and
+ * an entity woken during a move catches up on it.
+ *
+ */
+public class ActivityRegions {
+
+	public static final int DEFAULT_RADIUS = FlowField.DEFAULT_RADIUS;
+
+	// Extra distance before an active entity is parked, so that entities near
+	// the edge are not parked and woken on alternate moves
+	private static final int MARGIN = 4;
+
+	private Dungeon dungeon;
+	private int radius;
+	private int turn;
+	private int added;
+
+	private HashMap<Entity, Actor> actors;
+	private ArrayList<Actor> active;
+	private HashMap<Long, ArrayList<Actor>> parked;
+	private ArrayList<Actor> waking;
+
+	/**
+	 * An entity and its move handler
+	 */
+	private static class Actor {
+		final Entity entity;
+		final EventSAM<Player, LocationChanged> handler;
+		final int order;
+		boolean isParked;
+		int parkedTurn;
+
+		// Bucket the entity was parked in. It may still take the move it was parked
+		// during, so its position can't be used to find the bucket again.
+		long bucket;
+
+		Actor(Entity entity, EventSAM<Player, LocationChanged> handler, int order) {
+			this.entity = entity;
+			this.handler = handler;
+			this.order = order;
+			this.isParked = false;
+		}
+	}
+
+	public ActivityRegions(Dungeon dungeon, int radius) {
+		this.dungeon = dungeon;
+		this.radius = radius;
+		this.turn = 0;
+		this.added = 0;
+		this.actors = new HashMap<>();
+		this.active = new ArrayList<>();
+		this.parked = new HashMap<>();
+		this.waking = new ArrayList<>();
+	}
+
+	/**
+	 * Set how far from the player entities stay awake. Takes effect from the next
+	 * player move.
+	 * 
+	 * @param radius
+	 */
+	public void setRadius(int radius) {
+		ArrayList<Actor> all = new ArrayList<>();
+		for (ArrayList<Actor> bucket : this.parked.values()) {
+			all.addAll(bucket);
+		}
+
+		// Buckets are the size of the radius, so sort the parked entities again
+		this.parked.clear();
+		this.radius = radius;
+		for (Actor actor : all) {
+			this.bucket(actor).add(actor);
+		}
+	}
+
+	/**
+	 * @return Distance from the player that entities stay awake within
+	 */
+	public int getRadius() {
+		return this.radius;
+	}
+
+	/**
+	 * @return Number of entities whose handlers are running
+	 */
+	public int getActive() {
+		return this.active.size();
+	}
+
+	/**
+	 * @return Number of entities parked
+	 */
+	public int getParked() {
+		return this.actors.size() - this.active.size();
+	}
+
+	/**
+	 * @return Number of player moves seen
+	 */
+	public int getTurn() {
+		return this.turn;
+	}
+
+	/**
+	 * Set the number of player moves seen, such as when restoring a saved game
+	 * 
+	 * @param turn
+	 */
+	public void setTurn(int turn) {
+		this.turn = turn;
+	}
+
+	/**
+	 * @param entity
+	 * @return The move handler of an entity, or null if it has none
+	 */
+	public EventSAM<Player, LocationChanged> getHandler(Entity entity) {
+		Actor actor = this.actors.get(entity);
+		return actor == null ? null : actor.handler;
+	}
+
+	/**
+	 * @param entity
+	 * @return The turn an entity was parked on, or -1 if it is awake
+	 */
+	public int getParkedTurn(Entity entity) {
+		Actor actor = this.actors.get(entity);
+		return actor == null || !actor.isParked ? -1 : actor.parkedTurn;
+	}
+
+	/**
+	 * Park an awake entity as if it was parked on a given turn, such as when
+	 * restoring a saved game
+	 * 
+	 * @param entity
+	 * @param parkedTurn
+	 */
+	public void park(Entity entity, int parkedTurn) {
+		Actor actor = this.actors.get(entity);
+		if (actor == null || actor.isParked) {
+			return;
+		}
+
+		this.active.remove(actor);
+		this.park(actor);
+		actor.parkedTurn = parkedTurn;
+	}
+
+	/**
+	 * Run an entity's handler on every player move while it is near the player.
+	 * 
+	 * The entity starts awake, as the player may not be in place yet while the
+	 * dungeon is loading, and is parked on the first move if it is far away.
+	 * 
+	 * @param entity
+	 * @param handler
+	 */
+	public void add(Entity entity, EventSAM<Player, LocationChanged> handler) {
+		Actor actor = new Actor(entity, handler, this.added++);
+		this.actors.put(entity, actor);
+		this.active.add(actor);
+		this.dungeon.getPlayer().moveEvent.register(handler);
+	}
+
+	/**
+	 * Stop running an entity's handler, such as when it dies
+	 * 
+	 * @param entity
+	 */
+	public void remove(Entity entity) {
+		Actor actor = this.actors.remove(entity);
+		if (actor == null) {
+			return;
+		}
+
+		if (actor.isParked) {
+			this.parked.get(actor.bucket).remove(actor);
+		} else {
+			this.active.remove(actor);
+			this.dungeon.getPlayer().moveEvent.unregister(actor.handler);
+		}
+	}
+
+	/**
+	 * Park the entities the player has moved away from, and wake those they have
+	 * come near
+	 * 
+	 * @param player
+	 * @param event
+	 */
+	public void playerMoved(Player player, LocationChanged event) {
+		this.turn++;
+		int px = player.getX();
+		int py = player.getY();
+
+		for (int i = this.active.size() - 1; i >= 0; i--) {
+			Actor actor = this.active.get(i);
+			if (this.distance(actor.entity, px, py) > this.radius + MARGIN) {
+				// Swap with the last active entity to remove in O(1)
+				Actor last = this.active.remove(this.active.size() - 1);
+				if (last != actor) {
+					this.active.set(i, last);
+				}
+				this.park(actor);
+			}
+		}
+
+		if (this.active.size() == this.actors.size()) {
+			return;
+		}
+
+		// One tile further, for entities that moved after they were bucketed
+		int reach = this.radius + 1;
+		int bx0 = Math.floorDiv(px - reach, this.radius);
+		int by0 = Math.floorDiv(py - reach, this.radius);
+		int bx1 = Math.floorDiv(px + reach, this.radius);
+		int by1 = Math.floorDiv(py + reach, this.radius);
+		for (int by = by0; by <= by1; by++) {
+			for (int bx = bx0; bx <= bx1; bx++) {
+				ArrayList<Actor> bucket = this.parked.get(this.key(bx, by));
+				if (bucket == null) {
+					continue;
+				}
+
+				for (int i = 0; i < bucket.size(); i++) {
+					if (this.distance(bucket.get(i).entity, px, py) <= this.radius) {
+						this.waking.add(bucket.get(i));
+					}
+				}
+			}
+		}
+
+		// Woken entities may move and affect others, so wake them after the search.
+		// They are woken in the order they were added, so that the order their
+		// handlers run in does not depend on the order they were parked in.
+		for (int i = 1; i < this.waking.size(); i++) {
+			Actor actor = this.waking.get(i);
+			int j = i - 1;
+			for (; j >= 0 && this.waking.get(j).order > actor.order; j--) {
+				this.waking.set(j + 1, this.waking.get(j));
+			}
+			this.waking.set(j + 1, actor);
+		}
+		for (int i = 0; i < this.waking.size(); i++) {
+			Actor actor = this.waking.get(i);
+			if (actor.isParked && this.actors.get(actor.entity) == actor) {
+				this.wake(actor);
+			}
+		}
+		this.waking.clear();
+	}
+
+	private void park(Actor actor) {
+		this.dungeon.getPlayer().moveEvent.unregister(actor.handler);
+		actor.isParked = true;
+		actor.parkedTurn = this.turn;
+		this.bucket(actor).add(actor);
+	}
+
+	private void wake(Actor actor) {
+		this.parked.get(actor.bucket).remove(actor);
+		actor.isParked = false;
+		this.active.add(actor);
+		this.dungeon.getPlayer().moveEvent.register(actor.handler);
+
+		if (actor.entity instanceof Parkable) {
+			((Parkable) actor.entity).catchUp(this.turn - actor.parkedTurn);
+		}
+	}
+
+	private int distance(Entity entity, int px, int py) {
+		return Math.max(Math.abs(entity.getX() - px), Math.abs(entity.getY() - py));
+	}
+
+	private long key(int bx, int by) {
+		return ((long) by << 32) | (bx & 0xffffffffL);
+	}
+
+	private ArrayList<Actor> bucket(Actor actor) {
+		int x = actor.entity.getX();
+		int y = actor.entity.getY();
+		actor.bucket = this.key(Math.floorDiv(x, this.radius), Math.floorDiv(y, this.radius));
+
+		ArrayList<Actor> bucket = this.parked.get(actor.bucket);
+		if (bucket == null) {
+			bucket = new ArrayList<>();
+			this.parked.put(actor.bucket, bucket);
+		}
+		return bucket;
+	}
+}
@@ -0,0 +1,304 @@
+package unsw.dungeon;
+
+import java.util.HashMap;
+
+import unsw.dungeon.entity.Wall;
+
+/**
+ * Walls of a very large dungeon, loaded one region at a time.
+ *
+ * The map is split into square chunks, each stored as one bit per tile. A
+ * chunk is loaded from the RegionSource the first time it is needed, and the
+ * chunks around each moving entity are loaded as it moves. Once more chunks are
+ * resident than the memory budget allows, the least recently used chunks are
+ * evicted and will be loaded again if they are needed.
+ *
+ * Chunks whose walls have been added or removed after loading cannot be
+ * reloaded from the source, so they are never evicted.
+ *
+ */
+class ChunkedWalls implements WallStore {
+
+	private static final int CHUNK_SHIFT = 6;
+	private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+	// Approximate retained size of a resident chunk: its rows and headers
+	static final long CHUNK_BYTES = CHUNK_SIZE * 8 + 80;
+
+	private Dungeon dungeon;
+	private RegionSource source;
+	private int width, height, chunksWide, chunksHigh;
+
+	private Chunk[] chunks;
+	private Chunk newest, oldest;
+	private int resident, maxResident;
+
+	private static class Chunk {
+		private int index;
+		private long[] rows;
+		private HashMap<Integer, Wall> materialised;
+		private boolean pinned;
+		private Chunk newer, older;
+	}
+
+	/**
+	 * @param dungeon
+	 * @param width
+	 * @param height
+	 * @param source
+	 * @param memoryBudget - bytes of wall data to keep resident
+	 */
+	public ChunkedWalls(Dungeon dungeon, int width, int height, RegionSource source, long memoryBudget) {
+		this.dungeon = dungeon;
+		this.source = source;
+		this.width = width;
+		this.height = height;
+		this.chunksWide = (width + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+		this.chunksHigh = (height + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+		this.chunks = new Chunk[this.chunksWide * this.chunksHigh];
+		this.resident = 0;
+		this.maxResident = (int) Math.max(1, Math.min(Integer.MAX_VALUE, memoryBudget / CHUNK_BYTES));
+	}
+
+	/**
+	 * Walls for a fork of the dungeon, loaded from the same source with the same
+	 * budget. Chunks whose walls have changed can't be loaded again, so they are
+	 * copied. The source is then used by both, which may be on different
+	 * threads.
+	 *
+	 * @param dungeon - the fork
+	 * @return The fork's walls
+	 */
+	ChunkedWalls fork(Dungeon dungeon) {
+		ChunkedWalls walls = new ChunkedWalls(dungeon, this.width, this.height, this.source, 0);
+		walls.maxResident = this.maxResident;
+
+		for (Chunk chunk = this.oldest; chunk != null; chunk = chunk.newer) {
+			if (chunk.pinned) {
+				Chunk copy = new Chunk();
+				copy.index = chunk.index;
+				copy.rows = chunk.rows.clone();
+				copy.pinned = true;
+
+				walls.chunks[copy.index] = copy;
+				walls.resident++;
+				walls.link(copy);
+			}
+		}
+		return walls;
+	}
+
+	@Override
+	public boolean add(Wall wall) {
+		int x = wall.getX();
+		int y = wall.getY();
+		if (!this.contains(x, y) || this.has(x, y)) {
+			return false;
+		}
+
+		Chunk chunk = this.chunkAt(x, y);
+		chunk.rows[y & (CHUNK_SIZE - 1)] |= 1L << (x & (CHUNK_SIZE - 1));
+		chunk.pinned = true;
+		return true;
+	}
+
+	@Override
+	public boolean remove(Wall wall) {
+		int x = wall.getX();
+		int y = wall.getY();
+		if (!this.has(x, y)) {
+			return false;
+		}
+
+		Chunk chunk = this.chunkAt(x, y);
+		if (chunk.materialised != null) {
+			Wall existing = chunk.materialised.get(this.tile(x, y));
+			if (existing != null && existing != wall) {
+				return false;
+			}
+			chunk.materialised.remove(this.tile(x, y));
+		}
+
+		chunk.rows[y & (CHUNK_SIZE - 1)] &= ~(1L << (x & (CHUNK_SIZE - 1)));
+		chunk.pinned = true;
+		return true;
+	}
+
+	@Override
+	public boolean has(int x, int y) {
+		if (!this.contains(x, y)) {
+			return false;
+		}
+
+		long row = this.chunkAt(x, y).rows[y & (CHUNK_SIZE - 1)];
+		return (row & (1L << (x & (CHUNK_SIZE - 1)))) != 0;
+	}
+
+	/**
+	 * Get the Wall object for a tile, creating it if needed. Walls of an evicted
+	 * chunk are created again when it is reloaded.
+	 */
+	@Override
+	public Wall get(int x, int y) {
+		if (!this.has(x, y)) {
+			return null;
+		}
+
+		Chunk chunk = this.chunkAt(x, y);
+		if (chunk.materialised == null) {
+			chunk.materialised = new HashMap<Integer, Wall>();
+		}
+
+		Wall wall = chunk.materialised.get(this.tile(x, y));
+		if (wall == null) {
+			wall = new Wall(this.dungeon, x, y);
+			chunk.materialised.put(this.tile(x, y), wall);
+		}
+		return wall;
+	}
+
+	/**
+	 * Create every wall in the dungeon. This loads the whole map.
+	 */
+	@Override
+	public Wall[] unpack() {
+		this.maxResident = Integer.MAX_VALUE;
+
+		int count = 0;
+		for (int i = 0; i < this.chunks.length; i++) {
+			for (long row : this.load(i).rows) {
+				count += Long.bitCount(row);
+			}
+		}
+
+		Wall[] walls = new Wall[count];
+		int n = 0;
+		for (int y = 0; y < this.height; y++) {
+			for (int x = 0; x < this.width; x++) {
+				if (this.has(x, y)) {
+					walls[n++] = this.get(x, y);
+				}
+			}
+		}
+
+		this.chunks = new Chunk[this.chunks.length];
+		this.newest = this.oldest = null;
+		this.resident = 0;
+		return walls;
+	}
+
+	/**
+	 * Load the chunks around a moving entity
+	 */
+	@Override
+	public void touch(int x, int y) {
+		if (!this.contains(x, y)) {
+			return;
+		}
+
+		int chunkX = x >> CHUNK_SHIFT;
+		int chunkY = y >> CHUNK_SHIFT;
+		for (int cy = Math.max(0, chunkY - 1); cy <= Math.min(this.chunksHigh - 1, chunkY + 1); cy++) {
+			for (int cx = Math.max(0, chunkX - 1); cx <= Math.min(this.chunksWide - 1, chunkX + 1); cx++) {
+				this.load(cy * this.chunksWide + cx);
+			}
+		}
+
+		// The entity's own chunk is the most recently used
+		this.chunkAt(x, y);
+	}
+
+	/**
+	 * @return Number of chunks currently loaded
+	 */
+	public int getResident() {
+		return this.resident;
+	}
+
+	private Chunk chunkAt(int x, int y) {
+		return this.load((y >> CHUNK_SHIFT) * this.chunksWide + (x >> CHUNK_SHIFT));
+	}
+
+	/**
+	 * Get a chunk, loading it if needed, and mark it as the most recently used
+	 */
+	private Chunk load(int index) {
+		Chunk chunk = this.chunks[index];
+
+		if (chunk == null) {
+			chunk = new Chunk();
+			chunk.index = index;
+			chunk.rows = new long[CHUNK_SIZE];
+
+			int x = (index % this.chunksWide) << CHUNK_SHIFT;
+			int y = (index / this.chunksWide) << CHUNK_SHIFT;
+			this.source.load(new Region(x, y, CHUNK_SIZE, this.width, this.height, chunk.rows));
+
+			this.chunks[index] = chunk;
+			this.resident++;
+		} else if (chunk == this.newest) {
+			return chunk;
+		} else {
+			this.unlink(chunk);
+		}
+
+		this.link(chunk);
+		this.evict();
+		return chunk;
+	}
+
+	/**
+	 * Mark a chunk that isn't linked as the most recently used
+	 */
+	private void link(Chunk chunk) {
+		chunk.older = this.newest;
+		chunk.newer = null;
+		if (this.newest != null) {
+			this.newest.newer = chunk;
+		}
+		this.newest = chunk;
+		if (this.oldest == null) {
+			this.oldest = chunk;
+		}
+	}
+
+	/**
+	 * Drop the least recently used chunks until the budget is met
+	 */
+	private void evict() {
+		Chunk chunk = this.oldest;
+		while (this.resident > this.maxResident && chunk != null && chunk != this.newest) {
+			Chunk newer = chunk.newer;
+			if (!chunk.pinned) {
+				this.unlink(chunk);
+				this.chunks[chunk.index] = null;
+				this.resident--;
+			}
+			chunk = newer;
+		}
+	}
+
+	private void unlink(Chunk chunk) {
+		if (chunk.newer != null) {
+			chunk.newer.older = chunk.older;
+		} else {
+			this.newest = chunk.older;
+		}
+
+		if (chunk.older != null) {
+			chunk.older.newer = chunk.newer;
+		} else {
+			this.oldest = chunk.newer;
+		}
+
+		chunk.newer = chunk.older = null;
+	}
+
+	private boolean contains(int x, int y) {
+		return !(y < 0 || y >= this.height || x < 0 || x >= this.width);
+	}
+
+	private int tile(int x, int y) {
+		return ((y & (CHUNK_SIZE - 1)) << CHUNK_SHIFT) + (x & (CHUNK_SIZE - 1));
+	}
+}
@@ -0,0 +1,148 @@
+package unsw.dungeon;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+
+import unsw.dungeon.entity.Boulder;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.entity.meta.EntityLevel;
+import unsw.dungeon.events.LocationChanged;
+import unsw.dungeon.util.emitter.GenericEmitter;
+
+/**
+ * Keeps track of which boulders in a dungeon are stuck as they move, and tells
+ * its subscribers once the goal can no longer be achieved, such as to warn the
+ * player.
+ *
+ * Only the boulders around one that moved are checked again. A boulder that
+ * becomes stuck can freeze the boulders next to it, so they are checked in
+ * turn, until nothing changes.
+ *
+ */
+public class DeadlockMonitor {
+	private Dungeon dungeon;
+	private DeadlockTable table;
+	private HashSet<Boulder> stuck;
+	private int boulders;
+	private boolean lost;
+
+	// Fired once the goal can no longer be achieved
+	public final GenericEmitter lostEvent;
+
+	public DeadlockMonitor(Dungeon dungeon) {
+		this.dungeon = dungeon;
+		this.table = new DeadlockTable(dungeon);
+		this.stuck = new HashSet<>();
+		this.lostEvent = new GenericEmitter();
+
+		for (Boulder boulder : dungeon.getEntities(Boulder.class)) {
+			boulder.moveEvent.register(this::boulderMoved);
+			this.boulders++;
+			if (this.table.isStuck(dungeon, boulder)) {
+				this.stuck.add(boulder);
+			}
+		}
+		this.lost = !this.table.isWinnable(dungeon);
+	}
+
+	/**
+	 * @return Dead tiles of the dungeon
+	 */
+	public DeadlockTable getTable() {
+		return this.table;
+	}
+
+	/**
+	 * @param boulder
+	 * @return Whether the boulder can never be pushed onto a switch
+	 */
+	public boolean isStuck(Boulder boulder) {
+		return this.stuck.contains(boulder);
+	}
+
+	/**
+	 * @return Number of boulders that are stuck
+	 */
+	public int getStuck() {
+		return this.stuck.size();
+	}
+
+	/**
+	 * @return Whether the goal can no longer be achieved, because of stuck
+	 *         boulders
+	 */
+	public boolean isLost() {
+		return this.lost;
+	}
+
+	/**
+	 * Have the dead tiles found again, after a wall was added or removed
+	 */
+	void wallsChanged() {
+		this.table = new DeadlockTable(this.dungeon);
+		this.stuck.clear();
+		for (Boulder boulder : this.dungeon.getEntities(Boulder.class)) {
+			if (this.table.isStuck(this.dungeon, boulder)) {
+				this.stuck.add(boulder);
+			}
+		}
+		this.update();
+	}
+
+	private void boulderMoved(Boulder boulder, LocationChanged event) {
+		// Restoring a game can move a frozen boulder, which may free those around
+		// where it was
+		ArrayDeque<Boulder> queue = new ArrayDeque<>();
+		this.addAround(queue, event.oldX, event.oldY);
+		this.check(boulder);
+		this.addAround(queue, boulder.getX(), boulder.getY());
+
+		while (!queue.isEmpty()) {
+			Boulder next = queue.poll();
+			if (this.check(next)) {
+				this.addAround(queue, next.getX(), next.getY());
+			}
+		}
+
+		this.update();
+	}
+
+	/**
+	 * @param boulder
+	 * @return Whether the boulder became stuck or free
+	 */
+	private boolean check(Boulder boulder) {
+		if (this.table.isStuck(this.dungeon, boulder)) {
+			return this.stuck.add(boulder);
+		}
+		return this.stuck.remove(boulder);
+	}
+
+	/**
+	 * Queue the boulders next to a tile, which its boulder may freeze
+	 */
+	private void addAround(ArrayDeque<Boulder> queue, int x, int y) {
+		for (int dy = -1; dy <= 1; dy++) {
+			for (int dx = -1; dx <= 1; dx++) {
+				if (dx == 0 && dy == 0) {
+					continue;
+				}
+				Entity entity = this.dungeon.getEntityAt(EntityLevel.OBJECT, x + dx, y + dy);
+				if (entity instanceof Boulder && !queue.contains(entity)) {
+					queue.add((Boulder) entity);
+				}
+			}
+		}
+	}
+
+	private void update() {
+		boolean lost = this.dungeon.getGoal() != null && !DeadlockTable.isWinnable(this.dungeon.getGoal(),
+				this.table.canCoverSwitches(this.boulders, this.stuck.size()));
+		if (lost && !this.lost) {
+			this.lost = true;
+			this.lostEvent.emit();
+		} else {
+			this.lost = lost;
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package unsw.dungeon;
+
+import java.util.BitSet;
+
+import unsw.dungeon.entity.Boulder;
+import unsw.dungeon.entity.Switch;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.entity.meta.EntityLevel;
+import unsw.dungeon.goals.Goal;
+import unsw.dungeon.goals.GoalComposite;
+import unsw.dungeon.goals.GoalStrategyAND;
+import unsw.dungeon.goals.GoalStrategyBoulder;
+import unsw.dungeon.goals.GoalStrategyOR;
+
+/**
+ * Finds boulders that can never reach a switch.
+ *
+ * Dead tiles are found once from the walls and switches: a boulder on one can
+ * never be pushed onto any switch. They are found by pulling a boulder back
+ * from every switch, which needs the tile it is pulled to and the one behind
+ * that for the player to be free of walls. Doors and other boulders are taken
+ * to be out of the way, so a tile is only dead if it is dead whatever they do.
+ *
+ * A boulder is frozen when it is blocked both across and up and down. An axis
+ * is blocked by a wall on either side, by dead tiles on both sides, or by a
+ * frozen boulder, where the boulder being checked is taken to be a wall so
+ * that boulders frozen against each other are found.
+ *
+ * A boulder off a switch that is on a dead tile or frozen is stuck. The table
+ * only reads the dungeons it is given, so it can be shared by forks of one
+ * dungeon and between threads.
+ *
+ */
+public class DeadlockTable {
+	private int width, height;
+	private BitSet walls;
+	private BitSet switches;
+	private BitSet live;
+	private int switchCount;
+
+	/**
+	 * @param dungeon - dungeon whose walls and switches to find the dead tiles
+	 *                of
+	 */
+	public DeadlockTable(Dungeon dungeon) {
+		this.width = dungeon.getWidth();
+		this.height = dungeon.getHeight();
+		this.walls = new BitSet(this.width * this.height);
+		this.switches = new BitSet(this.width * this.height);
+		this.live = new BitSet(this.width * this.height);
+
+		for (int y = 0; y < this.height; y++) {
+			for (int x = 0; x < this.width; x++) {
+				if (dungeon.isWallAt(x, y)) {
+					this.walls.set(y * this.width + x);
+				}
+			}
+		}
+
+		int[] queue = new int[this.width * this.height];
+		int head = 0, tail = 0;
+		for (Switch sw : dungeon.getEntities(Switch.class)) {
+			int tile = sw.getY() * this.width + sw.getX();
+			this.switchCount++;
+			this.switches.set(tile);
+			if (!this.walls.get(tile) && !this.live.get(tile)) {
+				this.live.set(tile);
+				queue[tail++] = tile;
+			}
+		}
+
+		// A boulder at (x, y) can be pushed from (x + dx, y + dy), with the
+		// player behind it at (x + 2dx, y + 2dy)
+		int[] dxs = { 1, -1, 0, 0 };
+		int[] dys = { 0, 0, 1, -1 };
+		while (head < tail) {
+			int tile = queue[head++];
+			int x = tile % this.width;
+			int y = tile / this.width;
+			for (int i = 0; i < 4; i++) {
+				int fromX = x + dxs[i];
+				int fromY = y + dys[i];
+				if (this.isWall(fromX, fromY) || this.isWall(fromX + dxs[i], fromY + dys[i])) {
+					continue;
+				}
+
+				int from = fromY * this.width + fromX;
+				if (!this.live.get(from)) {
+					this.live.set(from);
+					queue[tail++] = from;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return Whether the tile is a wall or off the dungeon
+	 */
+	public boolean isWall(int x, int y) {
+		return x < 0 || y < 0 || x >= this.width || y >= this.height || this.walls.get(y * this.width + x);
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return Whether a boulder on the tile can never be pushed onto a switch
+	 */
+	public boolean isDead(int x, int y) {
+		return !this.isWall(x, y) && !this.live.get(y * this.width + x);
+	}
+
+	/**
+	 * @return Number of dead tiles
+	 */
+	public int getDeadTiles() {
+		return this.width * this.height - this.walls.cardinality() - this.live.cardinality();
+	}
+
+	private boolean isSwitch(int x, int y) {
+		return !this.isWall(x, y) && this.switches.get(y * this.width + x);
+	}
+
+	/**
+	 * @param dungeon
+	 * @param boulder
+	 * @return Whether the boulder is off a switch and can never be pushed onto
+	 *         one
+	 */
+	public boolean isStuck(Dungeon dungeon, Boulder boulder) {
+		int x = boulder.getX();
+		int y = boulder.getY();
+		if (this.isSwitch(x, y)) {
+			return false;
+		}
+		return this.isDead(x, y) || this.isFrozen(dungeon, x, y, new BitSet());
+	}
+
+	/**
+	 * @param dungeon
+	 * @param x
+	 * @param y
+	 * @return Whether a boulder on the tile can never be moved again
+	 */
+	public boolean isFrozen(Dungeon dungeon, int x, int y) {
+		return this.isFrozen(dungeon, x, y, new BitSet());
+	}
+
+	/**
+	 * @param checking - boulders being checked further up, taken to be walls
+	 */
+	private boolean isFrozen(Dungeon dungeon, int x, int y, BitSet checking) {
+		checking.set(y * this.width + x);
+		try {
+			return this.isBlocked(dungeon, x - 1, y, x + 1, y, checking)
+					&& this.isBlocked(dungeon, x, y - 1, x, y + 1, checking);
+		} finally {
+			checking.clear(y * this.width + x);
+		}
+	}
+
+	/**
+	 * Whether a boulder is blocked along the axis through two tiles either side
+	 * of it
+	 */
+	private boolean isBlocked(Dungeon dungeon, int x1, int y1, int x2, int y2, BitSet checking) {
+		if (this.isWall(x1, y1) || this.isWall(x2, y2)) {
+			return true;
+		}
+		if (this.isDead(x1, y1) && this.isDead(x2, y2)) {
+			return true;
+		}
+		return this.isFrozenBoulder(dungeon, x1, y1, checking) || this.isFrozenBoulder(dungeon, x2, y2, checking);
+	}
+
+	private boolean isFrozenBoulder(Dungeon dungeon, int x, int y, BitSet checking) {
+		if (checking.get(y * this.width + x)) {
+			return true;
+		}
+		Entity entity = dungeon.getEntityAt(EntityLevel.OBJECT, x, y);
+		return entity instanceof Boulder && this.isFrozen(dungeon, x, y, checking);
+	}
+
+	/**
+	 * @param dungeon
+	 * @return Number of boulders in the dungeon that are stuck
+	 */
+	public int countStuck(Dungeon dungeon) {
+		int stuck = 0;
+		for (Boulder boulder : dungeon.getEntities(Boulder.class)) {
+			if (this.isStuck(dungeon, boulder)) {
+				stuck++;
+			}
+		}
+		return stuck;
+	}
+
+	/**
+	 * @param boulders - number of boulders in the dungeon
+	 * @param stuck    - number of them that are stuck
+	 * @return Whether there are enough boulders left to cover every switch
+	 */
+	public boolean canCoverSwitches(int boulders, int stuck) {
+		return boulders - stuck >= this.switchCount;
+	}
+
+	/**
+	 * @param dungeon
+	 * @return Whether the dungeon's goal can still be achieved, as far as the
+	 *         boulders go
+	 */
+	public boolean isWinnable(Dungeon dungeon) {
+		if (dungeon.getGoal() == null || this.switchCount == 0) {
+			return true;
+		}
+		int boulders = dungeon.getEntities(Boulder.class).size();
+		return DeadlockTable.isWinnable(dungeon.getGoal(),
+				this.canCoverSwitches(boulders, this.countStuck(dungeon)));
+	}
+
+	/**
+	 * @param goal
+	 * @param switches - whether every switch can still be covered
+	 * @return Whether the goal can still be achieved
+	 */
+	static boolean isWinnable(Goal goal, boolean switches) {
+		if (goal.getStrategy() instanceof GoalStrategyBoulder) {
+			return switches;
+		}
+		if (!(goal instanceof GoalComposite)) {
+			return true;
+		}
+
+		boolean and = goal.getStrategy() instanceof GoalStrategyAND;
+		boolean or = goal.getStrategy() instanceof GoalStrategyOR;
+		if (!and && !or) {
+			return true;
+		}
+		for (Goal subGoal : ((GoalComposite) goal).getSubGoals()) {
+			boolean winnable = DeadlockTable.isWinnable(subGoal, switches);
+			if (and && !winnable) {
+				return false;
+			}
+			if (or && winnable) {
+				return true;
+			}
+		}
+		return and;
+	}
+}
@@ -4,12 +4,21 @@
 package unsw.dungeon;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
+import unsw.dungeon.entity.Boulder;
+import unsw.dungeon.entity.Door;
 import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Wall;
 import unsw.dungeon.entity.meta.Entity;
 import unsw.dungeon.entity.meta.EntityLevel;
+import unsw.dungeon.entity.meta.MovableEntity;
 import unsw.dungeon.events.LocationChanged;
 import unsw.dungeon.goals.Goal;
+import unsw.dungeon.goals.GoalCounters;
 import unsw.dungeon.util.emitter.GenericEmitter;
 
 /**
@@ -28,18 +37,162 @@ public class Dungeon {
 
 	private int width, height;
 	private ArrayList<Entity> entities;
+	private EntityGrid grid;
+	private EntityRegistry registry;
+	private WallStore walls;
+	private BitSet sharedWalls;
+	private DungeonStorage storage;
 	private Player player;
 	private Goal goal;
+	private GoalCounters goalCounters;
+	private FlowField flowField;
+	private HierarchicalPlanner planner;
+	private ActivityRegions activity;
+	private SawTracks sawTracks;
+	private DeadlockMonitor deadlocks;
+	private DungeonRandom random;
+	private long seed;
+	private boolean finished;
 
 	public Dungeon(int width, int height) {
+		this(width, height, DungeonStorage.OBJECTS);
+	}
+
+	/**
+	 * Create a dungeon with the given storage mode.
+	 * 
+	 * PACKED storage keeps walls as one bit per tile, for very large maps.
+	 * Listing every entity, or every entity of a type that includes walls, turns
+	 * the packed walls back into objects.
+	 * 
+	 * @param width
+	 * @param height
+	 * @param storage
+	 */
+	public Dungeon(int width, int height, DungeonStorage storage) {
 		this.finishEvent = new GenericEmitter();
 		this.playerDeadEvent = new GenericEmitter();
 
 		this.width = width;
 		this.height = height;
 		this.entities = new ArrayList<>();
+		this.grid = new EntityGrid(width, height);
+		this.registry = new EntityRegistry();
+		this.walls = storage == DungeonStorage.PACKED ? new PackedWalls(this, width, height) : null;
+		this.sharedWalls = null;
+		this.storage = storage;
 		this.player = null;
 		this.goal = null;
+		this.goalCounters = new GoalCounters();
+		this.flowField = new FlowField(this, FlowField.DEFAULT_RADIUS);
+		this.planner = null;
+		this.activity = new ActivityRegions(this, ActivityRegions.DEFAULT_RADIUS);
+		this.sawTracks = new SawTracks();
+		this.deadlocks = null;
+		this.seed = new Random().nextLong();
+		this.random = new DungeonRandom(this.seed);
+		this.finished = false;
+	}
+
+	/**
+	 * Create a chunked dungeon, whose walls are loaded from a source one region at
+	 * a time as entities approach them.
+	 * 
+	 * Regions that have not been used recently are evicted once the resident walls
+	 * would take more than memoryBudget bytes, so the size of the map does not
+	 * limit how quickly it can be created or played. Listing every wall loads the
+	 * whole map.
+	 * 
+	 * @param width
+	 * @param height
+	 * @param source
+	 * @param memoryBudget - bytes of wall data to keep loaded
+	 */
+	public Dungeon(int width, int height, RegionSource source, long memoryBudget) {
+		this(width, height, DungeonStorage.OBJECTS);
+		this.walls = new ChunkedWalls(this, width, height, source, memoryBudget);
+	}
+
+	/**
+	 * Create a dungeon whose walls are shared with another, until either changes
+	 * them
+	 * 
+	 * @param width
+	 * @param height
+	 * @param walls  - wall tiles from shareWalls() or a snapshot, which will not
+	 *               be modified
+	 */
+	Dungeon(int width, int height, BitSet walls) {
+		this(width, height, DungeonStorage.PACKED);
+		this.walls = new PackedWalls(this, width, height, walls);
+	}
+
+	/**
+	 * Create an independent copy of the dungeon, such as to try moves from it.
+	 * 
+	 * The copy has its own entities, wired up by GameHooks as when loading, with
+	 * the same state and random numbers, so it plays the same as this dungeon.
+	 * Walls are shared between the two until either changes them, so forking
+	 * costs the number of other entities, not the size of the map. A chunked
+	 * dungeon's fork loads its walls from the same RegionSource, keeping copies
+	 * of only the chunks whose walls have changed.
+	 * 
+	 * @return The copy
+	 */
+	public Dungeon fork() {
+		return DungeonSnapshot.fork(this);
+	}
+
+	/**
+	 * Create an empty dungeon for fork() to copy this one into, sharing its walls
+	 * 
+	 * @return The fork, without any entities
+	 */
+	Dungeon createFork() {
+		if (this.walls instanceof ChunkedWalls) {
+			Dungeon dungeon = new Dungeon(this.width, this.height, DungeonStorage.OBJECTS);
+			dungeon.walls = ((ChunkedWalls) this.walls).fork(dungeon);
+			return dungeon;
+		}
+		return new Dungeon(this.width, this.height, this.shareWalls());
+	}
+
+	/**
+	 * Get the wall tiles of a dungeon that isn't chunked, to share with a fork or
+	 * write to a snapshot. Packed walls are shared as they are, and a second wall
+	 * on a tile is kept as an object, so it isn't included. Walls stored as
+	 * objects are found once and kept until a wall is added or removed.
+	 * 
+	 * @return Wall tiles, indexed by y * width + x, which must not be modified
+	 */
+	BitSet shareWalls() {
+		if (this.walls instanceof PackedWalls) {
+			return ((PackedWalls) this.walls).share();
+		}
+
+		if (this.sharedWalls == null) {
+			this.sharedWalls = new BitSet();
+			for (Wall wall : this.registry.get(Wall.class)) {
+				if (this.positionIsValid(wall.getX(), wall.getY())) {
+					this.sharedWalls.set(wall.getY() * this.width + wall.getX());
+				}
+			}
+		}
+		return this.sharedWalls;
+	}
+
+	/**
+	 * @return Whether any walls are stored packed, rather than as objects
+	 */
+	boolean hasPackedWalls() {
+		return this.walls != null;
+	}
+
+	/**
+	 * @return Whether the walls are loaded from a RegionSource
+	 */
+	boolean hasChunkedWalls() {
+		return this.walls instanceof ChunkedWalls;
 	}
 
 	/**
@@ -81,11 +234,11 @@ public class Dungeon {
 	 */
 	public void setPlayer(Player player) {
 		this.player = player;
-		this.player.alive().addListener((observable, oldValue, newValue) -> {
-			if (newValue == false) {
-				this.playerDeadEvent.emit();
-			}
-		});
+		this.player.deathEvent.register(this.playerDeadEvent::emit);
+		this.goalCounters.playerSet(player);
+
+		// Registered before any enemy or saw, so they are parked or woken first
+		this.player.moveEvent.register(this.activity::playerMoved);
 	}
 
 	/**
@@ -94,7 +247,23 @@ public class Dungeon {
 	 * @param entity
 	 */
 	public void addEntity(Entity entity) {
+		if (entity instanceof Wall) {
+			this.sharedWalls = null;
+		}
+		if (this.walls != null && entity.getClass() == Wall.class && this.walls.add((Wall) entity)) {
+			this.obstacleChanged(entity, entity.getX(), entity.getY());
+			return;
+		}
+
 		entities.add(entity);
+		grid.add(entity);
+		registry.add(entity);
+		goalCounters.entityAdded(entity);
+		this.obstacleChanged(entity, entity.getX(), entity.getY());
+
+		if (this.walls != null && entity instanceof MovableEntity) {
+			this.walls.touch(entity.getX(), entity.getY());
+		}
 	}
 
 	/**
@@ -103,7 +272,91 @@ public class Dungeon {
 	 * @param entity
 	 */
 	public void removeEntity(Entity entity) {
-		entities.remove(entity);
+		if (entity instanceof Wall) {
+			this.sharedWalls = null;
+		}
+		if (this.walls != null && entity.getClass() == Wall.class && this.walls.remove((Wall) entity)) {
+			this.obstacleChanged(entity, entity.getX(), entity.getY());
+			return;
+		}
+
+		if (!entities.remove(entity)) {
+			return;
+		}
+
+		grid.remove(entity);
+		registry.remove(entity);
+		goalCounters.entityRemoved(entity);
+		this.obstacleChanged(entity, entity.getX(), entity.getY());
+	}
+
+	/**
+	 * Update the tile index after an entity has moved
+	 * 
+	 * @param entity
+	 * @param oldX
+	 * @param oldY
+	 */
+	public void updateEntityPosition(Entity entity, int oldX, int oldY) {
+		grid.move(entity, oldX, oldY);
+
+		if (this.walls != null) {
+			this.walls.touch(entity.getX(), entity.getY());
+		}
+
+		this.obstacleChanged(entity, oldX, oldY);
+		this.obstacleChanged(entity, entity.getX(), entity.getY());
+	}
+
+	/**
+	 * @return How the dungeon was created to store its static entities
+	 */
+	public DungeonStorage getStorage() {
+		return this.storage;
+	}
+
+	/**
+	 * @return Number of regions loaded in a chunked dungeon, or 0
+	 */
+	public int getResidentRegions() {
+		if (this.walls instanceof ChunkedWalls) {
+			return ((ChunkedWalls) this.walls).getResident();
+		}
+		return 0;
+	}
+
+	/**
+	 * Update the tile index after an entity has changed its EntityLevel
+	 * 
+	 * @param entity
+	 * @param oldLevel
+	 */
+	public void updateEntityLevel(Entity entity, EntityLevel oldLevel) {
+		grid.relevel(entity, oldLevel);
+		this.obstacleChanged(entity, entity.getX(), entity.getY());
+	}
+
+	/**
+	 * Tell the flow field and planner about a tile that an obstacle may have
+	 * appeared on or left. Entities that move by themselves are not obstacles,
+	 * and only doors change whether they block a tile.
+	 * 
+	 * @param entity
+	 * @param x
+	 * @param y
+	 */
+	private void obstacleChanged(Entity entity, int x, int y) {
+		if (entity instanceof Boulder || entity instanceof Door
+				|| (!(entity instanceof MovableEntity) && entity.getEntityLevel() == EntityLevel.OBJECT)) {
+			flowField.tileChanged(x, y);
+			if (planner != null) {
+				planner.tileChanged(x, y);
+			}
+			sawTracks.tileChanged(x, y);
+			if (deadlocks != null && entity instanceof Wall) {
+				deadlocks.wallsChanged();
+			}
+		}
 	}
 
 	/**
@@ -112,24 +365,66 @@ public class Dungeon {
 	 * @return
 	 */
 	public ArrayList<Entity> getEntities() {
+		this.unpackWalls();
 		return this.entities;
 	}
 
+	/**
+	 * Get the entities kept as objects, which is every entity except packed or
+	 * chunked walls, without unpacking them
+	 * 
+	 * @return
+	 */
+	public List<Entity> getUnpackedEntities() {
+		return Collections.unmodifiableList(this.entities);
+	}
+
+	/**
+	 * Get the entities in the dungeon of a given class or interface.
+	 * 
+	 * Returns a live, read-only view. Do not add or remove entities while
+	 * iterating over it.
+	 * 
+	 * @param type
+	 * @return List of entities that are instances of type
+	 */
+	public <T> List<T> getEntities(Class<T> type) {
+		if (type.isAssignableFrom(Wall.class)) {
+			this.unpackWalls();
+		}
+		return this.registry.get(type);
+	}
+
+	/**
+	 * Switch a packed or chunked dungeon back to storing walls as objects
+	 */
+	private void unpackWalls() {
+		if (this.walls == null) {
+			return;
+		}
+
+		Wall[] packed = this.walls.unpack();
+		this.walls = null;
+		for (Wall wall : packed) {
+			this.addEntity(wall);
+		}
+	}
+
 	/**
 	 * Get the first entity of a given level in the given coordinates
 	 * 
+	 * Packed or chunked walls come before any other entity on their tile.
+	 * 
 	 * @param entityLevel
 	 * @param x
 	 * @param y
 	 * @return Entity
 	 */
 	public Entity getEntityAt(EntityLevel entityLevel, int x, int y) {
-		for (Entity entity : Entity.filter(this.entities, x, y)) {
-			if (entity.getEntityLevel() == entityLevel) {
-				return entity;
-			}
+		if (this.walls != null && entityLevel == EntityLevel.OBJECT && this.walls.has(x, y)) {
+			return this.walls.get(x, y);
 		}
-		return null;
+		return grid.first(entityLevel, x, y);
 	}
 
 	/**
@@ -141,7 +436,115 @@ public class Dungeon {
 	 * @return
 	 */
 	public boolean hasEntitiesAt(EntityLevel entityLevel, int x, int y) {
-		return this.getEntityAt(entityLevel, x, y) != null;
+		// Checked without creating a Wall object for packed walls
+		if (this.walls != null && entityLevel == EntityLevel.OBJECT && this.walls.has(x, y)) {
+			return true;
+		}
+		return grid.first(entityLevel, x, y) != null;
+	}
+
+	/**
+	 * Check if there is a wall on a tile, without creating a Wall object for
+	 * packed walls
+	 * 
+	 * @param x
+	 * @param y
+	 * @return
+	 */
+	public boolean isWallAt(int x, int y) {
+		if (this.walls != null && this.walls.has(x, y)) {
+			return true;
+		}
+		return grid.first(EntityLevel.OBJECT, x, y) instanceof Wall;
+	}
+
+	/**
+	 * Check if a tile is blocked by an entity that does not move by itself, such as
+	 * a wall, boulder or closed door
+	 * 
+	 * @param x
+	 * @param y
+	 * @return
+	 */
+	public boolean isObstacleAt(int x, int y) {
+		if (this.walls != null && this.walls.has(x, y)) {
+			return true;
+		}
+
+		Entity entity = grid.first(EntityLevel.OBJECT, x, y);
+		return entity != null && (entity instanceof Boulder || !(entity instanceof MovableEntity));
+	}
+
+	/**
+	 * @return Distances to the player, shared by the enemies
+	 */
+	public FlowField getFlowField() {
+		return this.flowField;
+	}
+
+	/**
+	 * @return Scheduler that parks enemies and saws far from the player
+	 */
+	public ActivityRegions getActivity() {
+		return this.activity;
+	}
+
+	/**
+	 * @return Tracks of the saws, found again when the map changes around them
+	 */
+	public SawTracks getSawTracks() {
+		return this.sawTracks;
+	}
+
+	/**
+	 * @return Random numbers for the game, from the dungeon's seed. Everything
+	 *         random in a game must come from here so that it can be replayed.
+	 */
+	public DungeonRandom getRandom() {
+		return this.random;
+	}
+
+	/**
+	 * @return Seed the random numbers were last started from
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Restart the random numbers from a seed
+	 * 
+	 * @param seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+		this.random.setSeed(seed);
+	}
+
+	/**
+	 * Get the hierarchical route planner, creating it the first time it is used
+	 * 
+	 * @return Route planner for enemies on huge dungeons
+	 */
+	public HierarchicalPlanner getPlanner() {
+		if (this.planner == null) {
+			this.planner = new HierarchicalPlanner(this);
+		}
+		return this.planner;
+	}
+
+	/**
+	 * Get the boulder deadlock monitor, creating it the first time it is used.
+	 * It follows the boulders in the dungeon when it is created.
+	 * 
+	 * @return Which boulders are stuck, and whether the goal can still be
+	 *         achieved
+	 */
+	public DeadlockMonitor getDeadlocks() {
+		if (this.deadlocks == null) {
+			this.deadlocks = new DeadlockMonitor(this);
+		}
+		return this.deadlocks;
 	}
 
 	/**
@@ -160,10 +563,30 @@ public class Dungeon {
 		return this.goal;
 	}
 
+	/**
+	 * @return Running totals that the goals are evaluated from
+	 */
+	public GoalCounters getGoalCounters() {
+		return this.goalCounters;
+	}
+
+	/**
+	 * @return Whether the goal has been achieved
+	 */
+	public boolean isFinished() {
+		return this.finished;
+	}
+
+	/**
+	 * Check the goal after each player move, firing finishEvent the first time it
+	 * is achieved. The goal is only re-evaluated if something it depends on has
+	 * changed.
+	 */
 	public void playerMoveEventGoalHandler(Player player, LocationChanged event) {
 		Goal goal = this.getGoal();
 
-		if (goal != null && goal.check()) {
+		if (goal != null && !this.finished && goal.check()) {
+			this.finished = true;
 			this.finishEvent.emit();
 		}
 	}
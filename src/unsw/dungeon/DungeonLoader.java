@@ -2,7 +2,6 @@ package unsw.dungeon;
 
 import java.io.FileNotFoundException;
 import java.io.FileReader;
-import java.util.ArrayList;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -37,9 +36,51 @@ import unsw.dungeon.goals.GoalFactory;
 public class DungeonLoader {
 
 	private JSONObject json;
+	private DungeonStorage storage;
+	private String filename;
+	private Long seed;
+	private boolean verbose;
 
 	public DungeonLoader(String filename) throws FileNotFoundException {
 		json = new JSONObject(new JSONTokener(new FileReader("dungeons/" + filename)));
+		storage = DungeonStorage.OBJECTS;
+		this.filename = filename;
+		this.seed = null;
+		this.verbose = true;
+	}
+
+	/**
+	 * @return Name of the level file, relative to the dungeons directory
+	 */
+	public String getFilename() {
+		return this.filename;
+	}
+
+	/**
+	 * Seed the random numbers of loaded dungeons, such as to replay a game
+	 * 
+	 * @param seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Set how loaded dungeons store their static entities
+	 * 
+	 * @param storage
+	 */
+	public void setStorage(DungeonStorage storage) {
+		this.storage = storage;
+	}
+
+	/**
+	 * Set whether loading and winning are logged to stdout
+	 * 
+	 * @param verbose
+	 */
+	public void setVerbose(boolean verbose) {
+		this.verbose = verbose;
 	}
 
 	/**
@@ -48,10 +89,28 @@ public class DungeonLoader {
 	 * @return
 	 */
 	public Dungeon load(LoaderHook... hooks) {
+		return this.build(this.seed, hooks);
+	}
+
+	/**
+	 * Parses the JSON to create a dungeon with a given seed. The loader is only
+	 * read, so once it is set up this can be called from several threads at once.
+	 * 
+	 * @param seed
+	 * @return
+	 */
+	public Dungeon load(long seed, LoaderHook... hooks) {
+		return this.build(seed, hooks);
+	}
+
+	private Dungeon build(Long seed, LoaderHook[] hooks) {
 		int width = json.getInt("width");
 		int height = json.getInt("height");
 
-		Dungeon dungeon = new Dungeon(width, height);
+		Dungeon dungeon = new Dungeon(width, height, this.storage);
+		if (seed != null) {
+			dungeon.setSeed(seed);
+		}
 
 		// Create goals
 		JSONObject jsonGoals = (JSONObject) json.get("goal-condition");
@@ -63,7 +122,7 @@ public class DungeonLoader {
 		JSONArray jsonEntities = json.getJSONArray("entities");
 
 		LoaderComposite loaders = new LoaderComposite(hooks);
-		loaders.addHook(new GameHooks(dungeon));
+		loaders.addHook(new GameHooks(dungeon, this.verbose));
 
 		for (int i = 0; i < jsonEntities.length(); i++) {
 			try {
@@ -85,12 +144,45 @@ public class DungeonLoader {
 		int x = json.getInt("x");
 		int y = json.getInt("y");
 
+		int id = -1;
+		switch (type) {
+		case "door":
+		case "key":
+		case "portal":
+			id = json.getInt("id");
+			break;
+		case "switch":
+			id = json.optInt("id", -1);
+			break;
+		}
+
+		// Level defined portal activation status
+		boolean activated = json.optBoolean("activated", true);
+		String orientation = type.equals("saw") ? json.getString("orientation") : null;
+
+		return DungeonLoader.createEntity(dungeon, type, x, y, id, activated, orientation, loaders);
+	}
+
+	/**
+	 * Create an entity of a level file type and pass it to the loader hooks
+	 * 
+	 * @param dungeon
+	 * @param type        - type as named in level files
+	 * @param x
+	 * @param y
+	 * @param id          - of doors, keys, portals and switches
+	 * @param activated   - whether a portal starts activated
+	 * @param orientation - of saws, "H" or "V"
+	 * @param loaders
+	 * @return
+	 */
+	static Entity createEntity(Dungeon dungeon, String type, int x, int y, int id, boolean activated,
+			String orientation, LoaderHook loaders) {
 		switch (type) {
 
 		case "player":
 			Player player = dungeon.getPlayer();
-			player.x().set(x);
-			player.y().set(y);
+			player.place(x, y);
 			loaders.onLoad(player);
 			return player;
 
@@ -112,7 +204,7 @@ public class DungeonLoader {
 		case "switch":
 			Switch sw = new Switch(dungeon, x, y);
 
-			sw.setID(json.optInt("id", -1));
+			sw.setID(id);
 
 			loaders.onLoad(sw);
 			return sw;
@@ -124,7 +216,7 @@ public class DungeonLoader {
 
 		case "door":
 			Door door = new Door(dungeon, x, y);
-			door.setID(json.getInt("id"));
+			door.setID(id);
 			loaders.onLoad(door);
 			return door;
 
@@ -135,7 +227,7 @@ public class DungeonLoader {
 
 		case "key":
 			Key key = new Key(dungeon, x, y);
-			key.setID(json.getInt("id"));
+			key.setID(id);
 			loaders.onLoad(key);
 			return key;
 
@@ -151,15 +243,13 @@ public class DungeonLoader {
 
 		case "portal":
 			Portal portal = new Portal(dungeon, x, y);
-			portal.setID(json.getInt("id"));
-
-			// Level defined portal activation status
-			portal.setActivated(json.optBoolean("activated", true));
+			portal.setID(id);
+			portal.setActivated(activated);
 
 			loaders.onLoad(portal);
 			return portal;
 		case "saw":
-			Saw saw = new Saw(dungeon, x,y, json.getString("orientation"));
+			Saw saw = new Saw(dungeon, x, y, orientation);
 			loaders.onLoad(saw);
 			return saw;
 			
@@ -169,120 +259,3 @@ public class DungeonLoader {
 
 	}
 };
-
-class LoaderComposite implements LoaderHook {
-	private ArrayList<LoaderHook> hooks;
-
-	public LoaderComposite(LoaderHook... hooks) {
-		this.hooks = new ArrayList<LoaderHook>();
-		for (LoaderHook hook : hooks) {
-			this.hooks.add(hook);
-		}
-	}
-
-	public void addHook(LoaderHook hook) {
-		if (this.hooks.contains(hook)) {
-			return;
-		}
-		this.hooks.add(hook);
-	}
-
-	@Override
-	public void onLoad(Player player) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(player);
-		}
-	}
-
-	@Override
-	public void onLoad(Wall wall) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(wall);
-		}
-	}
-
-	@Override
-	public void onLoad(Exit exit) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(exit);
-		}
-	}
-
-	@Override
-	public void onLoad(Boulder boulder) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(boulder);
-		}
-	}
-
-	@Override
-	public void onLoad(Switch sw) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(sw);
-		}
-	}
-
-	@Override
-	public void onLoad(Door door) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(door);
-		}
-	}
-
-	@Override
-	public void onLoad(Treasure treasure) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(treasure);
-		}
-	}
-
-	@Override
-	public void onLoad(Key key) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(key);
-		}
-	}
-
-	@Override
-	public void onLoad(Sword sword) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(sword);
-		}
-	}
-
-	@Override
-	public void onLoad(InvincibilityPotion potion) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(potion);
-		}
-	}
-
-	@Override
-	public void onLoad(Enemy enemy) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(enemy);
-		}
-	}
-
-	@Override
-	public void onLoad(Portal portal) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(portal);
-		}
-	}
-	
-	@Override
-	public void onLoad(Saw saw) {
-		for (LoaderHook hook : this.hooks) {
-			hook.onLoad(saw);
-		}
-	}
-
-	@Override
-	public void postLoad(Dungeon dungeon) {
-		for (LoaderHook hook : this.hooks) {
-			hook.postLoad(dungeon);
-		}
-	}
-
-}
\ No newline at end of file
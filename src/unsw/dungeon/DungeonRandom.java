@@ -0,0 +1,51 @@
+package unsw.dungeon;
+
+import java.util.Random;
+
+/**
+ * The same generator as java.util.Random, with its state readable so that a
+ * game can be saved and carried on with the same random numbers.
+ *
+ */
+public class DungeonRandom extends Random {
+	private static final long serialVersionUID = 1L;
+
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+
+	// Not initialised here, as Random's constructor calls setSeed first
+	private long state;
+
+	public DungeonRandom(long seed) {
+		super(seed);
+	}
+
+	@Override
+	public synchronized void setSeed(long seed) {
+		this.state = (seed ^ MULTIPLIER) & MASK;
+		super.setSeed(seed);
+	}
+
+	@Override
+	protected int next(int bits) {
+		this.state = (this.state * MULTIPLIER + ADDEND) & MASK;
+		return (int) (this.state >>> (48 - bits));
+	}
+
+	/**
+	 * @return The generator's state, which is not the seed it was started from
+	 */
+	public long getState() {
+		return this.state;
+	}
+
+	/**
+	 * Continue from a state returned by getState()
+	 * 
+	 * @param state
+	 */
+	public void setState(long state) {
+		this.state = state & MASK;
+	}
+}
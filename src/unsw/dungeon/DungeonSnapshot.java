@@ -0,0 +1,482 @@
+package unsw.dungeon;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import unsw.dungeon.entity.Boulder;
+import unsw.dungeon.entity.Door;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Exit;
+import unsw.dungeon.entity.InvincibilityPotion;
+import unsw.dungeon.entity.Key;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Portal;
+import unsw.dungeon.entity.Saw;
+import unsw.dungeon.entity.Switch;
+import unsw.dungeon.entity.Sword;
+import unsw.dungeon.entity.Treasure;
+import unsw.dungeon.entity.Wall;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.goals.GoalFactory;
+import unsw.dungeon.replay.Keyframe;
+
+/**
+ * Saves a game in progress to a compact binary file, and loads it back.
+ *
+ * A snapshot lists every entity in the dungeon as it is now, with what its
+ * level file entry would hold, followed by a keyframe of everything that has
+ * changed since. Loading creates the entities through the same loader hooks as
+ * DungeonLoader, so GameHooks wires them up the same way, and then restores the
+ * keyframe. No JSON is parsed besides the goal.
+ *
+ * Packed walls are not listed, but written as one bit per tile straight from
+ * the dungeon's wall store, which stays as it is. They can also be left out, to
+ * be shared with another dungeon when read, as forks do. Chunked dungeons can
+ * only be written this way, as their walls come from their RegionSource.
+ *
+ * Enemies that have been killed are no longer in the dungeon, so only their
+ * number is saved, for the goals.
+ *
+ * Layout:
+ *
+ * <pre>
+ * int MAGIC, byte VERSION
+ * int width, int height, byte storage, long seed
+ * byte walls: OBJECT_WALLS, SHARED_WALLS or PACKED_WALLS, then for packed
+ *     int words, long[words] wall tiles, indexed by y * width + x
+ * int length, goal JSON in UTF-8, empty if there is no goal
+ * int defeated enemies
+ * int entities, then for each: byte type, int x, int y, then
+ *     int id for switches, doors and keys,
+ *     int id and byte activated for portals,
+ *     byte 'H' or 'V' for saws
+ * int length, keyframe
+ * </pre>
+ *
+ */
+public class DungeonSnapshot {
+	private static final int MAGIC = 0x44534156;
+	private static final int VERSION = 2;
+
+	private static final DungeonStorage[] STORAGE = DungeonStorage.values();
+
+	// Where the walls are: all listed as entities, left out or packed
+	private static final int OBJECT_WALLS = 0;
+	private static final int SHARED_WALLS = 1;
+	private static final int PACKED_WALLS = 2;
+
+	// Level file types, with walls first as they are most of a dungeon
+	private static final String[] TYPES = { "wall", "player", "enemy", "exit", "switch", "boulder", "door",
+			"treasure", "key", "sword", "invincibility", "portal", "saw" };
+	private static final Class<?>[] CLASSES = { Wall.class, Player.class, Enemy.class, Exit.class, Switch.class,
+			Boulder.class, Door.class, Treasure.class, Key.class, Sword.class, InvincibilityPotion.class,
+			Portal.class, Saw.class };
+
+	/**
+	 * Save a dungeon to a file
+	 *
+	 * @param dungeon - a dungeon that isn't chunked
+	 * @param path
+	 * @throws IOException
+	 */
+	public static void save(Dungeon dungeon, Path path) throws IOException {
+		ByteBuffer buffer = DungeonSnapshot.write(dungeon);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Load a dungeon saved by save()
+	 *
+	 * @param path
+	 * @param hooks - hooks to create the entities with, as for DungeonLoader
+	 * @return
+	 * @throws IOException
+	 */
+	public static Dungeon load(Path path, LoaderHook... hooks) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			buffer = ByteBuffer.allocate((int) channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+			}
+		}
+		buffer.flip();
+		return DungeonSnapshot.read(buffer, hooks);
+	}
+
+	/**
+	 * Write a snapshot of a dungeon
+	 *
+	 * @param dungeon - a dungeon that isn't chunked
+	 * @return Buffer ready to be read
+	 */
+	public static ByteBuffer write(Dungeon dungeon) {
+		return DungeonSnapshot.write(dungeon, true);
+	}
+
+	/**
+	 * Write a snapshot of a dungeon, with or without its packed or chunked walls.
+	 * Walls stored as objects are always written.
+	 *
+	 * @param dungeon
+	 * @param walls   - whether to write packed walls, which a chunked dungeon
+	 *                can't
+	 * @return Buffer ready to be read
+	 */
+	public static ByteBuffer write(Dungeon dungeon, boolean walls) {
+		if (walls && dungeon.hasChunkedWalls()) {
+			throw new IllegalArgumentException("A chunked dungeon's walls come from its RegionSource");
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		try {
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeInt(dungeon.getWidth());
+			out.writeInt(dungeon.getHeight());
+			out.writeByte(dungeon.getStorage().ordinal());
+			out.writeLong(dungeon.getSeed());
+
+			if (!dungeon.hasPackedWalls()) {
+				out.writeByte(OBJECT_WALLS);
+			} else if (!walls) {
+				out.writeByte(SHARED_WALLS);
+			} else {
+				long[] tiles = dungeon.shareWalls().toLongArray();
+				out.writeByte(PACKED_WALLS);
+				out.writeInt(tiles.length);
+				for (long word : tiles) {
+					out.writeLong(word);
+				}
+			}
+
+			byte[] goal = dungeon.getGoal() == null ? new byte[0]
+					: GoalFactory.toJSON(dungeon.getGoal()).toString().getBytes(StandardCharsets.UTF_8);
+			out.writeInt(goal.length);
+			out.write(goal);
+			out.writeInt(dungeon.getGoalCounters().getDefeatedEnemies());
+
+			List<Entity> entities = dungeon.getUnpackedEntities();
+			out.writeInt(entities.size());
+			for (Entity entity : entities) {
+				DungeonSnapshot.writeEntity(out, entity);
+			}
+
+			ByteArrayOutputStream keyframe = new ByteArrayOutputStream();
+			Keyframe.capture(dungeon, Keyframe.track(dungeon), dungeon.getActivity().getTurn())
+					.write(new DataOutputStream(keyframe));
+			out.writeInt(keyframe.size());
+			keyframe.writeTo(out);
+		} catch (IOException e) {
+			// Writing to memory doesn't fail
+			throw new IllegalStateException(e);
+		}
+
+		return ByteBuffer.wrap(bytes.toByteArray());
+	}
+
+	private static void writeEntity(DataOutputStream out, Entity entity) throws IOException {
+		out.writeByte(DungeonSnapshot.typeOf(entity));
+		out.writeInt(entity.getX());
+		out.writeInt(entity.getY());
+
+		if (entity instanceof Switch) {
+			out.writeInt(((Switch) entity).getID());
+		} else if (entity instanceof Door) {
+			out.writeInt(((Door) entity).getID());
+		} else if (entity instanceof Key) {
+			out.writeInt(((Key) entity).getID());
+		} else if (entity instanceof Portal) {
+			out.writeInt(((Portal) entity).getID());
+			out.writeBoolean(((Portal) entity).getActivated());
+		} else if (entity instanceof Saw) {
+			out.writeByte(((Saw) entity).getOrientation().charAt(0));
+		}
+	}
+
+	/**
+	 * @param entity
+	 * @return Index of the entity's level file type in TYPES
+	 */
+	private static int typeOf(Entity entity) {
+		int type = 0;
+		while (type < CLASSES.length && CLASSES[type] != entity.getClass()) {
+			type++;
+		}
+		if (type == CLASSES.length) {
+			throw new IllegalArgumentException("Can't save entities of type " + entity.getClass().getSimpleName());
+		}
+		return type;
+	}
+
+	/**
+	 * Create an entity in another dungeon as it would be loaded from its level
+	 * file entry
+	 */
+	private static Entity copyEntity(Dungeon dungeon, Entity entity, LoaderHook loaders) {
+		int id = -1;
+		boolean activated = true;
+		String orientation = null;
+		if (entity instanceof Switch) {
+			id = ((Switch) entity).getID();
+		} else if (entity instanceof Door) {
+			id = ((Door) entity).getID();
+		} else if (entity instanceof Key) {
+			id = ((Key) entity).getID();
+		} else if (entity instanceof Portal) {
+			id = ((Portal) entity).getID();
+			activated = ((Portal) entity).getActivated();
+		} else if (entity instanceof Saw) {
+			orientation = ((Saw) entity).getOrientation();
+		}
+
+		return DungeonLoader.createEntity(dungeon, TYPES[DungeonSnapshot.typeOf(entity)], entity.getX(),
+				entity.getY(), id, activated, orientation, loaders);
+	}
+
+	/**
+	 * Copy a dungeon as it is now, without writing it out. Entities are created
+	 * as read() does, but straight from the source's, and walls are shared with
+	 * it rather than created.
+	 *
+	 * @param source
+	 * @return
+	 */
+	static Dungeon fork(Dungeon source) {
+		Dungeon dungeon = source.createFork();
+		dungeon.setSeed(source.getSeed());
+		dungeon.getActivity().setRadius(source.getActivity().getRadius());
+		if (source.getGoal() != null) {
+			dungeon.setGoal(GoalFactory.copy(dungeon, source.getGoal()));
+		}
+
+		dungeon.setPlayer(new Player(dungeon, 0, 0));
+
+		LoaderComposite loaders = new LoaderComposite();
+		loaders.addHook(new GameHooks(dungeon, false));
+
+		// Walls in the entity list are only extra to packed ones when any are packed
+		boolean packed = source.hasPackedWalls();
+		for (Entity entity : source.getUnpackedEntities()) {
+			if (packed || !(entity instanceof Wall)) {
+				dungeon.addEntity(DungeonSnapshot.copyEntity(dungeon, entity, loaders));
+			}
+		}
+
+		loaders.postLoad(dungeon);
+		int defeated = source.getGoalCounters().getDefeatedEnemies();
+		if (defeated > 0) {
+			dungeon.getGoalCounters().setDefeatedEnemies(defeated);
+		}
+
+		Keyframe.capture(source, Keyframe.track(source), source.getActivity().getTurn()).restore(dungeon,
+				Keyframe.track(dungeon));
+		return dungeon;
+	}
+
+	/**
+	 * An empty dungeon sharing the walls of another, for readEntities() to share
+	 * the walls of. It keeps none of the other dungeon's entities.
+	 *
+	 * @param dungeon
+	 * @return
+	 */
+	public static Dungeon shareWalls(Dungeon dungeon) {
+		return dungeon.createFork();
+	}
+
+	/**
+	 * Read a snapshot written by write() with its walls
+	 *
+	 * @param in
+	 * @param hooks - hooks to create the entities with, as for DungeonLoader
+	 * @return
+	 * @throws IOException
+	 */
+	public static Dungeon read(ByteBuffer in, LoaderHook... hooks) throws IOException {
+		return DungeonSnapshot.read(in, null, hooks);
+	}
+
+	/**
+	 * Read a snapshot written by write() with its walls, restoring a different
+	 * keyframe than the one saved. The keyframe must have been taken with
+	 * Keyframe.track() of the dungeon the snapshot was written from, any time
+	 * after it was written.
+	 *
+	 * @param in
+	 * @param keyframe - keyframe to restore, or null for the one saved
+	 * @param hooks    - hooks to create the entities with, as for DungeonLoader
+	 * @return
+	 * @throws IOException
+	 */
+	public static Dungeon read(ByteBuffer in, Keyframe keyframe, LoaderHook... hooks) throws IOException {
+		try {
+			Dungeon dungeon = DungeonSnapshot.readDungeon(in, null, hooks);
+			List<Entity> tracked = Keyframe.track(dungeon);
+
+			ByteBuffer saved = DungeonSnapshot.readKeyframe(in);
+			if (keyframe == null) {
+				keyframe = Keyframe.read(saved);
+				if (keyframe.size() != tracked.size()) {
+					throw new IOException("Not a dungeon snapshot");
+				}
+			}
+			keyframe.restore(dungeon, tracked);
+			return dungeon;
+		} catch (BufferUnderflowException | JSONException e) {
+			throw new IOException("Not a dungeon snapshot", e);
+		}
+	}
+
+	/**
+	 * Read the entities of a snapshot written by write(), without restoring any
+	 * keyframe. As with a freshly loaded level, Keyframe.track() can be taken of
+	 * the dungeon, and then a keyframe restored onto it that was taken with
+	 * Keyframe.track() of the dungeon the snapshot was written from.
+	 *
+	 * @param in
+	 * @param walls - from shareWalls(), to share the walls of if they were not
+	 *              written, or null
+	 * @param hooks - hooks to create the entities with, as for DungeonLoader
+	 * @return
+	 * @throws IOException
+	 */
+	public static Dungeon readEntities(ByteBuffer in, Dungeon walls, LoaderHook... hooks) throws IOException {
+		try {
+			Dungeon dungeon = DungeonSnapshot.readDungeon(in, walls, hooks);
+			DungeonSnapshot.readKeyframe(in);
+			return dungeon;
+		} catch (BufferUnderflowException | JSONException e) {
+			throw new IOException("Not a dungeon snapshot", e);
+		}
+	}
+
+	/**
+	 * Read a snapshot up to its keyframe
+	 */
+	private static Dungeon readDungeon(ByteBuffer in, Dungeon walls, LoaderHook[] hooks) throws IOException {
+		if (in.remaining() < 5 || in.getInt() != MAGIC || in.get() != VERSION) {
+			throw new IOException("Not a dungeon snapshot");
+		}
+
+		int width = in.getInt();
+		int height = in.getInt();
+		int storage = in.get();
+		long seed = in.getLong();
+		if (width <= 0 || height <= 0 || storage < 0 || storage >= STORAGE.length) {
+			throw new IOException("Not a dungeon snapshot");
+		}
+
+		Dungeon dungeon;
+		int layer = in.get();
+		if (layer == OBJECT_WALLS) {
+			dungeon = new Dungeon(width, height, STORAGE[storage]);
+		} else if (layer == PACKED_WALLS) {
+			long[] words = new long[DungeonSnapshot.length(in, 8)];
+			for (int i = 0; i < words.length; i++) {
+				words[i] = in.getLong();
+			}
+			dungeon = new Dungeon(width, height, BitSet.valueOf(words));
+		} else if (layer != SHARED_WALLS) {
+			throw new IOException("Not a dungeon snapshot");
+		} else if (walls != null && walls.getWidth() == width && walls.getHeight() == height) {
+			dungeon = walls.createFork();
+		} else {
+			throw new IOException("The snapshot's walls were not written with it");
+		}
+		dungeon.setSeed(seed);
+
+		byte[] goal = new byte[DungeonSnapshot.length(in, 1)];
+		in.get(goal);
+		if (goal.length > 0) {
+			dungeon.setGoal(GoalFactory.create(dungeon, new JSONObject(new String(goal, StandardCharsets.UTF_8))));
+		}
+		int defeated = in.getInt();
+
+		dungeon.setPlayer(new Player(dungeon, 0, 0));
+
+		LoaderComposite loaders = new LoaderComposite(hooks);
+		loaders.addHook(new GameHooks(dungeon, false));
+
+		int count = in.getInt();
+		for (int i = 0; i < count; i++) {
+			int index = in.get();
+			if (index < 0 || index >= TYPES.length) {
+				throw new IOException("Not a dungeon snapshot");
+			}
+			String type = TYPES[index];
+			int x = in.getInt();
+			int y = in.getInt();
+
+			int id = -1;
+			boolean activated = true;
+			String orientation = null;
+			switch (type) {
+			case "switch":
+			case "door":
+			case "key":
+				id = in.getInt();
+				break;
+			case "portal":
+				id = in.getInt();
+				activated = in.get() != 0;
+				break;
+			case "saw":
+				orientation = String.valueOf((char) in.get());
+				break;
+			}
+
+			dungeon.addEntity(DungeonLoader.createEntity(dungeon, type, x, y, id, activated, orientation, loaders));
+		}
+
+		loaders.postLoad(dungeon);
+		if (defeated > 0) {
+			dungeon.getGoalCounters().setDefeatedEnemies(defeated);
+		}
+
+		return dungeon;
+	}
+
+	/**
+	 * Read past the saved keyframe
+	 *
+	 * @return The saved keyframe's bytes
+	 */
+	private static ByteBuffer readKeyframe(ByteBuffer in) throws IOException {
+		int length = DungeonSnapshot.length(in, 1);
+		ByteBuffer saved = in.slice();
+		saved.limit(length);
+		in.position(in.position() + length);
+		return saved;
+	}
+
+	/**
+	 * Read the number of things of a size that follow, checking they fit in
+	 * what is left of the snapshot
+	 */
+	private static int length(ByteBuffer in, int size) throws IOException {
+		int length = in.getInt();
+		if (length < 0 || length > in.remaining() / size) {
+			throw new IOException("Not a dungeon snapshot");
+		}
+		return length;
+	}
+}
@@ -0,0 +1,18 @@
+package unsw.dungeon;
+
+/**
+ * How a dungeon stores its static entities
+ *
+ */
+public enum DungeonStorage {
+	/**
+	 * Every entity is kept as an object
+	 */
+	OBJECTS,
+
+	/**
+	 * Walls are kept as one bit per tile, and Wall objects are only created when
+	 * they are looked up
+	 */
+	PACKED
+}
@@ -0,0 +1,162 @@
+package unsw.dungeon;
+
+import java.util.ArrayList;
+
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.entity.meta.EntityLevel;
+
+/**
+ * Per-tile, per-EntityLevel index of the entities in a dungeon.
+ *
+ * Each cell holds the entities of one level on one tile, in the order they
+ * arrived there. Cells are created the first time something is placed on them
+ * and are reused afterwards, so lookups and moves do not allocate.
+ *
+ * Cells are allocated in square pages, so areas of a huge map that hold no
+ * indexed entities cost a single null reference per page.
+ *
+ */
+class EntityGrid {
+
+	private static final int LEVELS = EntityLevel.values().length;
+	private static final int PAGE_SHIFT = 6;
+	private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+	private int width, height, pagesWide, pagesPerLevel;
+	private ArrayList<Entity>[][] pages;
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public EntityGrid(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.pagesWide = (width + PAGE_SIZE - 1) >> PAGE_SHIFT;
+		this.pagesPerLevel = this.pagesWide * ((height + PAGE_SIZE - 1) >> PAGE_SHIFT);
+		this.pages = new ArrayList[this.pagesPerLevel * LEVELS][];
+	}
+
+	/**
+	 * Get the first entity of a given level in the given coordinates
+	 *
+	 * @param entityLevel
+	 * @param x
+	 * @param y
+	 * @return Entity, or null if there is none
+	 */
+	public Entity first(EntityLevel entityLevel, int x, int y) {
+		if (!this.contains(x, y)) {
+			return null;
+		}
+
+		ArrayList<Entity> cell = this.cell(entityLevel, x, y);
+		if (cell == null || cell.isEmpty()) {
+			return null;
+		}
+		return cell.get(0);
+	}
+
+	/**
+	 * Index an entity at its current position and level
+	 *
+	 * @param entity
+	 */
+	public void add(Entity entity) {
+		this.add(entity, entity.getEntityLevel(), entity.getX(), entity.getY());
+	}
+
+	/**
+	 * Remove an entity from its current position and level
+	 *
+	 * @param entity
+	 * @return Whether the entity was indexed
+	 */
+	public boolean remove(Entity entity) {
+		return this.remove(entity, entity.getEntityLevel(), entity.getX(), entity.getY());
+	}
+
+	/**
+	 * Move an indexed entity from (oldX, oldY) to its current position
+	 *
+	 * @param entity
+	 * @param oldX
+	 * @param oldY
+	 */
+	public void move(Entity entity, int oldX, int oldY) {
+		if (this.remove(entity, entity.getEntityLevel(), oldX, oldY)) {
+			this.add(entity);
+		}
+	}
+
+	/**
+	 * Move an indexed entity from oldLevel to its current level
+	 *
+	 * @param entity
+	 * @param oldLevel
+	 */
+	public void relevel(Entity entity, EntityLevel oldLevel) {
+		if (this.remove(entity, oldLevel, entity.getX(), entity.getY())) {
+			this.add(entity);
+		}
+	}
+
+	private void add(Entity entity, EntityLevel entityLevel, int x, int y) {
+		if (!this.contains(x, y)) {
+			return;
+		}
+
+		ArrayList<Entity>[] page = this.pages[this.page(entityLevel, x, y)];
+		if (page == null) {
+			page = this.pages[this.page(entityLevel, x, y)] = newPage();
+		}
+
+		int i = this.offset(x, y);
+		if (page[i] == null) {
+			page[i] = new ArrayList<Entity>(2);
+		}
+		page[i].add(entity);
+	}
+
+	private boolean remove(Entity entity, EntityLevel entityLevel, int x, int y) {
+		if (!this.contains(x, y)) {
+			return false;
+		}
+
+		ArrayList<Entity> cell = this.cell(entityLevel, x, y);
+		if (cell == null) {
+			return false;
+		}
+
+		// Compare by identity, the cell is tiny
+		for (int i = 0; i < cell.size(); i++) {
+			if (cell.get(i) == entity) {
+				cell.remove(i);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean contains(int x, int y) {
+		return !(y < 0 || y >= this.height || x < 0 || x >= this.width);
+	}
+
+	private ArrayList<Entity> cell(EntityLevel entityLevel, int x, int y) {
+		ArrayList<Entity>[] page = this.pages[this.page(entityLevel, x, y)];
+		if (page == null) {
+			return null;
+		}
+		return page[this.offset(x, y)];
+	}
+
+	private int page(EntityLevel entityLevel, int x, int y) {
+		return entityLevel.ordinal() * this.pagesPerLevel + (y >> PAGE_SHIFT) * this.pagesWide + (x >> PAGE_SHIFT);
+	}
+
+	private int offset(int x, int y) {
+		return ((y & (PAGE_SIZE - 1)) << PAGE_SHIFT) + (x & (PAGE_SIZE - 1));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static ArrayList<Entity>[] newPage() {
+		return new ArrayList[PAGE_SIZE * PAGE_SIZE];
+	}
+}
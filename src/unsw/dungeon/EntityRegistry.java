@@ -0,0 +1,114 @@
+package unsw.dungeon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import unsw.dungeon.entity.meta.Entity;
+
+/**
+ * Live per-type collections of the entities in a dungeon.
+ *
+ * Every entity is filed under its class, each of its superclasses and every
+ * interface it implements, so a type query costs O(matches) instead of a scan
+ * over the whole dungeon.
+ *
+ */
+class EntityRegistry {
+
+	private HashMap<Class<?>, ArrayList<Entity>> entitiesByType;
+	private HashMap<Class<?>, List<?>> views;
+	private HashMap<Class<?>, ArrayList<Class<?>>> typeCache;
+
+	public EntityRegistry() {
+		this.entitiesByType = new HashMap<Class<?>, ArrayList<Entity>>();
+		this.views = new HashMap<Class<?>, List<?>>();
+		this.typeCache = new HashMap<Class<?>, ArrayList<Class<?>>>();
+	}
+
+	/**
+	 * Register an entity under all of its types
+	 *
+	 * @param entity
+	 */
+	public void add(Entity entity) {
+		for (Class<?> type : this.typesOf(entity.getClass())) {
+			this.bucket(type).add(entity);
+		}
+	}
+
+	/**
+	 * Remove an entity from all of its types
+	 *
+	 * @param entity
+	 */
+	public void remove(Entity entity) {
+		for (Class<?> type : this.typesOf(entity.getClass())) {
+			ArrayList<Entity> bucket = this.bucket(type);
+			for (int i = 0; i < bucket.size(); i++) {
+				if (bucket.get(i) == entity) {
+					bucket.remove(i);
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get a read-only view of the entities of a given type.
+	 *
+	 * The view is live: it reflects later additions and removals, so it must not
+	 * be iterated while entities are being added to or removed from the dungeon.
+	 *
+	 * @param type - a class or interface
+	 * @return List of entities that are instances of type
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> get(Class<T> type) {
+		List<?> view = this.views.get(type);
+		if (view == null) {
+			view = Collections.unmodifiableList(this.bucket(type));
+			this.views.put(type, view);
+		}
+		return (List<T>) view;
+	}
+
+	private ArrayList<Entity> bucket(Class<?> type) {
+		ArrayList<Entity> bucket = this.entitiesByType.get(type);
+		if (bucket == null) {
+			bucket = new ArrayList<Entity>();
+			this.entitiesByType.put(type, bucket);
+		}
+		return bucket;
+	}
+
+	/**
+	 * @param entityClass
+	 * @return The class, its superclasses and all implemented interfaces
+	 */
+	private ArrayList<Class<?>> typesOf(Class<?> entityClass) {
+		ArrayList<Class<?>> types = this.typeCache.get(entityClass);
+		if (types != null) {
+			return types;
+		}
+
+		types = new ArrayList<Class<?>>();
+		for (Class<?> c = entityClass; c != null && c != Object.class; c = c.getSuperclass()) {
+			addType(types, c);
+		}
+
+		this.typeCache.put(entityClass, types);
+		return types;
+	}
+
+	private static void addType(ArrayList<Class<?>> types, Class<?> type) {
+		if (types.contains(type)) {
+			return;
+		}
+		types.add(type);
+		for (Class<?> parent : type.getInterfaces()) {
+			addType(types, parent);
+		}
+	}
+}
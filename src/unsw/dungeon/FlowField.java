@@ -0,0 +1,591 @@
+package unsw.dungeon;
+
+import java.util.Arrays;
+
+import unsw.dungeon.entity.Player;
+
+/**
+ * Distances from the player to every tile around them, shared by all enemies.
+ *
+ * The field is a breadth first search from the player's tile over the tiles
+ * that are not blocked by walls, boulders or closed doors. Entities that move by
+ * themselves do not block it, as they will have moved by the time it matters.
+ * It is searched at most once per player move, the first time an enemy asks for
+ * it, so the cost of a turn does not grow with the number of enemies.
+ *
+ * Which tiles are blocked is kept in a map that the dungeon updates as
+ * obstacles are added, removed, moved or opened. When the map changes but the
+ * player has not moved, only the distances that depend on the changed tiles are
+ * repaired, so the cost follows the size of the change rather than the area.
+ *
+ * The safety field is used to flee. It starts from the distances scaled by
+ * -1.2 and is relaxed by a Dijkstra search, so that walking downhill on it moves
+ * away from the player without running into dead ends.
+ *
+ * Only a square window of the given radius around the player is searched, so a
+ * huge dungeon costs no more per turn than a small one. The window follows the
+ * player once they get within half a radius of its edge. Tiles outside the
+ * window or cut off from the player are UNREACHABLE.
+ *
+ */
+public class FlowField {
+
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+	public static final int DEFAULT_RADIUS = 64;
+
+	// Directions, in the order RIGHT, LEFT, DOWN, UP
+	public static final int[] DX = { 1, -1, 0, 0 };
+	public static final int[] DY = { 0, 0, 1, -1 };
+
+	// The -1.2 safety weighting, kept in integers by scaling everything by 5
+	private static final int SAFETY_WEIGHT = 6;
+	private static final int SAFETY_STEP = 5;
+
+	private Dungeon dungeon;
+	private int radius;
+
+	private int originX, originY, width, height;
+	private int sourceX, sourceY;
+	private boolean[] blocked;
+	private int[] distance;
+	private int[] safety;
+	private int[] queue;
+	private long[] heap;
+	private int heapSize;
+
+	// Tiles whose blocked state changed since the distances were last made right
+	private int[] changed;
+	private int changedCount;
+
+	// Tiles that lost their shortest path during a repair carry the repair stamp
+	private int[] lost;
+	private int stamp;
+
+	private boolean distanceDirty;
+	private boolean safetyDirty;
+	private int updates;
+	private int repairs;
+
+	/**
+	 * @param dungeon
+	 * @param radius  - tiles searched around the player in each direction
+	 */
+	public FlowField(Dungeon dungeon, int radius) {
+		this.dungeon = dungeon;
+		this.radius = radius;
+		this.distanceDirty = true;
+		this.safetyDirty = true;
+		this.updates = 0;
+		this.repairs = 0;
+	}
+
+	/**
+	 * Mark the whole field as out of date, to be searched again when it is next
+	 * read
+	 */
+	public void invalidate() {
+		this.blocked = null;
+		this.distanceDirty = true;
+		this.safetyDirty = true;
+	}
+
+	/**
+	 * Update the blocked map after something on a tile has changed
+	 *
+	 * @param x
+	 * @param y
+	 */
+	public void tileChanged(int x, int y) {
+		if (this.blocked == null || !this.contains(x, y)) {
+			return;
+		}
+
+		int i = this.index(x, y);
+		boolean obstacle = this.dungeon.isObstacleAt(x, y);
+		if (this.blocked[i] == obstacle) {
+			return;
+		}
+
+		this.blocked[i] = obstacle;
+		this.safetyDirty = true;
+
+		if (!this.distanceDirty) {
+			if (this.changedCount == this.changed.length) {
+				this.changed = Arrays.copyOf(this.changed, this.changed.length * 2);
+			}
+			this.changed[this.changedCount++] = i;
+		}
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return Number of steps from (x, y) to the player, or UNREACHABLE
+	 */
+	public int getDistance(int x, int y) {
+		this.update();
+		if (!this.contains(x, y)) {
+			return UNREACHABLE;
+		}
+		return this.distance[this.index(x, y)];
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return Safety of (x, y) when fleeing, lower is safer, or UNREACHABLE
+	 */
+	public int getSafety(int x, int y) {
+		this.update();
+		if (this.safetyDirty) {
+			this.updateSafety();
+		}
+		if (!this.contains(x, y)) {
+			return UNREACHABLE;
+		}
+		return this.safety[this.index(x, y)];
+	}
+
+	/**
+	 * @return Number of times the distances have been searched in full
+	 */
+	public int getUpdates() {
+		return this.updates;
+	}
+
+	/**
+	 * @return Number of times the distances have been repaired after a change
+	 */
+	public int getRepairs() {
+		return this.repairs;
+	}
+
+	/**
+	 * The window is moved only when the player nears its edge, so where it is
+	 * depends on where the player has been
+	 * 
+	 * @return x of the top left of the window, or -1 if it has not been placed
+	 */
+	public int getWindowX() {
+		return this.blocked == null ? -1 : this.originX;
+	}
+
+	/**
+	 * @return y of the top left of the window, or -1 if it has not been placed
+	 */
+	public int getWindowY() {
+		return this.blocked == null ? -1 : this.originY;
+	}
+
+	/**
+	 * Place the window at a position returned by getWindowX() and getWindowY(),
+	 * such as when restoring a saved game
+	 * 
+	 * @param originX
+	 * @param originY
+	 */
+	public void setWindow(int originX, int originY) {
+		if (originX < 0 || originY < 0) {
+			this.invalidate();
+			return;
+		}
+		this.placeWindow(originX + this.radius, originY + this.radius);
+	}
+
+	private boolean contains(int x, int y) {
+		return x >= this.originX && y >= this.originY && x < this.originX + this.width
+				&& y < this.originY + this.height;
+	}
+
+	private int index(int x, int y) {
+		return (y - this.originY) * this.width + (x - this.originX);
+	}
+
+	/**
+	 * Bring the distances up to date with the player and the blocked map
+	 */
+	private void update() {
+		Player player = this.dungeon.getPlayer();
+		int px = player.getX();
+		int py = player.getY();
+
+		if (this.blocked == null || !this.windowFits(px, py)) {
+			this.placeWindow(px, py);
+		}
+
+		if (this.distanceDirty || px != this.sourceX || py != this.sourceY) {
+			this.search(px, py);
+		} else if (this.changedCount > 0) {
+			this.repair();
+		}
+	}
+
+	/**
+	 * @return Whether the player is far enough from the edges of the window that
+	 *         are not edges of the dungeon
+	 */
+	private boolean windowFits(int px, int py) {
+		int margin = this.radius / 2;
+
+		return this.contains(px, py) && (this.originX == 0 || px - this.originX >= margin)
+				&& (this.originY == 0 || py - this.originY >= margin)
+				&& (this.originX + this.width == this.dungeon.getWidth()
+						|| this.originX + this.width - 1 - px >= margin)
+				&& (this.originY + this.height == this.dungeon.getHeight()
+						|| this.originY + this.height - 1 - py >= margin);
+	}
+
+	/**
+	 * Centre the window on the player and read which of its tiles are blocked
+	 */
+	private void placeWindow(int px, int py) {
+		this.width = Math.min(this.dungeon.getWidth(), this.radius * 2 + 1);
+		this.height = Math.min(this.dungeon.getHeight(), this.radius * 2 + 1);
+		this.originX = Math.max(0, Math.min(px - this.radius, this.dungeon.getWidth() - this.width));
+		this.originY = Math.max(0, Math.min(py - this.radius, this.dungeon.getHeight() - this.height));
+
+		int n = this.width * this.height;
+		if (this.distance == null || this.distance.length < n) {
+			this.blocked = new boolean[n];
+			this.distance = new int[n];
+			this.queue = new int[n];
+			this.lost = new int[n];
+			this.heap = new long[n * 2];
+			this.changed = new int[16];
+		} else {
+			this.blocked = new boolean[n];
+		}
+
+		for (int y = 0; y < this.height; y++) {
+			for (int x = 0; x < this.width; x++) {
+				this.blocked[y * this.width + x] = this.dungeon.isObstacleAt(this.originX + x, this.originY + y);
+			}
+		}
+
+		this.distanceDirty = true;
+	}
+
+	/**
+	 * Breadth first search from the player over the window around them
+	 */
+	private void search(int px, int py) {
+		this.distanceDirty = false;
+		this.safetyDirty = true;
+		this.changedCount = 0;
+		this.sourceX = px;
+		this.sourceY = py;
+		this.updates++;
+
+		int n = this.width * this.height;
+		Arrays.fill(this.distance, 0, n, UNREACHABLE);
+
+		int head = 0;
+		int tail = 0;
+		int start = this.index(px, py);
+		this.distance[start] = 0;
+		this.queue[tail++] = start;
+
+		// Neighbours are visited inline, as this loop covers the whole window
+		int[] distance = this.distance;
+		int[] queue = this.queue;
+		boolean[] blocked = this.blocked;
+		int width = this.width;
+		int last = n - width;
+
+		while (head < tail) {
+			int i = queue[head++];
+			int x = i % width;
+			int d = distance[i] + 1;
+
+			if (x + 1 < width && distance[i + 1] == UNREACHABLE && !blocked[i + 1]) {
+				distance[i + 1] = d;
+				queue[tail++] = i + 1;
+			}
+			if (x > 0 && distance[i - 1] == UNREACHABLE && !blocked[i - 1]) {
+				distance[i - 1] = d;
+				queue[tail++] = i - 1;
+			}
+			if (i < last && distance[i + width] == UNREACHABLE && !blocked[i + width]) {
+				distance[i + width] = d;
+				queue[tail++] = i + width;
+			}
+			if (i >= width && distance[i - width] == UNREACHABLE && !blocked[i - width]) {
+				distance[i - width] = d;
+				queue[tail++] = i - width;
+			}
+		}
+	}
+
+	/**
+	 * Repair the distances after tiles have changed, leaving the rest alone.
+	 *
+	 * Tiles that lost every shortest path through a newly blocked tile are found
+	 * in order of distance and cleared. They and any newly opened tiles are then
+	 * given the best distance of their neighbours, and the improvements are
+	 * spread outwards. Both passes visit tiles in order of distance by merging a
+	 * sorted list of starting tiles with a plain queue, as every step costs one.
+	 *
+	 * A change that reaches more than a sixteenth of the window, such as a door
+	 * into a large room, is cheaper to search again in full.
+	 */
+	private void repair() {
+		this.safetyDirty = true;
+		this.repairs++;
+		this.stamp++;
+
+		int limit = this.width * this.height / 16;
+
+		// Find the tiles that lost their shortest path
+		int seeds = 0;
+		for (int k = 0; k < this.changedCount; k++) {
+			int i = this.changed[k];
+			if (this.blocked[i] && this.distance[i] != UNREACHABLE && this.lost[i] != this.stamp) {
+				this.lost[i] = this.stamp;
+				this.heap[seeds++] = ((long) this.distance[i] << 32) | i;
+			}
+		}
+		Arrays.sort(this.heap, 0, seeds);
+
+		int head = 0;
+		int tail = 0;
+		int next = 0;
+		while (next < seeds || head < tail) {
+			int i;
+			if (head == tail || (next < seeds && (int) (this.heap[next] >> 32) <= this.distance[this.queue[head]])) {
+				i = (int) this.heap[next++];
+			} else {
+				i = this.queue[head++];
+				if (this.lost[i] == this.stamp || this.supported(i)) {
+					continue;
+				}
+				this.lost[i] = this.stamp;
+			}
+
+			if (head > limit || tail + 4 > this.queue.length) {
+				this.search(this.sourceX, this.sourceY);
+				return;
+			}
+
+			// Queue the neighbours that may have depended on this tile
+			int x = i % this.width;
+			int y = i / this.width;
+			for (int dir = 0; dir < 4; dir++) {
+				int j = this.neighbour(x, y, dir);
+				if (j != -1 && !this.blocked[j] && this.distance[j] == this.distance[i] + 1
+						&& this.lost[j] != this.stamp) {
+					this.queue[tail++] = j;
+				}
+			}
+		}
+
+		for (int k = 0; k < this.changedCount; k++) {
+			int i = this.changed[k];
+			if (this.blocked[i]) {
+				this.distance[i] = UNREACHABLE;
+			}
+		}
+		for (int k = 0; k < tail; k++) {
+			if (this.lost[this.queue[k]] == this.stamp) {
+				this.distance[this.queue[k]] = UNREACHABLE;
+			}
+		}
+
+		// Give the lost and newly opened tiles the best of their neighbours
+		seeds = 0;
+		for (int k = 0; k < tail; k++) {
+			if (this.lost[this.queue[k]] == this.stamp) {
+				seeds = this.reseed(this.queue[k], seeds);
+			}
+		}
+		for (int k = 0; k < this.changedCount; k++) {
+			if (!this.blocked[this.changed[k]]) {
+				seeds = this.reseed(this.changed[k], seeds);
+			}
+		}
+		this.changedCount = 0;
+		Arrays.sort(this.heap, 0, seeds);
+
+		// Spread the improvements
+		head = 0;
+		tail = 0;
+		next = 0;
+		while (next < seeds || head < tail) {
+			int i;
+			if (head == tail || (next < seeds && (int) (this.heap[next] >> 32) <= this.distance[this.queue[head]])) {
+				long seed = this.heap[next++];
+				i = (int) seed;
+				if ((int) (seed >> 32) != this.distance[i]) {
+					continue;
+				}
+			} else {
+				i = this.queue[head++];
+			}
+
+			if (head > limit || tail + 4 > this.queue.length) {
+				this.search(this.sourceX, this.sourceY);
+				return;
+			}
+
+			int x = i % this.width;
+			int y = i / this.width;
+			int d = this.distance[i] + 1;
+			for (int dir = 0; dir < 4; dir++) {
+				int j = this.neighbour(x, y, dir);
+				if (j != -1 && !this.blocked[j] && d < this.distance[j]) {
+					this.distance[j] = d;
+					this.queue[tail++] = j;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return Whether a tile still has a neighbour one step closer to the player
+	 *         that has not been lost
+	 */
+	private boolean supported(int i) {
+		int d = this.distance[i];
+		if (d == 0) {
+			return true;
+		}
+
+		int x = i % this.width;
+		int y = i / this.width;
+		for (int dir = 0; dir < 4; dir++) {
+			int j = this.neighbour(x, y, dir);
+			if (j != -1 && !this.blocked[j] && this.distance[j] == d - 1 && this.lost[j] != this.stamp) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Set a cleared tile's distance from its best neighbour, and add it to the
+	 * starting tiles
+	 *
+	 * @return Number of starting tiles
+	 */
+	private int reseed(int i, int seeds) {
+		int x = i % this.width;
+		int y = i / this.width;
+		int best = this.originX + x == this.sourceX && this.originY + y == this.sourceY ? 0 : UNREACHABLE;
+
+		for (int dir = 0; dir < 4; dir++) {
+			int j = this.neighbour(x, y, dir);
+			if (j != -1 && !this.blocked[j] && this.distance[j] != UNREACHABLE && this.distance[j] + 1 < best) {
+				best = this.distance[j] + 1;
+			}
+		}
+
+		if (best < this.distance[i]) {
+			this.distance[i] = best;
+			this.heap[seeds++] = ((long) best << 32) | i;
+		}
+		return seeds;
+	}
+
+	/**
+	 * @return Index of the neighbour of (x, y) in a direction, or -1 if it is
+	 *         outside the window
+	 */
+	private int neighbour(int x, int y, int dir) {
+		int nx = x + DX[dir];
+		int ny = y + DY[dir];
+		if (nx < 0 || ny < 0 || nx >= this.width || ny >= this.height) {
+			return -1;
+		}
+		return ny * this.width + nx;
+	}
+
+	/**
+	 * Dijkstra search over the reachable tiles, starting from every tile at its
+	 * scaled distance
+	 */
+	private void updateSafety() {
+		this.safetyDirty = false;
+
+		int n = this.width * this.height;
+		if (this.safety == null || this.safety.length < n) {
+			this.safety = new int[n];
+		}
+		this.heapSize = 0;
+
+		for (int i = 0; i < n; i++) {
+			if (this.distance[i] == UNREACHABLE) {
+				this.safety[i] = UNREACHABLE;
+			} else {
+				this.safety[i] = -SAFETY_WEIGHT * this.distance[i];
+				this.push(this.safety[i], i);
+			}
+		}
+
+		while (this.heapSize > 0) {
+			long top = this.pop();
+			int value = (int) (top >> 32);
+			int i = (int) top;
+			if (value != this.safety[i]) {
+				continue;
+			}
+
+			int x = i % this.width;
+			int y = i / this.width;
+			for (int dir = 0; dir < 4; dir++) {
+				int j = this.neighbour(x, y, dir);
+				if (j != -1 && this.safety[j] != UNREACHABLE && value + SAFETY_STEP < this.safety[j]) {
+					this.safety[j] = value + SAFETY_STEP;
+					this.push(this.safety[j], j);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Push a tile onto the binary min-heap, keyed by value
+	 */
+	private void push(int value, int i) {
+		if (this.heapSize == this.heap.length) {
+			this.heap = Arrays.copyOf(this.heap, this.heap.length * 2);
+		}
+
+		long entry = ((long) value << 32) | i;
+		int k = this.heapSize++;
+		while (k > 0) {
+			int parent = (k - 1) >> 1;
+			if (this.heap[parent] <= entry) {
+				break;
+			}
+			this.heap[k] = this.heap[parent];
+			k = parent;
+		}
+		this.heap[k] = entry;
+	}
+
+	/**
+	 * Pop the smallest entry off the binary min-heap
+	 */
+	private long pop() {
+		long top = this.heap[0];
+		long last = this.heap[--this.heapSize];
+
+		int k = 0;
+		while (true) {
+			int child = k * 2 + 1;
+			if (child >= this.heapSize) {
+				break;
+			}
+			if (child + 1 < this.heapSize && this.heap[child + 1] < this.heap[child]) {
+				child++;
+			}
+			if (last <= this.heap[child]) {
+				break;
+			}
+			this.heap[k] = this.heap[child];
+			k = child;
+		}
+		this.heap[k] = last;
+
+		return top;
+	}
+}
@@ -15,18 +15,32 @@ import unsw.dungeon.entity.Switch;
 import unsw.dungeon.entity.Sword;
 import unsw.dungeon.entity.Treasure;
 import unsw.dungeon.entity.Wall;
-import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.entity.meta.ItemEntity;
+import unsw.dungeon.entity.meta.MovableEntity;
 import unsw.dungeon.entity.meta.Usable;
+import unsw.dungeon.events.LocationChanged;
 import unsw.dungeon.util.emitter.GenericSAM;
+import unsw.dungeon.util.emitter.IntentSAM;
+import unsw.dungeon.util.emitter.TileSubscription;
 
 public class GameHooks implements LoaderHook {
 
 	private Dungeon dungeon;
 	private ArrayList<GenericSAM> postLoad;
+	private boolean verbose;
 
 	public GameHooks(Dungeon dungeon) {
+		this(dungeon, true);
+	}
+
+	/**
+	 * @param dungeon
+	 * @param verbose - whether to log loading and winning to stdout
+	 */
+	public GameHooks(Dungeon dungeon, boolean verbose) {
 		this.dungeon = dungeon;
 		this.postLoad = new ArrayList<GenericSAM>();
+		this.verbose = verbose;
 	}
 
 	@Override
@@ -37,15 +51,14 @@ public class GameHooks implements LoaderHook {
 	public void onLoad(Enemy enemy) {
 		Player p = this.dungeon.getPlayer();
 
-		p.moveEvent.register(enemy.playerMoveEventHandler);
-		p.moveIntent.register(enemy.playerMoveIntentHandler);
+		this.dungeon.getActivity().add(enemy, enemy.playerMoveEventHandler);
+		TileSubscription<IntentSAM<Player, LocationChanged>> intent = this.registerEnterIntent(enemy,
+				enemy.playerMoveIntentHandler);
 
-		enemy.alive().addListener((observer, oldValue, newValue) -> {
-			if (newValue == false) {
-				this.dungeon.removeEntity(enemy);
-				p.moveEvent.unregister(enemy.playerMoveEventHandler);
-				p.moveIntent.unregister(enemy.playerMoveIntentHandler);
-			}
+		enemy.deathEvent.register(() -> {
+			this.dungeon.removeEntity(enemy);
+			this.dungeon.getActivity().remove(enemy);
+			intent.cancel();
 		});
 
 		p.itemPickedUpEvent.register((player, event) -> {
@@ -69,21 +82,21 @@ public class GameHooks implements LoaderHook {
 	public void onLoad(Exit exit) {
 		Player p = this.dungeon.getPlayer();
 
-		p.moveEvent.register(exit::playerMoveEventHandler);
+		// Activate when the player steps on, deactivate when the player steps off
+		p.enterEvent.register(exit.getX(), exit.getY(), exit::playerMoveEventHandler);
+		p.leaveEvent.register(exit.getX(), exit.getY(), exit::playerMoveEventHandler);
 	}
 
 	@Override
 	public void onLoad(Boulder boulder) {
-		Player p = this.dungeon.getPlayer();
-
-		p.moveIntent.register(boulder::playerMoveIntentHandler);
+		this.registerEnterIntent(boulder, boulder::playerMoveIntentHandler);
 	}
 
 	@Override
 	public void onLoad(Switch sw) {
 
 		this.postLoad.add(() -> {
-			for (Boulder boulderObject : Entity.filter(this.dungeon.getEntities(), Boulder.class)) {
+			for (Boulder boulderObject : this.dungeon.getEntities(Boulder.class)) {
 				boulderObject.moveEvent.register(sw::boulderMoveEventHandler);
 			}
 
@@ -97,7 +110,7 @@ public class GameHooks implements LoaderHook {
 		Player p = this.dungeon.getPlayer();
 
 		this.postLoad.add(() -> {
-			p.moveIntent.register(portal::playerMoveIntentHandler);
+			p.enterIntent.register(portal.getX(), portal.getY(), portal::playerMoveIntentHandler);
 		});
 	}
 
@@ -105,34 +118,28 @@ public class GameHooks implements LoaderHook {
 	public void onLoad(Door door) {
 		Player p = this.dungeon.getPlayer();
 
-		p.moveIntent.register(door::playerMoveIntentHandler);
+		p.enterIntent.register(door.getX(), door.getY(), door::playerMoveIntentHandler);
 	}
 
 	@Override
 	public void onLoad(Treasure treasure) {
-		Player p = this.dungeon.getPlayer();
-
-		p.moveEvent.register(treasure.LocationChangedHandler);
+		this.registerPickup(treasure);
 	}
 
 	@Override
 	public void onLoad(Key key) {
-		Player p = this.dungeon.getPlayer();
-
-		p.moveEvent.register(key.LocationChangedHandler);
+		this.registerPickup(key);
 	}
 
 	@Override
 	public void onLoad(Sword sword) {
-		Player p = this.dungeon.getPlayer();
-
-		p.moveEvent.register(sword.LocationChangedHandler);
+		this.registerPickup(sword);
 	}
 
 	@Override
 	public void onLoad(InvincibilityPotion potion) {
 		Player p = this.dungeon.getPlayer();
-		p.moveEvent.register(potion.LocationChangedHandler);
+		this.registerPickup(potion);
 
 		potion.pickupEvent.register(() -> {
 			p.moveEvent.register(potion.playerMoveEventHandler);
@@ -141,9 +148,8 @@ public class GameHooks implements LoaderHook {
 
 	@Override
 	public void onLoad(Saw saw) {
-		Player p = this.dungeon.getPlayer();
-		p.moveIntent.register(saw::playerMoveIntentHandler);
-		p.moveEvent.register(saw::playerMoveEventHandler);
+		this.registerEnterIntent(saw, saw::playerMoveIntentHandler);
+		this.dungeon.getActivity().add(saw, saw::playerMoveEventHandler);
 
 	}
 
@@ -155,14 +161,13 @@ public class GameHooks implements LoaderHook {
 		p.moveEvent.register(dungeon::playerMoveEventGoalHandler);
 
 		// Extension: Switches can activate portals and doors
-		ArrayList<Entity> entities = dungeon.getEntities();
-		for (Switch switchEntity : Entity.filter(entities, Switch.class)) {
+		for (Switch switchEntity : dungeon.getEntities(Switch.class)) {
 
 			if (switchEntity.getID() == -1) {
 				continue;
 			}
 
-			for (Portal portalEntity : Entity.filter(entities, Portal.class)) {
+			for (Portal portalEntity : dungeon.getEntities(Portal.class)) {
 				if (portalEntity.getID() != switchEntity.getID()) {
 					continue;
 				}
@@ -171,7 +176,7 @@ public class GameHooks implements LoaderHook {
 				});
 			}
 
-			for (Door doorEntity : Entity.filter(entities, Door.class)) {
+			for (Door doorEntity : dungeon.getEntities(Door.class)) {
 				if (doorEntity.getID() != doorEntity.getID()) {
 					continue;
 				}
@@ -188,11 +193,46 @@ public class GameHooks implements LoaderHook {
 			func.execute();
 		}
 
-		dungeon.finishEvent.register(() -> {
-			System.out.println("Player has won!");
-		});
+		if (this.verbose) {
+			dungeon.finishEvent.register(() -> {
+				System.out.println("Player has won!");
+			});
+
+			System.out.println("Dungeon load complete");
+		}
+	}
+
+	/**
+	 * Register a player move intent on the tile of a movable entity, following the
+	 * entity as it moves
+	 * 
+	 * @param entity
+	 * @param handler
+	 * @return Subscription
+	 */
+	private <T> TileSubscription<IntentSAM<Player, LocationChanged>> registerEnterIntent(MovableEntity<T> entity,
+			IntentSAM<Player, LocationChanged> handler) {
+		Player p = this.dungeon.getPlayer();
+
+		TileSubscription<IntentSAM<Player, LocationChanged>> subscription = p.enterIntent.register(entity.getX(),
+				entity.getY(), handler);
+		entity.moveEvent.register((obj, event) -> subscription.moveTo(event.newX, event.newY));
+
+		return subscription;
+	}
+
+	/**
+	 * Register an item to be picked up when the player steps on its tile
+	 * 
+	 * @param item
+	 */
+	private void registerPickup(ItemEntity item) {
+		Player p = this.dungeon.getPlayer();
 
-		System.out.println("Dungeon load complete");
+		// Unregister the pickup event after it has been picked up
+		TileSubscription<?> subscription = p.enterEvent.register(item.getX(), item.getY(),
+				item.LocationChangedHandler);
+		item.pickupEvent.register(subscription::cancel);
 	}
 
 	/**
@@ -200,7 +240,7 @@ public class GameHooks implements LoaderHook {
 	 * @return A switch for `id` is activated
 	 */
 	private boolean switchActivated(int id) {
-		for (Switch sw : Switch.filter(this.dungeon.getEntities(), id)) {
+		for (Switch sw : Switch.filter(this.dungeon.getEntities(Switch.class), id)) {
 			if (sw.getActivated()) {
 				return true;
 			}
@@ -0,0 +1,553 @@
+package unsw.dungeon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+
+/**
+ * Hierarchical path planner (HPA*), for dungeons too large to search one tile
+ * at a time.
+ *
+ * The dungeon is cut into square clusters. Wherever two neighbouring clusters
+ * share a run of open tiles along their border, one or two entrances are placed
+ * on it, and the entrances of each cluster are joined by their distance inside
+ * the cluster. Routes are planned with A* on this much smaller graph, and then
+ * refined into single steps inside one cluster at a time.
+ *
+ * Clusters are built the first time a search reaches them, so only the parts of
+ * the dungeon that routes pass through are ever read. When an obstacle changes,
+ * the clusters around it are rebuilt the next time they are needed and the
+ * version is bumped, so that routes cached from before are planned again.
+ *
+ */
+public class HierarchicalPlanner {
+
+	public static final int CLUSTER_SIZE = 16;
+
+	// Runs of open border at least this long get an entrance at each end
+	private static final int WIDE_ENTRANCE = 6;
+
+	// Abstract nodes expanded before a search gives up
+	private static final int MAX_EXPANSIONS = 100000;
+
+	private Dungeon dungeon;
+	private int size;
+	private int clustersWide;
+
+	private HashMap<Long, Cluster> clusters;
+	private HashMap<Long, int[]> borders;
+	private int version;
+	private int searches;
+	private int stamp;
+
+	// Scratch space for searches inside a box of tiles
+	private int boxX, boxY, boxWidth, boxHeight;
+	private boolean[] boxBlocked;
+	private int[] boxDistance;
+	private int[] boxQueue;
+
+	/**
+	 * A cluster of the dungeon, and the entrances on its borders
+	 */
+	private class Cluster {
+		final int x, y, width, height;
+		final HashMap<Long, Node> nodes;
+
+		Cluster(int cx, int cy) {
+			this.x = cx * size;
+			this.y = cy * size;
+			this.width = Math.min(size, dungeon.getWidth() - this.x);
+			this.height = Math.min(size, dungeon.getHeight() - this.y);
+			this.nodes = new HashMap<>();
+		}
+	}
+
+	/**
+	 * An entrance tile, with its distances to the other entrances of its cluster
+	 * and the tiles across the border it leads to
+	 */
+	private static class Node {
+		final int x, y;
+		Node[] near;
+		int[] nearCost;
+		ArrayList<Long> across;
+
+		// Search state, valid while stamp matches the planner's
+		int stamp, cost, toGoal;
+		Node parent;
+
+		Node(int x, int y) {
+			this.x = x;
+			this.y = y;
+			this.across = new ArrayList<>();
+		}
+	}
+
+	/**
+	 * A node reached by the A* search
+	 */
+	private static class Step implements Comparable<Step> {
+		final Node node;
+		final int cost, estimate;
+
+		Step(Node node, int cost, int estimate) {
+			this.node = node;
+			this.cost = cost;
+			this.estimate = estimate;
+		}
+
+		@Override
+		public int compareTo(Step other) {
+			// Break ties towards the step furthest along
+			if (this.estimate != other.estimate) {
+				return Integer.compare(this.estimate, other.estimate);
+			}
+			return Integer.compare(other.cost, this.cost);
+		}
+	}
+
+	public HierarchicalPlanner(Dungeon dungeon) {
+		this.dungeon = dungeon;
+		this.size = CLUSTER_SIZE;
+		this.clustersWide = (dungeon.getWidth() + this.size - 1) / this.size;
+		this.clusters = new HashMap<>();
+		this.borders = new HashMap<>();
+		this.version = 0;
+		this.searches = 0;
+
+		int box = (this.size + 2) * (this.size + 2);
+		this.boxBlocked = new boolean[box];
+		this.boxDistance = new int[box];
+		this.boxQueue = new int[box];
+	}
+
+	/**
+	 * @return Number of times the map has changed, for checking cached routes
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * @return Number of routes planned
+	 */
+	public int getSearches() {
+		return this.searches;
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return Key of the cluster that holds a tile
+	 */
+	public long clusterOf(int x, int y) {
+		return this.clusterKey(x / this.size, y / this.size);
+	}
+
+	/**
+	 * Rebuild the clusters around a tile whose obstacle has changed
+	 *
+	 * @param x
+	 * @param y
+	 */
+	public void tileChanged(int x, int y) {
+		if (!this.dungeon.positionIsValid(x, y)) {
+			return;
+		}
+
+		this.version++;
+
+		int cx = x / this.size;
+		int cy = y / this.size;
+		this.clusters.remove(this.clusterKey(cx, cy));
+
+		// A tile on a border changes the entrances of the cluster across it
+		if (x % this.size == this.size - 1) {
+			this.forgetBorder(cx, cy, 0, cx + 1, cy);
+		}
+		if (x % this.size == 0 && cx > 0) {
+			this.forgetBorder(cx - 1, cy, 0, cx - 1, cy);
+		}
+		if (y % this.size == this.size - 1) {
+			this.forgetBorder(cx, cy, 1, cx, cy + 1);
+		}
+		if (y % this.size == 0 && cy > 0) {
+			this.forgetBorder(cx, cy - 1, 1, cx, cy - 1);
+		}
+	}
+
+	/**
+	 * Plan a route between two tiles
+	 *
+	 * @param fromX
+	 * @param fromY
+	 * @param toX
+	 * @param toY
+	 * @return Waypoints as x, y pairs, ending with the destination, or null if
+	 *         there is no route
+	 */
+	public int[] plan(int fromX, int fromY, int toX, int toY) {
+		this.searches++;
+
+		Cluster start = this.cluster(fromX, fromY);
+		Cluster goal = this.cluster(toX, toY);
+
+		// Within one cluster, a direct search is enough
+		if (start == goal) {
+			this.loadBox(start.x, start.y, start.width, start.height);
+			this.searchBox(toX, toY);
+			if (this.boxDistance(fromX, fromY) != Integer.MAX_VALUE) {
+				return new int[] { toX, toY };
+			}
+		}
+
+		// Connect the destination to the entrances of its cluster
+		this.stamp++;
+		boolean reachable = false;
+		this.loadBox(goal.x, goal.y, goal.width, goal.height);
+		this.searchBox(toX, toY);
+		for (Node node : goal.nodes.values()) {
+			node.stamp = this.stamp;
+			node.cost = Integer.MAX_VALUE;
+			node.toGoal = this.boxDistance(node.x, node.y);
+			reachable |= node.toGoal != Integer.MAX_VALUE;
+		}
+		if (!reachable) {
+			return null;
+		}
+
+		// A* over the entrances, starting from those the start can reach
+		PriorityQueue<Step> open = new PriorityQueue<>();
+
+		this.loadBox(start.x, start.y, start.width, start.height);
+		this.searchBox(fromX, fromY);
+		for (Node node : start.nodes.values()) {
+			int d = this.boxDistance(node.x, node.y);
+			if (d != Integer.MAX_VALUE) {
+				this.visit(node);
+				node.cost = d;
+				node.parent = null;
+				open.add(new Step(node, d, d + this.estimate(node, toX, toY)));
+			}
+		}
+
+		Node best = null;
+		int bestCost = Integer.MAX_VALUE;
+		int expansions = 0;
+
+		while (!open.isEmpty() && expansions < MAX_EXPANSIONS) {
+			Step step = open.poll();
+			if (step.cost != step.node.cost) {
+				continue;
+			}
+			if (step.estimate >= bestCost) {
+				break;
+			}
+			expansions++;
+
+			Node node = step.node;
+			if (node.toGoal != Integer.MAX_VALUE && node.cost + node.toGoal < bestCost) {
+				best = node;
+				bestCost = node.cost + node.toGoal;
+			}
+
+			for (int k = 0; k < node.near.length; k++) {
+				this.relax(node, node.near[k], node.cost + node.nearCost[k], open, toX, toY);
+			}
+			for (long tile : node.across) {
+				int x = (int) (tile % this.dungeon.getWidth());
+				int y = (int) (tile / this.dungeon.getWidth());
+				Node next = this.cluster(x, y).nodes.get(tile);
+				if (next != null) {
+					this.relax(node, next, node.cost + 1, open, toX, toY);
+				}
+			}
+		}
+
+		if (best == null) {
+			return null;
+		}
+
+		// Walk back from the best entrance to list the waypoints
+		ArrayList<Node> route = new ArrayList<>();
+		for (Node node = best; node != null; node = node.parent) {
+			route.add(node);
+		}
+
+		int[] waypoints = new int[route.size() * 2 + 2];
+		for (int k = 0; k < route.size(); k++) {
+			Node node = route.get(route.size() - 1 - k);
+			waypoints[k * 2] = node.x;
+			waypoints[k * 2 + 1] = node.y;
+		}
+		waypoints[waypoints.length - 2] = toX;
+		waypoints[waypoints.length - 1] = toY;
+
+		return waypoints;
+	}
+
+	/**
+	 * Find the first step from a tile towards a nearby waypoint, searching the
+	 * cluster of the tile and the tiles just around it
+	 *
+	 * @param fromX
+	 * @param fromY
+	 * @param toX
+	 * @param toY
+	 * @return Direction, as an index into FlowField.DX and FlowField.DY, or -1 if
+	 *         the waypoint cannot be reached that way
+	 */
+	public int step(int fromX, int fromY, int toX, int toY) {
+		int x0 = Math.max(0, fromX / this.size * this.size - 1);
+		int y0 = Math.max(0, fromY / this.size * this.size - 1);
+		int x1 = Math.min(this.dungeon.getWidth(), fromX / this.size * this.size + this.size + 1);
+		int y1 = Math.min(this.dungeon.getHeight(), fromY / this.size * this.size + this.size + 1);
+		if (toX < x0 || toY < y0 || toX >= x1 || toY >= y1) {
+			return -1;
+		}
+
+		this.loadBox(x0, y0, x1 - x0, y1 - y0);
+		this.searchBox(toX, toY);
+
+		int d = this.boxDistance(fromX, fromY);
+		if (d == Integer.MAX_VALUE || d == 0) {
+			return -1;
+		}
+
+		for (int dir = 0; dir < 4; dir++) {
+			int x = fromX + FlowField.DX[dir];
+			int y = fromY + FlowField.DY[dir];
+			if (x >= x0 && y >= y0 && x < x1 && y < y1 && this.boxDistance(x, y) == d - 1) {
+				return dir;
+			}
+		}
+
+		return -1;
+	}
+
+	private long clusterKey(int cx, int cy) {
+		return (long) cy * this.clustersWide + cx;
+	}
+
+	private int estimate(Node node, int toX, int toY) {
+		return Math.abs(node.x - toX) + Math.abs(node.y - toY);
+	}
+
+	private void relax(Node from, Node next, int cost, PriorityQueue<Step> open, int toX, int toY) {
+		this.visit(next);
+		if (next.cost <= cost) {
+			return;
+		}
+
+		next.cost = cost;
+		next.parent = from;
+		open.add(new Step(next, cost, cost + this.estimate(next, toX, toY)));
+	}
+
+	/**
+	 * Reset the search state of a node the first time a search reaches it
+	 */
+	private void visit(Node node) {
+		if (node.stamp != this.stamp) {
+			node.stamp = this.stamp;
+			node.cost = Integer.MAX_VALUE;
+			node.toGoal = Integer.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Drop the entrances of a border, and the cluster on the other side of it
+	 */
+	private void forgetBorder(int cx, int cy, int side, int otherX, int otherY) {
+		this.borders.remove(this.clusterKey(cx, cy) * 2 + side);
+		this.clusters.remove(this.clusterKey(otherX, otherY));
+	}
+
+	/**
+	 * Get the cluster holding a tile, building it if needed
+	 */
+	private Cluster cluster(int x, int y) {
+		int cx = x / this.size;
+		int cy = y / this.size;
+		long key = this.clusterKey(cx, cy);
+
+		Cluster cluster = this.clusters.get(key);
+		if (cluster == null) {
+			cluster = this.build(cx, cy);
+			this.clusters.put(key, cluster);
+		}
+		return cluster;
+	}
+
+	/**
+	 * Place the entrances of a cluster and join them up
+	 */
+	private Cluster build(int cx, int cy) {
+		Cluster cluster = new Cluster(cx, cy);
+		int width = this.dungeon.getWidth();
+
+		// Borders to the right and below list this cluster's tiles first, those to
+		// the left and above list them second
+		int[][] sides = { this.border(cx, cy, 0), this.border(cx, cy, 1),
+				cx > 0 ? this.border(cx - 1, cy, 0) : new int[0], cy > 0 ? this.border(cx, cy - 1, 1) : new int[0] };
+		for (int s = 0; s < 4; s++) {
+			int[] pairs = sides[s];
+			for (int k = 0; k < pairs.length; k += 4) {
+				int here = s < 2 ? k : k + 2;
+				int there = s < 2 ? k + 2 : k;
+
+				long key = (long) pairs[here + 1] * width + pairs[here];
+				Node node = cluster.nodes.get(key);
+				if (node == null) {
+					node = new Node(pairs[here], pairs[here + 1]);
+					cluster.nodes.put(key, node);
+				}
+				node.across.add((long) pairs[there + 1] * width + pairs[there]);
+			}
+		}
+
+		// Distances between the entrances inside the cluster
+		Node[] nodes = cluster.nodes.values().toArray(new Node[0]);
+		this.loadBox(cluster.x, cluster.y, cluster.width, cluster.height);
+		for (Node node : nodes) {
+			this.searchBox(node.x, node.y);
+
+			int count = 0;
+			Node[] near = new Node[nodes.length];
+			int[] nearCost = new int[nodes.length];
+			for (Node other : nodes) {
+				int d = this.boxDistance(other.x, other.y);
+				if (other != node && d != Integer.MAX_VALUE) {
+					near[count] = other;
+					nearCost[count] = d;
+					count++;
+				}
+			}
+
+			node.near = Arrays.copyOf(near, count);
+			node.nearCost = Arrays.copyOf(nearCost, count);
+		}
+
+		return cluster;
+	}
+
+	/**
+	 * Get the entrances on the right (side 0) or bottom (side 1) border of a
+	 * cluster, as tile pairs ax, ay, bx, by with a inside the cluster
+	 */
+	private int[] border(int cx, int cy, int side) {
+		long key = this.clusterKey(cx, cy) * 2 + side;
+		int[] pairs = this.borders.get(key);
+		if (pairs != null) {
+			return pairs;
+		}
+
+		int dx = side == 0 ? 1 : 0;
+		int dy = side == 0 ? 0 : 1;
+
+		// Tiles along the border, on this side of it
+		int ax = side == 0 ? cx * this.size + this.size - 1 : cx * this.size;
+		int ay = side == 0 ? cy * this.size : cy * this.size + this.size - 1;
+		int length = side == 0 ? Math.min(this.size, this.dungeon.getHeight() - ay)
+				: Math.min(this.size, this.dungeon.getWidth() - ax);
+
+		int[] found = new int[0];
+		if (this.dungeon.positionIsValid(ax + dx, ay + dy)) {
+			found = new int[length * 4];
+			int count = 0;
+			int run = -1;
+			for (int k = 0; k <= length; k++) {
+				int x = ax + dy * k;
+				int y = ay + dx * k;
+				boolean open = k < length && !this.dungeon.isObstacleAt(x, y)
+						&& !this.dungeon.isObstacleAt(x + dx, y + dy);
+
+				if (open && run == -1) {
+					run = k;
+				} else if (!open && run != -1) {
+					// Close the run with one entrance in the middle, or one at each end
+					int end = k - 1;
+					if (end - run + 1 < WIDE_ENTRANCE) {
+						count = this.addPair(found, count, ax, ay, dx, dy, (run + end) / 2);
+					} else {
+						count = this.addPair(found, count, ax, ay, dx, dy, run);
+						count = this.addPair(found, count, ax, ay, dx, dy, end);
+					}
+					run = -1;
+				}
+			}
+			found = Arrays.copyOf(found, count);
+		}
+
+		this.borders.put(key, found);
+		return found;
+	}
+
+	private int addPair(int[] pairs, int count, int ax, int ay, int dx, int dy, int k) {
+		int x = ax + dy * k;
+		int y = ay + dx * k;
+		pairs[count++] = x;
+		pairs[count++] = y;
+		pairs[count++] = x + dx;
+		pairs[count++] = y + dy;
+		return count;
+	}
+
+	/**
+	 * Read which tiles of a box are blocked, for searches inside it
+	 */
+	private void loadBox(int x, int y, int width, int height) {
+		this.boxX = x;
+		this.boxY = y;
+		this.boxWidth = width;
+		this.boxHeight = height;
+
+		for (int j = 0; j < height; j++) {
+			for (int i = 0; i < width; i++) {
+				this.boxBlocked[j * width + i] = this.dungeon.isObstacleAt(x + i, y + j);
+			}
+		}
+	}
+
+	/**
+	 * Breadth first search over the loaded box from a tile inside it
+	 */
+	private void searchBox(int x, int y) {
+		int n = this.boxWidth * this.boxHeight;
+		Arrays.fill(this.boxDistance, 0, n, Integer.MAX_VALUE);
+
+		int head = 0;
+		int tail = 0;
+		int start = (y - this.boxY) * this.boxWidth + (x - this.boxX);
+		this.boxDistance[start] = 0;
+		this.boxQueue[tail++] = start;
+
+		while (head < tail) {
+			int i = this.boxQueue[head++];
+			int bx = i % this.boxWidth;
+			int by = i / this.boxWidth;
+
+			for (int dir = 0; dir < 4; dir++) {
+				int nx = bx + FlowField.DX[dir];
+				int ny = by + FlowField.DY[dir];
+				if (nx < 0 || ny < 0 || nx >= this.boxWidth || ny >= this.boxHeight) {
+					continue;
+				}
+
+				int j = ny * this.boxWidth + nx;
+				if (this.boxDistance[j] == Integer.MAX_VALUE && !this.boxBlocked[j]) {
+					this.boxDistance[j] = this.boxDistance[i] + 1;
+					this.boxQueue[tail++] = j;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return Distance of a tile inside the box from the last search
+	 */
+	private int boxDistance(int x, int y) {
+		return this.boxDistance[(y - this.boxY) * this.boxWidth + (x - this.boxX)];
+	}
+}
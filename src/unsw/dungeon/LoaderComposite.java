@@ -0,0 +1,139 @@
+package unsw.dungeon;
+
+import java.util.ArrayList;
+
+import unsw.dungeon.entity.Boulder;
+import unsw.dungeon.entity.Door;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Exit;
+import unsw.dungeon.entity.InvincibilityPotion;
+import unsw.dungeon.entity.Key;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Portal;
+import unsw.dungeon.entity.Saw;
+import unsw.dungeon.entity.Switch;
+import unsw.dungeon.entity.Sword;
+import unsw.dungeon.entity.Treasure;
+import unsw.dungeon.entity.Wall;
+
+/**
+ * A LoaderHook that passes each loaded entity on to several others, in the
+ * order they were added
+ *
+ */
+class LoaderComposite implements LoaderHook {
+	private ArrayList<LoaderHook> hooks;
+
+	public LoaderComposite(LoaderHook... hooks) {
+		this.hooks = new ArrayList<LoaderHook>();
+		for (LoaderHook hook : hooks) {
+			this.hooks.add(hook);
+		}
+	}
+
+	public void addHook(LoaderHook hook) {
+		if (this.hooks.contains(hook)) {
+			return;
+		}
+		this.hooks.add(hook);
+	}
+
+	@Override
+	public void onLoad(Player player) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(player);
+		}
+	}
+
+	@Override
+	public void onLoad(Wall wall) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(wall);
+		}
+	}
+
+	@Override
+	public void onLoad(Exit exit) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(exit);
+		}
+	}
+
+	@Override
+	public void onLoad(Boulder boulder) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(boulder);
+		}
+	}
+
+	@Override
+	public void onLoad(Switch sw) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(sw);
+		}
+	}
+
+	@Override
+	public void onLoad(Door door) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(door);
+		}
+	}
+
+	@Override
+	public void onLoad(Treasure treasure) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(treasure);
+		}
+	}
+
+	@Override
+	public void onLoad(Key key) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(key);
+		}
+	}
+
+	@Override
+	public void onLoad(Sword sword) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(sword);
+		}
+	}
+
+	@Override
+	public void onLoad(InvincibilityPotion potion) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(potion);
+		}
+	}
+
+	@Override
+	public void onLoad(Enemy enemy) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(enemy);
+		}
+	}
+
+	@Override
+	public void onLoad(Portal portal) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(portal);
+		}
+	}
+	
+	@Override
+	public void onLoad(Saw saw) {
+		for (LoaderHook hook : this.hooks) {
+			hook.onLoad(saw);
+		}
+	}
+
+	@Override
+	public void postLoad(Dungeon dungeon) {
+		for (LoaderHook hook : this.hooks) {
+			hook.postLoad(dungeon);
+		}
+	}
+
+}
@@ -0,0 +1,139 @@
+package unsw.dungeon;
+
+import java.util.BitSet;
+import java.util.HashMap;
+
+import unsw.dungeon.entity.Wall;
+
+/**
+ * Walls of a dungeon stored as one bit per tile.
+ *
+ * Walls never move and carry no state, so a packed dungeon only needs to know
+ * which tiles hold one. A Wall object is created the first time a tile is
+ * looked up, and is kept so later lookups return the same object.
+ *
+ */
+class PackedWalls implements WallStore {
+
+	private Dungeon dungeon;
+	private int width, height;
+	private BitSet tiles;
+	private HashMap<Integer, Wall> materialised;
+
+	// Whether tiles is shared with other dungeons, and must be copied to change
+	private boolean shared;
+
+	public PackedWalls(Dungeon dungeon, int width, int height) {
+		this(dungeon, width, height, new BitSet());
+		this.shared = false;
+	}
+
+	/**
+	 * Create walls sharing their tiles with other dungeons, until they change
+	 * 
+	 * @param dungeon
+	 * @param width
+	 * @param height
+	 * @param tiles   - from share(), which will not be modified
+	 */
+	public PackedWalls(Dungeon dungeon, int width, int height, BitSet tiles) {
+		this.dungeon = dungeon;
+		this.width = width;
+		this.height = height;
+		this.tiles = tiles;
+		this.materialised = new HashMap<Integer, Wall>();
+		this.shared = true;
+	}
+
+	/**
+	 * Share the wall tiles with another dungeon. Both copy them before changing
+	 * them.
+	 * 
+	 * @return Wall tiles, indexed by y * width + x
+	 */
+	public BitSet share() {
+		this.shared = true;
+		return this.tiles;
+	}
+
+	private void unshare() {
+		if (this.shared) {
+			this.tiles = (BitSet) this.tiles.clone();
+			this.shared = false;
+		}
+	}
+
+	@Override
+	public boolean add(Wall wall) {
+		int x = wall.getX();
+		int y = wall.getY();
+		if (!this.contains(x, y) || this.tiles.get(this.index(x, y))) {
+			return false;
+		}
+
+		this.unshare();
+		this.tiles.set(this.index(x, y));
+		return true;
+	}
+
+	@Override
+	public boolean remove(Wall wall) {
+		int x = wall.getX();
+		int y = wall.getY();
+		if (!this.has(x, y)) {
+			return false;
+		}
+
+		Wall existing = this.materialised.get(this.index(x, y));
+		if (existing != null && existing != wall) {
+			return false;
+		}
+
+		this.unshare();
+		this.tiles.clear(this.index(x, y));
+		this.materialised.remove(this.index(x, y));
+		return true;
+	}
+
+	@Override
+	public boolean has(int x, int y) {
+		return this.contains(x, y) && this.tiles.get(this.index(x, y));
+	}
+
+	@Override
+	public Wall get(int x, int y) {
+		if (!this.has(x, y)) {
+			return null;
+		}
+
+		Wall wall = this.materialised.get(this.index(x, y));
+		if (wall == null) {
+			wall = new Wall(this.dungeon, x, y);
+			this.materialised.put(this.index(x, y), wall);
+		}
+		return wall;
+	}
+
+	@Override
+	public Wall[] unpack() {
+		Wall[] walls = new Wall[this.tiles.cardinality()];
+
+		int n = 0;
+		for (int i = this.tiles.nextSetBit(0); i >= 0; i = this.tiles.nextSetBit(i + 1)) {
+			walls[n++] = this.get(i % this.width, i / this.width);
+		}
+
+		this.tiles = new BitSet();
+		this.shared = false;
+		this.materialised.clear();
+		return walls;
+	}
+
+	private boolean contains(int x, int y) {
+		return !(y < 0 || y >= this.height || x < 0 || x >= this.width);
+	}
+
+	private int index(int x, int y) {
+		return y * this.width + x;
+	}
+}
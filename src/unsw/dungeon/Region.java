@@ -0,0 +1,60 @@
+package unsw.dungeon;
+
+/**
+ * A square region of a chunked dungeon, being filled in by a RegionSource
+ *
+ */
+public class Region {
+
+	private int x, y, size;
+	private int width, height;
+	private long[] rows;
+
+	Region(int x, int y, int size, int width, int height, long[] rows) {
+		this.x = x;
+		this.y = y;
+		this.size = size;
+		this.width = width;
+		this.height = height;
+		this.rows = rows;
+	}
+
+	/**
+	 * @return x position of the region's top left tile
+	 */
+	public int getX() {
+		return this.x;
+	}
+
+	/**
+	 * @return y position of the region's top left tile
+	 */
+	public int getY() {
+		return this.y;
+	}
+
+	/**
+	 * @return Number of tiles along each side of the region. Regions on the edge
+	 *         of the dungeon may be cut short.
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Place a wall in the region
+	 *
+	 * @param x - dungeon x position
+	 * @param y - dungeon y position
+	 */
+	public void setWall(int x, int y) {
+		if (x < this.x || x >= this.x + this.size || y < this.y || y >= this.y + this.size) {
+			return;
+		}
+		if (x >= this.width || y >= this.height) {
+			return;
+		}
+
+		this.rows[y - this.y] |= 1L << (x - this.x);
+	}
+}
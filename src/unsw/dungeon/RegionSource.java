@@ -0,0 +1,19 @@
+package unsw.dungeon;
+
+/**
+ * Supplies the static contents of a chunked dungeon one region at a time.
+ *
+ * Regions are loaded when entities come near them and may be evicted and
+ * loaded again later, so a source must give the same contents every time it
+ * is asked for the same region.
+ *
+ */
+public interface RegionSource {
+
+	/**
+	 * Fill in the walls of a region
+	 *
+	 * @param region
+	 */
+	public void load(Region region);
+}
@@ -0,0 +1,91 @@
+package unsw.dungeon;
+
+import java.util.ArrayList;
+
+import unsw.dungeon.entity.saw.TrackBehaviour;
+
+/**
+ * Index of the saw tracks in a dungeon by row and column, so that a change to
+ * the map only has the tracks on its row and column checked.
+ *
+ */
+public class SawTracks {
+	private ArrayList<ArrayList<TrackBehaviour>> rows;
+	private ArrayList<ArrayList<TrackBehaviour>> columns;
+	private int size;
+
+	public SawTracks() {
+		this.rows = new ArrayList<>();
+		this.columns = new ArrayList<>();
+		this.size = 0;
+	}
+
+	/**
+	 * @param track
+	 */
+	public void add(TrackBehaviour track) {
+		this.line(track, true).add(track);
+		this.size++;
+	}
+
+	/**
+	 * @param track
+	 */
+	public void remove(TrackBehaviour track) {
+		ArrayList<TrackBehaviour> line = this.line(track, false);
+		if (line != null && line.remove(track)) {
+			this.size--;
+		}
+	}
+
+	/**
+	 * @return Number of tracks
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Have the tracks through or ending next to a tile found again
+	 *
+	 * @param x
+	 * @param y
+	 */
+	public void tileChanged(int x, int y) {
+		if (this.size == 0) {
+			return;
+		}
+
+		this.tileChanged(this.get(this.rows, y), x, y);
+		this.tileChanged(this.get(this.columns, x), x, y);
+	}
+
+	private void tileChanged(ArrayList<TrackBehaviour> line, int x, int y) {
+		if (line == null) {
+			return;
+		}
+
+		for (int i = 0; i < line.size(); i++) {
+			if (line.get(i).covers(x, y)) {
+				line.get(i).invalidate();
+			}
+		}
+	}
+
+	private ArrayList<TrackBehaviour> line(TrackBehaviour track, boolean create) {
+		ArrayList<ArrayList<TrackBehaviour>> lines = track.isHorizontal() ? this.rows : this.columns;
+		ArrayList<TrackBehaviour> line = this.get(lines, track.getLine());
+		if (line == null && create) {
+			while (lines.size() <= track.getLine()) {
+				lines.add(null);
+			}
+			line = new ArrayList<>();
+			lines.set(track.getLine(), line);
+		}
+		return line;
+	}
+
+	private ArrayList<TrackBehaviour> get(ArrayList<ArrayList<TrackBehaviour>> lines, int i) {
+		return i >= 0 && i < lines.size() ? lines.get(i) : null;
+	}
+}
@@ -0,0 +1,58 @@
+package unsw.dungeon;
+
+import unsw.dungeon.entity.Wall;
+
+/**
+ * Compact storage for the walls of a dungeon, used in place of Wall objects
+ *
+ */
+interface WallStore {
+
+	/**
+	 * Store a wall
+	 *
+	 * @param wall
+	 * @return Whether the wall was stored, otherwise it must be kept as an object
+	 */
+	public boolean add(Wall wall);
+
+	/**
+	 * Remove a stored wall
+	 *
+	 * @param wall
+	 * @return Whether the wall was stored
+	 */
+	public boolean remove(Wall wall);
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return Whether a stored wall is on the tile
+	 */
+	public boolean has(int x, int y);
+
+	/**
+	 * Get the Wall object for a tile, creating it if needed
+	 *
+	 * @param x
+	 * @param y
+	 * @return Wall, or null if there is no stored wall on the tile
+	 */
+	public Wall get(int x, int y);
+
+	/**
+	 * Create the Wall objects for every stored wall and empty the store
+	 *
+	 * @return All stored walls, in tile order
+	 */
+	public Wall[] unpack();
+
+	/**
+	 * A movable entity is at the given tile
+	 *
+	 * @param x
+	 * @param y
+	 */
+	default public void touch(int x, int y) {
+	}
+}
@@ -0,0 +1,128 @@
+package unsw.dungeon.batch;
+
+/**
+ * Totals over the sessions of a batch.
+ *
+ * Each worker builds results for its own sessions and they are merged once
+ * the workers are done, so no result is shared between threads while sessions
+ * run. Merging is order independent, so a batch gives the same result however
+ * it was split between threads.
+ *
+ */
+public class BatchResult {
+	private int sessions;
+	private int wins;
+	private int deaths;
+	private long turns;
+	private long progress;
+	private long target;
+	private int fastestWin;
+	private long checksum;
+
+	public BatchResult() {
+		this.sessions = 0;
+		this.wins = 0;
+		this.deaths = 0;
+		this.turns = 0;
+		this.progress = 0;
+		this.target = 0;
+		this.fastestWin = Integer.MAX_VALUE;
+		this.checksum = 0;
+	}
+
+	/**
+	 * Count a finished session
+	 *
+	 * @param won
+	 * @param died
+	 * @param turns       - number of inputs played
+	 * @param progress    - progress towards the level's goal
+	 * @param target      - progress needed to achieve the goal
+	 * @param fingerprint - of the dungeon at the end of the session
+	 */
+	public void add(boolean won, boolean died, int turns, int progress, int target, long fingerprint) {
+		this.sessions++;
+		this.wins += won ? 1 : 0;
+		this.deaths += died ? 1 : 0;
+		this.turns += turns;
+		this.progress += progress;
+		this.target += target;
+		if (won) {
+			this.fastestWin = Math.min(this.fastestWin, turns);
+		}
+		this.checksum += fingerprint;
+	}
+
+	/**
+	 * Add the totals of another result to this one
+	 *
+	 * @param other
+	 * @return This result
+	 */
+	public BatchResult merge(BatchResult other) {
+		this.sessions += other.sessions;
+		this.wins += other.wins;
+		this.deaths += other.deaths;
+		this.turns += other.turns;
+		this.progress += other.progress;
+		this.target += other.target;
+		this.fastestWin = Math.min(this.fastestWin, other.fastestWin);
+		this.checksum += other.checksum;
+		return this;
+	}
+
+	public int getSessions() {
+		return this.sessions;
+	}
+
+	public int getWins() {
+		return this.wins;
+	}
+
+	public int getDeaths() {
+		return this.deaths;
+	}
+
+	/**
+	 * @return Sessions that ran out of turns without winning or dying
+	 */
+	public int getUnfinished() {
+		return this.sessions - this.wins - this.deaths;
+	}
+
+	/**
+	 * @return Total inputs played over every session
+	 */
+	public long getTurns() {
+		return this.turns;
+	}
+
+	/**
+	 * @return Average fraction of the goal achieved, from 0 to 1
+	 */
+	public double getProgress() {
+		return this.target == 0 ? 0 : this.progress / (double) this.target;
+	}
+
+	/**
+	 * @return Fewest turns a session won in, or -1 if none won
+	 */
+	public int getFastestWin() {
+		return this.wins == 0 ? -1 : this.fastestWin;
+	}
+
+	/**
+	 * @return Sum of the fingerprints of every session's end, to check that two
+	 *         batches played the same
+	 */
+	public long getChecksum() {
+		return this.checksum;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d sessions: %d won, %d died, %d unfinished, %.1f turns each, %.0f%% of goal",
+				this.sessions, this.wins, this.deaths, this.getUnfinished(),
+				this.sessions == 0 ? 0 : this.turns / (double) this.sessions, this.getProgress() * 100);
+	}
+}
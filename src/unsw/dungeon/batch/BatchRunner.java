@@ -0,0 +1,163 @@
+package unsw.dungeon.batch;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonLoader;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.replay.Recording;
+
+/**
+ * Plays many headless sessions of a level over every core, such as to score a
+ * level or check that changes to the game don't change how it plays.
+ *
+ * The level file is parsed once and each session loads its own dungeon from
+ * it, so sessions share nothing while they run. Sessions are split between the
+ * threads of a fork-join pool, and each thread adds up the results of its own
+ * sessions, which are merged as the splits join.
+ *
+ * Every session gets its own seed, made from the batch's seed and the
+ * session's number, for both the dungeon and the script. A batch plays the
+ * same with any number of threads.
+ *
+ */
+public class BatchRunner {
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private DungeonLoader loader;
+	private ForkJoinPool pool;
+
+	/**
+	 * @param level - level file, relative to the dungeons directory
+	 * @throws FileNotFoundException
+	 */
+	public BatchRunner(String level) throws FileNotFoundException {
+		this(level, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param level - level file, relative to the dungeons directory
+	 * @param pool  - pool to run the sessions on
+	 * @throws FileNotFoundException
+	 */
+	public BatchRunner(String level, ForkJoinPool pool) throws FileNotFoundException {
+		this.loader = new DungeonLoader(level);
+		this.loader.setVerbose(false);
+		this.pool = pool;
+	}
+
+	/**
+	 * Play a batch of sessions
+	 *
+	 * @param sessions - number of sessions
+	 * @param seed     - seed of the batch
+	 * @param maxTurns - inputs after which a session is stopped
+	 * @param script   - picks the inputs of every session
+	 * @return
+	 */
+	public BatchResult run(int sessions, long seed, int maxTurns, Script script) {
+		int leaf = Math.max(1, sessions / (this.pool.getParallelism() * 8));
+		return this.pool.invoke(new Sessions(0, sessions, leaf, seed, maxTurns, script));
+	}
+
+	/**
+	 * Play one session of a batch, adding it to a result
+	 *
+	 * @param session  - number of the session in the batch
+	 * @param seed     - seed of the batch
+	 * @param maxTurns
+	 * @param script
+	 * @param result
+	 */
+	public void play(int session, long seed, int maxTurns, Script script, BatchResult result) {
+		long sessionSeed = BatchRunner.mix(seed + session * GOLDEN_GAMMA);
+		Dungeon dungeon = this.loader.load(sessionSeed);
+		Random random = new Random(BatchRunner.mix(sessionSeed));
+		Player player = dungeon.getPlayer();
+
+		int turn = 0;
+		while (turn < maxTurns && player.isAlive() && !dungeon.isFinished()) {
+			Input input = script.next(dungeon, turn, random);
+			if (input == null) {
+				break;
+			}
+			input.apply(player);
+			turn++;
+		}
+
+		dungeon.getGoal().check();
+		result.add(dungeon.isFinished(), !player.isAlive(), turn, dungeon.getGoal().getProgress(),
+				dungeon.getGoal().getTarget(), Recording.fingerprint(dungeon));
+	}
+
+	/**
+	 * SplitMix64's finaliser, so that seeds next to each other give unrelated
+	 * random numbers
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * A range of sessions, split in half until it is small enough to play
+	 */
+	private class Sessions extends RecursiveTask<BatchResult> {
+		private static final long serialVersionUID = 1L;
+
+		private int from, to, leaf;
+		private long seed;
+		private int maxTurns;
+		private Script script;
+
+		Sessions(int from, int to, int leaf, long seed, int maxTurns, Script script) {
+			this.from = from;
+			this.to = to;
+			this.leaf = leaf;
+			this.seed = seed;
+			this.maxTurns = maxTurns;
+			this.script = script;
+		}
+
+		@Override
+		protected BatchResult compute() {
+			if (this.to - this.from <= this.leaf) {
+				BatchResult result = new BatchResult();
+				for (int i = this.from; i < this.to; i++) {
+					BatchRunner.this.play(i, this.seed, this.maxTurns, this.script, result);
+				}
+				return result;
+			}
+
+			int middle = (this.from + this.to) >>> 1;
+			Sessions left = new Sessions(this.from, middle, this.leaf, this.seed, this.maxTurns, this.script);
+			Sessions right = new Sessions(middle, this.to, this.leaf, this.seed, this.maxTurns, this.script);
+			left.fork();
+			return right.compute().merge(left.join());
+		}
+	}
+
+	/**
+	 * Arguments: level [sessions] [max turns] [seed]
+	 */
+	public static void main(String[] args) throws FileNotFoundException {
+		String level = args.length > 0 ? args[0] : "advanced.json";
+		int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+		int maxTurns = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+		BatchRunner runner = new BatchRunner(level);
+		long start = System.nanoTime();
+		BatchResult result = runner.run(sessions, seed, maxTurns, Script.RANDOM);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.println(result);
+		System.out.println(String.format("%.0f sessions/s on %d threads", sessions / seconds,
+				runner.pool.getParallelism()));
+	}
+}
@@ -0,0 +1,32 @@
+package unsw.dungeon.batch;
+
+import java.util.Random;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.replay.Input;
+
+/**
+ * Decides the inputs of a batch session.
+ *
+ * A script is shared by every session in a batch and may be called from
+ * several threads at once, so it must keep any state of its own in the dungeon
+ * or the random numbers it is given.
+ *
+ */
+@FunctionalInterface
+public interface Script {
+	/**
+	 * Every input picked at random
+	 */
+	public static final Script RANDOM = (dungeon, turn, random) -> {
+		return Input.values()[random.nextInt(4)];
+	};
+
+	/**
+	 * @param dungeon - the session's dungeon
+	 * @param turn    - number of inputs played so far
+	 * @param random  - the session's random numbers
+	 * @return The next input, or null to end the session
+	 */
+	public Input next(Dungeon dungeon, int turn, Random random);
+}
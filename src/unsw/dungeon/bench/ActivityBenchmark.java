@@ -0,0 +1,75 @@
+package unsw.dungeon.bench;
+
+import java.util.Random;
+
+import unsw.dungeon.ActivityRegions;
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.GameHooks;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Saw;
+import unsw.dungeon.entity.Wall;
+
+/**
+ * Player move cost against the number of saws spread over a 1024x1024 dungeon.
+ *
+ * The player walks back and forth in one corner. With every saw awake the cost
+ * of a move grows with the number of saws, while with the default radius only
+ * the saws near the player run and the rest stay parked.
+ *
+ */
+public class ActivityBenchmark {
+
+	public static void main(String[] args) {
+		Bench.row("saws", "radius", "active", "ns/move");
+
+		for (int saws : new int[] { 100, 1000, 10000 }) {
+			for (int radius : new int[] { 2048, ActivityRegions.DEFAULT_RADIUS }) {
+				Dungeon dungeon = createDungeon(1024, saws, new Random(saws));
+				dungeon.getActivity().setRadius(radius);
+				Player player = dungeon.getPlayer();
+				boolean[] right = { true };
+
+				double ns = Bench.nsPerOp(2000, 10000, () -> {
+					if (right[0] ? !player.moveRight() : !player.moveLeft()) {
+						right[0] = !right[0];
+					}
+				});
+
+				Bench.row(saws, radius, dungeon.getActivity().getActive(), String.format("%.1f", ns));
+			}
+		}
+	}
+
+	/**
+	 * Create a dungeon with the player in a walled corridor along y = 1, and saws
+	 * scattered over the rest of the map
+	 */
+	static Dungeon createDungeon(int size, int saws, Random random) {
+		Dungeon dungeon = new Dungeon(size, size);
+		GameHooks hooks = new GameHooks(dungeon);
+
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+
+		for (int x = 0; x < 32; x++) {
+			dungeon.addEntity(new Wall(dungeon, x, 0));
+			dungeon.addEntity(new Wall(dungeon, x, 2));
+		}
+		dungeon.addEntity(new Wall(dungeon, 0, 1));
+		dungeon.addEntity(new Wall(dungeon, 31, 1));
+
+		for (int i = 0; i < saws; i++) {
+			int x = random.nextInt(size);
+			int y = random.nextInt(size);
+			if (y < 3 && x < 32 || dungeon.hasEntitiesAt(player.getEntityLevel(), x, y)) {
+				continue;
+			}
+			Saw saw = new Saw(dungeon, x, y, random.nextBoolean() ? "H" : "V");
+			hooks.onLoad(saw);
+			dungeon.addEntity(saw);
+		}
+
+		return dungeon;
+	}
+}
@@ -0,0 +1,42 @@
+package unsw.dungeon.bench;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.ForkJoinPool;
+
+import unsw.dungeon.batch.BatchResult;
+import unsw.dungeon.batch.BatchRunner;
+import unsw.dungeon.batch.Script;
+
+/**
+ * Batch throughput against the number of threads.
+ *
+ * Sessions share nothing while they run, so sessions per second should grow
+ * close to linearly up to the number of cores.
+ *
+ */
+public class BatchBenchmark {
+
+	public static void main(String[] args) throws FileNotFoundException {
+		String level = args.length > 0 ? args[0] : "test.json";
+		int sessions = 4000;
+		int cores = Runtime.getRuntime().availableProcessors();
+
+		Bench.row("threads", "sessions/s", "speedup");
+		double single = 0;
+		for (int threads = 1; threads <= cores; threads *= 2) {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			BatchRunner runner = new BatchRunner(level, pool);
+			runner.run(sessions / 4, 0, 500, Script.RANDOM);
+
+			long start = System.nanoTime();
+			BatchResult result = runner.run(sessions, 1, 500, Script.RANDOM);
+			double rate = result.getSessions() / ((System.nanoTime() - start) / 1e9);
+			pool.shutdown();
+
+			if (threads == 1) {
+				single = rate;
+			}
+			Bench.row(threads, String.format("%.0f", rate), String.format("%.2f", rate / single));
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package unsw.dungeon.bench;
+
+import unsw.dungeon.util.emitter.GenericSAM;
+
+/**
+ * Minimal timing helpers for the benchmarks in this package.
+ *
+ * The project has no benchmark harness, so each benchmark is a plain main()
+ * that warms up the code under test before timing it.
+ *
+ */
+public class Bench {
+
+	/**
+	 * Time an operation
+	 * 
+	 * @param warmup     - number of untimed runs
+	 * @param iterations - number of timed runs
+	 * @param op
+	 * @return Average nanoseconds per run
+	 */
+	public static double nsPerOp(int warmup, int iterations, GenericSAM op) {
+		for (int i = 0; i < warmup; i++) {
+			op.execute();
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			op.execute();
+		}
+		return (System.nanoTime() - start) / (double) iterations;
+	}
+
+	/**
+	 * Print a row of a results table
+	 * 
+	 * @param columns
+	 */
+	public static void row(Object... columns) {
+		StringBuilder line = new StringBuilder();
+		for (Object column : columns) {
+			line.append(String.format("%14s", column));
+		}
+		System.out.println(line);
+	}
+}
@@ -0,0 +1,119 @@
+package unsw.dungeon.bench;
+
+import java.util.Random;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonStorage;
+import unsw.dungeon.Region;
+import unsw.dungeon.RegionSource;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Wall;
+
+/**
+ * Time to first move against map size, for eagerly loaded and chunked
+ * dungeons.
+ *
+ * Both modes use the same generated cave. The eager dungeon places every wall
+ * before the first move, so it is only run on the smaller maps. After the first
+ * move the player takes a long random walk under a small memory budget, to show
+ * that the number of resident regions stays bounded.
+ *
+ */
+public class ChunkedWorldBenchmark {
+
+	private static final long BUDGET = 64 << 10;
+
+	public static void main(String[] args) {
+		Bench.row("size", "storage", "first move ms", "regions", "player");
+
+		for (int size : new int[] { 1000, 4000, 10000, 100000 }) {
+			if (size <= 4000) {
+				long start = System.nanoTime();
+				Dungeon dungeon = createPacked(size);
+				dungeon.getPlayer().moveRight();
+				Bench.row(size + "x" + size, DungeonStorage.PACKED, ms(start), "-", "-");
+			}
+
+			long start = System.nanoTime();
+			Dungeon dungeon = createChunked(size);
+			Player player = dungeon.getPlayer();
+			player.moveRight();
+			String firstMove = ms(start);
+
+			// Drift down and to the right, across many regions
+			Random random = new Random(size);
+			for (int i = 0; i < 200000; i++) {
+				switch (random.nextInt(6)) {
+				case 0:
+					player.moveUp();
+					break;
+				case 1:
+					player.moveLeft();
+					break;
+				case 2:
+				case 3:
+					player.moveDown();
+					break;
+				default:
+					player.moveRight();
+				}
+			}
+
+			Bench.row(size + "x" + size, "CHUNKED", firstMove, dungeon.getResidentRegions(),
+					player.getX() + "," + player.getY());
+		}
+	}
+
+	/**
+	 * Cave walls as a pure function of position, so regions can be reloaded
+	 */
+	static boolean isWall(int x, int y) {
+		if (x < 3 && y < 3) {
+			return x == 0 || y == 0;
+		}
+
+		int h = x * 0x27d4eb2d ^ y * 0x165667b1;
+		h ^= h >>> 15;
+		h *= 0x2c1b3c6d;
+		h ^= h >>> 13;
+		return (h & 3) == 0;
+	}
+
+	static Dungeon createChunked(int size) {
+		RegionSource source = (Region region) -> {
+			for (int y = region.getY(); y < region.getY() + region.getSize(); y++) {
+				for (int x = region.getX(); x < region.getX() + region.getSize(); x++) {
+					if (isWall(x, y)) {
+						region.setWall(x, y);
+					}
+				}
+			}
+		};
+
+		Dungeon dungeon = new Dungeon(size, size, source, BUDGET);
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+		return dungeon;
+	}
+
+	static Dungeon createPacked(int size) {
+		Dungeon dungeon = new Dungeon(size, size, DungeonStorage.PACKED);
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				if (isWall(x, y)) {
+					dungeon.addEntity(new Wall(dungeon, x, y));
+				}
+			}
+		}
+		return dungeon;
+	}
+
+	private static String ms(long start) {
+		return String.format("%.2f", (System.nanoTime() - start) / 1e6);
+	}
+}
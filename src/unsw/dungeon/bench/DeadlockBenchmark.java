@@ -0,0 +1,47 @@
+package unsw.dungeon.bench;
+
+import java.io.FileNotFoundException;
+
+import unsw.dungeon.DeadlockTable;
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.solver.Solution;
+import unsw.dungeon.solver.Solver;
+
+/**
+ * States the solver searches with and without pruning boulder deadlocks, and
+ * the cost of checking a state for them.
+ *
+ * Each search is capped at a number of states, so a level that can't be solved
+ * without pruning still shows how many states pruning saves.
+ *
+ */
+public class DeadlockBenchmark {
+	private static final int STATES = 20000;
+
+	public static void main(String[] args) throws FileNotFoundException {
+		Bench.row("level", "pruning", "expanded", "pruned", "ms", "result");
+		for (String name : new String[] { "boulders.json", "advanced.json", "room 12" }) {
+			for (boolean prune : new boolean[] { false, true }) {
+				Solver solver = new Solver(SolverBenchmark.create(name));
+				solver.setPruning(prune);
+				solver.setMaxExpanded(STATES);
+				Solution solution = solver.solve();
+
+				String result = solution.isSolved() ? solution.getMoves().size() + " moves"
+						: solution.isExhausted() ? "no solution" : "gave up";
+				Bench.row(name, prune ? "on" : "off", solution.getExpanded(), solution.getPruned(),
+						String.format("%.1f", solution.getNanos() / 1e6), result);
+			}
+		}
+
+		System.out.println();
+		Bench.row("level", "dead tiles", "table ns", "check ns");
+		for (String name : new String[] { "boulders.json", "advanced.json", "room 12" }) {
+			Dungeon dungeon = SolverBenchmark.create(name);
+			DeadlockTable table = new DeadlockTable(dungeon);
+			double build = Bench.nsPerOp(1000, 10000, () -> new DeadlockTable(dungeon));
+			double check = Bench.nsPerOp(10000, 100000, () -> table.isWinnable(dungeon));
+			Bench.row(name, table.getDeadTiles(), String.format("%.0f", build), String.format("%.0f", check));
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package unsw.dungeon.bench;
+
+import java.util.ArrayList;
+
+import unsw.dungeon.util.emitter.EmitterData;
+import unsw.dungeon.util.emitter.EventEmitter;
+import unsw.dungeon.util.emitter.EventSAM;
+
+/**
+ * Copy-on-write EventEmitter against the previous ArrayList emitter, which
+ * copied its subscribers on every emit and deduplicated with contains().
+ *
+ */
+public class EmitterBenchmark {
+
+	static class Data extends EmitterData {
+	}
+
+	/**
+	 * The EventEmitter as it was before the copy-on-write subscriber store
+	 */
+	static class LegacyEventEmitter<BaseType, DataType extends EmitterData> {
+		private ArrayList<EventSAM<BaseType, DataType>> subscribers = new ArrayList<EventSAM<BaseType, DataType>>();
+		private BaseType reference;
+
+		LegacyEventEmitter(BaseType reference) {
+			this.reference = reference;
+		}
+
+		public void register(EventSAM<BaseType, DataType> function) {
+			if (this.subscribers.contains(function)) {
+				return;
+			}
+			this.subscribers.add(function);
+		}
+
+		public void emit(DataType data) {
+			ArrayList<EventSAM<BaseType, DataType>> subs = new ArrayList<EventSAM<BaseType, DataType>>();
+			for (EventSAM<BaseType, DataType> subscriber : this.subscribers) {
+				subs.add(subscriber);
+			}
+			for (EventSAM<BaseType, DataType> subscriber : subs) {
+				subscriber.execute(this.reference, data);
+			}
+		}
+	}
+
+	static long sink;
+
+	public static void main(String[] args) {
+		Data data = new Data();
+
+		Bench.row("subscribers", "emitter", "register ms", "ns/emit");
+
+		for (int n : new int[] { 10, 1000, 100000 }) {
+			ArrayList<EventSAM<Object, Data>> functions = new ArrayList<EventSAM<Object, Data>>();
+			for (int i = 0; i < n; i++) {
+				// Capture i so that every subscriber is a distinct object
+				int id = i;
+				functions.add((obj, d) -> sink += id);
+			}
+			int iterations = Math.max(10, 10000000 / n);
+
+			LegacyEventEmitter<Object, Data> legacy = new LegacyEventEmitter<Object, Data>(null);
+			long start = System.nanoTime();
+			for (EventSAM<Object, Data> function : functions) {
+				legacy.register(function);
+			}
+			double legacyRegister = (System.nanoTime() - start) / 1e6;
+			double legacyEmit = Bench.nsPerOp(iterations, iterations, () -> legacy.emit(data));
+			Bench.row(n, "legacy", String.format("%.2f", legacyRegister), String.format("%.1f", legacyEmit));
+
+			EventEmitter<Object, Data> emitter = new EventEmitter<Object, Data>(null);
+			start = System.nanoTime();
+			for (EventSAM<Object, Data> function : functions) {
+				emitter.register(function);
+			}
+			double register = (System.nanoTime() - start) / 1e6;
+			double emit = Bench.nsPerOp(iterations, iterations, () -> emitter.emit(data));
+			Bench.row(n, "cow", String.format("%.2f", register), String.format("%.1f", emit));
+		}
+	}
+}
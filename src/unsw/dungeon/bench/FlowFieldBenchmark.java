@@ -0,0 +1,130 @@
+package unsw.dungeon.bench;
+
+import java.util.List;
+import java.util.Random;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.FlowField;
+import unsw.dungeon.entity.Boulder;
+import unsw.dungeon.entity.Door;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Wall;
+
+/**
+ * Turn cost against the number of enemies chasing the player.
+ *
+ * The player jumps between random tiles of a 100x100 dungeon with scattered
+ * walls, and then every enemy takes its step. Every enemy reads the shared flow
+ * field, so the searches column stays at one per turn and ns/turn grows only
+ * with the cost of the enemy moves.
+ *
+ * The second table compares a full search, as after a player move, with the
+ * repair after a change to the map while the player stands still. A boulder in
+ * open ground changes a handful of distances, while a door into the far side of
+ * the map changes every distance behind it.
+ *
+ */
+public class FlowFieldBenchmark {
+
+	public static void main(String[] args) {
+		Bench.row("enemies", "searches/turn", "ns/turn");
+
+		for (int enemies : new int[] { 1, 10, 100, 500 }) {
+			Dungeon dungeon = createDungeon(100, enemies, new Random(enemies));
+			Player player = dungeon.getPlayer();
+			List<Enemy> list = dungeon.getEntities(Enemy.class);
+			Random random = new Random(0);
+			int[] turns = { 0 };
+
+			double ns = Bench.nsPerOp(500, 2000, () -> {
+				turns[0]++;
+
+				int x = random.nextInt(dungeon.getWidth());
+				int y = random.nextInt(dungeon.getHeight());
+				if (!dungeon.hasEntitiesAt(player.getEntityLevel(), x, y)) {
+					player.place(x, y);
+				}
+
+				for (int i = 0; i < list.size(); i++) {
+					list.get(i).getBehaviour().move(player);
+				}
+			});
+
+			double searches = dungeon.getFlowField().getUpdates() / (double) turns[0];
+			Bench.row(enemies, String.format("%.2f", searches), String.format("%.1f", ns));
+		}
+
+		System.out.println();
+		Bench.row("change", "ns/search", "ns/repair");
+
+		Dungeon dungeon = new Dungeon(129, 129);
+		Player player = new Player(dungeon, 20, 64);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+		for (int y = 0; y < 129; y++) {
+			if (y != 64) {
+				dungeon.addEntity(new Wall(dungeon, 80, y));
+			}
+		}
+		Door door = new Door(dungeon, 80, 64);
+		dungeon.addEntity(door);
+		Boulder boulder = new Boulder(dungeon, 40, 40);
+		dungeon.addEntity(boulder);
+		FlowField field = dungeon.getFlowField();
+
+		double search = Bench.nsPerOp(2000, 10000, () -> {
+			player.place(player.getX() == 20 ? 21 : 20, 64);
+			field.getDistance(0, 0);
+		});
+		double boulderRepair = Bench.nsPerOp(2000, 10000, () -> {
+			if (!boulder.moveRight()) {
+				boulder.setXY(40, 40);
+			}
+			field.getDistance(0, 0);
+		});
+		double doorRepair = Bench.nsPerOp(2000, 10000, () -> {
+			door.setOpened(!door.getOpen());
+			field.getDistance(0, 0);
+		});
+
+		Bench.row("boulder", String.format("%.1f", search), String.format("%.1f", boulderRepair));
+		Bench.row("door", String.format("%.1f", search), String.format("%.1f", doorRepair));
+	}
+
+	/**
+	 * Create a dungeon with scattered walls and enemies, and an invincible player
+	 */
+	static Dungeon createDungeon(int size, int enemies, Random random) {
+		Dungeon dungeon = new Dungeon(size, size);
+
+		Player player = new Player(dungeon, 0, 0) {
+			@Override
+			public void kill() {
+			}
+		};
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				if ((x != 0 || y != 0) && random.nextInt(8) == 0) {
+					dungeon.addEntity(new Wall(dungeon, x, y));
+				}
+			}
+		}
+
+		for (int i = 0; i < enemies; i++) {
+			int x = random.nextInt(size);
+			int y = random.nextInt(size);
+			if (dungeon.hasEntitiesAt(player.getEntityLevel(), x, y)) {
+				continue;
+			}
+
+			Enemy enemy = new Enemy(dungeon, x, y);
+			dungeon.addEntity(enemy);
+		}
+
+		return dungeon;
+	}
+}
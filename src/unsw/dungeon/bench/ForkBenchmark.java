@@ -0,0 +1,43 @@
+package unsw.dungeon.bench;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonLoader;
+import unsw.dungeon.DungeonSnapshot;
+import unsw.dungeon.DungeonStorage;
+
+/**
+ * Time to copy a dungeon with fork(), against writing and reading back a
+ * snapshot of it.
+ *
+ */
+public class ForkBenchmark {
+
+	public static void main(String[] args) throws FileNotFoundException {
+		Bench.row("level", "snapshot ns", "fork ns");
+
+		for (String level : new String[] { "maze.json", "test.json", "marking.json", "advanced_saw.json" }) {
+			DungeonLoader loader = new DungeonLoader(level);
+			loader.setVerbose(false);
+			loader.setStorage(DungeonStorage.PACKED);
+			Dungeon dungeon = loader.load();
+
+			// Forked first, as writing a snapshot unpacks the walls
+			double fork = Bench.nsPerOp(200, 1000, () -> dungeon.fork());
+			double snapshot = Bench.nsPerOp(200, 1000, () -> {
+				try {
+					ByteBuffer buffer = DungeonSnapshot.write(dungeon);
+					DungeonSnapshot.read(buffer);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+
+			Bench.row(level, String.format("%.0f", snapshot), String.format("%.0f", fork));
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package unsw.dungeon.bench;
+
+import java.util.Random;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonStorage;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Wall;
+import unsw.dungeon.entity.meta.EntityLevel;
+
+/**
+ * Retained heap per tile for each dungeon storage mode.
+ *
+ * Each dungeon is a generated cave with about half of its tiles walled. The
+ * heap is measured after a full collection before and after the dungeon is
+ * built, while the dungeon is still reachable.
+ *
+ * Pass a list of sizes to override the defaults, e.g. 2000 for a 2000x2000
+ * cave (which needs a large -Xmx in OBJECTS mode).
+ *
+ */
+public class HeapBenchmark {
+
+	public static void main(String[] args) {
+		int[] sizes = { 250, 500, 1000 };
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+
+		Bench.row("size", "storage", "walls", "MB", "bytes/tile");
+
+		for (int size : sizes) {
+			for (DungeonStorage storage : DungeonStorage.values()) {
+				long before = usedHeap();
+				Dungeon dungeon = createCave(size, storage, new Random(size));
+				long used = usedHeap() - before;
+
+				int walls = countWalls(dungeon, size);
+				Bench.row(size + "x" + size, storage, walls, used >> 20,
+						String.format("%.2f", used / (double) size / size));
+			}
+		}
+	}
+
+	/**
+	 * Create a walled cave with the player in the corner
+	 */
+	static Dungeon createCave(int size, DungeonStorage storage, Random random) {
+		Dungeon dungeon = new Dungeon(size, size, storage);
+
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				boolean border = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+				if (border || (x + y > 2 && random.nextBoolean())) {
+					dungeon.addEntity(new Wall(dungeon, x, y));
+				}
+			}
+		}
+
+		return dungeon;
+	}
+
+	/**
+	 * Count walls through tile lookups, which keeps packed walls packed
+	 */
+	private static int countWalls(Dungeon dungeon, int size) {
+		int walls = 0;
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				if (dungeon.hasEntitiesAt(EntityLevel.OBJECT, x, y)) {
+					walls++;
+				}
+			}
+		}
+		// The player is the only other OBJECT
+		return walls - 1;
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
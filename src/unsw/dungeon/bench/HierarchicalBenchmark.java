@@ -0,0 +1,92 @@
+package unsw.dungeon.bench;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonStorage;
+import unsw.dungeon.FlowField;
+import unsw.dungeon.HierarchicalPlanner;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Wall;
+
+/**
+ * Route planning cost against dungeon size.
+ *
+ * Routes are planned between random corners of a dungeon with scattered walls,
+ * first with the hierarchical planner building its clusters as it goes (cold),
+ * then again once they are built (warm), and compared with one breadth first
+ * search over every tile.
+ *
+ */
+public class HierarchicalBenchmark {
+
+	public static void main(String[] args) {
+		Bench.row("size", "cold ms", "warm us", "bfs ms");
+
+		for (int size : new int[] { 256, 1024, 2048 }) {
+			Dungeon dungeon = createDungeon(size, new Random(size));
+			HierarchicalPlanner planner = dungeon.getPlanner();
+
+			long start = System.nanoTime();
+			int[] route = planner.plan(1, 1, size - 2, size - 2);
+			double cold = (System.nanoTime() - start) / 1e6;
+
+			double warm = Bench.nsPerOp(5, 20, () -> planner.plan(1, 1, size - 2, size - 2)) / 1e3;
+			double bfs = Bench.nsPerOp(1, 3, () -> search(dungeon, size - 2, size - 2)) / 1e6;
+
+			Bench.row(size + "x" + size + (route == null ? "*" : ""), String.format("%.1f", cold),
+					String.format("%.1f", warm), String.format("%.1f", bfs));
+		}
+	}
+
+	/**
+	 * Create a packed dungeon with scattered walls
+	 */
+	static Dungeon createDungeon(int size, Random random) {
+		Dungeon dungeon = new Dungeon(size, size, DungeonStorage.PACKED);
+
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				boolean corner = (x < 3 && y < 3) || (x > size - 4 && y > size - 4);
+				if (!corner && random.nextInt(5) == 0) {
+					dungeon.addEntity(new Wall(dungeon, x, y));
+				}
+			}
+		}
+
+		return dungeon;
+	}
+
+	/**
+	 * Breadth first search over the whole dungeon
+	 */
+	static void search(Dungeon dungeon, int x, int y) {
+		int width = dungeon.getWidth();
+		int[] distance = new int[width * dungeon.getHeight()];
+		int[] queue = new int[distance.length];
+		Arrays.fill(distance, Integer.MAX_VALUE);
+
+		int head = 0;
+		int tail = 0;
+		distance[y * width + x] = 0;
+		queue[tail++] = y * width + x;
+		while (head < tail) {
+			int i = queue[head++];
+			for (int dir = 0; dir < 4; dir++) {
+				int nx = i % width + FlowField.DX[dir];
+				int ny = i / width + FlowField.DY[dir];
+				if (!dungeon.positionIsValid(nx, ny) || distance[ny * width + nx] != Integer.MAX_VALUE
+						|| dungeon.isObstacleAt(nx, ny)) {
+					continue;
+				}
+				distance[ny * width + nx] = distance[i] + 1;
+				queue[tail++] = ny * width + nx;
+			}
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package unsw.dungeon.bench;
+
+import java.util.Random;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Wall;
+
+/**
+ * Player move cost against dungeon size.
+ *
+ * The player walks back and forth along a clear corridor while the rest of the
+ * map is filled with walls, so a flat ns/move column means the cost of a step
+ * does not depend on the number of entities.
+ *
+ */
+public class MoveBenchmark {
+
+	public static void main(String[] args) {
+		Bench.row("size", "entities", "ns/move");
+
+		for (int size : new int[] { 50, 100, 200, 400, 800 }) {
+			Dungeon dungeon = createDungeon(size, new Random(size));
+			Player player = dungeon.getPlayer();
+
+			double ns = Bench.nsPerOp(20000, 100000, () -> {
+				if (!player.moveRight()) {
+					player.setXY(1, 1);
+				}
+			});
+
+			Bench.row(size + "x" + size, dungeon.getEntities().size(), String.format("%.1f", ns));
+		}
+	}
+
+	/**
+	 * Create a walled dungeon with a clear corridor along y = 1
+	 */
+	static Dungeon createDungeon(int size, Random random) {
+		Dungeon dungeon = new Dungeon(size, size);
+
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				boolean border = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+				if (y == 1 && !border) {
+					continue;
+				}
+				if (border || random.nextInt(3) == 0) {
+					dungeon.addEntity(new Wall(dungeon, x, y));
+				}
+			}
+		}
+
+		return dungeon;
+	}
+}
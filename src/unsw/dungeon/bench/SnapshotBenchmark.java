@@ -0,0 +1,48 @@
+package unsw.dungeon.bench;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonLoader;
+import unsw.dungeon.DungeonSnapshot;
+
+/**
+ * Time to create a dungeon from its level file, against reading it back from a
+ * snapshot.
+ *
+ */
+public class SnapshotBenchmark {
+
+	public static void main(String[] args) throws FileNotFoundException {
+		Bench.row("level", "json ns", "snapshot ns", "bytes");
+
+		for (String level : new String[] { "maze.json", "test.json", "marking.json", "advanced_saw.json" }) {
+			double json = Bench.nsPerOp(200, 1000, () -> {
+				try {
+					DungeonLoader loader = new DungeonLoader(level);
+					loader.setVerbose(false);
+					loader.load();
+				} catch (FileNotFoundException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+
+			DungeonLoader loader = new DungeonLoader(level);
+			loader.setVerbose(false);
+			Dungeon dungeon = loader.load();
+			ByteBuffer snapshot = DungeonSnapshot.write(dungeon);
+			double read = Bench.nsPerOp(200, 1000, () -> {
+				try {
+					DungeonSnapshot.read(snapshot.duplicate());
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+
+			Bench.row(level, String.format("%.0f", json), String.format("%.0f", read), snapshot.remaining());
+		}
+	}
+}
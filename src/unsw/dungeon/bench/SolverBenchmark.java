@@ -0,0 +1,174 @@
+package unsw.dungeon.bench;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonLoader;
+import unsw.dungeon.GameHooks;
+import unsw.dungeon.entity.Boulder;
+import unsw.dungeon.entity.Exit;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Switch;
+import unsw.dungeon.entity.Wall;
+import unsw.dungeon.goals.Goal;
+import unsw.dungeon.goals.GoalStrategyBoulder;
+import unsw.dungeon.goals.GoalStrategyExit;
+import unsw.dungeon.solver.Solution;
+import unsw.dungeon.solver.Solver;
+
+/**
+ * Solver throughput against the number of threads, on the bundled levels and
+ * larger generated ones.
+ *
+ * Each search is capped at a number of states, so levels too big to solve
+ * still show how states per second scale. The solution must be the same on
+ * every number of threads.
+ *
+ */
+public class SolverBenchmark {
+	private static final int STATES = 20000;
+
+	public static void main(String[] args) throws FileNotFoundException {
+		int cores = Runtime.getRuntime().availableProcessors();
+
+		Bench.row("level", "threads", "states/s", "speedup", "result");
+		for (String name : new String[] { "maze.json", "advanced_saw.json", "marking.json", "boulders.json",
+				"maze 41", "room 12" }) {
+			double single = 0;
+			Solution first = null;
+			for (int threads = 1; threads <= cores; threads *= 2) {
+				ForkJoinPool pool = new ForkJoinPool(threads);
+				Solver solver = new Solver(SolverBenchmark.create(name));
+				solver.setPool(pool);
+				solver.setMaxExpanded(STATES / 4);
+				solver.solve();
+
+				solver = new Solver(SolverBenchmark.create(name));
+				solver.setPool(pool);
+				solver.setMaxExpanded(STATES);
+				Solution solution = solver.solve();
+				double rate = solution.getExpanded() / (solution.getNanos() / 1e9);
+				pool.shutdown();
+
+				if (threads == 1) {
+					single = rate;
+					first = solution;
+				} else if (first.isSolved() != solution.isSolved()
+						|| (first.isSolved() && !first.getMoves().equals(solution.getMoves()))) {
+					throw new IllegalStateException(name + " solved differently on " + threads + " threads");
+				}
+
+				String result = solution.isSolved() ? solution.getMoves().size() + " moves"
+						: solution.isExhausted() ? "no solution" : "gave up";
+				Bench.row(name, threads, String.format("%.0f", rate), String.format("%.2f", rate / single), result);
+			}
+		}
+	}
+
+	static Dungeon create(String name) throws FileNotFoundException {
+		if (name.endsWith(".json")) {
+			DungeonLoader loader = new DungeonLoader(name);
+			loader.setVerbose(false);
+			return loader.load();
+		}
+
+		int size = Integer.parseInt(name.substring(name.indexOf(' ') + 1));
+		Random random = new Random(size);
+		return name.startsWith("maze") ? SolverBenchmark.createMaze(size, random)
+				: SolverBenchmark.createRoom(size, random);
+	}
+
+	/**
+	 * A maze with one path between any two cells, from (1, 1) to an exit in the
+	 * far corner
+	 */
+	static Dungeon createMaze(int size, Random random) {
+		Dungeon dungeon = new Dungeon(size, size);
+		GameHooks hooks = new GameHooks(dungeon, false);
+		boolean[] open = new boolean[size * size];
+
+		// Carve with a random depth first walk over the odd cells
+		int[] stack = new int[size * size];
+		int top = 0;
+		stack[top++] = size + 1;
+		open[size + 1] = true;
+		int[] steps = { 2, -2, 2 * size, -2 * size };
+		while (top > 0) {
+			int cell = stack[top - 1];
+			int next = -1;
+			for (int i = 0, start = random.nextInt(4); i < 4; i++) {
+				int step = steps[(start + i) % 4];
+				int to = cell + step;
+				int x = to % size;
+				int y = to / size;
+				if (x > 0 && y > 0 && x < size - 1 && y < size - 1 && Math.abs(x - cell % size) <= 2 && !open[to]) {
+					next = to;
+					open[cell + step / 2] = true;
+					break;
+				}
+			}
+			if (next < 0) {
+				top--;
+			} else {
+				open[next] = true;
+				stack[top++] = next;
+			}
+		}
+
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+		hooks.onLoad(player);
+		for (int i = 0; i < open.length; i++) {
+			if (!open[i]) {
+				Wall wall = new Wall(dungeon, i % size, i / size);
+				hooks.onLoad(wall);
+				dungeon.addEntity(wall);
+			}
+		}
+		Exit exit = new Exit(dungeon, size - 2, size - 2);
+		hooks.onLoad(exit);
+		dungeon.addEntity(exit);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyExit()));
+		hooks.postLoad(dungeon);
+		return dungeon;
+	}
+
+	/**
+	 * A walled room with a few boulders to push onto switches
+	 */
+	static Dungeon createRoom(int size, Random random) {
+		Dungeon dungeon = new Dungeon(size, size);
+		GameHooks hooks = new GameHooks(dungeon, false);
+
+		Player player = new Player(dungeon, size / 2, size / 2);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+		hooks.onLoad(player);
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				if (x == 0 || y == 0 || x == size - 1 || y == size - 1) {
+					Wall wall = new Wall(dungeon, x, y);
+					hooks.onLoad(wall);
+					dungeon.addEntity(wall);
+				}
+			}
+		}
+
+		// Boulders and switches away from the walls, so no boulder starts stuck
+		for (int i = 0; i < 3; i++) {
+			Boulder boulder = new Boulder(dungeon, 2 + i * 3, 2 + random.nextInt(size - 4));
+			hooks.onLoad(boulder);
+			dungeon.addEntity(boulder);
+
+			Switch sw = new Switch(dungeon, 3 + i * 3, 2 + random.nextInt(size - 4));
+			hooks.onLoad(sw);
+			dungeon.addEntity(sw);
+		}
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyBoulder()));
+		hooks.postLoad(dungeon);
+		return dungeon;
+	}
+}
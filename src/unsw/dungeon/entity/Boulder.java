@@ -14,41 +14,24 @@ public class Boulder extends MovableEntity<Boulder> implements Interactable {
 	}
 
 	/**
-	 * Attempt to move the Boulder by the given offsets
+	 * Handle an entity blocking the path of the Boulder
 	 * 
-	 * @param xDirection
-	 * @param yDirection
+	 * @param newX
+	 * @param newY
 	 * @return result
 	 */
 	@Override
-	protected boolean move(int xDirection, int yDirection) {
-		int oldX = getX();
-		int oldY = getY();
+	protected boolean resolveBlocked(int newX, int newY) {
+		Entity obstruction = this.getDungeon().getEntityAt(EntityLevel.OBJECT, newX, newY);
 
-		int newX = oldX + xDirection;
-		int newY = oldY + yDirection;
-
-		LocationChanged e = new LocationChanged(oldX, oldY, newX, newY);
-
-		if (!this.moveIntent.emit(e)) {
-			return false;
-		}
-
-		// If there is an entity blocking the path...
-		if (isPositionBlocked(newX, newY)) {
-			Entity obstruction = this.getDungeon().getEntityAt(EntityLevel.OBJECT, newX, newY);
-
-			// Kill the enemy if they are in the way
-			if (obstruction instanceof Enemy) {
-				((Enemy) obstruction).kill();
-			} else {
-				// Otherwise, prevent movement
-				return false;
-			}
+		// Kill the enemy if they are in the way
+		if (obstruction instanceof Enemy) {
+			((Enemy) obstruction).kill();
+			return true;
 		}
 
-		this.setXY(newX, newY);
-		return true;
+		// Otherwise, prevent movement
+		return false;
 	}
 
 	/**
@@ -1,44 +1,31 @@
 package unsw.dungeon.entity;
 
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
 import unsw.dungeon.Dungeon;
 import unsw.dungeon.entity.meta.Entity;
 import unsw.dungeon.entity.meta.EntityLevel;
 import unsw.dungeon.entity.meta.Interactable;
 import unsw.dungeon.entity.meta.ItemEntity;
+import unsw.dungeon.entity.meta.Stateful;
 import unsw.dungeon.events.LocationChanged;
 
-public class Door extends Entity implements Interactable {
+public class Door extends Entity implements Interactable, Stateful {
 
-	private BooleanProperty opened;
+	private boolean opened;
 	private boolean openedByKey;
 
 	private int id;
 
 	public Door(Dungeon dungeon, int x, int y) {
 		super(dungeon, EntityLevel.OBJECT, x, y);
-		this.opened = new SimpleBooleanProperty(false);
+		this.opened = false;
 		this.openedByKey = false;
 		this.id = -1;
-
-		// Change entityLevel to FLOOR when opened, or OBJECT when closed
-		this.opened.addListener((observer, oldValue, newValue) -> {
-			this.entityLevel = newValue ? EntityLevel.FLOOR : EntityLevel.OBJECT;
-		});
 	}
 
 	/**
 	 * @return Door's open status
 	 */
 	public boolean getOpen() {
-		return this.opened.get();
-	}
-
-	/**
-	 * @return BooleanProperty for the door's open status
-	 */
-	public BooleanProperty opened() {
 		return this.opened;
 	}
 
@@ -61,7 +48,15 @@ public class Door extends Entity implements Interactable {
 			// Don't close if already opened by key
 			return;
 		}
-		this.opened.set(opened);
+		if (this.opened == opened) {
+			return;
+		}
+
+		this.opened = opened;
+
+		// Change entityLevel to FLOOR when opened, or OBJECT when closed
+		this.setEntityLevel(opened ? EntityLevel.FLOOR : EntityLevel.OBJECT);
+		this.stateChanged();
 	}
 
 	/**
@@ -127,6 +122,21 @@ public class Door extends Entity implements Interactable {
 
 	}
 
+	/**
+	 * @return Bit 0 set if open, bit 1 set if opened by a key
+	 */
+	@Override
+	public int saveState() {
+		return (this.opened ? 1 : 0) | (this.openedByKey ? 2 : 0);
+	}
+
+	@Override
+	public void restoreState(int state) {
+		this.openedByKey = false;
+		this.setOpened((state & 1) != 0);
+		this.openedByKey = (state & 2) != 0;
+	}
+
 	public boolean playerMoveIntentHandler(Player player, LocationChanged event) {
 		if (this.getX() != event.newX || this.getY() != event.newY) {
 			return true;
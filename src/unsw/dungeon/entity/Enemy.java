@@ -2,8 +2,6 @@ package unsw.dungeon.entity;
 
 import java.util.List;
 
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
 import unsw.dungeon.Dungeon;
 import unsw.dungeon.entity.enemy.EnemyMovementBehaviour;
 import unsw.dungeon.entity.enemy.FleeBehaviour;
@@ -16,22 +14,26 @@ import unsw.dungeon.entity.meta.MovableEntity;
 import unsw.dungeon.entity.meta.Usable;
 import unsw.dungeon.events.LocationChanged;
 import unsw.dungeon.util.emitter.EventSAM;
+import unsw.dungeon.util.emitter.GenericEmitter;
 import unsw.dungeon.util.emitter.IntentSAM;
 
 public class Enemy extends MovableEntity<Enemy> implements Interactable {
 
-	private BooleanProperty isAlive;
+	private boolean isAlive;
 	private EnemyMovementBehaviour roam;
 	private EnemyMovementBehaviour flee;
 
 	private EnemyMovementBehaviour strategy;
 
+	public final GenericEmitter deathEvent;
+
 	public final IntentSAM<Player, LocationChanged> playerMoveIntentHandler;
 	public final EventSAM<Player, LocationChanged> playerMoveEventHandler;
 
 	public Enemy(Dungeon dungeon, int x, int y) {
 		super(dungeon, EntityLevel.OBJECT, x, y);
-		this.isAlive = new SimpleBooleanProperty(true);
+		this.isAlive = true;
+		this.deathEvent = new GenericEmitter();
 
 		this.roam = new RoamBehaviour(this);
 		this.flee = new FleeBehaviour(this);
@@ -51,45 +53,28 @@ public class Enemy extends MovableEntity<Enemy> implements Interactable {
 
 	}
 
-	public BooleanProperty alive() {
-		return this.isAlive;
-	}
-
 	public boolean isAlive() {
-		return alive().get();
+		return this.isAlive;
 	}
 
 	public void kill() {
-		this.isAlive.set(false);
+		if (this.isAlive) {
+			this.isAlive = false;
+			this.deathEvent.emit();
+		}
 		this.hide();
 	}
 
 	@Override
-	protected boolean move(int xDirection, int yDirection) {
-		int oldX = getX();
-		int oldY = getY();
-
-		int newX = oldX + xDirection;
-		int newY = oldY + yDirection;
-
-		LocationChanged e = new LocationChanged(oldX, oldY, newX, newY);
+	protected boolean resolveBlocked(int newX, int newY) {
+		Player p = this.getDungeon().getPlayer();
 
-		if (!this.moveIntent.emit(e)) {
-			return false;
+		if (p.getX() == newX && p.getY() == newY) {
+			this.interact(p);
+			return true;
 		}
 
-		if (isPositionBlocked(newX, newY)) {
-			Player p = this.getDungeon().getPlayer();
-
-			if (p.getX() == newX && p.getY() == newY) {
-				this.interact(p);
-			} else {
-				return false;
-			}
-		}
-
-		this.setXY(newX, newY);
-		return true;
+		return false;
 	}
 
 	public void setState(EnemyMovementBehaviour behaviour) {
@@ -100,6 +85,19 @@ public class Enemy extends MovableEntity<Enemy> implements Interactable {
 		this.strategy = this.roam;
 	}
 
+	/**
+	 * Replace the behaviour used when the enemy is not fleeing, such as with a
+	 * HierarchicalBehaviour on a huge dungeon
+	 * 
+	 * @param roam
+	 */
+	public void setRoam(EnemyMovementBehaviour roam) {
+		if (this.strategy == this.roam) {
+			this.strategy = roam;
+		}
+		this.roam = roam;
+	}
+
 	public void setFlee() {
 		this.strategy = this.flee;
 	}
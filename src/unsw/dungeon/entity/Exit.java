@@ -1,36 +1,54 @@
 package unsw.dungeon.entity;
 
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
 import unsw.dungeon.Dungeon;
 import unsw.dungeon.entity.meta.Entity;
 import unsw.dungeon.entity.meta.EntityLevel;
+import unsw.dungeon.entity.meta.Stateful;
+import unsw.dungeon.events.ExitToggled;
 import unsw.dungeon.events.LocationChanged;
+import unsw.dungeon.util.emitter.EventEmitter;
 
-public class Exit extends Entity {
+public class Exit extends Entity implements Stateful {
 
-	private SimpleBooleanProperty activated;
+	private boolean activated;
+	public final EventEmitter<Exit, ExitToggled> exitEvent;
 
 	public Exit(Dungeon dungeon, int x, int y) {
 		super(dungeon, EntityLevel.FLOOR, x, y);
-		this.activated = new SimpleBooleanProperty(false);
+		this.activated = false;
+		this.exitEvent = new EventEmitter<Exit, ExitToggled>(this);
 	}
 
-	public BooleanProperty activated() {
+	public boolean getActivated() {
 		return this.activated;
 	}
 
-	public boolean getActivated() {
-		return this.activated.get();
+	public void activate() {
+		this.setActivated(true);
 	}
 
-	public void activate() {
-		this.activated.set(true);
+	public void deactivate() {
+		this.setActivated(false);
+	}
 
+	private void setActivated(boolean activated) {
+		if (this.activated == activated) {
+			return;
+		}
+
+		this.activated = activated;
+		this.exitEvent.emit(new ExitToggled(this));
+		this.stateChanged();
 	}
 
-	public void deactivate() {
-		this.activated.set(false);
+	@Override
+	public int saveState() {
+		return this.activated ? 1 : 0;
+	}
+
+	@Override
+	public void restoreState(int state) {
+		this.setActivated(state != 0);
 	}
 
 	public void playerMoveEventHandler(Player player, LocationChanged event) {
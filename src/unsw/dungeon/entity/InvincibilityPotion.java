@@ -4,13 +4,14 @@ import unsw.dungeon.Dungeon;
 import unsw.dungeon.entity.meta.EntityLevel;
 import unsw.dungeon.entity.meta.Interactable;
 import unsw.dungeon.entity.meta.ItemEntity;
+import unsw.dungeon.entity.meta.Stateful;
 import unsw.dungeon.entity.meta.Usable;
 import unsw.dungeon.events.ItemUsed;
 import unsw.dungeon.events.LocationChanged;
 import unsw.dungeon.util.emitter.EventEmitter;
 import unsw.dungeon.util.emitter.EventSAM;
 
-public class InvincibilityPotion extends ItemEntity implements Usable {
+public class InvincibilityPotion extends ItemEntity implements Usable, Stateful {
 
 	private int timer;
 	private EventEmitter<InvincibilityPotion, ItemUsed> itemUsed;
@@ -57,4 +58,13 @@ public class InvincibilityPotion extends ItemEntity implements Usable {
 		return this.itemUsed;
 	}
 
+	@Override
+	public int saveState() {
+		return this.timer;
+	}
+
+	@Override
+	public void restoreState(int state) {
+		this.timer = state;
+	}
 }
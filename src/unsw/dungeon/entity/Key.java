@@ -4,11 +4,12 @@ import unsw.dungeon.Dungeon;
 import unsw.dungeon.entity.meta.EntityLevel;
 import unsw.dungeon.entity.meta.Interactable;
 import unsw.dungeon.entity.meta.ItemEntity;
+import unsw.dungeon.entity.meta.Stateful;
 import unsw.dungeon.entity.meta.Usable;
 import unsw.dungeon.events.ItemUsed;
 import unsw.dungeon.util.emitter.EventEmitter;
 
-public class Key extends ItemEntity implements Usable {
+public class Key extends ItemEntity implements Usable, Stateful {
 
 	private int id;
 	private int uses;
@@ -62,4 +63,14 @@ public class Key extends ItemEntity implements Usable {
 	public EventEmitter<Key, ItemUsed> itemUsed() {
 		return this.itemUsed;
 	}
+
+	@Override
+	public int saveState() {
+		return this.uses;
+	}
+
+	@Override
+	public void restoreState(int state) {
+		this.uses = state;
+	}
 }
@@ -2,8 +2,6 @@ package unsw.dungeon.entity;
 
 import java.util.ArrayList;
 
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
 import unsw.dungeon.Dungeon;
 import unsw.dungeon.entity.meta.Entity;
 import unsw.dungeon.entity.meta.EntityLevel;
@@ -12,7 +10,11 @@ import unsw.dungeon.entity.meta.ItemEntity;
 import unsw.dungeon.entity.meta.MovableEntity;
 import unsw.dungeon.entity.meta.Usable;
 import unsw.dungeon.events.ItemPickedUp;
+import unsw.dungeon.events.LocationChanged;
 import unsw.dungeon.util.emitter.EventEmitter;
+import unsw.dungeon.util.emitter.GenericEmitter;
+import unsw.dungeon.util.emitter.TileEventEmitter;
+import unsw.dungeon.util.emitter.TileIntentEmitter;
 
 /**
  * The player entity
@@ -23,9 +25,15 @@ import unsw.dungeon.util.emitter.EventEmitter;
 public class Player extends MovableEntity<Player> implements Interactable {
 
 	private ArrayList<ItemEntity> inventory;
-	private BooleanProperty isAlive;
+	private boolean isAlive;
 
 	public final EventEmitter<Player, ItemPickedUp> itemPickedUpEvent;
+	public final GenericEmitter deathEvent;
+
+	// Tile-scoped move emitters, only subscribers on the affected tile run
+	public final TileIntentEmitter<Player, LocationChanged> enterIntent;
+	public final TileEventEmitter<Player, LocationChanged> enterEvent;
+	public final TileEventEmitter<Player, LocationChanged> leaveEvent;
 
 	/**
 	 * Create a player positioned in square (x,y)
@@ -36,8 +44,21 @@ public class Player extends MovableEntity<Player> implements Interactable {
 	public Player(Dungeon dungeon, int x, int y) {
 		super(dungeon, EntityLevel.OBJECT, x, y);
 		this.inventory = new ArrayList<ItemEntity>();
-		this.isAlive = new SimpleBooleanProperty(true);
+		this.isAlive = true;
 		this.itemPickedUpEvent = new EventEmitter<Player, ItemPickedUp>(this);
+		this.deathEvent = new GenericEmitter();
+
+		this.enterIntent = new TileIntentEmitter<Player, LocationChanged>(this, dungeon.getWidth(),
+				dungeon.getHeight());
+		this.enterEvent = new TileEventEmitter<Player, LocationChanged>(this, dungeon.getWidth(), dungeon.getHeight());
+		this.leaveEvent = new TileEventEmitter<Player, LocationChanged>(this, dungeon.getWidth(), dungeon.getHeight());
+
+		// Tile events are the first move event subscriber, so they run before the
+		// global subscribers and anything they register waits for the next move
+		this.moveEvent.register((player, event) -> {
+			this.leaveEvent.emit(event.oldX, event.oldY, event);
+			this.enterEvent.emit(event.newX, event.newY, event);
+		});
 	}
 
 	@Override
@@ -49,6 +70,14 @@ public class Player extends MovableEntity<Player> implements Interactable {
 		return super.move(xDirection, yDirection);
 	}
 
+	/**
+	 * Fire the global intents, then the intents of the destination tile
+	 */
+	@Override
+	protected boolean emitMoveIntent(LocationChanged event) {
+		return super.emitMoveIntent(event) && this.enterIntent.emit(event.newX, event.newY, event);
+	}
+
 	public boolean pickUp(ItemEntity item) {
 		// Check if the player can pickup the item
 		if (this.hasItem(item.getClass()) && item.maxOne()) {
@@ -66,7 +95,7 @@ public class Player extends MovableEntity<Player> implements Interactable {
 			});
 		}
 
-		item.visibility().set(false);
+		item.hide();
 		this.itemPickedUpEvent.emit(new ItemPickedUp(item));
 		return true;
 	}
@@ -114,14 +143,15 @@ public class Player extends MovableEntity<Player> implements Interactable {
 	}
 
 	public void kill() {
-		this.isAlive.set(false);
-	}
+		if (!this.isAlive) {
+			return;
+		}
 
-	public BooleanProperty alive() {
-		return this.isAlive;
+		this.isAlive = false;
+		this.deathEvent.emit();
 	}
 
 	public boolean isAlive() {
-		return alive().get();
+		return this.isAlive;
 	}
 }
@@ -1,10 +1,8 @@
 package unsw.dungeon.entity;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
 
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
 import unsw.dungeon.Dungeon;
 import unsw.dungeon.entity.meta.Entity;
 import unsw.dungeon.entity.meta.EntityLevel;
@@ -13,12 +11,12 @@ import unsw.dungeon.events.LocationChanged;
 
 public class Portal extends Entity implements Interactable {
 
-	private BooleanProperty activated;
+	private boolean activated;
 	private int id;
 
 	public Portal(Dungeon dungeon, int x, int y) {
 		super(dungeon, EntityLevel.FLOOR, x, y);
-		this.activated = new SimpleBooleanProperty(true);
+		this.activated = true;
 	}
 
 	@Override
@@ -33,7 +31,7 @@ public class Portal extends Entity implements Interactable {
 
 		Player player = (Player) entity;
 
-		ArrayList<Portal> portals = Entity.filter(this.getDungeon().getEntities(), Portal.class);
+		List<Portal> portals = this.getDungeon().getEntities(Portal.class);
 		ArrayList<Portal> matchingPortals = new ArrayList<Portal>();
 
 		for (Portal portal : portals) {
@@ -60,7 +58,7 @@ public class Portal extends Entity implements Interactable {
 				return false;
 			}
 
-			destination = matchingPortals.get(new Random().nextInt(matchingPortals.size()));
+			destination = matchingPortals.get(this.getDungeon().getRandom().nextInt(matchingPortals.size()));
 
 			if (!(teleportClear = checkTeleportDestination(destination.getX(), destination.getY()))) {
 				matchingPortals.remove(destination);
@@ -94,12 +92,8 @@ public class Portal extends Entity implements Interactable {
 		return this.id;
 	}
 
-	public BooleanProperty activated() {
-		return this.activated;
-	}
-
 	public boolean getActivated() {
-		return this.activated.get();
+		return this.activated;
 	}
 
 	public void activate() {
@@ -111,7 +105,12 @@ public class Portal extends Entity implements Interactable {
 	}
 
 	public void setActivated(boolean activated) {
-		this.activated.set(activated);
+		if (this.activated == activated) {
+			return;
+		}
+
+		this.activated = activated;
+		this.stateChanged();
 	}
 
 	public boolean playerMoveIntentHandler(Player player, LocationChanged event) {
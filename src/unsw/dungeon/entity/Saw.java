@@ -5,12 +5,14 @@ import unsw.dungeon.entity.meta.Entity;
 import unsw.dungeon.entity.meta.EntityLevel;
 import unsw.dungeon.entity.meta.Interactable;
 import unsw.dungeon.entity.meta.MovableEntity;
+import unsw.dungeon.entity.meta.Parkable;
+import unsw.dungeon.entity.meta.Stateful;
 import unsw.dungeon.entity.saw.HorizontalBehaviour;
 import unsw.dungeon.entity.saw.SawMovementBehaviour;
 import unsw.dungeon.entity.saw.VerticalBehaviour;
 import unsw.dungeon.events.LocationChanged;
 
-public class Saw extends MovableEntity<Saw> implements Interactable {
+public class Saw extends MovableEntity<Saw> implements Interactable, Parkable, Stateful {
 
 	private SawMovementBehaviour state;
 	private SawMovementBehaviour horizontal;
@@ -29,39 +31,26 @@ public class Saw extends MovableEntity<Saw> implements Interactable {
 
 	}
 
-	@Override
-	public boolean move(int xDirection, int yDirection) {
-		int oldX = getX();
-		int oldY = getY();
-
-		int newX = oldX + xDirection;
-		int newY = oldY + yDirection;
-
-		LocationChanged e = new LocationChanged(oldX, oldY, newX, newY);
-
-		if (!this.moveIntent.emit(e)) {
-			return false;
-		}
+	/**
+	 * @return "H" or "V", as given in level files
+	 */
+	public String getOrientation() {
+		return this.state == this.horizontal ? "H" : "V";
+	}
 
-		if (isPositionBlocked(newX, newY)) {
-			Entity obstruction = getDungeon().getEntityAt(EntityLevel.OBJECT, newX, newY);
-			if (obstruction instanceof Enemy) {
-				((Enemy) obstruction).kill();
-				this.setXY(newX, newY);
-				return true;
-			} else if (obstruction instanceof Player) {
-				((Player) obstruction).interact(this);
-				this.setXY(newX, newY);
-				return true;
-			} else if (obstruction instanceof Saw) {
-				this.setXY(newX, newY);
-				return true;
-			}
-			return false;
+	@Override
+	protected boolean resolveBlocked(int newX, int newY) {
+		Entity obstruction = getDungeon().getEntityAt(EntityLevel.OBJECT, newX, newY);
+		if (obstruction instanceof Enemy) {
+			((Enemy) obstruction).kill();
+			return true;
+		} else if (obstruction instanceof Player) {
+			((Player) obstruction).interact(this);
+			return true;
+		} else if (obstruction instanceof Saw) {
+			return true;
 		}
-
-		this.setXY(newX, newY);
-		return true;
+		return false;
 	}
 
 	@Override
@@ -89,4 +78,56 @@ public class Saw extends MovableEntity<Saw> implements Interactable {
 		this.state.move();
 	}
 
+	/**
+	 * Jump to where the saw would be after the moves slept through. Enemies on
+	 * the tiles it would have passed are killed, as if it had made the moves.
+	 */
+	@Override
+	public void catchUp(int turns) {
+		int sweep = Math.min(turns, this.state.getPeriod());
+		for (int i = 1; i <= sweep; i++) {
+			Entity entity = getDungeon().getEntityAt(EntityLevel.OBJECT, this.state.getXAfter(i),
+					this.state.getYAfter(i));
+			if (entity instanceof Enemy) {
+				((Enemy) entity).kill();
+			}
+		}
+
+		int x = this.state.getXAfter(turns);
+		int y = this.state.getYAfter(turns);
+		this.state.skip(turns);
+		if (x != this.getX() || y != this.getY()) {
+			if (this.isPositionBlocked(x, y)) {
+				this.resolveBlocked(x, y);
+			}
+			this.setXY(x, y);
+		}
+	}
+
+	@Override
+	public int saveState() {
+		return this.state.getPhase();
+	}
+
+	@Override
+	public void restoreState(int state) {
+		this.state.setPhase(state);
+	}
+
+	/**
+	 * @param turns
+	 * @return x position after a number of player moves
+	 */
+	public int getXAfter(int turns) {
+		return this.state.getXAfter(turns);
+	}
+
+	/**
+	 * @param turns
+	 * @return y position after a number of player moves
+	 */
+	public int getYAfter(int turns) {
+		return this.state.getYAfter(turns);
+	}
+
 }
@@ -1,6 +1,7 @@
 package unsw.dungeon.entity;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import unsw.dungeon.Dungeon;
 import unsw.dungeon.entity.meta.Entity;
@@ -61,9 +62,9 @@ public class Switch extends Entity {
 		this.setActivated(e instanceof Boulder);
 	}
 
-	public static ArrayList<Switch> filter(ArrayList<Entity> entities, int id) {
+	public static ArrayList<Switch> filter(List<Switch> switches, int id) {
 		ArrayList<Switch> result = new ArrayList<Switch>();
-		for (Switch switchEntity : Entity.filter(entities, Switch.class)) {
+		for (Switch switchEntity : switches) {
 			if (switchEntity.getID() == id) {
 				result.add(switchEntity);
 
@@ -4,11 +4,12 @@ import unsw.dungeon.Dungeon;
 import unsw.dungeon.entity.meta.EntityLevel;
 import unsw.dungeon.entity.meta.Interactable;
 import unsw.dungeon.entity.meta.ItemEntity;
+import unsw.dungeon.entity.meta.Stateful;
 import unsw.dungeon.entity.meta.Usable;
 import unsw.dungeon.events.ItemUsed;
 import unsw.dungeon.util.emitter.EventEmitter;
 
-public class Sword extends ItemEntity implements Usable {
+public class Sword extends ItemEntity implements Usable, Stateful {
 
 	private int durability;
 	private EventEmitter<Sword, ItemUsed> itemUsed;
@@ -56,4 +57,13 @@ public class Sword extends ItemEntity implements Usable {
 		return this.itemUsed;
 	}
 
+	@Override
+	public int saveState() {
+		return this.durability;
+	}
+
+	@Override
+	public void restoreState(int state) {
+		this.durability = state;
+	}
 }
@@ -0,0 +1,113 @@
+package unsw.dungeon.entity.enemy;
+
+import unsw.dungeon.FlowField;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Player;
+
+/**
+ * Movement that walks downhill on the dungeon's shared FlowField.
+ *
+ * The steps along each axis towards (or away from) the player are tried first,
+ * so in open ground an enemy moves exactly as a greedy step would, but it can
+ * also find its way around walls. Enemies the field does not reach fall back to
+ * the greedy step.
+ *
+ */
+public abstract class FieldBehaviour implements EnemyMovementBehaviour {
+
+	protected Enemy enemy;
+
+	private int[] order;
+
+	public FieldBehaviour(Enemy enemy) {
+		this.enemy = enemy;
+		this.order = new int[4];
+	}
+
+	/**
+	 * @param field
+	 * @param x
+	 * @param y
+	 * @return Value of a tile on the field, lower is better
+	 */
+	protected abstract int score(FlowField field, int x, int y);
+
+	/**
+	 * @return 1 to prefer steps towards the player, -1 to prefer steps away
+	 */
+	protected abstract int preference();
+
+	/**
+	 * Greedy step, for enemies outside the field
+	 * 
+	 * @param p
+	 */
+	protected abstract void fallback(Player p);
+
+	@Override
+	public void move(Player p) {
+		FlowField field = this.enemy.getDungeon().getFlowField();
+		int x = this.enemy.getX();
+		int y = this.enemy.getY();
+
+		int current = this.score(field, x, y);
+		if (current == FlowField.UNREACHABLE) {
+			this.fallback(p);
+			return;
+		}
+
+		int n = this.orderDirections(p);
+
+		// Try the best step first, and the next best if something is in the way
+		int tried = 0;
+		while (true) {
+			int best = -1;
+			int bestScore = current;
+			for (int k = 0; k < n; k++) {
+				int dir = this.order[k];
+				if ((tried & (1 << dir)) != 0) {
+					continue;
+				}
+
+				int score = this.score(field, x + FlowField.DX[dir], y + FlowField.DY[dir]);
+				if (score < bestScore) {
+					best = dir;
+					bestScore = score;
+				}
+			}
+
+			if (best == -1 || this.enemy.step(best)) {
+				return;
+			}
+			tried |= 1 << best;
+		}
+	}
+
+	/**
+	 * Order the four directions by preference, ties on the field going to the
+	 * greedy axis steps
+	 * 
+	 * @param p
+	 * @return Number of directions
+	 */
+	private int orderDirections(Player p) {
+		int dx = Integer.signum(p.getX() - this.enemy.getX()) * this.preference();
+		int dy = Integer.signum(p.getY() - this.enemy.getY()) * this.preference();
+
+		int n = 0;
+		int used = 0;
+		for (int dir = 0; dir < 4; dir++) {
+			if ((dx != 0 && FlowField.DX[dir] == dx) || (dy != 0 && FlowField.DY[dir] == dy)) {
+				this.order[n++] = dir;
+				used |= 1 << dir;
+			}
+		}
+		for (int dir = 0; dir < 4; dir++) {
+			if ((used & (1 << dir)) == 0) {
+				this.order[n++] = dir;
+			}
+		}
+
+		return n;
+	}
+}
@@ -1,17 +1,26 @@
 package unsw.dungeon.entity.enemy;
 
+import unsw.dungeon.FlowField;
 import unsw.dungeon.entity.Enemy;
 import unsw.dungeon.entity.Player;
 
-public class FleeBehaviour implements EnemyMovementBehaviour {
-	private Enemy enemy;
-
+public class FleeBehaviour extends FieldBehaviour {
 	public FleeBehaviour(Enemy enemy) {
-		this.enemy = enemy;
+		super(enemy);
+	}
+
+	@Override
+	protected int score(FlowField field, int x, int y) {
+		return field.getSafety(x, y);
+	}
+
+	@Override
+	protected int preference() {
+		return -1;
 	}
 
 	@Override
-	public void move(Player p) {
+	protected void fallback(Player p) {
 
 		int X = p.getX() - enemy.getX();
 		int Y = p.getY() - enemy.getY();
@@ -0,0 +1,69 @@
+package unsw.dungeon.entity.enemy;
+
+import unsw.dungeon.HierarchicalPlanner;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Player;
+
+/**
+ * Chase the player along a route from the dungeon's HierarchicalPlanner, for
+ * dungeons too large for the flow field to cover.
+ *
+ * The route is kept between turns and only planned again when the map changes
+ * or the player leaves the cluster they were in, otherwise only its last leg
+ * follows the player. Enemies without a route move as RoamBehaviour does.
+ *
+ */
+public class HierarchicalBehaviour implements EnemyMovementBehaviour {
+
+	private Enemy enemy;
+	private EnemyMovementBehaviour fallback;
+
+	private int[] route;
+	private int next;
+	private int version;
+	private long goalCluster;
+
+	public HierarchicalBehaviour(Enemy enemy) {
+		this.enemy = enemy;
+		this.fallback = new RoamBehaviour(enemy);
+		this.route = null;
+	}
+
+	@Override
+	public void move(Player p) {
+		HierarchicalPlanner planner = this.enemy.getDungeon().getPlanner();
+
+		if (this.route == null || this.version != planner.getVersion()
+				|| this.goalCluster != planner.clusterOf(p.getX(), p.getY())) {
+			this.plan(planner, p);
+		} else {
+			// Follow the player around their cluster
+			this.route[this.route.length - 2] = p.getX();
+			this.route[this.route.length - 1] = p.getY();
+		}
+
+		if (this.route == null) {
+			this.fallback.move(p);
+			return;
+		}
+
+		// Skip the waypoints already reached
+		while (this.next < this.route.length - 2 && this.route[this.next] == this.enemy.getX()
+				&& this.route[this.next + 1] == this.enemy.getY()) {
+			this.next += 2;
+		}
+
+		int dir = planner.step(this.enemy.getX(), this.enemy.getY(), this.route[this.next], this.route[this.next + 1]);
+		if (dir == -1 || !this.enemy.step(dir)) {
+			this.route = null;
+			this.fallback.move(p);
+		}
+	}
+
+	private void plan(HierarchicalPlanner planner, Player p) {
+		this.route = planner.plan(this.enemy.getX(), this.enemy.getY(), p.getX(), p.getY());
+		this.next = 0;
+		this.version = planner.getVersion();
+		this.goalCluster = planner.clusterOf(p.getX(), p.getY());
+	}
+}
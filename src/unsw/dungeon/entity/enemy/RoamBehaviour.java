@@ -1,18 +1,27 @@
 package unsw.dungeon.entity.enemy;
 
+import unsw.dungeon.FlowField;
 import unsw.dungeon.entity.Enemy;
 import unsw.dungeon.entity.Player;
 
-public class RoamBehaviour implements EnemyMovementBehaviour {
-
-	private Enemy enemy;
+public class RoamBehaviour extends FieldBehaviour {
 
 	public RoamBehaviour(Enemy enemy) {
-		this.enemy = enemy;
+		super(enemy);
+	}
+
+	@Override
+	protected int score(FlowField field, int x, int y) {
+		return field.getDistance(x, y);
+	}
+
+	@Override
+	protected int preference() {
+		return 1;
 	}
 
 	@Override
-	public void move(Player p) {
+	protected void fallback(Player p) {
 		int X = p.getX() - enemy.getX();
 		int Y = p.getY() - enemy.getY();
 		boolean moveSuccess = false;
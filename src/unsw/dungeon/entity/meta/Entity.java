@@ -3,10 +3,6 @@ package unsw.dungeon.entity.meta;
 import java.util.ArrayList;
 import java.util.List;
 
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleIntegerProperty;
 import unsw.dungeon.Dungeon;
 
 /**
@@ -15,9 +11,11 @@ import unsw.dungeon.Dungeon;
  */
 public abstract class Entity {
 
-	// Beans are used so that changes to the entity can be externally observed.
-	private IntegerProperty x, y;
-	private BooleanProperty visible;
+	private int x, y;
+	private boolean visible;
+
+	// Optional view of the entity, changes are reported to it if it is set
+	private EntityObserver observer;
 
 	protected EntityLevel entityLevel;
 	private Dungeon dungeon;
@@ -31,37 +29,43 @@ public abstract class Entity {
 	public Entity(Dungeon dungeon, EntityLevel entityLevel, int x, int y) {
 		this.dungeon = dungeon;
 		this.entityLevel = entityLevel;
-		this.x = new SimpleIntegerProperty(x);
-		this.y = new SimpleIntegerProperty(y);
-		this.visible = new SimpleBooleanProperty(true);
+		this.x = x;
+		this.y = y;
+		this.visible = true;
+		this.observer = null;
 	}
 
 	/**
-	 * @return IntegerProperty for the x position
+	 * @return Entity's x position
 	 */
-	public IntegerProperty x() {
-		return x;
+	public int getX() {
+		return this.x;
 	}
 
 	/**
-	 * @return IntegerProperty for the y position
+	 * @return Entity's y position
 	 */
-	public IntegerProperty y() {
-		return y;
+	public int getY() {
+		return this.y;
 	}
 
 	/**
-	 * @return Entity's x position
+	 * Change the Entity's position, without updating the dungeon's tile index
+	 * 
+	 * @param x
+	 * @param y
 	 */
-	public int getX() {
-		return x().get();
-	}
+	protected void setPosition(int x, int y) {
+		if (this.x == x && this.y == y) {
+			return;
+		}
 
-	/**
-	 * @return Entity's y position
-	 */
-	public int getY() {
-		return y().get();
+		this.x = x;
+		this.y = y;
+
+		if (this.observer != null) {
+			this.observer.positionChanged(this);
+		}
 	}
 
 	/**
@@ -71,6 +75,17 @@ public abstract class Entity {
 		return this.entityLevel;
 	}
 
+	/**
+	 * Change the Entity's EntityLevel, keeping the dungeon's tile index in sync
+	 * 
+	 * @param entityLevel
+	 */
+	protected void setEntityLevel(EntityLevel entityLevel) {
+		EntityLevel oldLevel = this.entityLevel;
+		this.entityLevel = entityLevel;
+		this.dungeon.updateEntityLevel(this, oldLevel);
+	}
+
 	/**
 	 * @return Dungeon the Entity is in
 	 */
@@ -82,29 +97,58 @@ public abstract class Entity {
 	 * Hide the entity from the visible map
 	 */
 	public void hide() {
-		visibility().set(false);
+		this.setVisibility(false);
 	}
 
 	/**
 	 * Show the entity on the visible map
 	 */
 	public void show() {
-		visibility().set(true);
+		this.setVisibility(true);
+	}
+
+	private void setVisibility(boolean visible) {
+		if (this.visible == visible) {
+			return;
+		}
 
+		this.visible = visible;
+
+		if (this.observer != null) {
+			this.observer.visibilityChanged(this);
+		}
 	}
 
 	/**
-	 * @return BooleanProperty for the Entity's visibility
+	 * @return Entity's visibility
 	 */
-	public BooleanProperty visibility() {
-		return visible;
+	public boolean getVisibility() {
+		return this.visible;
 	}
 
 	/**
-	 * @return Entity's visibility
+	 * Report an entity-specific state change to the observer
 	 */
-	public boolean getVisibility() {
-		return visibility().get();
+	protected void stateChanged() {
+		if (this.observer != null) {
+			this.observer.stateChanged(this);
+		}
+	}
+
+	/**
+	 * @return The entity's observer, or null if it is not being observed
+	 */
+	public EntityObserver getObserver() {
+		return this.observer;
+	}
+
+	/**
+	 * Attach a view to the entity, replacing any existing observer
+	 * 
+	 * @param observer
+	 */
+	public void setObserver(EntityObserver observer) {
+		this.observer = observer;
 	}
 
 	@Override
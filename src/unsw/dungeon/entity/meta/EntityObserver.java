@@ -0,0 +1,34 @@
+package unsw.dungeon.entity.meta;
+
+/**
+ * Receives changes to the externally visible state of an entity.
+ *
+ * The game model does not depend on any view, so an entity has at most one
+ * observer and none when running headless. Observers read the new values back
+ * from the entity.
+ *
+ */
+public interface EntityObserver {
+
+	/**
+	 * The entity's x or y position has changed
+	 *
+	 * @param entity
+	 */
+	public void positionChanged(Entity entity);
+
+	/**
+	 * The entity has been shown or hidden
+	 *
+	 * @param entity
+	 */
+	public void visibilityChanged(Entity entity);
+
+	/**
+	 * An entity-specific state has changed, such as a door opening or a portal
+	 * being activated
+	 *
+	 * @param entity
+	 */
+	public void stateChanged(Entity entity);
+}
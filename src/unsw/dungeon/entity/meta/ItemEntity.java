@@ -27,9 +27,6 @@ public abstract class ItemEntity extends Entity {
 			if (this.getX() == event.newX && this.getY() == event.newY) {
 				if (player.pickUp(this)) {
 					this.pickupEvent.emit();
-
-					// Unregister the pickup event after it has been picked up
-					player.moveEvent.unregister(this.LocationChangedHandler);
 				}
 			}
 		};
@@ -1,6 +1,7 @@
 package unsw.dungeon.entity.meta;
 
 import unsw.dungeon.Dungeon;
+import unsw.dungeon.FlowField;
 import unsw.dungeon.events.LocationChanged;
 import unsw.dungeon.util.emitter.EventEmitter;
 import unsw.dungeon.util.emitter.IntentEmitter;
@@ -15,6 +16,10 @@ public abstract class MovableEntity<T> extends Entity {
 	public final IntentEmitter<T, LocationChanged> moveIntent;
 	public final EventEmitter<T, LocationChanged> moveEvent;
 
+	// Reused event carriers, one per level of nested moves
+	private LocationChanged[] events;
+	private int eventDepth;
+
 	protected boolean isPositionBlocked(int x, int y) {
 		return this.getDungeon().hasEntitiesAt(EntityLevel.OBJECT, x, y);
 	}
@@ -29,6 +34,9 @@ public abstract class MovableEntity<T> extends Entity {
 
 		// Events are fired after the action is executed
 		this.moveEvent = new EventEmitter<T, LocationChanged>((T) this);
+
+		this.events = new LocationChanged[2];
+		this.eventDepth = 0;
 	}
 
 	protected boolean move(int xDirection, int yDirection) {
@@ -38,19 +46,33 @@ public abstract class MovableEntity<T> extends Entity {
 		int newX = oldX + xDirection;
 		int newY = oldY + yDirection;
 
-		LocationChanged e = new LocationChanged(oldX, oldY, newX, newY);
+		LocationChanged e = this.obtainEvent(oldX, oldY, newX, newY);
+		try {
+			if (!this.emitMoveIntent(e)) {
+				return false;
+			}
 
-		if (!this.moveIntent.emit(e)) {
-			return false;
-		}
+			if (isPositionBlocked(newX, newY) && !resolveBlocked(newX, newY)) {
+				return false;
+			}
 
-		if (isPositionBlocked(newX, newY)) {
-			return false;
+			this.setXY(newX, newY);
+			return true;
+		} finally {
+			this.releaseEvent();
 		}
 
-		this.setXY(newX, newY);
-		return true;
+	}
 
+	/**
+	 * Handle an OBJECT blocking a move that passed its intents
+	 * 
+	 * @param newX
+	 * @param newY
+	 * @return Whether the entity should move onto the tile anyway
+	 */
+	protected boolean resolveBlocked(int newX, int newY) {
+		return false;
 	}
 
 	public void setXY(int newX, int newY) {
@@ -60,15 +82,68 @@ public abstract class MovableEntity<T> extends Entity {
 			return;
 		}
 
-		if (oldX != newX) {
-			x().set(newX);
+		this.setPosition(newX, newY);
+		this.getDungeon().updateEntityPosition(this, oldX, oldY);
+
+		try {
+			this.moveEvent.emit(this.obtainEvent(oldX, oldY, newX, newY));
+		} finally {
+			this.releaseEvent();
+		}
+
+	}
+
+	/**
+	 * Place the entity without emitting any move events, such as when setting its
+	 * starting position
+	 * 
+	 * @param newX
+	 * @param newY
+	 */
+	public void place(int newX, int newY) {
+		int oldX = getX();
+		int oldY = getY();
+
+		this.setPosition(newX, newY);
+		this.getDungeon().updateEntityPosition(this, oldX, oldY);
+	}
+
+	/**
+	 * Get a LocationChanged carrier for the current level of nesting.
+	 * 
+	 * Carriers are reused, so subscribers must not keep them after returning.
+	 * Every call must be matched with releaseEvent().
+	 */
+	private LocationChanged obtainEvent(int oldX, int oldY, int newX, int newY) {
+		if (this.eventDepth == this.events.length) {
+			LocationChanged[] grown = new LocationChanged[this.events.length * 2];
+			System.arraycopy(this.events, 0, grown, 0, this.events.length);
+			this.events = grown;
 		}
-		if (oldY != newY) {
-			y().set(newY);
+
+		LocationChanged event = this.events[this.eventDepth];
+		if (event == null) {
+			event = this.events[this.eventDepth] = new LocationChanged(oldX, oldY, newX, newY);
+		} else {
+			event.set(oldX, oldY, newX, newY);
 		}
 
-		this.moveEvent.emit(new LocationChanged(oldX, oldY, newX, newY));
+		this.eventDepth++;
+		return event;
+	}
+
+	private void releaseEvent() {
+		this.eventDepth--;
+	}
 
+	/**
+	 * Fire the intents for a move
+	 * 
+	 * @param event
+	 * @return Whether the move may go ahead
+	 */
+	protected boolean emitMoveIntent(LocationChanged event) {
+		return this.moveIntent.emit(event);
 	}
 
 	public boolean moveUp() {
@@ -87,4 +162,15 @@ public abstract class MovableEntity<T> extends Entity {
 		return move(1, 0);
 	}
 
+	/**
+	 * Move one tile in a direction, as planned on a FlowField or
+	 * HierarchicalPlanner
+	 * 
+	 * @param dir - index into FlowField.DX and FlowField.DY
+	 * @return Whether the move went ahead
+	 */
+	public boolean step(int dir) {
+		return move(FlowField.DX[dir], FlowField.DY[dir]);
+	}
+
 }
@@ -0,0 +1,16 @@
+package unsw.dungeon.entity.meta;
+
+/**
+ * Entities that catch up on the player moves they slept through while parked
+ * by the dungeon's ActivityRegions. Entities that are not Parkable are frozen
+ * while parked.
+ *
+ */
+public interface Parkable {
+	/**
+	 * Bring the entity up to date after it was parked
+	 * 
+	 * @param turns - number of player moves missed
+	 */
+	public void catchUp(int turns);
+}
@@ -0,0 +1,20 @@
+package unsw.dungeon.entity.meta;
+
+/**
+ * Entities with state besides their position and visibility, which can be
+ * saved and restored, such as for keyframes in a replay
+ *
+ */
+public interface Stateful {
+	/**
+	 * @return The entity's state, packed into an int
+	 */
+	public int saveState();
+
+	/**
+	 * Restore a state returned by saveState()
+	 * 
+	 * @param state
+	 */
+	public void restoreState(int state);
+}
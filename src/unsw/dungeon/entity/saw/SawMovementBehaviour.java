@@ -2,4 +2,41 @@ package unsw.dungeon.entity.saw;
 
 public interface SawMovementBehaviour {
 	public void move();
+
+	/**
+	 * Bring the behaviour forward a number of moves without moving the saw
+	 * 
+	 * @param turns
+	 */
+	public void skip(int turns);
+
+	/**
+	 * @param turns
+	 * @return x position of the saw after a number of moves
+	 */
+	public int getXAfter(int turns);
+
+	/**
+	 * @param turns
+	 * @return y position of the saw after a number of moves
+	 */
+	public int getYAfter(int turns);
+
+	/**
+	 * @return Number of moves before the saw is back in the same state
+	 */
+	public int getPeriod();
+
+	/**
+	 * @return Where the saw is in its cycle of moves
+	 */
+	public int getPhase();
+
+	/**
+	 * Continue from a phase returned by getPhase(), with the saw in the position
+	 * it had at that phase
+	 * 
+	 * @param phase
+	 */
+	public void setPhase(int phase);
 }
@@ -0,0 +1,236 @@
+package unsw.dungeon.entity.saw;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Saw;
+
+/**
+ * Movement back and forth along a straight track between two obstacles.
+ *
+ * The track is the run of tiles the saw can reach along its axis, found from
+ * the walls, boulders and closed doors at either end. A saw on a track of
+ * length L repeats the same 2L moves, so its state is a phase in that cycle and
+ * its position after any number of moves is found without making them. Phase 0
+ * is the high end of the track, moving towards the low end, and phase L is the
+ * low end, moving back.
+ *
+ * The track is found again when the dungeon reports a change to the map on or
+ * next to it, or when the saw is not where its phase says it should be.
+ *
+ */
+public abstract class TrackBehaviour implements SawMovementBehaviour {
+	private Saw saw;
+	private boolean horizontal;
+
+	private boolean built;
+	private boolean registered;
+	private int line;
+	private int low;
+	private int high;
+	private int phase;
+
+	// Whether the next move is towards the low end, kept while the track is
+	// found again. Saws start off moving towards the low end.
+	private boolean towardsLow;
+
+	public TrackBehaviour(Saw saw, boolean horizontal) {
+		this.saw = saw;
+		this.horizontal = horizontal;
+		this.built = false;
+		this.registered = false;
+		this.towardsLow = true;
+	}
+
+	@Override
+	public void move() {
+		this.update();
+
+		int next = (this.phase + 1) % this.getPeriod();
+		int step = this.positionAt(next) - this.position();
+		if (step == 0) {
+			return;
+		}
+
+		if (this.step(step)) {
+			this.phase = next;
+			return;
+		}
+
+		// Blocked by something the track did not know about
+		this.invalidate();
+		this.update();
+		next = (this.phase + 1) % this.getPeriod();
+		step = this.positionAt(next) - this.position();
+		if (step != 0 && this.step(step)) {
+			this.phase = next;
+		}
+	}
+
+	@Override
+	public void skip(int turns) {
+		this.update();
+		this.phase = (int) ((this.phase + (long) turns) % this.getPeriod());
+	}
+
+	@Override
+	public int getXAfter(int turns) {
+		if (!this.horizontal) {
+			return this.saw.getX();
+		}
+		this.update();
+		return this.positionAt((int) ((this.phase + (long) turns) % this.getPeriod()));
+	}
+
+	@Override
+	public int getYAfter(int turns) {
+		if (this.horizontal) {
+			return this.saw.getY();
+		}
+		this.update();
+		return this.positionAt((int) ((this.phase + (long) turns) % this.getPeriod()));
+	}
+
+	@Override
+	public int getPeriod() {
+		this.update();
+		return Math.max(1, 2 * (this.high - this.low));
+	}
+
+	/**
+	 * A saw boxed in on both sides has phase 0 if it will try the low end first
+	 * when it is let out, or 1 if it will try the high end.
+	 */
+	@Override
+	public int getPhase() {
+		this.update();
+		if (this.high == this.low) {
+			return this.towardsLow ? 0 : 1;
+		}
+		return this.phase;
+	}
+
+	@Override
+	public void setPhase(int phase) {
+		this.update();
+		if (this.high == this.low) {
+			this.towardsLow = phase == 0;
+		} else {
+			this.phase = Math.floorMod(phase, this.getPeriod());
+		}
+	}
+
+	/**
+	 * @return Whether the track runs along the x axis
+	 */
+	public boolean isHorizontal() {
+		return this.horizontal;
+	}
+
+	/**
+	 * @return The row of a horizontal track, or the column of a vertical one
+	 */
+	public int getLine() {
+		return this.line;
+	}
+
+	/**
+	 * Check if a change to the map at a tile could change the track
+	 *
+	 * @param x
+	 * @param y
+	 * @return Whether the tile is on the track or at either end of it
+	 */
+	public boolean covers(int x, int y) {
+		if (!this.built) {
+			return false;
+		}
+
+		int along = this.isHorizontal() ? x : y;
+		int across = this.isHorizontal() ? y : x;
+		return across == this.line && along >= this.low - 1 && along <= this.high + 1;
+	}
+
+	/**
+	 * Find the track again before the next move
+	 */
+	public void invalidate() {
+		if (this.built) {
+			// A saw boxed in on both sides keeps the direction it had
+			if (this.high > this.low) {
+				this.towardsLow = this.phase < this.high - this.low;
+			}
+			this.built = false;
+		}
+	}
+
+	/**
+	 * Find the track if the map has changed or the saw has been moved off it
+	 */
+	private void update() {
+		if (this.built && this.across() == this.line && this.position() == this.positionAt(this.phase)) {
+			return;
+		}
+		this.invalidate();
+
+		Dungeon dungeon = this.saw.getDungeon();
+		if (this.registered && this.across() != this.line) {
+			dungeon.getSawTracks().remove(this);
+			this.registered = false;
+		}
+
+		int position = this.position();
+		this.line = this.across();
+		this.low = position;
+		while (this.isOpen(dungeon, this.low - 1)) {
+			this.low--;
+		}
+		this.high = position;
+		while (this.isOpen(dungeon, this.high + 1)) {
+			this.high++;
+		}
+
+		int length = this.high - this.low;
+		this.phase = this.towardsLow ? this.high - position : (length + position - this.low) % Math.max(1, 2 * length);
+		this.built = true;
+
+		if (!this.registered) {
+			dungeon.getSawTracks().add(this);
+			this.registered = true;
+		}
+	}
+
+	/**
+	 * @param phase
+	 * @return Position along the axis at a phase
+	 */
+	private int positionAt(int phase) {
+		int length = this.high - this.low;
+		return phase <= length ? this.high - phase : this.low + phase - length;
+	}
+
+	/**
+	 * Move the saw one tile along the axis
+	 *
+	 * @param step - 1 to move towards the high end, -1 towards the low end
+	 * @return Whether the saw moved
+	 */
+	private boolean step(int step) {
+		if (this.isHorizontal()) {
+			return step < 0 ? this.saw.moveLeft() : this.saw.moveRight();
+		}
+		return step < 0 ? this.saw.moveUp() : this.saw.moveDown();
+	}
+
+	private boolean isOpen(Dungeon dungeon, int along) {
+		int x = this.isHorizontal() ? along : this.line;
+		int y = this.isHorizontal() ? this.line : along;
+		return dungeon.positionIsValid(x, y) && !dungeon.isObstacleAt(x, y);
+	}
+
+	private int position() {
+		return this.isHorizontal() ? this.saw.getX() : this.saw.getY();
+	}
+
+	private int across() {
+		return this.isHorizontal() ? this.saw.getY() : this.saw.getX();
+	}
+}
@@ -0,0 +1,12 @@
+package unsw.dungeon.events;
+
+import unsw.dungeon.entity.Exit;
+import unsw.dungeon.util.emitter.EmitterData;
+
+public class ExitToggled extends EmitterData {
+	public final Exit exit;
+
+	public ExitToggled(Exit exit) {
+		this.exit = exit;
+	}
+}
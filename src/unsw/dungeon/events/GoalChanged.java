@@ -0,0 +1,16 @@
+package unsw.dungeon.events;
+
+import unsw.dungeon.goals.Goal;
+import unsw.dungeon.util.emitter.EmitterData;
+
+/**
+ * A goal's achieved status or progress has changed
+ *
+ */
+public class GoalChanged extends EmitterData {
+	public final Goal goal;
+
+	public GoalChanged(Goal goal) {
+		this.goal = goal;
+	}
+}
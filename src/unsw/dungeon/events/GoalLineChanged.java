@@ -0,0 +1,17 @@
+package unsw.dungeon.events;
+
+import unsw.dungeon.util.emitter.EmitterData;
+
+/**
+ * A line of a goal tree has new text
+ *
+ */
+public class GoalLineChanged extends EmitterData {
+	public final int index;
+	public final String text;
+
+	public GoalLineChanged(int index, String text) {
+		this.index = index;
+		this.text = text;
+	}
+}
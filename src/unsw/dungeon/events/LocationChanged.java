@@ -4,15 +4,31 @@ import unsw.dungeon.util.emitter.EmitterData;
 
 /**
  * Location change emitter data
+ * 
+ * Movable entities reuse their LocationChanged objects between moves. The
+ * fields are only valid while the event is being emitted, and subscribers
+ * should treat them as read-only.
  *
  */
 public class LocationChanged extends EmitterData {
-	public final int oldX;
-	public final int oldY;
-	public final int newX;
-	public final int newY;
+	public int oldX;
+	public int oldY;
+	public int newX;
+	public int newY;
 
 	public LocationChanged(int oldX, int oldY, int newX, int newY) {
+		this.set(oldX, oldY, newX, newY);
+	}
+
+	/**
+	 * Reuse the event for another move
+	 * 
+	 * @param oldX
+	 * @param oldY
+	 * @param newX
+	 * @param newY
+	 */
+	public void set(int oldX, int oldY, int newX, int newY) {
 		this.oldX = oldX;
 		this.oldY = oldY;
 		this.newX = newX;
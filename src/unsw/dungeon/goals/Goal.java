@@ -1,16 +1,35 @@
 package unsw.dungeon.goals;
 
 import unsw.dungeon.Dungeon;
+import unsw.dungeon.events.GoalChanged;
+import unsw.dungeon.util.emitter.EventEmitter;
 
 public class Goal {
 
 	protected GoalStrategy strategy;
 	protected boolean achieved;
+	protected int progress, target;
 	protected Dungeon dungeon;
 
+	// Fired when check() finds a new achieved status or progress
+	public final EventEmitter<Goal, GoalChanged> changeEvent;
+
+	// Whether achieved is out of date, dirty goals make their parents dirty
+	private boolean dirty;
+	private Goal parent;
+
 	public Goal(Dungeon dungeon, GoalStrategy strategy) {
 		this.dungeon = dungeon;
 		this.strategy = strategy;
+		this.progress = 0;
+		this.target = 1;
+		this.changeEvent = new EventEmitter<Goal, GoalChanged>(this);
+		this.dirty = true;
+		this.parent = null;
+
+		if (strategy != null) {
+			strategy.attach(this);
+		}
 	}
 
 	/**
@@ -21,12 +40,77 @@ public class Goal {
 	}
 
 	/**
-	 * Check and update the goal achieved status
+	 * Check and update the goal achieved status. Only dirty goals are
+	 * re-evaluated.
 	 * 
 	 * @return Goal achieved status
 	 */
 	public boolean check() {
-		return (this.achieved = this.strategy.achieved(this));
+		if (this.dirty) {
+			this.dirty = false;
+
+			boolean oldAchieved = this.achieved;
+			int oldProgress = this.progress;
+			int oldTarget = this.target;
+
+			this.achieved = this.strategy.achieved(this);
+			this.progress = this.strategy.progress(this);
+			this.target = this.strategy.target(this);
+
+			if (this.achieved != oldAchieved || this.progress != oldProgress || this.target != oldTarget) {
+				this.changeEvent.emit(new GoalChanged(this));
+			}
+		}
+		return this.achieved;
+	}
+
+	/**
+	 * @return Progress towards the goal as of the last check(), such as the
+	 *         number of treasure collected
+	 */
+	public int getProgress() {
+		return this.progress;
+	}
+
+	/**
+	 * @return Progress needed to achieve the goal as of the last check()
+	 */
+	public int getTarget() {
+		return this.target;
+	}
+
+	/**
+	 * @return How the goal is achieved
+	 */
+	public GoalStrategy getStrategy() {
+		return this.strategy;
+	}
+
+	/**
+	 * @return Description of the goal, without its subgoals
+	 */
+	public String getInfoText() {
+		return this.strategy.getInfoText();
+	}
+
+	/**
+	 * @return Whether the goal needs to be re-evaluated
+	 */
+	public boolean isDirty() {
+		return this.dirty;
+	}
+
+	/**
+	 * Mark the goal, and every goal containing it, as needing re-evaluation
+	 */
+	public void markDirty() {
+		for (Goal g = this; g != null && !g.dirty; g = g.parent) {
+			g.dirty = true;
+		}
+	}
+
+	void setParent(Goal parent) {
+		this.parent = parent;
 	}
 
 	/**
@@ -20,6 +20,8 @@ public class GoalComposite extends Goal {
 	 */
 	public void addSubGoal(Goal e) {
 		this.subGoals.add(e);
+		e.setParent(this);
+		this.markDirty();
 	}
 
 	/**
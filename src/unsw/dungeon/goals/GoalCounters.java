@@ -0,0 +1,212 @@
+package unsw.dungeon.goals;
+
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Exit;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Switch;
+import unsw.dungeon.entity.Treasure;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.events.ExitToggled;
+import unsw.dungeon.events.ItemPickedUp;
+import unsw.dungeon.events.SwitchToggled;
+import unsw.dungeon.util.emitter.EventSAM;
+import unsw.dungeon.util.emitter.GenericEmitter;
+
+/**
+ * Running totals of the dungeon state that goals depend on.
+ *
+ * The dungeon reports entities as they are added and removed, and the counters
+ * follow the events of those entities, so a goal never needs to scan the
+ * dungeon. Each kind of counter has an emitter that fires whenever it changes.
+ *
+ */
+public class GoalCounters {
+
+	public final GenericEmitter switchesChanged;
+	public final GenericEmitter exitsChanged;
+	public final GenericEmitter treasureChanged;
+	public final GenericEmitter enemiesChanged;
+
+	private int switches, activatedSwitches;
+	private int activatedExits;
+	private int treasure, collectedTreasure;
+	private int enemies, defeatedEnemies;
+
+	private EventSAM<Switch, SwitchToggled> switchHandler;
+	private EventSAM<Exit, ExitToggled> exitHandler;
+	private EventSAM<Player, ItemPickedUp> pickupHandler;
+	private Player player;
+
+	public GoalCounters() {
+		this.switchesChanged = new GenericEmitter();
+		this.exitsChanged = new GenericEmitter();
+		this.treasureChanged = new GenericEmitter();
+		this.enemiesChanged = new GenericEmitter();
+
+		this.switchHandler = (sw, event) -> {
+			this.activatedSwitches += sw.getActivated() ? 1 : -1;
+			this.switchesChanged.emit();
+		};
+
+		this.exitHandler = (exit, event) -> {
+			this.activatedExits += exit.getActivated() ? 1 : -1;
+			this.exitsChanged.emit();
+		};
+
+		this.player = null;
+		this.pickupHandler = (player, event) -> {
+			if (event.item instanceof Treasure) {
+				this.collectedTreasure++;
+				this.treasureChanged.emit();
+			}
+		};
+	}
+
+	/**
+	 * Start counting an entity
+	 *
+	 * @param entity
+	 */
+	public void entityAdded(Entity entity) {
+		if (entity instanceof Switch) {
+			Switch sw = (Switch) entity;
+			sw.switchEvent.register(this.switchHandler);
+			this.switches++;
+			if (sw.getActivated()) {
+				this.activatedSwitches++;
+			}
+			this.switchesChanged.emit();
+
+		} else if (entity instanceof Exit) {
+			Exit exit = (Exit) entity;
+			exit.exitEvent.register(this.exitHandler);
+			if (exit.getActivated()) {
+				this.activatedExits++;
+				this.exitsChanged.emit();
+			}
+
+		} else if (entity instanceof Treasure) {
+			this.treasure++;
+			this.treasureChanged.emit();
+
+		} else if (entity instanceof Enemy) {
+			this.enemies++;
+			this.enemiesChanged.emit();
+		}
+	}
+
+	/**
+	 * Stop counting an entity
+	 *
+	 * @param entity
+	 */
+	public void entityRemoved(Entity entity) {
+		if (entity instanceof Switch) {
+			Switch sw = (Switch) entity;
+			sw.switchEvent.unregister(this.switchHandler);
+			this.switches--;
+			if (sw.getActivated()) {
+				this.activatedSwitches--;
+			}
+			this.switchesChanged.emit();
+
+		} else if (entity instanceof Exit) {
+			Exit exit = (Exit) entity;
+			exit.exitEvent.unregister(this.exitHandler);
+			if (exit.getActivated()) {
+				this.activatedExits--;
+				this.exitsChanged.emit();
+			}
+
+		} else if (entity instanceof Treasure) {
+			this.treasure--;
+			this.treasureChanged.emit();
+
+		} else if (entity instanceof Enemy) {
+			this.enemies--;
+			this.defeatedEnemies++;
+			this.enemiesChanged.emit();
+		}
+	}
+
+	/**
+	 * Count the treasure the player picks up
+	 *
+	 * @param player
+	 */
+	public void playerSet(Player player) {
+		if (this.player != null) {
+			this.player.itemPickedUpEvent.unregister(this.pickupHandler);
+		}
+		this.player = player;
+		player.itemPickedUpEvent.register(this.pickupHandler);
+
+		this.collectedTreasure = 0;
+		for (int i = 0; i < player.getInventory().size(); i++) {
+			if (player.getInventory().get(i) instanceof Treasure) {
+				this.collectedTreasure++;
+			}
+		}
+		this.treasureChanged.emit();
+	}
+
+	/**
+	 * @return Number of switches in the dungeon
+	 */
+	public int getSwitches() {
+		return this.switches;
+	}
+
+	/**
+	 * @return Number of switches with a boulder on them
+	 */
+	public int getActivatedSwitches() {
+		return this.activatedSwitches;
+	}
+
+	/**
+	 * @return Number of exits the player is standing on
+	 */
+	public int getActivatedExits() {
+		return this.activatedExits;
+	}
+
+	/**
+	 * @return Number of treasure in the dungeon
+	 */
+	public int getTreasure() {
+		return this.treasure;
+	}
+
+	/**
+	 * @return Number of treasure the player has picked up
+	 */
+	public int getCollectedTreasure() {
+		return this.collectedTreasure;
+	}
+
+	/**
+	 * @return Number of enemies left in the dungeon
+	 */
+	public int getEnemies() {
+		return this.enemies;
+	}
+
+	/**
+	 * @return Number of enemies removed from the dungeon
+	 */
+	public int getDefeatedEnemies() {
+		return this.defeatedEnemies;
+	}
+
+	/**
+	 * Set the number of enemies removed from the dungeon, such as when restoring a
+	 * saved game whose defeated enemies are not in it
+	 * 
+	 * @param defeatedEnemies
+	 */
+	public void setDefeatedEnemies(int defeatedEnemies) {
+		this.defeatedEnemies = defeatedEnemies;
+		this.enemiesChanged.emit();
+	}
+}
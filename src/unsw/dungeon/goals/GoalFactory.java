@@ -1,5 +1,6 @@
 package unsw.dungeon.goals;
 
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 import unsw.dungeon.Dungeon;
@@ -39,6 +40,69 @@ public class GoalFactory {
 
 	}
 
+	/**
+	 * Get the JSON goal string of a GoalStrategy, whether or not it is one of
+	 * the factory's own
+	 */
+	private static String strategyToString(GoalStrategy strategy) {
+		if (strategy instanceof GoalStrategyExit) {
+			return "exit";
+		} else if (strategy instanceof GoalStrategyEnemy) {
+			return "enemies";
+		} else if (strategy instanceof GoalStrategyBoulder) {
+			return "boulders";
+		} else if (strategy instanceof GoalStrategyTreasure) {
+			return "treasure";
+		} else if (strategy instanceof GoalStrategyAND) {
+			return "AND";
+		} else if (strategy instanceof GoalStrategyOR) {
+			return "OR";
+		}
+		throw new Error("Unhandled goal type!");
+	}
+
+	/**
+	 * Convert a Goal object back into its JSON, the reverse of create()
+	 * 
+	 * @param goal
+	 * @return JSON
+	 */
+	public static JSONObject toJSON(Goal goal) {
+		JSONObject JSON = new JSONObject();
+		JSON.put("goal", strategyToString(goal.getStrategy()));
+
+		if (goal instanceof GoalComposite) {
+			JSONArray subgoals = new JSONArray();
+			for (Goal subGoal : ((GoalComposite) goal).getSubGoals()) {
+				subgoals.put(toJSON(subGoal));
+			}
+			JSON.put("subgoals", subgoals);
+		}
+
+		return JSON;
+	}
+
+	/**
+	 * Copy a Goal, with its subgoals, into another dungeon
+	 * 
+	 * @param dungeon
+	 * @param goal
+	 * @return Goal
+	 */
+	public static Goal copy(Dungeon dungeon, Goal goal) {
+		if (!(goal instanceof GoalComposite)) {
+			return new Goal(dungeon, goal.getStrategy());
+		}
+
+		GoalComposite node = new GoalComposite(dungeon, goal.getStrategy());
+
+		for (Goal subGoal : ((GoalComposite) goal).getSubGoals()) {
+			node.addSubGoal(copy(dungeon, subGoal));
+		}
+
+		return node;
+	}
+
 	/**
 	 * Convert a goal JSON into a Goal object
 	 * 
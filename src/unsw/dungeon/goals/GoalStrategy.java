@@ -4,4 +4,31 @@ public interface GoalStrategy {
 	public boolean achieved(Goal g);
 
 	public String getInfoText();
+
+	/**
+	 * Subscribe a goal to the changes that can affect it, by marking it dirty when
+	 * they happen. Goals are only re-evaluated while dirty.
+	 * 
+	 * @param g
+	 */
+	default public void attach(Goal g) {
+	}
+
+	/**
+	 * Measure progress towards the goal. Called after achieved().
+	 * 
+	 * @param g
+	 * @return Progress made, out of target(g)
+	 */
+	default public int progress(Goal g) {
+		return g.achieved() ? 1 : 0;
+	}
+
+	/**
+	 * @param g
+	 * @return Progress needed to achieve the goal
+	 */
+	default public int target(Goal g) {
+		return 1;
+	}
 }
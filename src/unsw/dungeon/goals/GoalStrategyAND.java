@@ -1,5 +1,7 @@
 package unsw.dungeon.goals;
 
+import java.util.ArrayList;
+
 public class GoalStrategyAND implements GoalStrategy {
 
 	/**
@@ -10,7 +12,9 @@ public class GoalStrategyAND implements GoalStrategy {
 		boolean result = true;
 
 		GoalComposite G = (GoalComposite) g;
-		for (Goal subGoal : G.getSubGoals()) {
+		ArrayList<Goal> subGoals = G.getSubGoals();
+		for (int i = 0; i < subGoals.size(); i++) {
+			Goal subGoal = subGoals.get(i);
 			if (!(subGoal.check())) {
 				result = false;
 			}
@@ -19,6 +23,28 @@ public class GoalStrategyAND implements GoalStrategy {
 		return result;
 	}
 
+	/**
+	 * Progress is the number of subgoals achieved
+	 */
+	@Override
+	public int progress(Goal g) {
+		int achieved = 0;
+
+		ArrayList<Goal> subGoals = ((GoalComposite) g).getSubGoals();
+		for (int i = 0; i < subGoals.size(); i++) {
+			if (subGoals.get(i).achieved()) {
+				achieved++;
+			}
+		}
+
+		return achieved;
+	}
+
+	@Override
+	public int target(Goal g) {
+		return ((GoalComposite) g).getSubGoals().size();
+	}
+
 	@Override
 	public String getInfoText() {
 		return "AND";
@@ -1,23 +1,28 @@
 package unsw.dungeon.goals;
 
-import unsw.dungeon.Dungeon;
-import unsw.dungeon.entity.Switch;
-import unsw.dungeon.entity.meta.Entity;
-
 public class GoalStrategyBoulder implements GoalStrategy {
 	/**
 	 * All switches must have boulders on top of them
 	 */
 	@Override
 	public boolean achieved(Goal g) {
-		Dungeon dungeon = g.getDungeon();
-		for (Switch switchEntity : Entity.filter(dungeon.getEntities(), Switch.class)) {
-			if (!(switchEntity.getActivated())) {
-				return false;
-			}
-		}
+		GoalCounters counters = g.getDungeon().getGoalCounters();
+		return counters.getActivatedSwitches() == counters.getSwitches();
+	}
+
+	@Override
+	public void attach(Goal g) {
+		g.getDungeon().getGoalCounters().switchesChanged.register(g::markDirty);
+	}
 
-		return true;
+	@Override
+	public int progress(Goal g) {
+		return g.getDungeon().getGoalCounters().getActivatedSwitches();
+	}
+
+	@Override
+	public int target(Goal g) {
+		return g.getDungeon().getGoalCounters().getSwitches();
 	}
 
 	@Override
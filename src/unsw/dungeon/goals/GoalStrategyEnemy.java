@@ -1,17 +1,28 @@
 package unsw.dungeon.goals;
 
-import unsw.dungeon.Dungeon;
-import unsw.dungeon.entity.Enemy;
-import unsw.dungeon.entity.meta.Entity;
-
 public class GoalStrategyEnemy implements GoalStrategy {
 	/**
 	 * All enemies must be defeated
 	 */
 	@Override
 	public boolean achieved(Goal g) {
-		Dungeon dungeon = g.getDungeon();
-		return Entity.filter(dungeon.getEntities(), Enemy.class).size() == 0;
+		return g.getDungeon().getGoalCounters().getEnemies() == 0;
+	}
+
+	@Override
+	public void attach(Goal g) {
+		g.getDungeon().getGoalCounters().enemiesChanged.register(g::markDirty);
+	}
+
+	@Override
+	public int progress(Goal g) {
+		return g.getDungeon().getGoalCounters().getDefeatedEnemies();
+	}
+
+	@Override
+	public int target(Goal g) {
+		GoalCounters counters = g.getDungeon().getGoalCounters();
+		return counters.getDefeatedEnemies() + counters.getEnemies();
 	}
 
 	@Override
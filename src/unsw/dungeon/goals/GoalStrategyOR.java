@@ -1,5 +1,7 @@
 package unsw.dungeon.goals;
 
+import java.util.ArrayList;
+
 public class GoalStrategyOR implements GoalStrategy {
 	/**
 	 * At least one subgoal must be achieved
@@ -9,7 +11,9 @@ public class GoalStrategyOR implements GoalStrategy {
 		boolean result = false;
 
 		GoalComposite G = (GoalComposite) g;
-		for (Goal subGoal : G.getSubGoals()) {
+		ArrayList<Goal> subGoals = G.getSubGoals();
+		for (int i = 0; i < subGoals.size(); i++) {
+			Goal subGoal = subGoals.get(i);
 			if (subGoal.check()) {
 				result = true;
 			}
@@ -18,6 +22,28 @@ public class GoalStrategyOR implements GoalStrategy {
 		return result;
 	}
 
+	/**
+	 * Progress is the number of subgoals achieved
+	 */
+	@Override
+	public int progress(Goal g) {
+		int achieved = 0;
+
+		ArrayList<Goal> subGoals = ((GoalComposite) g).getSubGoals();
+		for (int i = 0; i < subGoals.size(); i++) {
+			if (subGoals.get(i).achieved()) {
+				achieved++;
+			}
+		}
+
+		return achieved;
+	}
+
+	@Override
+	public int target(Goal g) {
+		return ((GoalComposite) g).getSubGoals().size();
+	}
+
 	@Override
 	public String getInfoText() {
 		return "OR";
@@ -1,25 +1,28 @@
 package unsw.dungeon.goals;
 
-import java.util.ArrayList;
-
-import unsw.dungeon.Dungeon;
-import unsw.dungeon.entity.Player;
-import unsw.dungeon.entity.Treasure;
-import unsw.dungeon.entity.meta.Entity;
-
 public class GoalStrategyTreasure implements GoalStrategy {
 	/**
 	 * All treasure must have been picked up
 	 */
 	@Override
 	public boolean achieved(Goal g) {
-		Dungeon dungeon = g.getDungeon();
-		Player player = dungeon.getPlayer();
+		GoalCounters counters = g.getDungeon().getGoalCounters();
+		return counters.getCollectedTreasure() == counters.getTreasure();
+	}
 
-		ArrayList<Treasure> playerTreasure = Entity.filter(player.getInventory(), Treasure.class);
-		ArrayList<Treasure> dungeonTreasure = Entity.filter(dungeon.getEntities(), Treasure.class);
+	@Override
+	public void attach(Goal g) {
+		g.getDungeon().getGoalCounters().treasureChanged.register(g::markDirty);
+	}
 
-		return playerTreasure.size() == dungeonTreasure.size();
+	@Override
+	public int progress(Goal g) {
+		return g.getDungeon().getGoalCounters().getCollectedTreasure();
+	}
+
+	@Override
+	public int target(Goal g) {
+		return g.getDungeon().getGoalCounters().getTreasure();
 	}
 
 	@Override
@@ -0,0 +1,101 @@
+package unsw.dungeon.goals;
+
+import java.util.ArrayList;
+
+import unsw.dungeon.events.GoalChanged;
+import unsw.dungeon.events.GoalLineChanged;
+import unsw.dungeon.util.emitter.EventEmitter;
+import unsw.dungeon.util.emitter.EventSAM;
+
+/**
+ * A goal tree flattened into lines of text, one per goal, for display.
+ *
+ * Each line is rendered once and then only again when its goal reports a
+ * change, so a view can update just the lines in lineChanged instead of
+ * rebuilding the whole tree.
+ *
+ * Goals are re-evaluated by checking the root goal, as the dungeon does after
+ * every player move.
+ *
+ */
+public class GoalTree {
+
+	public final EventEmitter<GoalTree, GoalLineChanged> lineChanged;
+
+	private ArrayList<Goal> goals;
+	private ArrayList<Integer> depths;
+	private ArrayList<String> lines;
+
+	public GoalTree(Goal root) {
+		this.lineChanged = new EventEmitter<GoalTree, GoalLineChanged>(this);
+		this.goals = new ArrayList<Goal>();
+		this.depths = new ArrayList<Integer>();
+		this.lines = new ArrayList<String>();
+
+		this.flatten(root, 0);
+
+		for (int i = 0; i < this.goals.size(); i++) {
+			this.lines.add(this.render(i));
+			this.goals.get(i).changeEvent.register(this.lineHandler(i));
+		}
+	}
+
+	/**
+	 * @return Number of lines
+	 */
+	public int size() {
+		return this.lines.size();
+	}
+
+	/**
+	 * @param index
+	 * @return Text of a line
+	 */
+	public String getLine(int index) {
+		return this.lines.get(index);
+	}
+
+	private void flatten(Goal goal, int depth) {
+		this.goals.add(goal);
+		this.depths.add(depth);
+
+		if (goal instanceof GoalComposite) {
+			for (Goal subGoal : ((GoalComposite) goal).getSubGoals()) {
+				this.flatten(subGoal, depth + 1);
+			}
+		}
+	}
+
+	private EventSAM<Goal, GoalChanged> lineHandler(int index) {
+		return (goal, event) -> {
+			String line = this.render(index);
+			if (line.equals(this.lines.get(index))) {
+				return;
+			}
+
+			this.lines.set(index, line);
+			this.lineChanged.emit(new GoalLineChanged(index, line));
+		};
+	}
+
+	/**
+	 * Render a line such as "  [ ] Collect all treasure (3/7)"
+	 */
+	private String render(int index) {
+		Goal goal = this.goals.get(index);
+		StringBuilder line = new StringBuilder();
+
+		for (int i = 0; i < this.depths.get(index); i++) {
+			line.append("  ");
+		}
+
+		line.append(goal.achieved() ? "[x] " : "[ ] ");
+		line.append(goal.getInfoText());
+
+		if (goal.getTarget() > 1) {
+			line.append(" (").append(goal.getProgress()).append('/').append(goal.getTarget()).append(')');
+		}
+
+		return line.toString();
+	}
+}
@@ -4,17 +4,12 @@ import java.util.ArrayList;
 
 public class TextTree {
 	public static String createTextTree(Goal g) {
-		return createTextTree(g, 0);
+		StringBuilder result = new StringBuilder();
+		createTextTree(g, 0, result);
+		return result.toString();
 	}
 
-	private static String createTextTree(Goal g, int n_indent) {
-		String indent = "";
-		for (int i = 0; i < n_indent; i++) {
-			indent += "  ";
-		}
-
-		String result = "";
-
+	private static void createTextTree(Goal g, int n_indent, StringBuilder result) {
 		if (g instanceof GoalComposite) {
 			GoalComposite gs = (GoalComposite) g;
 
@@ -29,20 +24,23 @@ public class TextTree {
 				prefix = "+";
 			}
 
-			result += name + "\n";
-
 			ArrayList<Goal> remainingGoals = gs.getRemainingGoals();
 			if (remainingGoals.size() == 1) {
-				return createTextTree(remainingGoals.get(0), n_indent);
-			} else {
-				for (Goal s : remainingGoals) {
-					result += indent + prefix + " " + createTextTree(s, n_indent + 1);
+				createTextTree(remainingGoals.get(0), n_indent, result);
+				return;
+			}
+
+			result.append(name).append('\n');
+			for (Goal s : remainingGoals) {
+				for (int i = 0; i < n_indent; i++) {
+					result.append("  ");
 				}
+				result.append(prefix).append(' ');
+				createTextTree(s, n_indent + 1, result);
 			}
-			return result;
 
 		} else {
-			return g.toString() + "\n";
+			result.append(g.toString()).append('\n');
 		}
 	}
 
@@ -0,0 +1,33 @@
+package unsw.dungeon.replay;
+
+import unsw.dungeon.entity.Player;
+
+/**
+ * A player input that can be recorded and replayed
+ *
+ */
+public enum Input {
+	UP, DOWN, LEFT, RIGHT;
+
+	/**
+	 * Apply the input to the player
+	 * 
+	 * @param player
+	 */
+	public void apply(Player player) {
+		switch (this) {
+		case UP:
+			player.moveUp();
+			break;
+		case DOWN:
+			player.moveDown();
+			break;
+		case LEFT:
+			player.moveLeft();
+			break;
+		case RIGHT:
+			player.moveRight();
+			break;
+		}
+	}
+}
@@ -0,0 +1,321 @@
+package unsw.dungeon.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonSnapshot;
+import unsw.dungeon.LoaderHook;
+import unsw.dungeon.entity.meta.Entity;
+
+/**
+ * Records each turn of a game so that it can be undone and redone.
+ *
+ * The dungeon is written once, as a snapshot of the game as the journal starts.
+ * Packed and chunked walls are left out of it and shared with every dungeon
+ * the journal rebuilds, so they are never turned back into objects. Each turn
+ * after that is a keyframe against the snapshot, so every dungeon rebuilt from
+ * it tracks the same entities as the game did and takes keyframes that restore
+ * onto a fork of the game as it started.
+ *
+ * The journal is split into segments. Each starts with a checkpoint, which is a
+ * full keyframe. Each turn in the segment is stored as a delta from the turn
+ * before: only the entities whose position, visibility, state or parking
+ * changed, and the inventory and move handler order if they changed. Undoing
+ * rebuilds the dungeon from the snapshot with the checkpoint and the deltas up
+ * to the turn applied, without playing any turns.
+ *
+ * To keep memory bounded, only the most recent segments keep their deltas.
+ * Older segments are compacted down to their checkpoint, and those turns are
+ * reached by playing the recorded inputs from it. Once there are too many
+ * compacted checkpoints, every other one is dropped, so they get further apart
+ * the older they are. Past that only the inputs grow, at two bits a turn.
+ *
+ * Undo and redo return a new Dungeon, which the journal then carries on
+ * playing. Playing a turn after undoing drops the turns that were undone.
+ *
+ */
+public class Journal {
+	private static final Input[] INPUTS = Input.values();
+
+	private int interval;
+	private int detailed;
+	private int maxCheckpoints;
+
+	// The game as the journal started, and an empty dungeon sharing its walls
+	private ByteBuffer start;
+	private Dungeon walls;
+
+	private ArrayList<Segment> segments;
+	private byte[] inputs;
+	private int size;
+
+	// The dungeon now, the turn it is at and its keyframe against its segment
+	private Dungeon dungeon;
+	private List<Entity> tracked;
+	private Keyframe last;
+	private int turn;
+
+	private static class Segment {
+		final int start;
+		final Keyframe checkpoint;
+		ArrayList<int[]> deltas;
+
+		Segment(int start, Keyframe checkpoint) {
+			this.start = start;
+			this.checkpoint = checkpoint;
+			this.deltas = new ArrayList<>();
+		}
+
+		boolean isCompacted() {
+			return this.deltas == null;
+		}
+	}
+
+	/**
+	 * @param dungeon        - game to record, from the state it is in now
+	 * @param interval       - turns between checkpoints
+	 * @param detailed       - number of recent segments that keep their deltas
+	 * @param maxCheckpoints - number of compacted checkpoints to keep
+	 */
+	public Journal(Dungeon dungeon, int interval, int detailed, int maxCheckpoints) {
+		if (interval <= 0 || detailed <= 0 || maxCheckpoints < 2) {
+			throw new IllegalArgumentException("The journal needs an interval, a detailed segment and two checkpoints");
+		}
+
+		this.interval = interval;
+		this.detailed = detailed;
+		this.maxCheckpoints = maxCheckpoints;
+		this.segments = new ArrayList<>();
+		this.inputs = new byte[16];
+		this.size = 0;
+		this.start = DungeonSnapshot.write(dungeon, false).asReadOnlyBuffer();
+		this.walls = DungeonSnapshot.shareWalls(dungeon);
+		this.dungeon = dungeon;
+		this.tracked = Keyframe.track(dungeon);
+		this.turn = 0;
+		this.checkpoint();
+	}
+
+	/**
+	 * Record a journal with 64 turns between checkpoints, the last 4 segments
+	 * detailed and up to 64 compacted checkpoints
+	 *
+	 * @param dungeon
+	 */
+	public Journal(Dungeon dungeon) {
+		this(dungeon, 64, 4, 64);
+	}
+
+	/**
+	 * @return The dungeon at the current turn
+	 */
+	public Dungeon getDungeon() {
+		return this.dungeon;
+	}
+
+	/**
+	 * @return Entities of the current dungeon, as Keyframe.track() was of it
+	 *         before its first move
+	 */
+	public List<Entity> getTracked() {
+		return this.tracked;
+	}
+
+	/**
+	 * @return Number of turns played to reach the current one
+	 */
+	public int getTurn() {
+		return this.turn;
+	}
+
+	/**
+	 * @return Number of turns recorded, including any that have been undone
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	public boolean canUndo() {
+		return this.turn > 0;
+	}
+
+	public boolean canRedo() {
+		return this.turn < this.size;
+	}
+
+	/**
+	 * @return Number of checkpoints kept
+	 */
+	public int getCheckpoints() {
+		return this.segments.size();
+	}
+
+	/**
+	 * Play a turn on the current dungeon and record it
+	 *
+	 * @param input
+	 */
+	public void play(Input input) {
+		if (this.turn < this.size) {
+			this.truncate();
+		}
+		input.apply(this.dungeon.getPlayer());
+
+		if (this.size / 4 == this.inputs.length) {
+			this.inputs = Arrays.copyOf(this.inputs, this.inputs.length * 2);
+		}
+		int shift = (this.size % 4) * 2;
+		this.inputs[this.size / 4] &= ~(3 << shift);
+		this.inputs[this.size / 4] |= input.ordinal() << shift;
+		this.size++;
+		this.turn++;
+
+		Segment segment = this.segments.get(this.segments.size() - 1);
+		Keyframe keyframe = Keyframe.capture(this.dungeon, this.tracked, this.turn);
+		segment.deltas.add(this.last.diff(keyframe));
+		this.last = keyframe;
+
+		if (this.turn - segment.start >= this.interval) {
+			this.checkpoint();
+		}
+	}
+
+	/**
+	 * Go back a turn
+	 *
+	 * @param hooks - hooks to create the entities of the new dungeon with
+	 * @return The dungeon as it was
+	 */
+	public Dungeon undo(LoaderHook... hooks) {
+		if (!this.canUndo()) {
+			throw new IllegalStateException("Nothing to undo");
+		}
+		return this.seek(this.turn - 1, hooks);
+	}
+
+	/**
+	 * Go forward a turn that was undone
+	 *
+	 * @param hooks - hooks to create the entities of the new dungeon with
+	 * @return The dungeon as it was
+	 */
+	public Dungeon redo(LoaderHook... hooks) {
+		if (!this.canRedo()) {
+			throw new IllegalStateException("Nothing to redo");
+		}
+		return this.seek(this.turn + 1, hooks);
+	}
+
+	/**
+	 * Go to any turn that has been recorded
+	 *
+	 * @param turn
+	 * @param hooks - hooks to create the entities of the new dungeon with
+	 * @return The dungeon as it was after that turn
+	 */
+	public Dungeon seek(int turn, LoaderHook... hooks) {
+		if (turn < 0 || turn > this.size) {
+			throw new IndexOutOfBoundsException(turn);
+		}
+
+		int i = this.segments.size() - 1;
+		while (this.segments.get(i).start > turn) {
+			i--;
+		}
+		Segment segment = this.segments.get(i);
+
+		try {
+			this.dungeon = DungeonSnapshot.readEntities(this.start.duplicate(), this.walls, hooks);
+		} catch (IOException e) {
+			// The snapshot is written by the journal
+			throw new UncheckedIOException(e);
+		}
+		this.tracked = Keyframe.track(this.dungeon);
+
+		if (!segment.isCompacted() && turn - segment.start <= segment.deltas.size()) {
+			Keyframe keyframe = segment.checkpoint;
+			for (int j = 0; j < turn - segment.start; j++) {
+				keyframe = keyframe.apply(segment.deltas.get(j));
+			}
+			keyframe.restore(this.dungeon, this.tracked);
+			this.last = keyframe;
+		} else {
+			segment.checkpoint.restore(this.dungeon, this.tracked);
+			for (int j = segment.start; j < turn; j++) {
+				this.get(j).apply(this.dungeon.getPlayer());
+			}
+			this.last = Keyframe.capture(this.dungeon, this.tracked, turn);
+		}
+
+		this.turn = turn;
+		return this.dungeon;
+	}
+
+	/**
+	 * @param i
+	 * @return The input of a turn
+	 */
+	public Input get(int i) {
+		if (i < 0 || i >= this.size) {
+			throw new IndexOutOfBoundsException(i);
+		}
+		return INPUTS[(this.inputs[i / 4] >> ((i % 4) * 2)) & 3];
+	}
+
+	/**
+	 * Drop the turns after the current one
+	 */
+	private void truncate() {
+		this.size = this.turn;
+		while (this.segments.get(this.segments.size() - 1).start > this.turn) {
+			this.segments.remove(this.segments.size() - 1);
+		}
+
+		// The dungeon was rebuilt from this segment, so deltas carry on against it
+		Segment segment = this.segments.get(this.segments.size() - 1);
+		if (!segment.isCompacted()) {
+			segment.deltas.subList(this.turn - segment.start, segment.deltas.size()).clear();
+		} else if (segment.start == this.turn) {
+			segment.deltas = new ArrayList<>();
+		} else {
+			this.checkpoint();
+		}
+	}
+
+	/**
+	 * Start a new segment at the current turn, compacting old ones
+	 */
+	private void checkpoint() {
+		this.last = Keyframe.capture(this.dungeon, this.tracked, this.turn);
+		this.segments.add(new Segment(this.turn, this.last));
+
+		int detailed = 0;
+		for (int i = this.segments.size() - 1; i >= 0; i--) {
+			Segment segment = this.segments.get(i);
+			if (segment.isCompacted()) {
+				break;
+			}
+			if (++detailed > this.detailed) {
+				segment.deltas = null;
+			}
+		}
+
+		int compacted = 0;
+		while (compacted < this.segments.size() && this.segments.get(compacted).isCompacted()) {
+			compacted++;
+		}
+		if (compacted > this.maxCheckpoints) {
+			// Keep the first, and every other one after it
+			for (int i = compacted - 1; i > 0; i--) {
+				if (i % 2 == 1) {
+					this.segments.remove(i);
+				}
+			}
+		}
+	}
+}
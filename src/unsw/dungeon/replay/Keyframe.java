@@ -0,0 +1,504 @@
+package unsw.dungeon.replay;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import unsw.dungeon.ActivityRegions;
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.InvincibilityPotion;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Wall;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.entity.meta.ItemEntity;
+import unsw.dungeon.entity.meta.MovableEntity;
+import unsw.dungeon.entity.meta.Stateful;
+import unsw.dungeon.entity.meta.Usable;
+import unsw.dungeon.events.ItemUsed;
+import unsw.dungeon.events.LocationChanged;
+import unsw.dungeon.util.emitter.EventSAM;
+
+/**
+ * The full state of a dungeon part way through a game, which can be restored
+ * onto the same level freshly loaded.
+ *
+ * Entities are referred to by their place in the level file, so a keyframe only
+ * stores what can change: positions, visibility, Stateful state, the player's
+ * inventory, which entities are parked, the random numbers, and the order the
+ * player's move handlers run in, which changes as items are picked up and
+ * entities are parked and woken. Walls never change and are left out.
+ *
+ * Restoring goes through the same methods the game uses, such as picking items
+ * up and killing enemies, so the events that follow them keep the goals and
+ * other listeners up to date.
+ *
+ */
+public class Keyframe {
+	private static final int ALIVE = 1;
+	private static final int VISIBLE = 2;
+	private static final int FINISHED = 4;
+
+	// Move handlers that are not an entity's
+	private static final int OTHER = -1;
+
+	private int turn;
+	private long random;
+	private int flags;
+	private int playerX, playerY;
+	private int windowX, windowY;
+	private int activityTurn;
+
+	// Five ints per entity: flags, x, y, state and the turn it was parked on
+	private int[] entities;
+	private int[] inventory;
+	private int[] handlers;
+
+	private Keyframe() {
+	}
+
+	/**
+	 * The entities a keyframe can refer to, in the order they were loaded. Must
+	 * be taken before the first move.
+	 *
+	 * @param dungeon
+	 * @return
+	 */
+	public static List<Entity> track(Dungeon dungeon) {
+		ArrayList<Entity> tracked = new ArrayList<>();
+		for (Entity entity : dungeon.getUnpackedEntities()) {
+			if (!(entity instanceof Wall) && !(entity instanceof Player)) {
+				tracked.add(entity);
+			}
+		}
+		return tracked;
+	}
+
+	/**
+	 * Take a keyframe of a dungeon
+	 *
+	 * @param dungeon
+	 * @param tracked - from track() on the dungeon when it was loaded
+	 * @param turn    - number of inputs played
+	 * @return
+	 */
+	public static Keyframe capture(Dungeon dungeon, List<Entity> tracked, int turn) {
+		Keyframe keyframe = new Keyframe();
+		Player player = dungeon.getPlayer();
+		ActivityRegions activity = dungeon.getActivity();
+
+		keyframe.turn = turn;
+		keyframe.random = dungeon.getRandom().getState();
+		keyframe.flags = (player.isAlive() ? ALIVE : 0) | (dungeon.isFinished() ? FINISHED : 0);
+		keyframe.playerX = player.getX();
+		keyframe.playerY = player.getY();
+		keyframe.windowX = dungeon.getFlowField().getWindowX();
+		keyframe.windowY = dungeon.getFlowField().getWindowY();
+		keyframe.activityTurn = activity.getTurn();
+
+		IdentityHashMap<Object, Integer> indices = new IdentityHashMap<>();
+		keyframe.entities = new int[tracked.size() * 5];
+		for (int i = 0; i < tracked.size(); i++) {
+			Entity entity = tracked.get(i);
+			boolean alive = !(entity instanceof Enemy) || ((Enemy) entity).isAlive();
+
+			keyframe.entities[i * 5] = (alive ? ALIVE : 0) | (entity.getVisibility() ? VISIBLE : 0);
+			keyframe.entities[i * 5 + 1] = entity.getX();
+			keyframe.entities[i * 5 + 2] = entity.getY();
+			keyframe.entities[i * 5 + 3] = entity instanceof Stateful ? ((Stateful) entity).saveState() : 0;
+			keyframe.entities[i * 5 + 4] = activity.getParkedTurn(entity);
+
+			indices.put(entity, i);
+			Keyframe.indexHandlers(indices, activity, entity, i);
+		}
+
+		List<ItemEntity> items = player.getInventory();
+		keyframe.inventory = new int[items.size()];
+		for (int i = 0; i < items.size(); i++) {
+			keyframe.inventory[i] = indices.get(items.get(i));
+		}
+
+		List<EventSAM<Player, LocationChanged>> subscribers = player.moveEvent.getSubscribers();
+		keyframe.handlers = new int[subscribers.size()];
+		for (int i = 0; i < subscribers.size(); i++) {
+			Integer code = indices.get(subscribers.get(i));
+			keyframe.handlers[i] = code == null ? OTHER : code;
+		}
+
+		return keyframe;
+	}
+
+	/**
+	 * Code the move handlers of an entity. They share the map with the entities,
+	 * so the codes are offset past every entity index.
+	 */
+	private static void indexHandlers(IdentityHashMap<Object, Integer> indices, ActivityRegions activity,
+			Entity entity, int i) {
+		EventSAM<Player, LocationChanged> handler = activity.getHandler(entity);
+		if (handler != null) {
+			indices.put(handler, Integer.MIN_VALUE + i * 2);
+		}
+		if (entity instanceof InvincibilityPotion) {
+			indices.put(((InvincibilityPotion) entity).playerMoveEventHandler, Integer.MIN_VALUE + i * 2 + 1);
+		}
+	}
+
+	/**
+	 * @return Number of inputs played when the keyframe was taken
+	 */
+	public int getTurn() {
+		return this.turn;
+	}
+
+	/**
+	 * @return Number of tracked entities
+	 */
+	public int size() {
+		return this.entities.length / 5;
+	}
+
+	/**
+	 * @param i - index of the entity in track()
+	 * @return Whether the entity is alive, or isn't an enemy
+	 */
+	public boolean isAlive(int i) {
+		return (this.entities[i * 5] & ALIVE) != 0;
+	}
+
+	/**
+	 * @param i - index of the entity in track()
+	 * @return Whether the entity is visible, which items stop being once picked
+	 *         up
+	 */
+	public boolean isVisible(int i) {
+		return (this.entities[i * 5] & VISIBLE) != 0;
+	}
+
+	public int getX(int i) {
+		return this.entities[i * 5 + 1];
+	}
+
+	public int getY(int i) {
+		return this.entities[i * 5 + 2];
+	}
+
+	/**
+	 * @param i - index of the entity in track()
+	 * @return Stateful state of the entity, or 0
+	 */
+	public int getState(int i) {
+		return this.entities[i * 5 + 3];
+	}
+
+	public int getPlayerX() {
+		return this.playerX;
+	}
+
+	public int getPlayerY() {
+		return this.playerY;
+	}
+
+	public boolean isPlayerAlive() {
+		return (this.flags & ALIVE) != 0;
+	}
+
+	public boolean isFinished() {
+		return (this.flags & FINISHED) != 0;
+	}
+
+	/**
+	 * @return State of the dungeon's random numbers
+	 */
+	public long getRandom() {
+		return this.random;
+	}
+
+	/**
+	 * @return Indices in track() of the items the player holds, in order
+	 */
+	public int[] getInventory() {
+		return this.inventory.clone();
+	}
+
+	/**
+	 * Restore the keyframe onto a freshly loaded dungeon
+	 *
+	 * @param dungeon
+	 * @param tracked - from track() on the dungeon before restoring
+	 */
+	public void restore(Dungeon dungeon, List<Entity> tracked) {
+		if (tracked.size() * 5 != this.entities.length) {
+			throw new IllegalArgumentException("The keyframe is from a different level");
+		}
+
+		Player player = dungeon.getPlayer();
+		ActivityRegions activity = dungeon.getActivity();
+		dungeon.getRandom().setState(this.random);
+		activity.setTurn(this.activityTurn);
+
+		// Positions first, so that switches see the boulders in place
+		for (int i = 0; i < tracked.size(); i++) {
+			Entity entity = tracked.get(i);
+			int x = this.entities[i * 5 + 1];
+			int y = this.entities[i * 5 + 2];
+
+			if (entity instanceof Enemy && (this.entities[i * 5] & ALIVE) == 0) {
+				((Enemy) entity).kill();
+			} else if (entity instanceof MovableEntity && (entity.getX() != x || entity.getY() != y)) {
+				((MovableEntity<?>) entity).setXY(x, y);
+			}
+		}
+
+		// Items that were picked up and used up, then the inventory in order
+		boolean[] held = new boolean[tracked.size()];
+		for (int i : this.inventory) {
+			held[i] = true;
+		}
+		for (int i = 0; i < tracked.size(); i++) {
+			Entity entity = tracked.get(i);
+			if (entity instanceof ItemEntity && (this.entities[i * 5] & VISIBLE) == 0 && !held[i]) {
+				this.pickUp(player, (ItemEntity) entity);
+				if (entity instanceof Usable) {
+					((Usable) entity).itemUsed().emit(new ItemUsed(1, 0));
+				}
+			}
+		}
+		for (int i : this.inventory) {
+			this.pickUp(player, (ItemEntity) tracked.get(i));
+		}
+
+		for (int i = 0; i < tracked.size(); i++) {
+			if (tracked.get(i) instanceof Stateful) {
+				((Stateful) tracked.get(i)).restoreState(this.entities[i * 5 + 3]);
+			}
+		}
+
+		player.place(this.playerX, this.playerY);
+		if ((this.flags & ALIVE) == 0) {
+			player.kill();
+		}
+
+		for (int i = 0; i < tracked.size(); i++) {
+			if (this.entities[i * 5 + 4] >= 0) {
+				activity.park(tracked.get(i), this.entities[i * 5 + 4]);
+			}
+		}
+
+		this.restoreHandlers(player, activity, tracked);
+		dungeon.getFlowField().setWindow(this.windowX, this.windowY);
+
+		if ((this.flags & FINISHED) != 0 && !dungeon.isFinished()) {
+			dungeon.playerMoveEventGoalHandler(player, null);
+		}
+	}
+
+	private void pickUp(Player player, ItemEntity item) {
+		if (player.pickUp(item)) {
+			item.pickupEvent.emit();
+		}
+	}
+
+	/**
+	 * Put the player's move handlers back in the order they were in
+	 */
+	private void restoreHandlers(Player player, ActivityRegions activity, List<Entity> tracked) {
+		List<EventSAM<Player, LocationChanged>> current = player.moveEvent.getSubscribers();
+
+		IdentityHashMap<Object, Integer> indices = new IdentityHashMap<>();
+		for (int i = 0; i < tracked.size(); i++) {
+			Keyframe.indexHandlers(indices, activity, tracked.get(i), i);
+		}
+
+		ArrayList<EventSAM<Player, LocationChanged>> others = new ArrayList<>();
+		for (EventSAM<Player, LocationChanged> handler : current) {
+			if (!indices.containsKey(handler)) {
+				others.add(handler);
+			}
+		}
+
+		ArrayList<EventSAM<Player, LocationChanged>> ordered = new ArrayList<>();
+		int other = 0;
+		for (int code : this.handlers) {
+			if (code == OTHER) {
+				if (other < others.size()) {
+					ordered.add(others.get(other++));
+				}
+				continue;
+			}
+
+			int i = (code - Integer.MIN_VALUE) / 2;
+			Entity entity = tracked.get(i);
+			if ((code - Integer.MIN_VALUE) % 2 == 0) {
+				ordered.add(activity.getHandler(entity));
+			} else {
+				ordered.add(((InvincibilityPotion) entity).playerMoveEventHandler);
+			}
+		}
+		while (other < others.size()) {
+			ordered.add(others.get(other++));
+		}
+
+		for (EventSAM<Player, LocationChanged> handler : current) {
+			player.moveEvent.unregister(handler);
+		}
+		for (EventSAM<Player, LocationChanged> handler : ordered) {
+			player.moveEvent.register(handler);
+		}
+	}
+
+	/**
+	 * Find what changed between this keyframe and a later one of the same
+	 * dungeon, taken with the same tracked entities
+	 *
+	 * @param next
+	 * @return Delta to pass to apply()
+	 */
+	public int[] diff(Keyframe next) {
+		if (next.entities.length != this.entities.length) {
+			throw new IllegalArgumentException("The keyframes track different entities");
+		}
+
+		int changed = 0;
+		for (int i = 0; i < this.entities.length; i += 5) {
+			if (!Arrays.equals(this.entities, i, i + 5, next.entities, i, i + 5)) {
+				changed++;
+			}
+		}
+
+		boolean inventory = !Arrays.equals(this.inventory, next.inventory);
+		boolean handlers = !Arrays.equals(this.handlers, next.handlers);
+		int[] delta = new int[10 + changed * 6 + 1 + (inventory ? next.inventory.length : 0) + 1
+				+ (handlers ? next.handlers.length : 0)];
+
+		delta[0] = next.turn;
+		delta[1] = (int) (next.random >>> 32);
+		delta[2] = (int) next.random;
+		delta[3] = next.flags;
+		delta[4] = next.playerX;
+		delta[5] = next.playerY;
+		delta[6] = next.windowX;
+		delta[7] = next.windowY;
+		delta[8] = next.activityTurn;
+		delta[9] = changed;
+
+		int n = 10;
+		for (int i = 0; i < this.entities.length; i += 5) {
+			if (!Arrays.equals(this.entities, i, i + 5, next.entities, i, i + 5)) {
+				delta[n++] = i / 5;
+				System.arraycopy(next.entities, i, delta, n, 5);
+				n += 5;
+			}
+		}
+
+		n = Keyframe.putChanged(delta, n, inventory ? next.inventory : null);
+		Keyframe.putChanged(delta, n, handlers ? next.handlers : null);
+		return delta;
+	}
+
+	/**
+	 * Apply a delta from diff() to this keyframe
+	 *
+	 * @param delta
+	 * @return The later keyframe. This one is not changed.
+	 */
+	public Keyframe apply(int[] delta) {
+		Keyframe next = new Keyframe();
+		next.turn = delta[0];
+		next.random = ((long) delta[1] << 32) | (delta[2] & 0xFFFFFFFFL);
+		next.flags = delta[3];
+		next.playerX = delta[4];
+		next.playerY = delta[5];
+		next.windowX = delta[6];
+		next.windowY = delta[7];
+		next.activityTurn = delta[8];
+
+		next.entities = this.entities.clone();
+		int n = 10;
+		for (int i = 0; i < delta[9]; i++) {
+			System.arraycopy(delta, n + 1, next.entities, delta[n] * 5, 5);
+			n += 6;
+		}
+
+		next.inventory = delta[n] < 0 ? this.inventory : Arrays.copyOfRange(delta, n + 1, n + 1 + delta[n]);
+		n += 1 + Math.max(0, delta[n]);
+		next.handlers = delta[n] < 0 ? this.handlers : Arrays.copyOfRange(delta, n + 1, n + 1 + delta[n]);
+		return next;
+	}
+
+	private static int putChanged(int[] delta, int n, int[] values) {
+		if (values == null) {
+			delta[n] = -1;
+			return n + 1;
+		}
+
+		delta[n] = values.length;
+		System.arraycopy(values, 0, delta, n + 1, values.length);
+		return n + 1 + values.length;
+	}
+
+	/**
+	 * @param out
+	 * @throws IOException
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(this.turn);
+		out.writeLong(this.random);
+		out.writeByte(this.flags);
+		out.writeInt(this.playerX);
+		out.writeInt(this.playerY);
+		out.writeInt(this.windowX);
+		out.writeInt(this.windowY);
+		out.writeInt(this.activityTurn);
+		Keyframe.writeInts(out, this.entities);
+		Keyframe.writeInts(out, this.inventory);
+		Keyframe.writeInts(out, this.handlers);
+	}
+
+	/**
+	 * Read a keyframe written by write()
+	 *
+	 * @param in
+	 * @return
+	 * @throws BufferUnderflowException if the keyframe is cut short
+	 */
+	public static Keyframe read(ByteBuffer in) {
+		Keyframe keyframe = new Keyframe();
+		keyframe.turn = in.getInt();
+		keyframe.random = in.getLong();
+		keyframe.flags = in.get();
+		keyframe.playerX = in.getInt();
+		keyframe.playerY = in.getInt();
+		keyframe.windowX = in.getInt();
+		keyframe.windowY = in.getInt();
+		keyframe.activityTurn = in.getInt();
+		keyframe.entities = Keyframe.readInts(in);
+		keyframe.inventory = Keyframe.readInts(in);
+		keyframe.handlers = Keyframe.readInts(in);
+		return keyframe;
+	}
+
+	private static void writeInts(DataOutput out, int[] values) throws IOException {
+		out.writeInt(values.length);
+		for (int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	private static int[] readInts(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0 || length > in.remaining() / 4) {
+			throw new BufferUnderflowException();
+		}
+
+		int[] values = new int[length];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.getInt();
+		}
+		return values;
+	}
+}
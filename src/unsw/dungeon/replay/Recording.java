@@ -0,0 +1,221 @@
+package unsw.dungeon.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.entity.meta.ItemEntity;
+import unsw.dungeon.entity.meta.Stateful;
+
+/**
+ * A recorded game: the level file, the seed of the dungeon's random numbers and
+ * every player input, which is all that is needed to play the game again.
+ *
+ * Inputs are kept at two bits each. A fingerprint of the dungeon at the end of
+ * the game can be saved with the recording, so that a replay can check it
+ * reached the same state.
+ *
+ */
+public class Recording {
+	private static final int MAGIC = 0x44524543;
+	private static final int VERSION = 2;
+
+	private static final Input[] INPUTS = Input.values();
+
+	private String level;
+	private long seed;
+	private byte[] inputs;
+	private int size;
+	private long fingerprint;
+	private boolean finished;
+
+	public Recording(String level, long seed) {
+		this.level = level;
+		this.seed = seed;
+		this.inputs = new byte[16];
+		this.size = 0;
+		this.fingerprint = 0;
+		this.finished = false;
+	}
+
+	/**
+	 * Record an input
+	 * 
+	 * @param input
+	 */
+	public void add(Input input) {
+		if (this.size / 4 == this.inputs.length) {
+			this.inputs = Arrays.copyOf(this.inputs, this.inputs.length * 2);
+		}
+
+		int shift = (this.size % 4) * 2;
+		this.inputs[this.size / 4] |= input.ordinal() << shift;
+		this.size++;
+	}
+
+	/**
+	 * Forget the inputs after the first few, such as when the game goes back a
+	 * turn. A saved fingerprint is forgotten too, as the game is no longer over.
+	 *
+	 * @param size - number of inputs to keep
+	 */
+	public void truncate(int size) {
+		if (size < 0 || size > this.size) {
+			throw new IndexOutOfBoundsException(size);
+		}
+
+		// Inputs are or-ed in when added, so their bits must be cleared
+		if (size % 4 != 0) {
+			this.inputs[size / 4] &= (1 << (size % 4) * 2) - 1;
+		}
+		Arrays.fill(this.inputs, (size + 3) / 4, (this.size + 3) / 4, (byte) 0);
+
+		this.size = size;
+		this.fingerprint = 0;
+		this.finished = false;
+	}
+
+	/**
+	 * @param i
+	 * @return The input at an index
+	 */
+	public Input get(int i) {
+		if (i < 0 || i >= this.size) {
+			throw new IndexOutOfBoundsException(i);
+		}
+
+		int shift = (i % 4) * 2;
+		return INPUTS[(this.inputs[i / 4] >> shift) & 3];
+	}
+
+	/**
+	 * @return Number of inputs recorded
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return Level file the game was played on
+	 */
+	public String getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * @return Seed of the dungeon's random numbers
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Save the fingerprint of the dungeon at the end of the game
+	 * 
+	 * @param dungeon
+	 */
+	public void finish(Dungeon dungeon) {
+		this.fingerprint = Recording.fingerprint(dungeon);
+		this.finished = true;
+	}
+
+	/**
+	 * @return Whether a fingerprint of the end of the game has been saved
+	 */
+	public boolean isFinished() {
+		return this.finished;
+	}
+
+	/**
+	 * @return Fingerprint of the dungeon at the end of the game
+	 */
+	public long getFingerprint() {
+		return this.fingerprint;
+	}
+
+	/**
+	 * Write the recording to a file
+	 * 
+	 * @param file
+	 * @throws IOException
+	 */
+	public void save(File file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeUTF(this.level);
+			out.writeLong(this.seed);
+			out.writeBoolean(this.finished);
+			out.writeLong(this.fingerprint);
+			out.writeInt(this.size);
+			out.write(this.inputs, 0, (this.size + 3) / 4);
+		}
+	}
+
+	/**
+	 * Read a recording from a file
+	 * 
+	 * @param file
+	 * @return
+	 * @throws IOException
+	 */
+	public static Recording load(File file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+				throw new IOException(String.format("%s is not a recording", file));
+			}
+
+			Recording recording = new Recording(in.readUTF(), in.readLong());
+			recording.finished = in.readBoolean();
+			recording.fingerprint = in.readLong();
+			recording.size = in.readInt();
+			recording.inputs = new byte[Math.max(16, (recording.size + 3) / 4)];
+			in.readFully(recording.inputs, 0, (recording.size + 3) / 4);
+			return recording;
+		}
+	}
+
+	/**
+	 * Hash the state of a dungeon: every entity's type, position, level and
+	 * Stateful state, and the player's inventory, life and progress
+	 * 
+	 * @param dungeon
+	 * @return
+	 */
+	public static long fingerprint(Dungeon dungeon) {
+		long hash = 0xcbf29ce484222325L;
+
+		for (Entity entity : dungeon.getEntities()) {
+			hash = mix(hash, entity.getClass().getName().hashCode());
+			hash = mix(hash, entity.getX());
+			hash = mix(hash, entity.getY());
+			hash = mix(hash, entity.getEntityLevel().ordinal());
+			hash = mix(hash, entity.getVisibility() ? 1 : 0);
+			if (entity instanceof Stateful) {
+				hash = mix(hash, ((Stateful) entity).saveState());
+			}
+		}
+
+		Player player = dungeon.getPlayer();
+		for (ItemEntity item : player.getInventory()) {
+			hash = mix(hash, item.getClass().getName().hashCode());
+		}
+		hash = mix(hash, player.isAlive() ? 1 : 0);
+		hash = mix(hash, dungeon.isFinished() ? 1 : 0);
+
+		return hash;
+	}
+
+	private static long mix(long hash, int value) {
+		return (hash ^ value) * 0x100000001b3L;
+	}
+}
@@ -0,0 +1,265 @@
+package unsw.dungeon.replay;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonLoader;
+import unsw.dungeon.entity.meta.Entity;
+
+/**
+ * Reads a replay file written by ReplayWriter, and plays it from any turn.
+ *
+ * Only the index and the segment being played are mapped into memory, one
+ * segment at a time, so files much larger than the heap can be read. Seeking
+ * loads the level, restores the keyframe of the segment holding the turn and
+ * plays the inputs from there, so it takes at most one segment of inputs
+ * however far into the game the turn is.
+ *
+ */
+public class ReplayFile implements Closeable {
+	private FileChannel channel;
+	private String level;
+	private long seed;
+	private int interval;
+
+	private int segments;
+	private int size;
+	private boolean finished;
+	private long fingerprint;
+	private long indexOffset;
+	private ByteBuffer index;
+
+	// The segment mapped, and where its inputs start
+	private int segment;
+	private MappedByteBuffer mapped;
+	private int inputs;
+
+	// The dungeon being played, and the number of inputs applied to it
+	private Dungeon dungeon;
+	private int turn;
+
+	/**
+	 * @param file
+	 * @throws IOException
+	 */
+	public ReplayFile(File file) throws IOException {
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		long length = this.channel.size();
+		if (length < ReplayWriter.TRAILER) {
+			throw new IOException(String.format("%s is not a replay file", file));
+		}
+
+		ByteBuffer trailer = this.channel.map(MapMode.READ_ONLY, length - ReplayWriter.TRAILER, ReplayWriter.TRAILER);
+		this.segments = trailer.getInt();
+		this.size = trailer.getInt();
+		this.finished = trailer.get() != 0;
+		this.fingerprint = trailer.getLong();
+		this.indexOffset = trailer.getLong();
+		if (trailer.getInt() != ReplayWriter.MAGIC) {
+			throw new IOException(String.format("%s is not a replay file", file));
+		}
+
+		this.index = this.channel.map(MapMode.READ_ONLY, this.indexOffset, this.segments * 8L);
+
+		ByteBuffer header = this.channel.map(MapMode.READ_ONLY, 0, Math.min(this.indexOffset, 1 << 17));
+		DataInputStream in = new DataInputStream(new ByteBufferInput(header));
+		if (in.readInt() != ReplayWriter.MAGIC || in.readByte() != ReplayWriter.VERSION) {
+			throw new IOException(String.format("%s is not a replay file", file));
+		}
+		this.level = in.readUTF();
+		this.seed = in.readLong();
+		this.interval = in.readInt();
+
+		this.segment = -1;
+	}
+
+	/**
+	 * @return Level file the game was played on
+	 */
+	public String getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * @return Seed of the dungeon's random numbers
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * @return Turns between keyframes
+	 */
+	public int getInterval() {
+		return this.interval;
+	}
+
+	/**
+	 * @return Number of inputs recorded
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return Whether the game ended
+	 */
+	public boolean isFinished() {
+		return this.finished;
+	}
+
+	/**
+	 * @return Fingerprint of the dungeon at the end of the game
+	 */
+	public long getFingerprint() {
+		return this.fingerprint;
+	}
+
+	/**
+	 * @param i
+	 * @return The input at an index
+	 */
+	public Input get(int i) {
+		if (i < 0 || i >= this.size) {
+			throw new IndexOutOfBoundsException(i);
+		}
+
+		this.map(i / this.interval);
+		int offset = i % this.interval;
+		int shift = (offset % 4) * 2;
+		return Input.values()[(this.mapped.get(this.inputs + offset / 4) >> shift) & 3];
+	}
+
+	/**
+	 * Get the dungeon as it was after a number of inputs. Going forward by less
+	 * than a segment plays on from the last dungeon returned, which is changed
+	 * rather than copied.
+	 *
+	 * @param turn - number of inputs to have played, up to size()
+	 * @return
+	 * @throws IOException
+	 */
+	public Dungeon seek(int turn) throws IOException {
+		if (turn < 0 || turn > this.size) {
+			throw new IndexOutOfBoundsException(turn);
+		}
+
+		if (this.dungeon == null || turn < this.turn || turn - this.turn > turn % this.interval) {
+			int segment = Math.min(turn / this.interval, this.segments - 1);
+			this.map(segment);
+
+			DungeonLoader loader = new DungeonLoader(this.level);
+			loader.setVerbose(false);
+			loader.setSeed(this.seed);
+			Dungeon dungeon = loader.load();
+			List<Entity> tracked = Keyframe.track(dungeon);
+
+			ByteBuffer keyframe = this.mapped.duplicate();
+			keyframe.position(4);
+			Keyframe restored = Keyframe.read(keyframe);
+			restored.restore(dungeon, tracked);
+
+			this.dungeon = dungeon;
+			this.turn = restored.getTurn();
+		}
+
+		while (this.turn < turn) {
+			this.get(this.turn).apply(this.dungeon.getPlayer());
+			this.turn++;
+		}
+		return this.dungeon;
+	}
+
+	/**
+	 * Play the whole file from the start and compare the end of the game with the
+	 * one recorded
+	 *
+	 * @return Whether the replay ended in the recorded state
+	 * @throws IOException
+	 */
+	public boolean verify() throws IOException {
+		this.dungeon = null;
+		Dungeon dungeon = this.seek(0);
+		while (this.turn < this.size) {
+			this.get(this.turn).apply(dungeon.getPlayer());
+			this.turn++;
+		}
+		return Recording.fingerprint(dungeon) == this.fingerprint;
+	}
+
+	/**
+	 * Map a segment, unless it is mapped already
+	 */
+	private void map(int segment) {
+		if (segment == this.segment) {
+			return;
+		}
+
+		long start = this.index.getLong(segment * 8);
+		long end = segment + 1 < this.segments ? this.index.getLong((segment + 1) * 8) : this.indexOffset;
+		try {
+			this.mapped = this.channel.map(MapMode.READ_ONLY, start, end - start);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		this.inputs = 4 + this.mapped.getInt(0);
+		this.segment = segment;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.mapped = null;
+		this.index = null;
+		this.channel.close();
+	}
+
+	/**
+	 * Reads the header through a DataInputStream
+	 */
+	private static class ByteBufferInput extends InputStream {
+		private ByteBuffer buffer;
+
+		ByteBufferInput(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		boolean passed = true;
+
+		for (String arg : args) {
+			try (ReplayFile replay = new ReplayFile(new File(arg))) {
+				long start = System.nanoTime();
+				boolean same = replay.verify();
+				long played = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				replay.seek(replay.size() / 2);
+				long seeked = System.nanoTime() - start;
+
+				passed &= same;
+				System.out.println(String.format("%s: %s, %d inputs in %.1f ms, seek to the middle in %.1f ms", arg,
+						same ? "same" : "DIFFERENT", replay.size(), played / 1e6, seeked / 1e6));
+			}
+		}
+
+		if (!passed) {
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package unsw.dungeon.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.meta.Entity;
+
+/**
+ * Writes a game as it is played to a replay file that can be seeked.
+ *
+ * The file is split into segments of a fixed number of turns. Each segment
+ * starts with a keyframe of the dungeon, followed by that segment's inputs at
+ * two bits each. The end of the file has an index of where each segment
+ * starts, the number of inputs and a fingerprint of the end of the game, so a
+ * reader can jump to any turn by restoring one keyframe and playing at most one
+ * segment of inputs.
+ *
+ * Layout:
+ *
+ * <pre>
+ * header:  int MAGIC, byte VERSION, UTF level, long seed, int interval
+ * segment: int length, keyframe, packed inputs
+ * index:   long offset of each segment
+ * trailer: int segments, int inputs, byte finished, long fingerprint,
+ *          long offset of the index, int MAGIC
+ * </pre>
+ *
+ */
+public class ReplayWriter implements Closeable {
+	static final int MAGIC = 0x4452504C;
+	static final int VERSION = 1;
+	static final int TRAILER = 4 + 4 + 1 + 8 + 8 + 4;
+
+	private Dungeon dungeon;
+	private List<Entity> tracked;
+	private int interval;
+
+	private DataOutputStream out;
+	private long position;
+	private long[] offsets;
+	private int segments;
+	private int size;
+	private int packed;
+
+	/**
+	 * @param file
+	 * @param level    - level file the dungeon was loaded from
+	 * @param dungeon  - freshly loaded, before any moves
+	 * @param interval - turns between keyframes, a multiple of 4
+	 * @throws IOException
+	 */
+	public ReplayWriter(File file, String level, Dungeon dungeon, int interval) throws IOException {
+		if (interval <= 0 || interval % 4 != 0) {
+			throw new IllegalArgumentException("The keyframe interval must be a positive multiple of 4");
+		}
+
+		this.dungeon = dungeon;
+		this.tracked = Keyframe.track(dungeon);
+		this.interval = interval;
+		this.offsets = new long[16];
+		this.segments = 0;
+		this.size = 0;
+		this.packed = 0;
+
+		this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+		this.out.writeInt(MAGIC);
+		this.out.writeByte(VERSION);
+		this.out.writeUTF(level);
+		this.out.writeLong(dungeon.getSeed());
+		this.out.writeInt(interval);
+		this.position = this.out.size();
+	}
+
+	/**
+	 * Record an input, before it is applied to the dungeon
+	 *
+	 * @param input
+	 * @throws IOException
+	 */
+	public void add(Input input) throws IOException {
+		if (this.size % this.interval == 0) {
+			this.writeKeyframe();
+		}
+
+		this.packed |= input.ordinal() << ((this.size % 4) * 2);
+		this.size++;
+		if (this.size % 4 == 0) {
+			this.flush();
+		}
+	}
+
+	/**
+	 * @return Number of inputs recorded
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	private void writeKeyframe() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		Keyframe.capture(this.dungeon, this.tracked, this.size).write(new DataOutputStream(bytes));
+
+		if (this.segments == this.offsets.length) {
+			this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+		}
+		this.offsets[this.segments++] = this.position;
+
+		this.out.writeInt(bytes.size());
+		bytes.writeTo(this.out);
+		this.position += 4 + bytes.size();
+	}
+
+	private void flush() throws IOException {
+		this.out.writeByte(this.packed);
+		this.position++;
+		this.packed = 0;
+	}
+
+	/**
+	 * Write the index and a fingerprint of the dungeon as it is now, and close the
+	 * file
+	 *
+	 * @throws IOException
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.out == null) {
+			return;
+		}
+
+		if (this.size % 4 != 0) {
+			this.flush();
+		}
+		if (this.segments == 0) {
+			this.writeKeyframe();
+		}
+
+		long index = this.position;
+		for (int i = 0; i < this.segments; i++) {
+			this.out.writeLong(this.offsets[i]);
+		}
+
+		this.out.writeInt(this.segments);
+		this.out.writeInt(this.size);
+		this.out.writeBoolean(this.dungeon.isFinished() || !this.dungeon.getPlayer().isAlive());
+		this.out.writeLong(Recording.fingerprint(this.dungeon));
+		this.out.writeLong(index);
+		this.out.writeInt(MAGIC);
+		this.out.close();
+		this.out = null;
+	}
+}
@@ -0,0 +1,98 @@
+package unsw.dungeon.replay;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonLoader;
+import unsw.dungeon.entity.Player;
+
+/**
+ * Plays recorded games without a UI, as fast as the inputs can be applied.
+ *
+ * Run with the recording files as arguments to check that each one still ends
+ * in the state it was recorded with, and to time the replays.
+ *
+ */
+public class Replayer {
+
+	/**
+	 * Load a recording's level with its seed and apply every input
+	 * 
+	 * @param recording
+	 * @return The dungeon at the end of the game
+	 * @throws FileNotFoundException
+	 */
+	public Dungeon replay(Recording recording) throws FileNotFoundException {
+		DungeonLoader loader = new DungeonLoader(recording.getLevel());
+		loader.setVerbose(false);
+		loader.setSeed(recording.getSeed());
+		Dungeon dungeon = loader.load();
+
+		Player player = dungeon.getPlayer();
+		for (int i = 0; i < recording.size(); i++) {
+			recording.get(i).apply(player);
+		}
+
+		return dungeon;
+	}
+
+	/**
+	 * Replay a recording and compare the end of the game with the one recorded
+	 * 
+	 * @param recording
+	 * @return Whether the replay ended in the recorded state
+	 * @throws FileNotFoundException
+	 */
+	public boolean verify(Recording recording) throws FileNotFoundException {
+		if (!recording.isFinished()) {
+			throw new IllegalArgumentException("The recording has no end state to compare with");
+		}
+		return Recording.fingerprint(this.replay(recording)) == recording.getFingerprint();
+	}
+
+	/**
+	 * Replay a recording, writing it out as a replay file that can be seeked
+	 * 
+	 * @param recording
+	 * @param file
+	 * @param interval  - turns between keyframes
+	 * @throws IOException
+	 */
+	public void write(Recording recording, File file, int interval) throws IOException {
+		DungeonLoader loader = new DungeonLoader(recording.getLevel());
+		loader.setVerbose(false);
+		loader.setSeed(recording.getSeed());
+		Dungeon dungeon = loader.load();
+
+		Player player = dungeon.getPlayer();
+		try (ReplayWriter writer = new ReplayWriter(file, recording.getLevel(), dungeon, interval)) {
+			for (int i = 0; i < recording.size(); i++) {
+				writer.add(recording.get(i));
+				recording.get(i).apply(player);
+			}
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		Replayer replayer = new Replayer();
+		boolean passed = true;
+
+		for (String arg : args) {
+			Recording recording = Recording.load(new File(arg));
+
+			long start = System.nanoTime();
+			boolean same = replayer.verify(recording);
+			long ns = System.nanoTime() - start;
+
+			passed &= same;
+			System.out.println(String.format("%s: %s, %d inputs in %.1f ms", arg, same ? "same" : "DIFFERENT",
+					recording.size(), ns / 1e6));
+		}
+
+		if (!passed) {
+			System.exit(1);
+		}
+	}
+}
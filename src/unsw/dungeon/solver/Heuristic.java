@@ -0,0 +1,72 @@
+package unsw.dungeon.solver;
+
+import java.util.List;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Exit;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Portal;
+import unsw.dungeon.goals.Goal;
+import unsw.dungeon.goals.GoalComposite;
+import unsw.dungeon.goals.GoalStrategyAND;
+import unsw.dungeon.goals.GoalStrategyExit;
+
+/**
+ * Estimates the moves left to finish a dungeon, to order an A* search.
+ *
+ * The estimate must never be more than the moves actually needed, or the
+ * solution found may not be the shortest.
+ *
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+	/**
+	 * No estimate, which makes the search breadth first
+	 */
+	public static final Heuristic NONE = dungeon -> 0;
+
+	/**
+	 * Distance to the nearest exit, when the goal can only be achieved by
+	 * standing on one. Portals can take the player further than a move, so there
+	 * is no estimate in dungeons with them.
+	 */
+	public static final Heuristic EXIT = dungeon -> {
+		Goal goal = dungeon.getGoal();
+		if (goal == null || !Heuristic.needsExit(goal) || !dungeon.getEntities(Portal.class).isEmpty()) {
+			return 0;
+		}
+
+		Player player = dungeon.getPlayer();
+		List<Exit> exits = dungeon.getEntities(Exit.class);
+		int best = exits.isEmpty() ? 0 : Integer.MAX_VALUE;
+		for (Exit exit : exits) {
+			best = Math.min(best, Math.abs(exit.getX() - player.getX()) + Math.abs(exit.getY() - player.getY()));
+		}
+		return best;
+	};
+
+	/**
+	 * @param dungeon
+	 * @return Moves still needed at least
+	 */
+	public int estimate(Dungeon dungeon);
+
+	/**
+	 * @param goal
+	 * @return Whether the goal can't be achieved without reaching an exit
+	 */
+	public static boolean needsExit(Goal goal) {
+		if (goal.getStrategy() instanceof GoalStrategyExit) {
+			return true;
+		}
+		if (goal instanceof GoalComposite && goal.getStrategy() instanceof GoalStrategyAND) {
+			for (Goal subGoal : ((GoalComposite) goal).getSubGoals()) {
+				if (Heuristic.needsExit(subGoal)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,107 @@
+package unsw.dungeon.solver;
+
+import java.util.Collections;
+import java.util.List;
+
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.util.emitter.EmitterData;
+
+/**
+ * What a HintEngine found for a game: the moves that finish it the soonest,
+ * that it can no longer be finished, or neither if the search ran out of time.
+ *
+ */
+public class Hint extends EmitterData {
+	private int turn;
+	private List<Input> moves;
+	private boolean unwinnable;
+	private boolean reused;
+
+	Hint(int turn, List<Input> moves, boolean unwinnable, boolean reused) {
+		this.turn = turn;
+		this.moves = moves;
+		this.unwinnable = unwinnable;
+		this.reused = reused;
+	}
+
+	/**
+	 * @return Number of inputs played when the hint was asked for
+	 */
+	public int getTurn() {
+		return this.turn;
+	}
+
+	/**
+	 * @return Whether moves that finish the dungeon were found
+	 */
+	public boolean isFound() {
+		return this.moves != null;
+	}
+
+	/**
+	 * @return The next move to make, or null if none was found or the dungeon
+	 *         is already finished
+	 */
+	public Input getMove() {
+		return this.moves == null || this.moves.isEmpty() ? null : this.moves.get(0);
+	}
+
+	/**
+	 * @return The moves that finish the dungeon the soonest, or null if none
+	 *         were found
+	 */
+	public List<Input> getMoves() {
+		return this.moves == null ? null : Collections.unmodifiableList(this.moves);
+	}
+
+	/**
+	 * @return Whether the dungeon can no longer be finished
+	 */
+	public boolean isUnwinnable() {
+		return this.unwinnable;
+	}
+
+	/**
+	 * @return Whether the hint was found without searching, from an earlier one
+	 *         or the game being over
+	 */
+	public boolean isReused() {
+		return this.reused;
+	}
+
+	/**
+	 * The hint for a game that has since played some inputs, if this hint still
+	 * tells
+	 *
+	 * @param turn   - number of inputs played now
+	 * @param inputs - inputs played since this hint
+	 * @return The hint, or null if the game has left the moves of this one
+	 */
+	Hint after(int turn, List<Input> inputs) {
+		// Moves only go forward from a hint, so a game that can't be finished
+		// stays that way. Undoing a move starts a new HintEngine, which has no
+		// earlier hints to reuse.
+		if (this.unwinnable) {
+			return new Hint(turn, null, true, true);
+		}
+		if (this.moves == null || inputs.size() > this.moves.size()
+				|| !this.moves.subList(0, inputs.size()).equals(inputs)) {
+			return null;
+		}
+		return new Hint(turn, this.moves.subList(inputs.size(), this.moves.size()), false, true);
+	}
+
+	@Override
+	public String toString() {
+		if (this.unwinnable) {
+			return "The level can no longer be finished";
+		}
+		if (this.moves == null) {
+			return "No hint found in time";
+		}
+		if (this.moves.isEmpty()) {
+			return "The level is finished";
+		}
+		return String.format("Move %s, %d moves to finish", this.moves.get(0), this.moves.size());
+	}
+}
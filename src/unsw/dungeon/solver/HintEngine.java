@@ -0,0 +1,207 @@
+package unsw.dungeon.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.replay.Keyframe;
+import unsw.dungeon.util.emitter.EventEmitter;
+
+/**
+ * Finds hints for a game as it is played: the next move towards finishing the
+ * dungeon the soonest, or that it can no longer be finished.
+ *
+ * Each hint is a search from a keyframe of the game as it is when the hint is
+ * asked for, run for a limited time on a thread of its own so that the game
+ * doesn't wait on it. A move cancels the search, so a hint is never for a game
+ * that has moved on.
+ *
+ * Earlier hints are reused rather than searched again where they still tell:
+ * while the player follows a hint, the rest of its moves are still the
+ * soonest way to finish, and a game that could no longer be finished never
+ * can be again.
+ *
+ * Every method but the search runs on the thread the game is played on. Hints
+ * are emitted on the search's thread.
+ *
+ */
+public class HintEngine {
+	private static final long DEFAULT_TIME_LIMIT = 2000000000L;
+
+	private Dungeon dungeon;
+	private Dungeon root;
+	private List<Entity> tracked;
+	private long timeLimit;
+	private ExecutorService executor;
+
+	// Inputs played since the turn the engine started at, and the search
+	// running for the last of them
+	private int first;
+	private ArrayList<Input> inputs;
+	private Solver running;
+
+	// The last hint that was found or found the game unwinnable
+	private volatile Hint last;
+
+	// Fired on the search's thread with each hint found
+	public final EventEmitter<HintEngine, Hint> hintEvent;
+
+	/**
+	 * @param dungeon - dungeon being played, which hasn't been played yet
+	 */
+	public HintEngine(Dungeon dungeon) {
+		this(dungeon.fork(), Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "hints");
+			thread.setDaemon(true);
+			return thread;
+		}), dungeon, Keyframe.track(dungeon), 0);
+	}
+
+	private HintEngine(Dungeon root, ExecutorService executor, Dungeon dungeon, List<Entity> tracked, int turn) {
+		this.dungeon = dungeon;
+		this.root = root;
+		this.tracked = tracked;
+		this.timeLimit = DEFAULT_TIME_LIMIT;
+		this.executor = executor;
+		this.first = turn;
+		this.inputs = new ArrayList<>();
+		this.running = null;
+		this.last = null;
+		this.hintEvent = new EventEmitter<>(this);
+	}
+
+	/**
+	 * An engine for the game gone back or forward to a turn, such as by undoing
+	 * a move. The game's dungeon is rebuilt, as by a Journal, from keyframes of
+	 * the dungeon this engine was made for, so its keyframes restore onto the
+	 * same start. The new engine shares this one's start and search thread, and
+	 * this one's search is cancelled.
+	 *
+	 * @param dungeon - the game's dungeon now
+	 * @param tracked - entities of the dungeon that its keyframes refer to, as
+	 *                from Journal.getTracked()
+	 * @param turn    - number of inputs played to reach it
+	 * @return The engine to use from now on
+	 */
+	public HintEngine follow(Dungeon dungeon, List<Entity> tracked, int turn) {
+		this.cancel();
+		HintEngine engine = new HintEngine(this.root, this.executor, dungeon, tracked, turn);
+		engine.setTimeLimit(this.timeLimit);
+		return engine;
+	}
+
+	/**
+	 * @param timeLimit - nanoseconds each search may take, two seconds by
+	 *                  default
+	 */
+	public void setTimeLimit(long timeLimit) {
+		this.timeLimit = timeLimit;
+	}
+
+	/**
+	 * Follow an input played on the dungeon, cancelling any search for the
+	 * game before it
+	 *
+	 * @param input
+	 */
+	public void moved(Input input) {
+		this.cancel();
+		this.inputs.add(input);
+	}
+
+	/**
+	 * @return Number of inputs played
+	 */
+	public int getTurn() {
+		return this.first + this.inputs.size();
+	}
+
+	/**
+	 * @param hint
+	 * @return Whether the hint is for the game as it is now
+	 */
+	public boolean isCurrent(Hint hint) {
+		return hint.getTurn() == this.getTurn();
+	}
+
+	/**
+	 * Find a hint for the game as it is now, cancelling any search already
+	 * running. hintEvent is fired with it unless a move is made first.
+	 *
+	 * @return Done once the hint is found or the search is cancelled
+	 */
+	public Future<?> request() {
+		this.cancel();
+		int turn = this.getTurn();
+
+		Hint hint = this.reuse(turn);
+		if (hint != null) {
+			this.hintEvent.emit(hint);
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// The search runs on a keyframe, as the dungeon moves on while it does
+		Solver solver = new Solver(this.root);
+		solver.setHeuristic(Heuristic.EXIT);
+		solver.setTimeLimit(this.timeLimit);
+		solver.setStart(Keyframe.capture(this.dungeon, this.tracked, turn));
+		this.running = solver;
+
+		return this.executor.submit(() -> {
+			Solution solution = solver.solve();
+			if (solver.isCancelled()) {
+				return;
+			}
+
+			Hint found = new Hint(turn, solution.getMoves(), !solution.isSolved() && solution.isExhausted(), false);
+			if (found.isFound() || found.isUnwinnable()) {
+				this.last = found;
+			}
+			this.hintEvent.emit(found);
+		});
+	}
+
+	/**
+	 * The hint without searching, if the last one still tells or the game is
+	 * already over
+	 */
+	private Hint reuse(int turn) {
+		if (!this.dungeon.getPlayer().isAlive() || this.dungeon.getDeadlocks().isLost()) {
+			return new Hint(turn, null, true, true);
+		}
+		if (this.dungeon.isFinished()) {
+			return new Hint(turn, new ArrayList<>(), false, true);
+		}
+
+		Hint last = this.last;
+		if (last == null || last.getTurn() > turn) {
+			return null;
+		}
+		return last.after(turn, this.inputs.subList(last.getTurn() - this.first, turn - this.first));
+	}
+
+	/**
+	 * Cancel the search running, if there is one
+	 */
+	public void cancel() {
+		if (this.running != null) {
+			this.running.cancel();
+			this.running = null;
+		}
+	}
+
+	/**
+	 * Cancel the search running and stop the search thread, once the game is
+	 * over or restarted
+	 */
+	public void shutdown() {
+		this.cancel();
+		this.executor.shutdown();
+	}
+}
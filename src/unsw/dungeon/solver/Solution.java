@@ -0,0 +1,125 @@
+package unsw.dungeon.solver;
+
+import java.util.Collections;
+import java.util.List;
+
+import unsw.dungeon.replay.Input;
+
+/**
+ * The result of a search: the shortest solution if one was found, and how much
+ * searching it took.
+ *
+ */
+public class Solution {
+	private List<Input> moves;
+	private boolean exhausted;
+
+	private long expanded;
+	private long generated;
+	private long duplicates;
+	private long pruned;
+	private long evictions;
+	private int peakOpen;
+	private int tableSize;
+	private long nanos;
+
+	Solution(List<Input> moves, boolean exhausted, long expanded, long generated, long duplicates, long pruned,
+			long evictions, int peakOpen, int tableSize, long nanos) {
+		this.moves = moves;
+		this.exhausted = exhausted;
+		this.expanded = expanded;
+		this.generated = generated;
+		this.duplicates = duplicates;
+		this.pruned = pruned;
+		this.evictions = evictions;
+		this.peakOpen = peakOpen;
+		this.tableSize = tableSize;
+		this.nanos = nanos;
+	}
+
+	public boolean isSolved() {
+		return this.moves != null;
+	}
+
+	/**
+	 * @return The moves that finish the dungeon, or null if none were found
+	 */
+	public List<Input> getMoves() {
+		return this.moves == null ? null : Collections.unmodifiableList(this.moves);
+	}
+
+	/**
+	 * @return Whether every reachable state was searched, so an unsolved dungeon
+	 *         can't be finished, rather than the search giving up
+	 */
+	public boolean isExhausted() {
+		return this.exhausted;
+	}
+
+	/**
+	 * @return States whose moves were tried
+	 */
+	public long getExpanded() {
+		return this.expanded;
+	}
+
+	/**
+	 * @return States reached by a move, including ones already seen
+	 */
+	public long getGenerated() {
+		return this.generated;
+	}
+
+	/**
+	 * @return States reached that had already been seen in as few moves
+	 */
+	public long getDuplicates() {
+		return this.duplicates;
+	}
+
+	/**
+	 * @return States reached where a boulder is stuck, so the goal can't be
+	 *         achieved from them
+	 */
+	public long getPruned() {
+		return this.pruned;
+	}
+
+	/**
+	 * @return States evicted from the transposition table to make room
+	 */
+	public long getEvictions() {
+		return this.evictions;
+	}
+
+	/**
+	 * @return Most states waiting to be expanded at once
+	 */
+	public int getPeakOpen() {
+		return this.peakOpen;
+	}
+
+	/**
+	 * @return States in the transposition table when the search ended
+	 */
+	public int getTableSize() {
+		return this.tableSize;
+	}
+
+	/**
+	 * @return Time the search took
+	 */
+	public long getNanos() {
+		return this.nanos;
+	}
+
+	@Override
+	public String toString() {
+		String result = this.isSolved() ? "solved in " + this.moves.size() + " moves"
+				: this.exhausted ? "no solution" : "gave up";
+		return String.format("%s: %d expanded, %d generated, %d duplicates, %d pruned, %d evicted, %d peak open, %.0f states/s",
+				result, this.expanded, this.generated, this.duplicates, this.pruned, this.evictions,
+				this.peakOpen,
+				this.nanos == 0 ? 0 : this.expanded / (this.nanos / 1e9));
+	}
+}
@@ -0,0 +1,409 @@
+package unsw.dungeon.solver;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import unsw.dungeon.DeadlockTable;
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonLoader;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.replay.Keyframe;
+
+/**
+ * Finds the fewest moves that finish a dungeon, such as to check that a level
+ * can be solved.
+ *
+ * States are searched with A*, which is breadth first without a heuristic.
+ * Moves are tried on forks of the dungeon, so boulders, doors and keys,
+ * portals, switches, enemies and the goals all behave as they do in the game.
+ * Only a keyframe of each state waiting to be searched is kept, and each move
+ * from it is tried on a fork of the start with the keyframe restored.
+ *
+ * States where a boulder is stuck, so that the goal can no longer be achieved,
+ * are pruned rather than searched, using dead tiles found once from the start.
+ *
+ * The search starts from the start of the dungeon, or from a keyframe of a
+ * game part way through. It can be given a time limit, and cancelled from
+ * another thread, after which it gives up.
+ *
+ * States that have been seen go in a transposition table by their Zobrist
+ * hash, which is updated from the state before rather than found from scratch.
+ *
+ * States are searched in batches: every open state as promising as the best.
+ * With a pool, a batch's states are split between its threads, which share the
+ * transposition table. Children are then queued in the order a search of one
+ * state at a time finds them, and where two reach the same state the first
+ * keeps it, so the solution and statistics are the same on any number of
+ * threads, as long as the table has room.
+ *
+ */
+public class Solver {
+	private static final Input[] INPUTS = Input.values();
+
+	// The same keys for every game, so hashes can be compared between runs. The
+	// game's random numbers are hashed as part of its state, not used here.
+	private static final long ZOBRIST_SEED = 0x5DEECE66DL;
+
+	private Dungeon root;
+	private Zobrist zobrist;
+	private DeadlockTable deadlocks;
+	private Heuristic heuristic;
+	private long memory;
+	private long maxExpanded;
+	private long timeLimit;
+	private Keyframe start;
+	private ForkJoinPool pool;
+	private volatile boolean cancelled;
+
+	private static class Node {
+		final Node parent;
+		final Input input;
+		final int depth;
+		final int priority;
+		final long hash;
+		Keyframe keyframe;
+
+		// Place in the batch it was found in, then in the search
+		long owner;
+		long order;
+
+		Node(Node parent, Input input, int depth, int priority, long hash, Keyframe keyframe) {
+			this.parent = parent;
+			this.input = input;
+			this.depth = depth;
+			this.priority = priority;
+			this.hash = hash;
+			this.keyframe = keyframe;
+		}
+	}
+
+	// Stands in for a child that was pruned
+	private static final Node PRUNED = new Node(null, null, 0, 0, 0, null);
+
+	/**
+	 * @param dungeon - dungeon to solve, which hasn't been played yet. It is not
+	 *                changed.
+	 */
+	public Solver(Dungeon dungeon) {
+		this.root = dungeon.fork();
+		this.zobrist = new Zobrist(dungeon.getWidth(), dungeon.getHeight(), Keyframe.track(this.root).size(),
+				ZOBRIST_SEED);
+		this.deadlocks = new DeadlockTable(this.root);
+		this.heuristic = Heuristic.NONE;
+		this.memory = 64L << 20;
+		this.maxExpanded = 1000000;
+		this.timeLimit = 0;
+		this.start = null;
+		this.pool = null;
+		this.cancelled = false;
+	}
+
+	/**
+	 * @param heuristic - estimate of the moves left, Heuristic.NONE by default
+	 */
+	public void setHeuristic(Heuristic heuristic) {
+		this.heuristic = heuristic;
+	}
+
+	/**
+	 * @param prune - whether to prune states where a boulder is stuck, which is
+	 *              the default
+	 */
+	public void setPruning(boolean prune) {
+		this.deadlocks = prune ? new DeadlockTable(this.root) : null;
+	}
+
+	/**
+	 * @param memory - bytes the transposition table may use, 64 MB by default
+	 */
+	public void setMemory(long memory) {
+		this.memory = memory;
+	}
+
+	/**
+	 * @param maxExpanded - states to search before giving up, a million by
+	 *                    default
+	 */
+	public void setMaxExpanded(long maxExpanded) {
+		this.maxExpanded = maxExpanded;
+	}
+
+	/**
+	 * @param timeLimit - nanoseconds to search for before giving up, or 0 for no
+	 *                  limit, which is the default
+	 */
+	public void setTimeLimit(long timeLimit) {
+		this.timeLimit = timeLimit;
+	}
+
+	/**
+	 * @param start - keyframe of a game of the dungeon to search from, taken
+	 *              with the entities from Keyframe.track() before the first
+	 *              move, or null to search from the start, which is the default
+	 */
+	public void setStart(Keyframe start) {
+		this.start = start;
+	}
+
+	/**
+	 * Have the search give up as soon as it can. Safe to call from any thread.
+	 */
+	public void cancel() {
+		this.cancelled = true;
+	}
+
+	/**
+	 * @return Whether the search was cancelled
+	 */
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * @param pool - pool to try moves on, or null to try them on this thread,
+	 *             which is the default
+	 */
+	public void setPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Search for the fewest moves that finish the dungeon
+	 *
+	 * @return
+	 */
+	public Solution solve() {
+		long start = System.nanoTime();
+		TranspositionTable table = new TranspositionTable(this.memory);
+		PriorityQueue<Node> open = new PriorityQueue<>((a, b) -> a.priority != b.priority
+				? Integer.compare(a.priority, b.priority)
+				: Long.compare(a.order, b.order));
+
+		long deadline = this.timeLimit > 0 ? start + this.timeLimit : Long.MAX_VALUE;
+		Dungeon dungeon = this.root;
+		Keyframe first = this.start;
+		if (first == null) {
+			first = Keyframe.capture(this.root, Keyframe.track(this.root), 0);
+		} else {
+			dungeon = this.root.fork();
+			first.restore(dungeon, Keyframe.track(dungeon));
+		}
+		long hash = this.zobrist.hash(first);
+		table.add(hash, 0, 0);
+		open.add(new Node(null, null, 0, this.heuristic.estimate(dungeon), hash, first));
+
+		// Each thread tries moves on forks of its own copy of the root
+		ThreadLocal<Dungeon> roots = ThreadLocal.withInitial(() -> {
+			synchronized (this.root) {
+				return this.root.fork();
+			}
+		});
+
+		long order = 1;
+		long expanded = 0;
+		long generated = 0;
+		long duplicates = 0;
+		long pruned = 0;
+		int peakOpen = 1;
+		long batches = 0;
+		boolean stopped = false;
+
+		while (!open.isEmpty() && expanded < this.maxExpanded) {
+			if (this.isStopped(deadline)) {
+				stopped = true;
+				break;
+			}
+
+			// Every open state as promising as the best, in the order they were found
+			ArrayList<Node> batch = new ArrayList<>();
+			int priority = open.peek().priority;
+			while (!open.isEmpty() && open.peek().priority == priority && expanded + batch.size() < this.maxExpanded) {
+				Node node = open.poll();
+				if (node.keyframe.isFinished()) {
+					return new Solution(Solver.moves(node), false, expanded, generated, duplicates, pruned,
+							table.getEvictions(), peakOpen, table.size(), System.nanoTime() - start);
+				}
+				batch.add(node);
+			}
+
+			Node[] children = new Node[batch.size() * INPUTS.length];
+			Expand expand = new Expand(batch, children, 0, batch.size(), batches++ << 32, table, roots, deadline);
+			if (this.pool == null) {
+				expand.compute();
+			} else {
+				this.pool.invoke(expand);
+			}
+
+			// A batch that may have been stopped part way is thrown away
+			if (this.isStopped(deadline)) {
+				stopped = true;
+				break;
+			}
+			expanded += batch.size();
+			generated += children.length;
+
+			// Children go in the order a search of one state at a time would find them
+			for (Node child : children) {
+				if (child == null) {
+					continue;
+				}
+				if (child == PRUNED) {
+					pruned++;
+					continue;
+				}
+				if (!table.owns(child.hash, child.depth, child.owner)) {
+					duplicates++;
+					continue;
+				}
+				child.order = order++;
+				open.add(child);
+			}
+
+			// Only the path is needed once a state has been searched
+			for (Node node : batch) {
+				node.keyframe = null;
+			}
+			peakOpen = Math.max(peakOpen, open.size());
+		}
+
+		return new Solution(null, open.isEmpty() && !stopped, expanded, generated, duplicates, pruned,
+				table.getEvictions(), peakOpen, table.size(), System.nanoTime() - start);
+	}
+
+	private boolean isStopped(long deadline) {
+		return this.cancelled || System.nanoTime() >= deadline;
+	}
+
+	/**
+	 * Try a move from a state
+	 *
+	 * @param root  - the thread's copy of the root
+	 * @param node
+	 * @param input
+	 * @return The state after it, null if the player died, or PRUNED if a
+	 *         boulder is stuck
+	 */
+	private Node child(Dungeon root, Node node, Input input) {
+		// Rebuilt from the root, as a fork of a dungeon leaves out the enemies it
+		// has killed and the keyframes refer to all of them
+		Dungeon dungeon = root.fork();
+		List<Entity> tracked = Keyframe.track(dungeon);
+		node.keyframe.restore(dungeon, tracked);
+		input.apply(dungeon.getPlayer());
+
+		Keyframe keyframe = Keyframe.capture(dungeon, tracked, node.depth + 1);
+		if (!keyframe.isPlayerAlive()) {
+			return null;
+		}
+		if (this.deadlocks != null && !keyframe.isFinished() && !this.deadlocks.isWinnable(dungeon)) {
+			return PRUNED;
+		}
+
+		long hash = this.zobrist.update(node.hash, node.keyframe, keyframe);
+		return new Node(node, input, node.depth + 1, node.depth + 1 + this.heuristic.estimate(dungeon), hash,
+				keyframe);
+	}
+
+	/**
+	 * Expand a range of a batch, split in half until it is small enough.
+	 *
+	 * Each child is added to the table as it is found, owned by its place in
+	 * the batch, so that the first of any children in the same state keeps it.
+	 */
+	private class Expand extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private static final int LEAF = 4;
+
+		private List<Node> batch;
+		private Node[] children;
+		private int from, to;
+		private long owner;
+		private TranspositionTable table;
+		private ThreadLocal<Dungeon> roots;
+		private long deadline;
+
+		Expand(List<Node> batch, Node[] children, int from, int to, long owner, TranspositionTable table,
+				ThreadLocal<Dungeon> roots, long deadline) {
+			this.batch = batch;
+			this.children = children;
+			this.from = from;
+			this.to = to;
+			this.owner = owner;
+			this.table = table;
+			this.roots = roots;
+			this.deadline = deadline;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= LEAF) {
+				Dungeon root = this.roots.get();
+				for (int i = this.from; i < this.to; i++) {
+					if (Solver.this.isStopped(this.deadline)) {
+						return;
+					}
+					for (int j = 0; j < INPUTS.length; j++) {
+						int index = i * INPUTS.length + j;
+						Node child = Solver.this.child(root, this.batch.get(i), INPUTS[j]);
+						if (child != null && child != PRUNED) {
+							child.owner = this.owner | index;
+							this.table.add(child.hash, child.depth, child.owner);
+						}
+						this.children[index] = child;
+					}
+				}
+				return;
+			}
+
+			int middle = (this.from + this.to) >>> 1;
+			Expand left = new Expand(this.batch, this.children, this.from, middle, this.owner, this.table, this.roots,
+					this.deadline);
+			Expand right = new Expand(this.batch, this.children, middle, this.to, this.owner, this.table, this.roots,
+					this.deadline);
+			left.fork();
+			right.compute();
+			left.join();
+		}
+	}
+
+	private static ArrayList<Input> moves(Node node) {
+		ArrayList<Input> moves = new ArrayList<>();
+		for (; node.parent != null; node = node.parent) {
+			moves.add(node.input);
+		}
+		Collections.reverse(moves);
+		return moves;
+	}
+
+	/**
+	 * Arguments: level [table MB] [max states] [threads]
+	 */
+	public static void main(String[] args) throws FileNotFoundException {
+		String level = args.length > 0 ? args[0] : "maze.json";
+		long memory = args.length > 1 ? Long.parseLong(args[1]) << 20 : 64L << 20;
+		long maxExpanded = args.length > 2 ? Long.parseLong(args[2]) : 1000000;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+		DungeonLoader loader = new DungeonLoader(level);
+		loader.setVerbose(false);
+		Solver solver = new Solver(loader.load());
+		solver.setHeuristic(Heuristic.EXIT);
+		solver.setMemory(memory);
+		solver.setMaxExpanded(maxExpanded);
+		if (threads > 1) {
+			solver.setPool(new ForkJoinPool(threads));
+		}
+
+		Solution solution = solver.solve();
+		System.out.println(solution);
+		if (solution.isSolved()) {
+			System.out.println(solution.getMoves());
+		}
+	}
+}
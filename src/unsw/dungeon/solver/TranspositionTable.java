@@ -0,0 +1,173 @@
+package unsw.dungeon.solver;
+
+/**
+ * The states a search has seen, by their Zobrist hash, with the fewest moves
+ * each was reached in.
+ *
+ * The table is a fixed size, from a memory budget, and never grows. Hashes are
+ * kept in buckets of four. When a bucket is full the entry reached in the
+ * fewest moves is evicted, as the search has moved on from it and it is the
+ * least likely to be reached again. A state that was evicted is searched again
+ * if it is found again, so eviction costs time but the search stays complete.
+ *
+ * Each entry has an owner, the search node that reached it. When two nodes
+ * reach a state in as few moves, the one with the lower owner keeps it, so the
+ * same node wins however many threads add at once. The table is safe to share
+ * between threads: buckets are split between a fixed set of locks, so threads
+ * only wait on each other when they add to buckets under the same lock.
+ *
+ * Only hashes are kept, so two states with the same 64 bit hash are taken to be
+ * the same.
+ *
+ */
+public class TranspositionTable {
+	private static final int WAYS = 4;
+	private static final int STRIPES = 64;
+
+	// Bytes per entry: a hash, a number of moves and an owner
+	public static final int ENTRY_BYTES = 20;
+
+	private long[] hashes;
+	private int[] depths;
+	private long[] owners;
+	private int mask;
+
+	// Locks, and counts of what is under each
+	private Object[] locks;
+	private int[] sizes;
+	private long[] evictions;
+
+	/**
+	 * @param memory - bytes the table may use, at least one bucket's worth
+	 */
+	public TranspositionTable(long memory) {
+		long buckets = Long.highestOneBit(Math.max(1, memory / (ENTRY_BYTES * WAYS)));
+		buckets = Math.min(buckets, 1 << 26);
+
+		this.hashes = new long[(int) buckets * WAYS];
+		this.depths = new int[(int) buckets * WAYS];
+		this.owners = new long[(int) buckets * WAYS];
+		this.mask = (int) buckets - 1;
+
+		this.locks = new Object[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			this.locks[i] = new Object();
+		}
+		this.sizes = new int[STRIPES];
+		this.evictions = new long[STRIPES];
+	}
+
+	/**
+	 * Add a state, unless it has been seen in fewer moves, or in as few by a
+	 * lower owner
+	 *
+	 * @param hash
+	 * @param depth - moves the state was reached in
+	 * @param owner - node that reached it
+	 * @return Whether the owner holds the state now. Another thread may take it
+	 *         before the add finishes, which owns() tells once they are done.
+	 */
+	public boolean add(long hash, int depth, long owner) {
+		// 0 marks an empty entry
+		if (hash == 0) {
+			hash = 1;
+		}
+
+		int bucket = this.bucket(hash);
+		int stripe = bucket & (STRIPES - 1);
+		synchronized (this.locks[stripe]) {
+			int start = bucket * WAYS;
+			int victim = start;
+			for (int i = start; i < start + WAYS; i++) {
+				if (this.hashes[i] == hash) {
+					if (this.depths[i] < depth || (this.depths[i] == depth && this.owners[i] < owner)) {
+						return false;
+					}
+					this.depths[i] = depth;
+					this.owners[i] = owner;
+					return true;
+				}
+				if (this.hashes[i] == 0) {
+					this.put(i, hash, depth, owner);
+					this.sizes[stripe]++;
+					return true;
+				}
+				if (this.depths[i] < this.depths[victim]) {
+					victim = i;
+				}
+			}
+
+			this.put(victim, hash, depth, owner);
+			this.evictions[stripe]++;
+			return true;
+		}
+	}
+
+	/**
+	 * Whether a node holds a state, once every add is done. A state that has
+	 * since been evicted is held by everyone that added it.
+	 *
+	 * @param hash
+	 * @param depth - moves the node reached the state in
+	 * @param owner - node that reached it
+	 * @return
+	 */
+	public boolean owns(long hash, int depth, long owner) {
+		if (hash == 0) {
+			hash = 1;
+		}
+
+		int bucket = this.bucket(hash);
+		synchronized (this.locks[bucket & (STRIPES - 1)]) {
+			for (int i = bucket * WAYS; i < (bucket + 1) * WAYS; i++) {
+				if (this.hashes[i] == hash) {
+					return this.depths[i] == depth && this.owners[i] == owner;
+				}
+			}
+			return true;
+		}
+	}
+
+	private int bucket(long hash) {
+		return (int) (hash ^ (hash >>> 32)) & this.mask;
+	}
+
+	private void put(int i, long hash, int depth, long owner) {
+		this.hashes[i] = hash;
+		this.depths[i] = depth;
+		this.owners[i] = owner;
+	}
+
+	/**
+	 * @return Number of states in the table
+	 */
+	public int size() {
+		int size = 0;
+		for (int i = 0; i < STRIPES; i++) {
+			synchronized (this.locks[i]) {
+				size += this.sizes[i];
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return Number of states the table can hold
+	 */
+	public int getCapacity() {
+		return this.hashes.length;
+	}
+
+	/**
+	 * @return Number of states that were evicted to make room for others
+	 */
+	public long getEvictions() {
+		long evictions = 0;
+		for (int i = 0; i < STRIPES; i++) {
+			synchronized (this.locks[i]) {
+				evictions += this.evictions[i];
+			}
+		}
+		return evictions;
+	}
+}
@@ -0,0 +1,137 @@
+package unsw.dungeon.solver;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import unsw.dungeon.replay.Keyframe;
+
+/**
+ * Zobrist hashing of the keyframes of one dungeon.
+ *
+ * Every entity on every tile has a random key, as does the player, and the hash
+ * of a keyframe is all its keys xored together. Moving an entity xors out the
+ * key of its old tile and xors in its new one, so the hash of the state after a
+ * move is found from the one before by only looking at what changed.
+ *
+ * Positions have a table of keys. Alive, visible and Stateful state are mixed
+ * into a key of their own, as are the inventory and the random numbers, which
+ * change too rarely to be worth a table.
+ *
+ */
+public class Zobrist {
+	private int width, height;
+	private int entities;
+	private long seed;
+
+	// A key per tile for each entity, then for the player
+	private long[] positions;
+
+	/**
+	 * @param width    - of the dungeon
+	 * @param height   - of the dungeon
+	 * @param entities - number of tracked entities in its keyframes
+	 * @param seed
+	 */
+	public Zobrist(int width, int height, int entities, long seed) {
+		this.width = width;
+		this.height = height;
+		this.entities = entities;
+		this.seed = seed;
+
+		SplittableRandom random = new SplittableRandom(seed);
+		this.positions = new long[(entities + 1) * width * height];
+		for (int i = 0; i < this.positions.length; i++) {
+			this.positions[i] = random.nextLong();
+		}
+	}
+
+	/**
+	 * Hash a keyframe from scratch
+	 *
+	 * @param keyframe
+	 * @return
+	 */
+	public long hash(Keyframe keyframe) {
+		long hash = this.player(keyframe) ^ this.random(keyframe) ^ this.inventory(keyframe.getInventory());
+		for (int i = 0; i < this.entities; i++) {
+			hash ^= this.entity(keyframe, i);
+		}
+		return hash;
+	}
+
+	/**
+	 * Hash a keyframe from the hash of one before it, changing only the keys of
+	 * what changed between them
+	 *
+	 * @param hash - of from
+	 * @param from
+	 * @param to
+	 * @return Hash of to, the same as hash(to)
+	 */
+	public long update(long hash, Keyframe from, Keyframe to) {
+		if (from.getPlayerX() != to.getPlayerX() || from.getPlayerY() != to.getPlayerY()
+				|| from.isPlayerAlive() != to.isPlayerAlive() || from.isFinished() != to.isFinished()) {
+			hash ^= this.player(from) ^ this.player(to);
+		}
+		if (from.getRandom() != to.getRandom()) {
+			hash ^= this.random(from) ^ this.random(to);
+		}
+
+		int[] before = from.getInventory();
+		int[] after = to.getInventory();
+		if (!Arrays.equals(before, after)) {
+			hash ^= this.inventory(before) ^ this.inventory(after);
+		}
+
+		for (int i = 0; i < this.entities; i++) {
+			if (from.getX(i) != to.getX(i) || from.getY(i) != to.getY(i) || from.getState(i) != to.getState(i)
+					|| from.isAlive(i) != to.isAlive(i) || from.isVisible(i) != to.isVisible(i)) {
+				hash ^= this.entity(from, i) ^ this.entity(to, i);
+			}
+		}
+		return hash;
+	}
+
+	private long entity(Keyframe keyframe, int i) {
+		int flags = (keyframe.isAlive(i) ? 1 : 0) | (keyframe.isVisible(i) ? 2 : 0);
+		return this.position(i, keyframe.getX(i), keyframe.getY(i))
+				^ this.key(i, ((long) flags << 32) | (keyframe.getState(i) & 0xFFFFFFFFL));
+	}
+
+	private long player(Keyframe keyframe) {
+		int flags = (keyframe.isPlayerAlive() ? 1 : 0) | (keyframe.isFinished() ? 2 : 0);
+		return this.position(this.entities, keyframe.getPlayerX(), keyframe.getPlayerY())
+				^ this.key(this.entities, flags);
+	}
+
+	private long random(Keyframe keyframe) {
+		return this.key(this.entities + 1, keyframe.getRandom());
+	}
+
+	private long inventory(int[] items) {
+		long hash = this.key(this.entities + 2, items.length);
+		for (int item : items) {
+			hash = this.key(hash, item);
+		}
+		return hash;
+	}
+
+	private long position(int i, int x, int y) {
+		if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+			// Off the grid, such as items that have been picked up
+			return this.key(this.entities + 3 + i, ((long) x << 32) | (y & 0xFFFFFFFFL));
+		}
+		return this.positions[(i * this.height + y) * this.width + x];
+	}
+
+	/**
+	 * SplitMix64's finaliser over the seed and two values, for keys that have no
+	 * table
+	 */
+	private long key(long a, long b) {
+		long z = this.seed + a * 0x9E3779B97F4A7C15L + b * 0xC2B2AE3D27D4EB4FL;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,93 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Saw;
+
+public class ActivityRegionsTest {
+	private Player player;
+	private TestUtils Create;
+
+	private Dungeon create(int radius) {
+		Dungeon dungeon = new Dungeon(60, 10);
+		dungeon.addEntity((player = new Player(dungeon, 1, 1)));
+		dungeon.setPlayer(player);
+		dungeon.getActivity().setRadius(radius);
+		Create = new TestUtils(dungeon);
+		return dungeon;
+	}
+
+	@Test
+	void frozenEnemy() {
+		Dungeon dungeon = create(5);
+		Enemy far = Create.Enemy(40, 1);
+		Enemy near = Create.Enemy(6, 1);
+
+		// Everything starts awake and is parked on the first move
+		player.moveDown();
+		assertEquals(1, dungeon.getActivity().getActive());
+		assertEquals(1, dungeon.getActivity().getParked());
+
+		// The far enemy takes the move it was parked during, then stops
+		int x = far.getX();
+		player.moveUp();
+		player.moveDown();
+		assertEquals(x, far.getX());
+		assertEquals(3, near.getX());
+
+		// Woken once the player comes near
+		player.setXY(36, 1);
+		player.moveDown();
+		assertEquals(1, dungeon.getActivity().getActive());
+		player.moveUp();
+		assertTrue(far.getX() != x);
+	}
+
+	@Test
+	void sawCatchesUp() {
+		// Saws on a track from x = 31 to x = 39, one parked and one awake
+		Dungeon sleeping = create(5);
+		Player sleeper = player;
+		Saw parked = Create.saw(35, 5, "H");
+		Create.Wall(30, 5);
+		Create.Wall(40, 5);
+
+		create(100);
+		Saw awake = Create.saw(35, 5, "H");
+		Create.Wall(30, 5);
+		Create.Wall(40, 5);
+
+		// Walk along the top row towards the saws
+		for (int i = 0; i < 33; i++) {
+			sleeper.moveRight();
+			player.moveRight();
+		}
+		assertEquals(0, sleeping.getActivity().getParked());
+		assertEquals(awake.getX(), parked.getX());
+
+		for (int i = 0; i < 10; i++) {
+			sleeper.moveRight();
+			player.moveRight();
+			assertEquals(awake.getX(), parked.getX());
+		}
+
+		// Away and back again
+		for (int i = 0; i < 10; i++) {
+			sleeper.moveRight();
+			player.moveRight();
+		}
+		assertEquals(1, sleeping.getActivity().getParked());
+		for (int i = 0; i < 20; i++) {
+			sleeper.moveLeft();
+			player.moveLeft();
+		}
+		assertEquals(0, sleeping.getActivity().getParked());
+		assertEquals(awake.getX(), parked.getX());
+	}
+}
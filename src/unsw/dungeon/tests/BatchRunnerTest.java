@@ -0,0 +1,54 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.batch.BatchResult;
+import unsw.dungeon.batch.BatchRunner;
+import unsw.dungeon.batch.Script;
+
+public class BatchRunnerTest {
+
+	@Test
+	void sameOnAnyNumberOfThreads() throws FileNotFoundException {
+		ForkJoinPool one = new ForkJoinPool(1);
+		ForkJoinPool four = new ForkJoinPool(4);
+		try {
+			BatchResult serial = new BatchRunner("advanced_saw.json", one).run(64, 3, 200, Script.RANDOM);
+			BatchResult parallel = new BatchRunner("advanced_saw.json", four).run(64, 3, 200, Script.RANDOM);
+
+			assertEquals(64, parallel.getSessions());
+			assertEquals(serial.getWins(), parallel.getWins());
+			assertEquals(serial.getDeaths(), parallel.getDeaths());
+			assertEquals(serial.getTurns(), parallel.getTurns());
+			assertEquals(serial.getChecksum(), parallel.getChecksum());
+		} finally {
+			one.shutdown();
+			four.shutdown();
+		}
+	}
+
+	@Test
+	void sessionsDiffer() throws FileNotFoundException {
+		BatchRunner runner = new BatchRunner("advanced_saw.json");
+		BatchResult first = new BatchResult();
+		BatchResult second = new BatchResult();
+		runner.play(0, 3, 200, Script.RANDOM, first);
+		runner.play(1, 3, 200, Script.RANDOM, second);
+		assertTrue(first.getChecksum() != second.getChecksum());
+	}
+
+	@Test
+	void scriptEndsSession() throws FileNotFoundException {
+		BatchResult result = new BatchRunner("maze.json").run(10, 1, 500, (dungeon, turn, random) -> null);
+		assertEquals(10, result.getSessions());
+		assertEquals(0, result.getTurns());
+		assertEquals(10, result.getUnfinished());
+		assertEquals(-1, result.getFastestWin());
+	}
+}
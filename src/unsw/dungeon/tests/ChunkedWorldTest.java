@@ -0,0 +1,114 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.Region;
+import unsw.dungeon.RegionSource;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Wall;
+import unsw.dungeon.entity.meta.EntityLevel;
+
+public class ChunkedWorldTest {
+
+	private Dungeon dungeon;
+	private Player player;
+	private int loads;
+
+	/**
+	 * A wall every 10 tiles along the top row, plus one at (3, 2)
+	 */
+	private RegionSource source = (Region region) -> {
+		loads++;
+		for (int x = region.getX(); x < region.getX() + region.getSize(); x++) {
+			if (x % 10 == 0 && region.getY() == 0) {
+				region.setWall(x, 0);
+			}
+		}
+		region.setWall(3, 2);
+	};
+
+	private void createDungeon(int size, long memoryBudget) {
+		dungeon = new Dungeon(size, size, source, memoryBudget);
+		dungeon.addEntity((player = new Player(dungeon, 1, 1)));
+		dungeon.setPlayer(player);
+	}
+
+	@BeforeEach
+	void init() {
+		loads = 0;
+	}
+
+	@Test
+	void loadsOnlyNearby() {
+		createDungeon(100000, Long.MAX_VALUE);
+
+		assertTrue(dungeon.positionIsValid(99999, 99999));
+		assertEquals(4, loads);
+		assertEquals(4, dungeon.getResidentRegions());
+	}
+
+	@Test
+	void wallsFromSource() {
+		createDungeon(1000, Long.MAX_VALUE);
+
+		assertTrue(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 3, 2));
+		assertTrue(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 990, 0));
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 991, 0));
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.FLOOR, 990, 0));
+
+		Wall wall = (Wall) dungeon.getEntityAt(EntityLevel.OBJECT, 3, 2);
+		assertEquals(wall, dungeon.getEntityAt(EntityLevel.OBJECT, 3, 2));
+
+		player.moveDown();
+		player.moveRight();
+		player.moveRight();
+		assertEquals(2, player.getX());
+		assertEquals(2, player.getY());
+	}
+
+	@Test
+	void evictsOverBudget() {
+		// Room for 9 regions, the neighbourhood of one entity
+		createDungeon(1000, 9 * 600);
+
+		for (int i = 0; i < 600; i++) {
+			player.moveRight();
+		}
+		assertEquals(601, player.getX());
+		assertTrue(dungeon.getResidentRegions() <= 9);
+
+		// Walls come back after their region is reloaded
+		int before = loads;
+		assertTrue(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 10, 0));
+		assertEquals(before + 1, loads);
+	}
+
+	@Test
+	void changedRegionsKept() {
+		createDungeon(1000, 9 * 600);
+
+		dungeon.removeEntity(dungeon.getEntityAt(EntityLevel.OBJECT, 3, 2));
+		dungeon.addEntity(new Wall(dungeon, 5, 5));
+
+		for (int i = 0; i < 600; i++) {
+			player.moveRight();
+		}
+
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 3, 2));
+		assertTrue(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 5, 5));
+	}
+
+	@Test
+	void listingWallsLoadsMap() {
+		createDungeon(200, 9 * 600);
+
+		assertEquals(21, dungeon.getEntities(Wall.class).size());
+		assertTrue(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 3, 2));
+	}
+}
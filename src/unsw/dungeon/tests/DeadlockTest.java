@@ -0,0 +1,127 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.DeadlockMonitor;
+import unsw.dungeon.DeadlockTable;
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Boulder;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.goals.Goal;
+import unsw.dungeon.goals.GoalStrategyBoulder;
+
+public class DeadlockTest {
+	private Player player;
+	private Dungeon dungeon;
+	private TestUtils Create;
+	private int lost;
+
+	@BeforeEach
+	void init() {
+		dungeon = new Dungeon(6, 6);
+		dungeon.addEntity((player = new Player(dungeon, 3, 2)));
+		dungeon.setPlayer(player);
+		Create = new TestUtils(dungeon);
+		lost = 0;
+	}
+
+	@Test
+	void deadTiles() {
+		// Nothing can be pushed off the edge, so only a switch on it keeps it live
+		Create.Switch(2, 2);
+		Create.Wall(3, 3);
+		Create.PostLoad();
+
+		DeadlockTable table = new DeadlockTable(dungeon);
+		assertTrue(table.isDead(0, 0));
+		assertTrue(table.isDead(0, 2));
+		assertTrue(table.isDead(5, 5));
+		assertFalse(table.isDead(2, 2));
+		assertFalse(table.isDead(1, 2));
+		assertFalse(table.isDead(3, 3));
+		assertTrue(table.isWall(3, 3));
+		assertEquals(20, table.getDeadTiles());
+	}
+
+	@Test
+	void cornerIsStuck() {
+		Boulder boulder = Create.Boulder(0, 0);
+		Create.Switch(2, 2);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyBoulder()));
+		Create.PostLoad();
+
+		DeadlockTable table = new DeadlockTable(dungeon);
+		assertTrue(table.isStuck(dungeon, boulder));
+		assertFalse(table.isWinnable(dungeon));
+		assertTrue(dungeon.getDeadlocks().isLost());
+	}
+
+	@Test
+	void frozenPair() {
+		// The edge is live between the switches, so one boulder on it can move
+		Create.Switch(1, 0);
+		Create.Switch(4, 0);
+		Boulder left = Create.Boulder(2, 0);
+		Boulder right = Create.Boulder(3, 1);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyBoulder()));
+		Create.PostLoad();
+
+		DeadlockMonitor monitor = dungeon.getDeadlocks();
+		monitor.lostEvent.register(() -> lost++);
+		assertFalse(monitor.isStuck(left));
+		assertFalse(monitor.isLost());
+
+		// Pushed next to it, each holds the other against the edge
+		player.moveUp();
+		assertEquals(0, right.getY());
+		assertTrue(monitor.isStuck(left));
+		assertTrue(monitor.isStuck(right));
+		assertEquals(2, monitor.getStuck());
+		assertTrue(monitor.isLost());
+		assertEquals(1, lost);
+		assertTrue(monitor.getTable().isFrozen(dungeon, 2, 0));
+
+		// Stays lost without firing again
+		player.moveLeft();
+		assertTrue(monitor.isLost());
+		assertEquals(1, lost);
+	}
+
+	@Test
+	void onSwitchNotStuck() {
+		Create.Switch(0, 0);
+		Create.Switch(3, 3);
+		Boulder boulder = Create.Boulder(0, 0);
+		Create.Boulder(3, 4);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyBoulder()));
+		Create.PostLoad();
+
+		DeadlockMonitor monitor = dungeon.getDeadlocks();
+		assertFalse(monitor.isStuck(boulder));
+		assertEquals(0, monitor.getStuck());
+		assertFalse(monitor.isLost());
+	}
+
+	@Test
+	void wallAdded() {
+		Create.Switch(2, 2);
+		Create.Boulder(3, 3);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyBoulder()));
+		Create.PostLoad();
+
+		DeadlockMonitor monitor = dungeon.getDeadlocks();
+		assertFalse(monitor.isLost());
+
+		// Walled in across and below, the boulder can't move
+		Create.Wall(2, 3);
+		Create.Wall(4, 3);
+		Create.Wall(3, 4);
+		assertTrue(monitor.getTable().isFrozen(dungeon, 3, 3));
+		assertTrue(monitor.isLost());
+	}
+}
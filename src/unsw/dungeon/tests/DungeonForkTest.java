@@ -0,0 +1,123 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonStorage;
+import unsw.dungeon.Region;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Wall;
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.replay.Recording;
+
+public class DungeonForkTest {
+	private static final String[] LEVELS = { "test.json", "marking.json", "advanced_saw.json", "boulders.json" };
+
+	@Test
+	void forkPlaysTheSame() throws IOException {
+		for (String level : LEVELS) {
+			for (long seed = 1; seed <= 4; seed++) {
+				Dungeon original = TestUtils.load(level, seed, DungeonStorage.PACKED);
+				TestUtils.play(original, new Random(seed), 100);
+
+				Dungeon fork = original.fork();
+				assertEquals(level, Recording.fingerprint(original), Recording.fingerprint(fork));
+
+				TestUtils.playBoth(level, original, fork, new Random(seed * 7), 100);
+			}
+		}
+	}
+
+	@Test
+	void originalUnchanged() throws IOException {
+		for (String level : LEVELS) {
+			Dungeon original = TestUtils.load(level, 3, DungeonStorage.PACKED);
+			TestUtils.play(original, new Random(3), 50);
+			long fingerprint = Recording.fingerprint(original);
+
+			// Forks of forks, each played its own way
+			Dungeon fork = original.fork();
+			for (int i = 0; i < 4; i++) {
+				TestUtils.play(fork, new Random(i), 50);
+				fork = fork.fork();
+			}
+			assertEquals(level, fingerprint, Recording.fingerprint(original));
+
+			// And the original still plays as if it had never been forked
+			Dungeon fresh = TestUtils.load(level, 3, DungeonStorage.PACKED);
+			TestUtils.play(fresh, new Random(3), 50);
+			TestUtils.play(original, new Random(9), 100);
+			TestUtils.play(fresh, new Random(9), 100);
+			assertEquals(level, Recording.fingerprint(fresh), Recording.fingerprint(original));
+		}
+	}
+
+	@Test
+	void sharedWalls() throws IOException {
+		Dungeon original = TestUtils.load("boulders.json", 1, DungeonStorage.PACKED);
+		Dungeon fork = original.fork();
+		Dungeon other = original.fork();
+
+		int x = 0;
+		int y = 0;
+		while (original.isObstacleAt(x, y)) {
+			x++;
+			if (x == original.getWidth()) {
+				x = 0;
+				y++;
+			}
+		}
+		fork.addEntity(new Wall(fork, x, y));
+		assertTrue(fork.isObstacleAt(x, y));
+		assertFalse(original.isObstacleAt(x, y));
+		assertFalse(other.isObstacleAt(x, y));
+		assertFalse(original.fork().isObstacleAt(x, y));
+		assertTrue(fork.fork().isObstacleAt(x, y));
+	}
+
+	@Test
+	void chunkedWalls() {
+		// A wall every 10 tiles along the top row, over a map of 64 tile chunks
+		Dungeon original = new Dungeon(1000, 1000, (Region region) -> {
+			for (int x = region.getX(); x < region.getX() + region.getSize(); x++) {
+				if (x % 10 == 0 && region.getY() == 0) {
+					region.setWall(x, 0);
+				}
+			}
+		}, 9 * 600);
+		Player player = new Player(original, 1, 1);
+		original.addEntity(player);
+		original.setPlayer(player);
+
+		// A wall added before forking is kept, though its chunk is never reloaded
+		original.addEntity(new Wall(original, 5, 2));
+		Dungeon fork = original.fork();
+		assertTrue(fork.isObstacleAt(5, 2));
+		assertTrue(fork.isObstacleAt(990, 0));
+		assertFalse(fork.isObstacleAt(991, 0));
+
+		// Changes to either aren't seen by the other
+		fork.addEntity(new Wall(fork, 7, 2));
+		assertFalse(original.isObstacleAt(7, 2));
+		original.addEntity(new Wall(original, 8, 2));
+		assertFalse(fork.isObstacleAt(8, 2));
+
+		// Walked far across the map, both load and evict the same way
+		for (int i = 0; i < 600; i++) {
+			Input.RIGHT.apply(original.getPlayer());
+			Input.RIGHT.apply(fork.getPlayer());
+		}
+		assertEquals(original.getPlayer().getX(), fork.getPlayer().getX());
+		assertEquals(original.getResidentRegions(), fork.getResidentRegions());
+		assertTrue(fork.isObstacleAt(5, 2));
+		assertTrue(fork.isObstacleAt(7, 2));
+		assertFalse(fork.isObstacleAt(8, 2));
+	}
+}
@@ -0,0 +1,141 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonSnapshot;
+import unsw.dungeon.DungeonStorage;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Sword;
+import unsw.dungeon.entity.Wall;
+import unsw.dungeon.goals.Goal;
+import unsw.dungeon.goals.GoalStrategyExit;
+import unsw.dungeon.replay.Recording;
+
+public class DungeonSnapshotTest {
+
+	@Test
+	void saveAndLoad() throws IOException {
+		for (String level : new String[] { "test.json", "marking.json", "advanced_saw.json", "boulders.json" }) {
+			for (long seed = 1; seed <= 4; seed++) {
+				Dungeon original = TestUtils.load(level, seed);
+				Random random = new Random(seed);
+				TestUtils.play(original, random, 100);
+
+				File file = File.createTempFile("dungeon", ".sav");
+				file.deleteOnExit();
+				Path path = file.toPath();
+				DungeonSnapshot.save(original, path);
+				Dungeon restored = DungeonSnapshot.load(path);
+
+				assertEquals(level, Recording.fingerprint(original), Recording.fingerprint(restored));
+				original.getGoal().check();
+				restored.getGoal().check();
+				assertEquals(original.getGoal().getProgress(), restored.getGoal().getProgress());
+				assertEquals(original.getGoal().getTarget(), restored.getGoal().getTarget());
+
+				TestUtils.playBoth(level, original, restored, random, 100);
+			}
+		}
+	}
+
+	@Test
+	void defeatedEnemiesAndSword() throws IOException {
+		Dungeon dungeon = new Dungeon(8, 3);
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+		TestUtils Create = new TestUtils(dungeon);
+		Create.Sword(2, 1);
+		Enemy enemy = Create.Enemy(6, 1);
+		Create.PostLoad();
+		dungeon.getActivity().setRadius(100);
+
+		for (int i = 0; i < 5 && enemy.isAlive(); i++) {
+			player.moveRight();
+		}
+		assertTrue(!enemy.isAlive());
+		Sword sword = (Sword) player.getInventory().get(0);
+		assertEquals(4, sword.getUses());
+
+		Dungeon restored = DungeonSnapshot.read(DungeonSnapshot.write(dungeon));
+		assertEquals(Recording.fingerprint(dungeon), Recording.fingerprint(restored));
+		assertEquals(1, restored.getGoalCounters().getDefeatedEnemies());
+		assertEquals(4, ((Sword) restored.getPlayer().getInventory().get(0)).getUses());
+	}
+
+	@Test
+	void packedWalls() throws IOException {
+		Dungeon dungeon = new Dungeon(200, 200, DungeonStorage.PACKED);
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+		for (int x = 0; x < 200; x++) {
+			dungeon.addEntity(new Wall(dungeon, x, 0));
+		}
+		// A second wall on a tile is kept as an object
+		dungeon.addEntity(new Wall(dungeon, 5, 0));
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyExit()));
+		assertEquals(2, dungeon.getUnpackedEntities().size());
+
+		// Writing leaves the walls packed, and they are read back packed
+		ByteBuffer snapshot = DungeonSnapshot.write(dungeon);
+		assertEquals(2, dungeon.getUnpackedEntities().size());
+		assertTrue(snapshot.remaining() < 200 * 9);
+		Dungeon restored = DungeonSnapshot.read(snapshot);
+		assertEquals(2, restored.getUnpackedEntities().size());
+		assertTrue(restored.isObstacleAt(199, 0));
+		assertTrue(restored.getGoal().getStrategy() instanceof GoalStrategyExit);
+		assertFalse(restored.isObstacleAt(199, 1));
+
+		restored.getPlayer().moveUp();
+		assertEquals(1, restored.getPlayer().getY());
+		assertEquals(Recording.fingerprint(dungeon), Recording.fingerprint(restored));
+	}
+
+	@Test
+	void notSnapshot() {
+		boolean thrown = false;
+		try {
+			DungeonSnapshot.read(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6 }));
+		} catch (IOException e) {
+			thrown = true;
+		}
+		assertTrue(thrown);
+	}
+
+	@Test
+	void corrupted() throws IOException {
+		ByteBuffer snapshot = DungeonSnapshot.write(TestUtils.load("boulders.json", 1));
+		byte[] bytes = new byte[snapshot.remaining()];
+		snapshot.get(bytes);
+
+		// Cut short anywhere
+		for (int length = 0; length < bytes.length; length++) {
+			ByteBuffer cut = ByteBuffer.wrap(bytes, 0, length);
+			assertThrows(IOException.class, () -> DungeonSnapshot.read(cut));
+		}
+
+		// A storage mode that doesn't exist
+		byte[] storage = bytes.clone();
+		storage[13] = 9;
+		assertThrows(IOException.class, () -> DungeonSnapshot.read(ByteBuffer.wrap(storage)));
+
+		// An entity type that doesn't exist, after the goal and defeated enemies
+		byte[] type = bytes.clone();
+		type[23 + 4 + ByteBuffer.wrap(bytes).getInt(23) + 4 + 4] = 99;
+		assertThrows(IOException.class, () -> DungeonSnapshot.read(ByteBuffer.wrap(type)));
+	}
+}
@@ -0,0 +1,200 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonStorage;
+import unsw.dungeon.entity.Boulder;
+import unsw.dungeon.entity.Door;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Switch;
+import unsw.dungeon.entity.Sword;
+import unsw.dungeon.entity.Wall;
+import unsw.dungeon.entity.meta.EntityLevel;
+import unsw.dungeon.entity.meta.Interactable;
+import unsw.dungeon.entity.meta.MovableEntity;
+import unsw.dungeon.entity.meta.Usable;
+
+class DungeonTest {
+
+	private Dungeon dungeon;
+	private Player player;
+	private TestUtils Create;
+
+	@BeforeEach
+	void init() {
+		dungeon = new Dungeon(10, 10);
+		dungeon.addEntity((player = new Player(dungeon, 1, 1)));
+		dungeon.setPlayer(player);
+		Create = new TestUtils(dungeon);
+	}
+
+	@Test
+	void entityAtTile() {
+		Wall wall = Create.Wall(3, 4);
+		Switch sw = Create.Switch(3, 4);
+
+		assertEquals(wall, dungeon.getEntityAt(EntityLevel.OBJECT, 3, 4));
+		assertEquals(sw, dungeon.getEntityAt(EntityLevel.FLOOR, 3, 4));
+		assertEquals(null, dungeon.getEntityAt(EntityLevel.ITEM, 3, 4));
+		assertEquals(null, dungeon.getEntityAt(EntityLevel.OBJECT, 4, 3));
+	}
+
+	@Test
+	void outOfBounds() {
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.OBJECT, -1, 0));
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 0, 10));
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 10, 0));
+	}
+
+	@Test
+	void indexFollowsMovement() {
+		assertEquals(player, dungeon.getEntityAt(EntityLevel.OBJECT, 1, 1));
+
+		player.moveRight();
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 1, 1));
+		assertEquals(player, dungeon.getEntityAt(EntityLevel.OBJECT, 2, 1));
+
+		player.setXY(5, 5);
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 2, 1));
+		assertEquals(player, dungeon.getEntityAt(EntityLevel.OBJECT, 5, 5));
+	}
+
+	@Test
+	void indexFollowsPush() {
+		Boulder boulder = Create.Boulder(2, 1);
+
+		player.moveRight();
+		assertEquals(player, dungeon.getEntityAt(EntityLevel.OBJECT, 2, 1));
+		assertEquals(boulder, dungeon.getEntityAt(EntityLevel.OBJECT, 3, 1));
+	}
+
+	@Test
+	void indexFollowsRemoval() {
+		Wall wall = Create.Wall(2, 1);
+		assertTrue(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 2, 1));
+
+		dungeon.removeEntity(wall);
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 2, 1));
+
+		player.moveRight();
+		assertEquals(2, player.getX());
+	}
+
+	@Test
+	void indexFollowsDoorLevel() {
+		Door door = Create.Door(2, 1);
+		assertEquals(door, dungeon.getEntityAt(EntityLevel.OBJECT, 2, 1));
+
+		door.open();
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 2, 1));
+		assertEquals(door, dungeon.getEntityAt(EntityLevel.FLOOR, 2, 1));
+
+		door.close();
+		assertEquals(door, dungeon.getEntityAt(EntityLevel.OBJECT, 2, 1));
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.FLOOR, 2, 1));
+	}
+
+	@Test
+	void unaddedEntityNotIndexed() {
+		Player other = new Player(dungeon, 4, 4);
+		other.moveRight();
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 5, 4));
+	}
+
+	@Test
+	void entitiesByType() {
+		Wall wall = Create.Wall(2, 2);
+		Boulder boulder = Create.Boulder(3, 3);
+		Sword sword = Create.Sword(4, 4);
+
+		assertEquals(1, dungeon.getEntities(Wall.class).size());
+		assertTrue(dungeon.getEntities(Wall.class).contains(wall));
+		assertEquals(0, dungeon.getEntities(Door.class).size());
+
+		// Superclasses and interfaces
+		assertEquals(2, dungeon.getEntities(MovableEntity.class).size());
+		assertTrue(dungeon.getEntities(Interactable.class).contains(boulder));
+		assertTrue(dungeon.getEntities(Interactable.class).contains(player));
+		assertTrue(dungeon.getEntities(Usable.class).contains(sword));
+	}
+
+	@Test
+	void entitiesByTypeIsLive() {
+		assertTrue(dungeon.getEntities(Enemy.class).isEmpty());
+
+		Enemy enemy = Create.Enemy(5, 5);
+		assertEquals(1, dungeon.getEntities(Enemy.class).size());
+
+		enemy.kill();
+		assertTrue(dungeon.getEntities(Enemy.class).isEmpty());
+		assertTrue(dungeon.getEntities(Interactable.class).contains(player));
+		assertFalse(dungeon.getEntities(Interactable.class).contains(enemy));
+	}
+
+	private Dungeon packedDungeon() {
+		dungeon = new Dungeon(10, 10, DungeonStorage.PACKED);
+		dungeon.addEntity((player = new Player(dungeon, 1, 1)));
+		dungeon.setPlayer(player);
+		Create = new TestUtils(dungeon);
+		return dungeon;
+	}
+
+	@Test
+	void packedWallsBlock() {
+		packedDungeon();
+		Create.Wall(2, 1);
+
+		assertTrue(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 2, 1));
+		player.moveRight();
+		assertEquals(1, player.getX());
+
+		// Walls are not indexed as objects
+		assertEquals(1, dungeon.getEntities(MovableEntity.class).size());
+	}
+
+	@Test
+	void packedWallsCreatedOnDemand() {
+		packedDungeon();
+		Create.Wall(2, 1);
+
+		Wall wall = (Wall) dungeon.getEntityAt(EntityLevel.OBJECT, 2, 1);
+		assertEquals(2, wall.getX());
+		assertEquals(1, wall.getY());
+		assertEquals(wall, dungeon.getEntityAt(EntityLevel.OBJECT, 2, 1));
+		assertEquals(null, dungeon.getEntityAt(EntityLevel.FLOOR, 2, 1));
+
+		// Listing walls unpacks them, keeping the objects already handed out
+		assertEquals(1, dungeon.getEntities(Wall.class).size());
+		assertTrue(dungeon.getEntities(Wall.class).contains(wall));
+		assertEquals(wall, dungeon.getEntityAt(EntityLevel.OBJECT, 2, 1));
+	}
+
+	@Test
+	void packedWallsRemoved() {
+		packedDungeon();
+		Wall wall = Create.Wall(2, 1);
+
+		dungeon.removeEntity(wall);
+		assertFalse(dungeon.hasEntitiesAt(EntityLevel.OBJECT, 2, 1));
+		player.moveRight();
+		assertEquals(2, player.getX());
+	}
+
+	@Test
+	void packedEntitiesMatchObjects() {
+		packedDungeon();
+		Create.Wall(2, 1);
+		Create.Wall(2, 1);
+		Create.Sword(3, 3);
+
+		assertEquals(4, dungeon.getEntities().size());
+		assertEquals(2, dungeon.getEntities(Wall.class).size());
+	}
+}
@@ -0,0 +1,89 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Door;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Treasure;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.entity.meta.EntityObserver;
+
+public class EntityObserverTest {
+
+	private Dungeon dungeon;
+	private Player player;
+	private TestUtils Create;
+	private String changes;
+
+	private EntityObserver observer = new EntityObserver() {
+		@Override
+		public void positionChanged(Entity entity) {
+			changes += String.format("p%d,%d ", entity.getX(), entity.getY());
+		}
+
+		@Override
+		public void visibilityChanged(Entity entity) {
+			changes += entity.getVisibility() ? "shown " : "hidden ";
+		}
+
+		@Override
+		public void stateChanged(Entity entity) {
+			changes += "state ";
+		}
+	};
+
+	@BeforeEach
+	void init() {
+		dungeon = new Dungeon(10, 10);
+		dungeon.addEntity((player = new Player(dungeon, 1, 1)));
+		dungeon.setPlayer(player);
+		Create = new TestUtils(dungeon);
+		changes = "";
+	}
+
+	@Test
+	void headlessByDefault() {
+		assertEquals(null, player.getObserver());
+		player.moveRight();
+		assertEquals(2, player.getX());
+	}
+
+	@Test
+	void position() {
+		player.setObserver(observer);
+		player.moveRight();
+		player.moveDown();
+		player.moveLeft();
+
+		// Detached observers are not notified
+		player.setObserver(null);
+		player.moveLeft();
+
+		assertEquals("p2,1 p2,2 p1,2 ", changes);
+	}
+
+	@Test
+	void visibility() {
+		Treasure treasure = Create.Treasure(2, 1);
+		treasure.setObserver(observer);
+
+		player.moveRight();
+		treasure.hide();
+		assertEquals("hidden ", changes);
+	}
+
+	@Test
+	void onlyChangesReported() {
+		Door door = Create.Door(2, 1);
+		door.setObserver(observer);
+
+		door.open();
+		door.open();
+		door.close();
+		assertEquals("state state ", changes);
+	}
+}
@@ -2,6 +2,8 @@ package unsw.dungeon.tests;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -77,4 +79,63 @@ public class EventEmitterTest {
 		assertEquals(3, counter);
 
 	}
+
+	@Test
+	void unregisterDuringEmit() {
+		emitter.register((a, b) -> {
+			counter++;
+			emitter.unregister(func);
+		});
+		emitter.register(func);
+
+		// func still runs in the emit that unregistered it
+		emitter.emit(event);
+		assertEquals(2, counter);
+
+		emitter.emit(event);
+		assertEquals(3, counter);
+	}
+
+	@Test
+	void registerDuringEmit() {
+		emitter.register((a, b) -> {
+			emitter.register(func);
+		});
+
+		// func only runs from the next emit
+		emitter.emit(event);
+		assertEquals(0, counter);
+
+		emitter.emit(event);
+		assertEquals(1, counter);
+	}
+
+	@Test
+	void manySubscribers() {
+		ArrayList<EventSAM<EventEmitterTest, DummyEvent>> subs = new ArrayList<EventSAM<EventEmitterTest, DummyEvent>>();
+		for (int i = 0; i < 1000; i++) {
+			EventSAM<EventEmitterTest, DummyEvent> sub = (a, b) -> {
+				counter++;
+			};
+			subs.add(sub);
+			emitter.register(sub);
+			emitter.register(sub);
+		}
+
+		emitter.emit(event);
+		assertEquals(1000, counter);
+
+		// Remove all but the last subscriber
+		for (int i = 0; i < 999; i++) {
+			emitter.unregister(subs.get(i));
+		}
+
+		emitter.emit(event);
+		assertEquals(1001, counter);
+
+		// Re-register after compaction
+		emitter.register(subs.get(0));
+		emitter.emit(event);
+		assertEquals(1003, counter);
+	}
 }
@@ -0,0 +1,202 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.FlowField;
+import unsw.dungeon.entity.Boulder;
+import unsw.dungeon.entity.Door;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Player;
+
+public class FlowFieldTest {
+	private Player player;
+	private Dungeon dungeon;
+	private TestUtils Create;
+
+	@BeforeEach
+	void init() {
+		dungeon = new Dungeon(10, 10);
+		dungeon.addEntity((player = new Player(dungeon, 1, 3)));
+		dungeon.setPlayer(player);
+		Create = new TestUtils(dungeon);
+	}
+
+	@Test
+	void distances() {
+		Create.Wall(2, 3);
+		FlowField field = dungeon.getFlowField();
+
+		assertEquals(0, field.getDistance(1, 3));
+		assertEquals(1, field.getDistance(1, 4));
+		assertEquals(4, field.getDistance(3, 3));
+		assertEquals(FlowField.UNREACHABLE, field.getDistance(2, 3));
+		assertEquals(FlowField.UNREACHABLE, field.getDistance(-1, 3));
+	}
+
+	@Test
+	void aroundWall() {
+		// A wall between the enemy and the player, with a gap at the bottom
+		for (int y = 0; y < 8; y++) {
+			Create.Wall(3, y);
+		}
+		Create.Enemy(5, 3);
+
+		// A greedy step would leave the enemy stuck against the wall
+		for (int i = 0; i < 20 && player.isAlive(); i++) {
+			if (i % 2 == 0) {
+				player.moveDown();
+			} else {
+				player.moveUp();
+			}
+		}
+
+		assertFalse(player.isAlive());
+	}
+
+	@Test
+	void greedyInOpenGround() {
+		Enemy enemy = Create.Enemy(6, 7);
+
+		// Horizontal steps first, as before
+		player.moveRight();
+		assertEquals(5, enemy.getX());
+		assertEquals(7, enemy.getY());
+
+		player.moveLeft();
+		assertEquals(4, enemy.getX());
+		assertEquals(7, enemy.getY());
+	}
+
+	@Test
+	void fleeFromWall() {
+		player.setXY(2, 3);
+		Create.Wall(5, 3);
+		Enemy enemy = Create.Enemy(4, 3);
+		enemy.setFlee();
+
+		// A greedy step would leave the enemy stuck against the wall
+		player.moveLeft();
+		assertTrue(enemy.getY() != 3);
+	}
+
+	@Test
+	void oneSearchPerTurn() {
+		for (int i = 0; i < 50; i++) {
+			Create.Enemy(5 + i % 5, i / 5);
+		}
+		FlowField field = dungeon.getFlowField();
+
+		int before = field.getUpdates();
+		player.moveDown();
+		assertEquals(before + 1, field.getUpdates());
+		player.moveUp();
+		assertEquals(before + 2, field.getUpdates());
+	}
+
+	@Test
+	void repairAfterDoor() {
+		dungeon = new Dungeon(64, 64);
+		dungeon.addEntity((player = new Player(dungeon, 1, 3)));
+		dungeon.setPlayer(player);
+		Create = new TestUtils(dungeon);
+
+		// A closet at (8, 5)
+		Create.Wall(8, 4);
+		Create.Wall(8, 6);
+		Create.Wall(9, 5);
+		Door door = Create.Door(7, 5);
+		FlowField field = dungeon.getFlowField();
+
+		assertEquals(FlowField.UNREACHABLE, field.getDistance(8, 5));
+		int updates = field.getUpdates();
+
+		door.open();
+		assertEquals(9, field.getDistance(8, 5));
+		assertEquals(8, field.getDistance(7, 5));
+		door.close();
+		assertEquals(FlowField.UNREACHABLE, field.getDistance(8, 5));
+
+		// Repaired without searching the whole field again
+		assertEquals(updates, field.getUpdates());
+		assertEquals(2, field.getRepairs());
+	}
+
+	@Test
+	void searchAfterLargeChange() {
+		for (int y = 0; y < 10; y++) {
+			if (y != 5) {
+				Create.Wall(4, y);
+			}
+		}
+		Door door = Create.Door(4, 5);
+		FlowField field = dungeon.getFlowField();
+
+		assertEquals(FlowField.UNREACHABLE, field.getDistance(8, 5));
+		int updates = field.getUpdates();
+
+		// Half the dungeon is behind the door
+		door.open();
+		assertEquals(9, field.getDistance(8, 5));
+		assertEquals(updates + 1, field.getUpdates());
+	}
+
+	@Test
+	void repairMatchesSearch() {
+		dungeon = new Dungeon(30, 30);
+		dungeon.addEntity((player = new Player(dungeon, 15, 15)));
+		dungeon.setPlayer(player);
+		Create = new TestUtils(dungeon);
+
+		Random random = new Random(12);
+		ArrayList<Door> doors = new ArrayList<>();
+		ArrayList<Boulder> boulders = new ArrayList<>();
+		for (int y = 0; y < 30; y++) {
+			for (int x = 0; x < 30; x++) {
+				int roll = random.nextInt(10);
+				if (x == 15 && y == 15) {
+					continue;
+				} else if (roll < 2) {
+					Create.Wall(x, y);
+				} else if (roll < 4) {
+					doors.add(Create.Door(x, y));
+				} else if (roll < 5) {
+					boulders.add(Create.Boulder(x, y));
+				}
+			}
+		}
+
+		FlowField field = dungeon.getFlowField();
+		field.getDistance(0, 0);
+
+		for (int round = 0; round < 50; round++) {
+			for (int k = 0; k < 1 + random.nextInt(4); k++) {
+				Door door = doors.get(random.nextInt(doors.size()));
+				door.setOpened(!door.getOpen());
+			}
+			Boulder boulder = boulders.get(random.nextInt(boulders.size()));
+			if (random.nextBoolean()) {
+				boulder.moveLeft();
+			} else {
+				boulder.moveUp();
+			}
+
+			FlowField fresh = new FlowField(dungeon, FlowField.DEFAULT_RADIUS);
+			for (int y = 0; y < 30; y++) {
+				for (int x = 0; x < 30; x++) {
+					assertEquals(fresh.getDistance(x, y), field.getDistance(x, y));
+				}
+			}
+		}
+
+		assertTrue(field.getRepairs() > 0);
+	}
+}
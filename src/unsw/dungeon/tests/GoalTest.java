@@ -0,0 +1,128 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Switch;
+import unsw.dungeon.goals.Goal;
+import unsw.dungeon.goals.GoalComposite;
+import unsw.dungeon.goals.GoalStrategy;
+import unsw.dungeon.goals.GoalStrategyAND;
+import unsw.dungeon.goals.GoalStrategyBoulder;
+import unsw.dungeon.goals.GoalStrategyEnemy;
+import unsw.dungeon.goals.GoalStrategyTreasure;
+
+public class GoalTest {
+	private Player player;
+	private Dungeon dungeon;
+	private TestUtils Create;
+
+	private int evaluations;
+	private int finishes;
+
+	/**
+	 * Count how often a strategy is evaluated
+	 */
+	private GoalStrategy counted(GoalStrategy strategy) {
+		return new GoalStrategy() {
+			@Override
+			public boolean achieved(Goal g) {
+				evaluations++;
+				return strategy.achieved(g);
+			}
+
+			@Override
+			public void attach(Goal g) {
+				strategy.attach(g);
+			}
+
+			@Override
+			public String getInfoText() {
+				return strategy.getInfoText();
+			}
+		};
+	}
+
+	@BeforeEach
+	void init() {
+		dungeon = new Dungeon(10, 10);
+		dungeon.addEntity((player = new Player(dungeon, 1, 1)));
+		dungeon.setPlayer(player);
+		Create = new TestUtils(dungeon);
+
+		evaluations = 0;
+		finishes = 0;
+		dungeon.finishEvent.register(() -> finishes++);
+	}
+
+	@Test
+	void unrelatedMovesNotEvaluated() {
+		Create.Treasure(5, 5);
+		Create.Treasure(1, 3);
+		Goal goal = new Goal(dungeon, counted(new GoalStrategyTreasure()));
+		dungeon.setGoal(goal);
+		Create.PostLoad();
+
+		player.moveRight();
+		player.moveDown();
+		player.moveLeft();
+		assertEquals(1, evaluations);
+
+		// Picking up treasure re-evaluates the goal
+		player.moveDown();
+		assertEquals(2, evaluations);
+	}
+
+	@Test
+	void dirtyOnlyAlongChangedBranch() {
+		GoalComposite goals = new GoalComposite(dungeon, new GoalStrategyAND());
+		Goal boulders = new Goal(dungeon, counted(new GoalStrategyBoulder()));
+		Goal enemies = new Goal(dungeon, new GoalStrategyEnemy());
+		goals.addSubGoal(boulders);
+		goals.addSubGoal(enemies);
+
+		Switch sw = Create.Switch(2, 2);
+		Enemy enemy = Create.Enemy(5, 5);
+
+		assertFalse(goals.check());
+		assertFalse(goals.isDirty());
+		assertEquals(1, evaluations);
+
+		enemy.kill();
+		assertFalse(boulders.isDirty());
+		assertTrue(enemies.isDirty());
+		assertTrue(goals.isDirty());
+
+		assertFalse(goals.check());
+		assertEquals(1, evaluations);
+
+		sw.activate();
+		assertTrue(goals.check());
+		assertEquals(2, evaluations);
+	}
+
+	@Test
+	void finishOnce() {
+		Create.Treasure(2, 1);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyTreasure()));
+		Create.PostLoad();
+
+		player.moveDown();
+		assertEquals(0, finishes);
+
+		player.moveUp();
+		player.moveRight();
+		assertEquals(1, finishes);
+
+		player.moveRight();
+		player.moveDown();
+		assertEquals(1, finishes);
+	}
+}
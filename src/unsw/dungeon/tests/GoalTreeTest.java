@@ -0,0 +1,69 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.goals.Goal;
+import unsw.dungeon.goals.GoalComposite;
+import unsw.dungeon.goals.GoalStrategyAND;
+import unsw.dungeon.goals.GoalStrategyExit;
+import unsw.dungeon.goals.GoalStrategyTreasure;
+import unsw.dungeon.goals.GoalTree;
+
+public class GoalTreeTest {
+	private Player player;
+	private Dungeon dungeon;
+	private TestUtils Create;
+
+	private GoalTree tree;
+	private String changes;
+
+	@BeforeEach
+	void init() {
+		dungeon = new Dungeon(10, 10);
+		dungeon.addEntity((player = new Player(dungeon, 1, 1)));
+		dungeon.setPlayer(player);
+		Create = new TestUtils(dungeon);
+
+		Create.Treasure(2, 1);
+		Create.Treasure(3, 1);
+		Create.Treasure(8, 8);
+		Create.Exit(1, 2);
+
+		GoalComposite goals = new GoalComposite(dungeon, new GoalStrategyAND());
+		goals.addSubGoal(new Goal(dungeon, new GoalStrategyTreasure()));
+		goals.addSubGoal(new Goal(dungeon, new GoalStrategyExit()));
+		dungeon.setGoal(goals);
+		Create.PostLoad();
+
+		goals.check();
+		tree = new GoalTree(goals);
+		changes = "";
+		tree.lineChanged.register((t, e) -> changes += e.index + ":" + e.text.trim() + ";");
+	}
+
+	@Test
+	void lines() {
+		assertEquals(3, tree.size());
+		assertEquals("[ ] AND (0/2)", tree.getLine(0));
+		assertEquals("  [ ] Collect all treasure (0/3)", tree.getLine(1));
+		assertEquals("  [ ] Reach an exit", tree.getLine(2));
+	}
+
+	@Test
+	void onlyChangedLines() {
+		player.moveRight();
+		assertEquals("1:[ ] Collect all treasure (1/3);", changes);
+
+		changes = "";
+		player.moveLeft();
+		assertEquals("", changes);
+
+		player.moveDown();
+		assertEquals("2:[x] Reach an exit;0:[ ] AND (1/2);", changes);
+	}
+}
@@ -0,0 +1,96 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.HierarchicalPlanner;
+import unsw.dungeon.entity.Door;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.enemy.HierarchicalBehaviour;
+
+public class HierarchicalPlannerTest {
+	private Player player;
+	private Dungeon dungeon;
+	private TestUtils Create;
+	private Door door;
+
+	@BeforeEach
+	void init() {
+		dungeon = new Dungeon(64, 64);
+		dungeon.addEntity((player = new Player(dungeon, 5, 5)));
+		dungeon.setPlayer(player);
+		Create = new TestUtils(dungeon);
+
+		// A wall across the dungeon, with a door at the bottom
+		for (int y = 0; y < 63; y++) {
+			Create.Wall(20, y);
+		}
+		door = Create.Door(20, 63);
+	}
+
+	@Test
+	void noRoute() {
+		HierarchicalPlanner planner = dungeon.getPlanner();
+		assertNull(planner.plan(40, 5, 5, 5));
+	}
+
+	@Test
+	void routeThroughDoor() {
+		door.open();
+		HierarchicalPlanner planner = dungeon.getPlanner();
+
+		int[] route = planner.plan(40, 5, 5, 5);
+		assertEquals(5, route[route.length - 2]);
+		assertEquals(5, route[route.length - 1]);
+
+		// The door is in the bottom row of clusters
+		boolean throughDoor = false;
+		for (int k = 0; k < route.length; k += 2) {
+			throughDoor |= route[k + 1] >= 48;
+		}
+		assertTrue(throughDoor);
+	}
+
+	@Test
+	void chase() {
+		door.open();
+		Enemy enemy = Create.Enemy(40, 5);
+		enemy.setRoam(new HierarchicalBehaviour(enemy));
+
+		for (int i = 0; i < 300 && player.isAlive(); i++) {
+			if (i % 2 == 0) {
+				player.moveDown();
+			} else {
+				player.moveUp();
+			}
+		}
+
+		assertFalse(player.isAlive());
+	}
+
+	@Test
+	void cachedRoute() {
+		door.open();
+		Enemy enemy = Create.Enemy(40, 5);
+		enemy.setRoam(new HierarchicalBehaviour(enemy));
+		HierarchicalPlanner planner = dungeon.getPlanner();
+
+		// The player stays in their cluster, so the route is kept
+		player.moveDown();
+		player.moveUp();
+		player.moveDown();
+		assertEquals(1, planner.getSearches());
+
+		// Closing the door changes the map
+		door.close();
+		player.moveUp();
+		assertEquals(2, planner.getSearches());
+	}
+}
@@ -0,0 +1,228 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Door;
+import unsw.dungeon.entity.Key;
+import unsw.dungeon.goals.Goal;
+import unsw.dungeon.goals.GoalStrategyBoulder;
+import unsw.dungeon.goals.GoalStrategyExit;
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.replay.Journal;
+import unsw.dungeon.solver.Hint;
+import unsw.dungeon.solver.HintEngine;
+
+public class HintEngineTest {
+	private ArrayList<Hint> hints;
+
+	@BeforeEach
+	void init() {
+		hints = new ArrayList<>();
+	}
+
+	private HintEngine engine(Dungeon dungeon) {
+		HintEngine engine = new HintEngine(dungeon);
+		engine.hintEvent.register((e, hint) -> hints.add(hint));
+		return engine;
+	}
+
+	private Hint request(HintEngine engine) throws Exception {
+		int count = hints.size();
+		engine.request().get(10, TimeUnit.SECONDS);
+		assertEquals(count + 1, hints.size());
+		return hints.get(count);
+	}
+
+	private void play(Dungeon dungeon, HintEngine engine, Input input) {
+		input.apply(dungeon.getPlayer());
+		engine.moved(input);
+	}
+
+	/**
+	 * A key to the left of the player opens a door on the way to the exit
+	 */
+	private Dungeon keyAndDoor() {
+		Dungeon dungeon = TestUtils.create(6, 1, 2, 0);
+		TestUtils Create = new TestUtils(dungeon);
+		Key key = Create.Key(0, 0);
+		key.setID(3);
+		Door door = Create.Door(3, 0);
+		door.setID(3);
+		Create.Exit(5, 0);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyExit()));
+		Create.PostLoad();
+		return dungeon;
+	}
+
+	/**
+	 * A room too big to search in a test, with no way to the exit
+	 */
+	private Dungeon walledOff() {
+		Dungeon dungeon = TestUtils.create(12, 12, 5, 5);
+		TestUtils Create = new TestUtils(dungeon);
+		for (int i = 2; i < 9; i += 3) {
+			Create.Boulder(i, 3);
+			Create.Boulder(i, 7);
+		}
+		for (int y = 0; y < 12; y++) {
+			Create.Wall(10, y);
+		}
+		Create.Exit(11, 0);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyExit()));
+		Create.PostLoad();
+		return dungeon;
+	}
+
+	@Test
+	void nextMove() throws Exception {
+		Dungeon dungeon = this.keyAndDoor();
+		HintEngine engine = this.engine(dungeon);
+
+		Hint hint = this.request(engine);
+		assertTrue(hint.isFound());
+		assertFalse(hint.isReused());
+		assertEquals(Input.LEFT, hint.getMove());
+		assertEquals(7, hint.getMoves().size());
+		assertTrue(engine.isCurrent(hint));
+
+		// Following the hint, the rest of it is reused
+		this.play(dungeon, engine, Input.LEFT);
+		assertFalse(engine.isCurrent(hint));
+		hint = this.request(engine);
+		assertTrue(hint.isReused());
+		assertEquals(Input.LEFT, hint.getMove());
+		assertEquals(6, hint.getMoves().size());
+
+		// Leaving it, the game is searched again
+		this.play(dungeon, engine, Input.RIGHT);
+		hint = this.request(engine);
+		assertFalse(hint.isReused());
+		assertEquals(Input.LEFT, hint.getMove());
+		assertEquals(7, hint.getMoves().size());
+		engine.shutdown();
+	}
+
+	@Test
+	void followsUndo() throws Exception {
+		Dungeon dungeon = this.keyAndDoor();
+		Journal journal = new Journal(dungeon);
+		HintEngine engine = this.engine(dungeon);
+		for (int i = 0; i < 2; i++) {
+			journal.play(Input.LEFT);
+			engine.moved(Input.LEFT);
+		}
+		assertEquals(Input.RIGHT, this.request(engine).getMove());
+
+		// Gone back a turn, the game is on a dungeon the journal rebuilt
+		Dungeon undone = journal.undo();
+		engine = engine.follow(undone, journal.getTracked(), journal.getTurn());
+		engine.hintEvent.register((e, hint) -> hints.add(hint));
+		assertEquals(1, engine.getTurn());
+
+		Hint hint = this.request(engine);
+		assertTrue(engine.isCurrent(hint));
+		assertFalse(hint.isReused());
+		assertEquals(Input.LEFT, hint.getMove());
+		assertEquals(6, hint.getMoves().size());
+
+		// Following it from there, the rest of it is reused
+		journal.play(Input.LEFT);
+		engine.moved(Input.LEFT);
+		hint = this.request(engine);
+		assertTrue(hint.isReused());
+		assertEquals(Input.RIGHT, hint.getMove());
+		assertEquals(5, hint.getMoves().size());
+		engine.shutdown();
+	}
+
+	@Test
+	void playedToTheEnd() throws Exception {
+		Dungeon dungeon = this.keyAndDoor();
+		HintEngine engine = this.engine(dungeon);
+
+		for (Input input = this.request(engine).getMove(); input != null; input = this.request(engine).getMove()) {
+			this.play(dungeon, engine, input);
+		}
+		assertTrue(dungeon.isFinished());
+		assertEquals(7, engine.getTurn());
+		assertTrue(hints.get(hints.size() - 1).getMoves().isEmpty());
+		engine.shutdown();
+	}
+
+	@Test
+	void unwinnable() throws Exception {
+		Dungeon dungeon = TestUtils.create(3, 1, 0, 0);
+		TestUtils Create = new TestUtils(dungeon);
+		Create.Wall(1, 0);
+		Create.Exit(2, 0);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyExit()));
+		Create.PostLoad();
+		HintEngine engine = this.engine(dungeon);
+
+		Hint hint = this.request(engine);
+		assertTrue(hint.isUnwinnable());
+		assertFalse(hint.isReused());
+		assertNull(hint.getMove());
+
+		// Still unwinnable, without searching again
+		this.play(dungeon, engine, Input.RIGHT);
+		hint = this.request(engine);
+		assertTrue(hint.isUnwinnable());
+		assertTrue(hint.isReused());
+		engine.shutdown();
+	}
+
+	@Test
+	void stuckBoulder() throws Exception {
+		Dungeon dungeon = TestUtils.create(5, 5, 2, 2);
+		TestUtils Create = new TestUtils(dungeon);
+		Create.Boulder(2, 1);
+		Create.Switch(3, 3);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyBoulder()));
+		Create.PostLoad();
+		HintEngine engine = this.engine(dungeon);
+		assertFalse(this.request(engine).isUnwinnable());
+
+		// Against the edge, the boulder can't reach the switch
+		this.play(dungeon, engine, Input.UP);
+		Hint hint = this.request(engine);
+		assertTrue(hint.isUnwinnable());
+		assertTrue(hint.isReused());
+		engine.shutdown();
+	}
+
+	@Test
+	void timeLimit() throws Exception {
+		HintEngine engine = this.engine(this.walledOff());
+		engine.setTimeLimit(TimeUnit.MILLISECONDS.toNanos(50));
+
+		Hint hint = this.request(engine);
+		assertFalse(hint.isFound());
+		assertFalse(hint.isUnwinnable());
+		engine.shutdown();
+	}
+
+	@Test
+	void cancelledByMove() throws Exception {
+		Dungeon dungeon = this.walledOff();
+		HintEngine engine = this.engine(dungeon);
+		engine.setTimeLimit(TimeUnit.MINUTES.toNanos(10));
+
+		Future<?> search = engine.request();
+		this.play(dungeon, engine, Input.LEFT);
+		search.get(10, TimeUnit.SECONDS);
+		assertTrue(hints.isEmpty());
+		engine.shutdown();
+	}
+}
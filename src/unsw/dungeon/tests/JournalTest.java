@@ -0,0 +1,152 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonStorage;
+import unsw.dungeon.Region;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Wall;
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.replay.Journal;
+import unsw.dungeon.replay.Recording;
+
+public class JournalTest {
+
+	@Test
+	void undoAndRedo() throws IOException {
+		for (String level : new String[] { "boulders.json", "advanced.json", "test.json" }) {
+			Journal journal = new Journal(TestUtils.load(level, 3), 8, 2, 4);
+			long[] fingerprints = TestUtils.play(journal, new Random(3), 200);
+			assertFalse(journal.canRedo());
+
+			// Back through detailed and compacted segments
+			while (journal.canUndo()) {
+				Dungeon dungeon = journal.undo();
+				assertEquals(level + " turn " + journal.getTurn(), fingerprints[journal.getTurn()],
+						Recording.fingerprint(dungeon));
+			}
+
+			while (journal.canRedo()) {
+				Dungeon dungeon = journal.redo();
+				assertEquals(level + " turn " + journal.getTurn(), fingerprints[journal.getTurn()],
+						Recording.fingerprint(dungeon));
+			}
+			assertEquals(200, journal.getTurn());
+		}
+	}
+
+	@Test
+	void playAfterUndo() throws IOException {
+		Journal journal = new Journal(TestUtils.load("test.json", 5), 8, 2, 4);
+		Random random = new Random(5);
+		TestUtils.play(journal, random, 100);
+
+		for (int turn : new int[] { 95, 40, 3, 0 }) {
+			journal.seek(turn);
+			TestUtils.play(journal, random, 20);
+			assertEquals(turn + 20, journal.size());
+			assertFalse(journal.canRedo());
+
+			// The journal matches a straight replay of its inputs
+			Dungeon straight = TestUtils.load("test.json", 5);
+			for (int i = 0; i < journal.size(); i++) {
+				journal.get(i).apply(straight.getPlayer());
+			}
+			assertEquals(Recording.fingerprint(straight), Recording.fingerprint(journal.getDungeon()));
+			journal.undo();
+			assertEquals(Recording.fingerprint(straight), Recording.fingerprint(journal.redo()));
+		}
+	}
+
+	@Test
+	void boundedCheckpoints() throws IOException {
+		Journal journal = new Journal(TestUtils.load("boulders.json", 1), 16, 2, 8);
+		long[] fingerprints = TestUtils.play(journal, new Random(1), 3000);
+		assertTrue(journal.getCheckpoints() <= 2 + 8 + 1);
+
+		for (int turn : new int[] { 0, 1, 777, 2999, 1500 }) {
+			assertEquals(fingerprints[turn], Recording.fingerprint(journal.seek(turn)));
+		}
+	}
+
+	@Test
+	void packedWallsStayPacked() {
+		Dungeon dungeon = new Dungeon(200, 200, DungeonStorage.PACKED);
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+		for (int x = 0; x < 200; x++) {
+			dungeon.addEntity(new Wall(dungeon, x, 0));
+		}
+		assertEquals(1, dungeon.getUnpackedEntities().size());
+
+		Journal journal = new Journal(dungeon);
+		assertEquals(1, dungeon.getUnpackedEntities().size());
+		journal.play(Input.UP);
+		journal.play(Input.RIGHT);
+		Dungeon undone = journal.undo();
+		assertEquals(1, undone.getUnpackedEntities().size());
+		assertTrue(undone.isObstacleAt(1, 0));
+		assertEquals(1, undone.getPlayer().getX());
+		assertEquals(2, journal.redo().getPlayer().getX());
+	}
+
+	@Test
+	void chunkedWallsStayChunked() {
+		Dungeon dungeon = new Dungeon(100000, 100000, (Region region) -> {
+			region.setWall(region.getX(), region.getY());
+		}, 9 * 600);
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+		int resident = dungeon.getResidentRegions();
+
+		Journal journal = new Journal(dungeon, 8, 2, 4);
+		for (int i = 0; i < 20; i++) {
+			journal.play(Input.RIGHT);
+		}
+		Dungeon undone = journal.seek(5);
+		assertEquals(6, undone.getPlayer().getX());
+		assertEquals(resident, undone.getResidentRegions());
+		assertTrue(undone.isObstacleAt(0, 0));
+		assertTrue(dungeon.getResidentRegions() <= 9);
+	}
+
+	@Test
+	void killedEnemy() {
+		Dungeon dungeon = new Dungeon(8, 3);
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+		TestUtils Create = new TestUtils(dungeon);
+		Create.Sword(2, 1);
+		Enemy enemy = Create.Enemy(6, 1);
+		Create.PostLoad();
+		dungeon.getActivity().setRadius(100);
+
+		Journal journal = new Journal(dungeon);
+		for (int i = 0; i < 5 && enemy.isAlive(); i++) {
+			journal.play(Input.RIGHT);
+		}
+		assertFalse(enemy.isAlive());
+		int killed = journal.getTurn();
+		long fingerprint = Recording.fingerprint(dungeon);
+
+		// Rebuilt past the kill, the journal still tracks the enemy
+		journal.undo();
+		assertEquals(fingerprint, Recording.fingerprint(journal.redo()));
+		journal.play(Input.LEFT);
+		journal.seek(killed);
+		assertEquals(fingerprint, Recording.fingerprint(journal.getDungeon()));
+		assertEquals(1, journal.getDungeon().getGoalCounters().getDefeatedEnemies());
+	}
+}
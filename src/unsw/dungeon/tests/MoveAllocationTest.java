@@ -0,0 +1,60 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonLoader;
+import unsw.dungeon.entity.Player;
+
+public class MoveAllocationTest {
+
+	private static final int WARMUP = 20000;
+	private static final int MOVES = 10000;
+
+	private Player player;
+
+	@BeforeEach
+	void init() throws FileNotFoundException {
+		Dungeon dungeon = new DungeonLoader("maze.json").load();
+		player = dungeon.getPlayer();
+	}
+
+	/**
+	 * Walk in a loop from the start of maze.json, including moves into walls
+	 */
+	private void cycle(int moves) {
+		for (int i = 0; i < moves; i += 4) {
+			player.moveRight();
+			player.moveDown();
+			player.moveLeft();
+			player.moveUp();
+		}
+	}
+
+	@Test
+	void movesDoNotAllocate() {
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		cycle(WARMUP);
+
+		long before = threads.getThreadAllocatedBytes(thread);
+		cycle(MOVES);
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+		assertEquals(1, player.getX());
+		assertEquals(1, player.getY());
+		// Reading the counter may allocate a little itself, but a single object per
+		// move would be at least 16 bytes for each of MOVES
+		assertTrue(allocated + " bytes allocated", allocated < 1024);
+	}
+}
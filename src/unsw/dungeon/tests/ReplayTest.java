@@ -0,0 +1,146 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonLoader;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Portal;
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.replay.Recording;
+import unsw.dungeon.replay.Replayer;
+
+public class ReplayTest {
+
+	/**
+	 * Play random inputs on a level, recording them
+	 */
+	private Recording play(String level, long seed, int inputs) throws IOException {
+		DungeonLoader loader = new DungeonLoader(level);
+		loader.setSeed(seed);
+		Dungeon dungeon = loader.load();
+		Recording recording = new Recording(level, dungeon.getSeed());
+
+		Random random = new Random(seed);
+		Input[] values = Input.values();
+		for (int i = 0; i < inputs; i++) {
+			Input input = values[random.nextInt(values.length)];
+			recording.add(input);
+			input.apply(dungeon.getPlayer());
+		}
+
+		recording.finish(dungeon);
+		return recording;
+	}
+
+	@Test
+	void packedInputs() {
+		Recording recording = new Recording("test.json", 1);
+		Input[] values = Input.values();
+		for (int i = 0; i < 1000; i++) {
+			recording.add(values[(i * 7) % values.length]);
+		}
+
+		assertEquals(1000, recording.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(values[(i * 7) % values.length], recording.get(i));
+		}
+	}
+
+	@Test
+	void truncate() throws IOException {
+		Recording recording = play("test.json", 42, 100);
+		recording.truncate(37);
+		assertEquals(37, recording.size());
+		assertFalse(recording.isFinished());
+
+		// Inputs added after the truncation don't mix with the ones forgotten
+		for (int i = 0; i < 63; i++) {
+			recording.add(Input.UP);
+		}
+		assertEquals(100, recording.size());
+		for (int i = 37; i < 100; i++) {
+			assertEquals(Input.UP, recording.get(i));
+		}
+	}
+
+	@Test
+	void saveAndReplay() throws IOException {
+		Recording recording = play("test.json", 42, 500);
+
+		File file = File.createTempFile("replay", ".rec");
+		file.deleteOnExit();
+		recording.save(file);
+		Recording loaded = Recording.load(file);
+
+		assertEquals("test.json", loaded.getLevel());
+		assertEquals(42, loaded.getSeed());
+		assertEquals(500, loaded.size());
+		assertEquals(recording.getFingerprint(), loaded.getFingerprint());
+		assertTrue(new Replayer().verify(loaded));
+	}
+
+	@Test
+	void differentInputs() throws IOException {
+		Recording right = new Recording("maze.json", 7);
+		Recording down = new Recording("maze.json", 7);
+		for (int i = 0; i < 10; i++) {
+			right.add(Input.RIGHT);
+			down.add(Input.DOWN);
+		}
+		right.finish(new Replayer().replay(right));
+
+		Dungeon dungeon = new Replayer().replay(down);
+		assertTrue(Recording.fingerprint(dungeon) != right.getFingerprint());
+	}
+
+	@Test
+	void seededPortals() {
+		int[] first = this.teleports(5);
+		int[] second = this.teleports(5);
+		for (int i = 0; i < first.length; i++) {
+			assertEquals(first[i], second[i]);
+		}
+
+		// Every destination is used
+		boolean[] used = new boolean[3];
+		for (int x : first) {
+			used[x / 3 - 1] = true;
+		}
+		assertFalse(!used[0] || !used[1] || !used[2]);
+	}
+
+	/**
+	 * Walk through a portal with three destinations many times
+	 */
+	private int[] teleports(long seed) {
+		Dungeon dungeon = new Dungeon(12, 12);
+		Player player = new Player(dungeon, 1, 1);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+		dungeon.setSeed(seed);
+
+		TestUtils Create = new TestUtils(dungeon);
+		Create.Portal(2, 1).setID(1);
+		for (int x = 3; x <= 9; x += 3) {
+			Create.Portal(x, 10).setID(1);
+		}
+		Create.PostLoad();
+
+		int[] destinations = new int[30];
+		for (int i = 0; i < destinations.length; i++) {
+			player.place(1, 1);
+			player.moveRight();
+			destinations[i] = player.getX();
+		}
+		return destinations;
+	}
+}
@@ -0,0 +1,106 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.Boulder;
+import unsw.dungeon.entity.Door;
+import unsw.dungeon.entity.Enemy;
+import unsw.dungeon.entity.Player;
+import unsw.dungeon.entity.Saw;
+
+public class SawTrackTest {
+	private Player player;
+	private Dungeon dungeon;
+	private TestUtils Create;
+
+	@BeforeEach
+	void init() {
+		dungeon = new Dungeon(10, 10);
+		dungeon.addEntity((player = new Player(dungeon, 1, 1)));
+		dungeon.setPlayer(player);
+		Create = new TestUtils(dungeon);
+	}
+
+	@Test
+	void lookahead() {
+		Saw saw = Create.saw(5, 5, "H");
+		Create.Wall(2, 5);
+		Create.Wall(8, 5);
+
+		int[] expected = new int[25];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = saw.getXAfter(i);
+			assertEquals(5, saw.getYAfter(i));
+		}
+
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], saw.getX());
+			if (i % 2 == 0) {
+				player.moveDown();
+			} else {
+				player.moveUp();
+			}
+		}
+
+		// Back and forth between x = 3 and x = 7
+		assertEquals(4, saw.getX());
+		assertEquals(3, saw.getXAfter(1));
+		assertEquals(4, saw.getXAfter(2));
+		assertEquals(7, saw.getXAfter(5));
+	}
+
+	@Test
+	void boulderShortensTrack() {
+		Saw saw = Create.saw(2, 5, "V");
+		Create.Wall(2, 3);
+		Create.Wall(2, 8);
+		Create.Boulder(3, 6);
+
+		// Track from y = 4 to y = 7
+		assertEquals(4, saw.getYAfter(1));
+		assertEquals(7, saw.getYAfter(4));
+
+		// Push the boulder onto the track at y = 6
+		player.place(4, 6);
+		player.moveLeft();
+		assertEquals(2, dungeon.getEntities(Boulder.class).get(0).getX());
+		assertEquals(4, saw.getY());
+		assertEquals(5, saw.getYAfter(1));
+		assertEquals(4, saw.getYAfter(2));
+	}
+
+	@Test
+	void doorLengthensTrack() {
+		Saw saw = Create.saw(5, 5, "H");
+		Create.Wall(4, 5);
+		Door door = Create.Door(6, 5);
+
+		// Boxed in
+		assertEquals(5, saw.getXAfter(1));
+		assertEquals(1, dungeon.getSawTracks().size());
+
+		door.open();
+		assertEquals(6, saw.getXAfter(1));
+		assertEquals(9, saw.getXAfter(4));
+		assertEquals(8, saw.getXAfter(5));
+	}
+
+	@Test
+	void catchUpKillsEnemies() {
+		Saw saw = Create.saw(8, 5, "H");
+		Create.Wall(2, 5);
+		Enemy enemy = Create.Enemy(3, 5);
+
+		saw.catchUp(30);
+		assertFalse(enemy.isAlive());
+		assertEquals(saw.getXAfter(0), saw.getX());
+
+		// Track from x = 3 to the edge at x = 9, 12 moves round
+		assertEquals(4, saw.getX());
+	}
+}
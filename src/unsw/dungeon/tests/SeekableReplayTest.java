@@ -0,0 +1,123 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.replay.Keyframe;
+import unsw.dungeon.replay.Recording;
+import unsw.dungeon.replay.ReplayFile;
+import unsw.dungeon.replay.ReplayWriter;
+
+public class SeekableReplayTest {
+
+	/**
+	 * Random inputs that keep going the same way for a while, so the player gets
+	 * around the level
+	 */
+	private Input[] inputs(long seed, int size) {
+		Random random = new Random(seed);
+		Input[] values = Input.values();
+		Input[] inputs = new Input[size];
+		Input input = values[0];
+		for (int i = 0; i < size; i++) {
+			if (random.nextInt(4) == 0) {
+				input = values[random.nextInt(values.length)];
+			}
+			inputs[i] = input;
+		}
+		return inputs;
+	}
+
+	/**
+	 * Play a game while writing it to a replay file
+	 *
+	 * @return Fingerprint of the dungeon after each number of inputs
+	 */
+	private long[] write(File file, String level, long seed, Input[] inputs) throws IOException {
+		Dungeon dungeon = TestUtils.load(level, seed);
+		long[] fingerprints = new long[inputs.length + 1];
+
+		try (ReplayWriter writer = new ReplayWriter(file, level, dungeon, 16)) {
+			for (int i = 0; i < inputs.length; i++) {
+				fingerprints[i] = Recording.fingerprint(dungeon);
+				writer.add(inputs[i]);
+				inputs[i].apply(dungeon.getPlayer());
+			}
+		}
+		fingerprints[inputs.length] = Recording.fingerprint(dungeon);
+		return fingerprints;
+	}
+
+	@Test
+	void seek() throws IOException {
+		for (String level : new String[] { "test.json", "marking.json", "advanced_saw.json", "boulders.json" }) {
+			for (long seed = 1; seed <= 3; seed++) {
+				File file = File.createTempFile("replay", ".rpl");
+				file.deleteOnExit();
+				Input[] inputs = this.inputs(seed * 31, 300);
+				long[] fingerprints = this.write(file, level, seed, inputs);
+
+				try (ReplayFile replay = new ReplayFile(file)) {
+					assertEquals(level, replay.getLevel());
+					assertEquals(300, replay.size());
+					for (int i = 0; i < inputs.length; i++) {
+						assertEquals(inputs[i], replay.get(i));
+					}
+
+					// Forwards, backwards and into the middle of segments
+					Random random = new Random(seed);
+					for (int i = 0; i < 40; i++) {
+						int turn = random.nextInt(inputs.length + 1);
+						assertEquals(level + " turn " + turn, fingerprints[turn],
+								Recording.fingerprint(replay.seek(turn)));
+					}
+					assertEquals(fingerprints[inputs.length], Recording.fingerprint(replay.seek(inputs.length)));
+					assertTrue(replay.verify());
+				}
+			}
+		}
+	}
+
+	@Test
+	void parkedEntities() throws IOException {
+		Input[] inputs = this.inputs(5, 400);
+		Dungeon played = TestUtils.load("test.json", 9);
+		played.getActivity().setRadius(3);
+		List<Entity> tracked = Keyframe.track(played);
+
+		for (int turn = 0; turn < inputs.length; turn += 50) {
+			Keyframe keyframe = Keyframe.capture(played, tracked, turn);
+			Dungeon restored = TestUtils.load("test.json", 9);
+			restored.getActivity().setRadius(3);
+			keyframe.restore(restored, Keyframe.track(restored));
+			assertEquals(played.getActivity().getParked(), restored.getActivity().getParked());
+
+			// Both carry on the same
+			for (int i = turn; i < turn + 50; i++) {
+				inputs[i].apply(restored.getPlayer());
+				inputs[i].apply(played.getPlayer());
+				assertEquals("turn " + i, Recording.fingerprint(played), Recording.fingerprint(restored));
+			}
+		}
+	}
+
+	@Test
+	void notReplayFile() throws IOException {
+		File file = File.createTempFile("replay", ".rec");
+		file.deleteOnExit();
+		new Recording("test.json", 1).save(file);
+
+		assertThrows(IOException.class, () -> new ReplayFile(file).close());
+	}
+}
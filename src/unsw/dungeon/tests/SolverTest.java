@@ -0,0 +1,178 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonLoader;
+import unsw.dungeon.entity.Door;
+import unsw.dungeon.entity.Key;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.goals.Goal;
+import unsw.dungeon.goals.GoalStrategyBoulder;
+import unsw.dungeon.goals.GoalStrategyExit;
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.replay.Keyframe;
+import unsw.dungeon.solver.Heuristic;
+import unsw.dungeon.solver.Solution;
+import unsw.dungeon.solver.Solver;
+import unsw.dungeon.solver.TranspositionTable;
+import unsw.dungeon.solver.Zobrist;
+
+public class SolverTest {
+
+	private Dungeon load(String level) throws IOException {
+		DungeonLoader loader = new DungeonLoader(level);
+		loader.setVerbose(false);
+		return loader.load();
+	}
+
+	/**
+	 * Play a solution on a dungeon, checking it finishes on the last move
+	 */
+	private void check(Dungeon dungeon, Solution solution) {
+		List<Input> moves = solution.getMoves();
+		for (int i = 0; i < moves.size(); i++) {
+			assertFalse(dungeon.isFinished());
+			moves.get(i).apply(dungeon.getPlayer());
+		}
+		assertTrue(dungeon.isFinished());
+		assertTrue(dungeon.getPlayer().isAlive());
+	}
+
+	@Test
+	void boulderOntoSwitch() {
+		Dungeon dungeon = TestUtils.create(5, 3, 0, 1);
+		TestUtils Create = new TestUtils(dungeon);
+		Create.Boulder(1, 0);
+		Create.Switch(3, 0);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyBoulder()));
+		Create.PostLoad();
+
+		Solution solution = new Solver(dungeon).solve();
+		assertTrue(solution.isSolved());
+		assertEquals(List.of(Input.UP, Input.RIGHT, Input.RIGHT), solution.getMoves());
+		this.check(dungeon, solution);
+	}
+
+	@Test
+	void keyOpensDoor() {
+		Dungeon dungeon = TestUtils.create(6, 1, 2, 0);
+		TestUtils Create = new TestUtils(dungeon);
+		Key key = Create.Key(0, 0);
+		key.setID(3);
+		Door door = Create.Door(3, 0);
+		door.setID(3);
+		Create.Exit(5, 0);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyExit()));
+		Create.PostLoad();
+
+		Solution solution = new Solver(dungeon).solve();
+		assertEquals(7, solution.getMoves().size());
+		this.check(dungeon, solution);
+	}
+
+	@Test
+	void noSolution() {
+		// The boulder is stuck in the corner
+		Dungeon dungeon = TestUtils.create(3, 3, 1, 1);
+		TestUtils Create = new TestUtils(dungeon);
+		Create.Boulder(0, 0);
+		Create.Switch(2, 2);
+		dungeon.setGoal(new Goal(dungeon, new GoalStrategyBoulder()));
+		Create.PostLoad();
+
+		Solver solver = new Solver(dungeon);
+		solver.setPruning(false);
+		Solution solution = solver.solve();
+		assertFalse(solution.isSolved());
+		assertTrue(solution.isExhausted());
+		assertEquals(8, solution.getExpanded());
+
+		// Every move from the start leaves the boulder stuck
+		solution = new Solver(dungeon).solve();
+		assertFalse(solution.isSolved());
+		assertTrue(solution.isExhausted());
+		assertEquals(1, solution.getExpanded());
+		assertEquals(4, solution.getPruned());
+	}
+
+	@Test
+	void levels() throws IOException {
+		for (String level : new String[] { "maze.json", "advanced.json" }) {
+			Solver breadthFirst = new Solver(this.load(level));
+			Solution shortest = breadthFirst.solve();
+			assertTrue(level, shortest.isSolved());
+			this.check(this.load(level), shortest);
+
+			// The heuristic finds one as short, searching no more states
+			Solver aStar = new Solver(this.load(level));
+			aStar.setHeuristic(Heuristic.EXIT);
+			Solution solution = aStar.solve();
+			assertEquals(level, shortest.getMoves().size(), solution.getMoves().size());
+			assertTrue(level, solution.getExpanded() <= shortest.getExpanded());
+		}
+	}
+
+	@Test
+	void smallTable() throws IOException {
+		Solution shortest = new Solver(this.load("maze.json")).solve();
+
+		// Room for fewer states than the maze has, so some are evicted and found
+		// again
+		Solver solver = new Solver(this.load("maze.json"));
+		solver.setMemory(TranspositionTable.ENTRY_BYTES * 64);
+		Solution solution = solver.solve();
+		assertTrue(solution.getEvictions() > 0);
+		assertTrue(solution.getTableSize() <= 64);
+		assertEquals(shortest.getMoves().size(), solution.getMoves().size());
+		this.check(this.load("maze.json"), solution);
+	}
+
+	@Test
+	void sameOnAnyNumberOfThreads() throws IOException {
+		ForkJoinPool four = new ForkJoinPool(4);
+		try {
+			for (String level : new String[] { "maze.json", "advanced_saw.json" }) {
+				Solution serial = new Solver(this.load(level)).solve();
+
+				Solver solver = new Solver(this.load(level));
+				solver.setPool(four);
+				Solution parallel = solver.solve();
+
+				assertEquals(level, serial.getMoves(), parallel.getMoves());
+				assertEquals(level, serial.getExpanded(), parallel.getExpanded());
+				assertEquals(level, serial.getDuplicates(), parallel.getDuplicates());
+				this.check(this.load(level), parallel);
+			}
+		} finally {
+			four.shutdown();
+		}
+	}
+
+	@Test
+	void incrementalHash() throws IOException {
+		Dungeon dungeon = this.load("test.json");
+		List<Entity> tracked = Keyframe.track(dungeon);
+		Zobrist zobrist = new Zobrist(dungeon.getWidth(), dungeon.getHeight(), tracked.size(), 1);
+
+		Keyframe last = Keyframe.capture(dungeon, tracked, 0);
+		long hash = zobrist.hash(last);
+		Random random = new Random(2);
+		for (int turn = 1; turn <= 300; turn++) {
+			Input.values()[random.nextInt(4)].apply(dungeon.getPlayer());
+			Keyframe keyframe = Keyframe.capture(dungeon, tracked, turn);
+			hash = zobrist.update(hash, last, keyframe);
+			assertEquals("turn " + turn, zobrist.hash(keyframe), hash);
+			last = keyframe;
+		}
+	}
+}
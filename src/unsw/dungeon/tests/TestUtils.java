@@ -1,6 +1,13 @@
 package unsw.dungeon.tests;
 
+import static org.junit.Assert.assertEquals;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
 import unsw.dungeon.Dungeon;
+import unsw.dungeon.DungeonLoader;
+import unsw.dungeon.DungeonStorage;
 import unsw.dungeon.GameHooks;
 import unsw.dungeon.entity.Boulder;
 import unsw.dungeon.entity.Door;
@@ -8,12 +15,16 @@ import unsw.dungeon.entity.Enemy;
 import unsw.dungeon.entity.Exit;
 import unsw.dungeon.entity.InvincibilityPotion;
 import unsw.dungeon.entity.Key;
+import unsw.dungeon.entity.Player;
 import unsw.dungeon.entity.Portal;
 import unsw.dungeon.entity.Saw;
 import unsw.dungeon.entity.Switch;
 import unsw.dungeon.entity.Sword;
 import unsw.dungeon.entity.Treasure;
 import unsw.dungeon.entity.Wall;
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.replay.Journal;
+import unsw.dungeon.replay.Recording;
 
 public class TestUtils {
 	private Dungeon dungeon;
@@ -133,4 +144,70 @@ public class TestUtils {
 	void PostLoad() {
 		this.gameHooks.postLoad(this.dungeon);
 	}
+
+	/**
+	 * Load a level quietly with a seed
+	 */
+	static Dungeon load(String level, long seed) throws FileNotFoundException {
+		return load(level, seed, DungeonStorage.OBJECTS);
+	}
+
+	static Dungeon load(String level, long seed, DungeonStorage storage) throws FileNotFoundException {
+		DungeonLoader loader = new DungeonLoader(level);
+		loader.setVerbose(false);
+		loader.setSeed(seed);
+		loader.setStorage(storage);
+		return loader.load();
+	}
+
+	/**
+	 * An empty dungeon with only a player
+	 */
+	static Dungeon create(int width, int height, int x, int y) {
+		Dungeon dungeon = new Dungeon(width, height);
+		Player player = new Player(dungeon, x, y);
+		dungeon.addEntity(player);
+		dungeon.setPlayer(player);
+		return dungeon;
+	}
+
+	/**
+	 * Play random inputs on a dungeon. Nothing is fingerprinted, as that would
+	 * unpack the walls of a packed dungeon.
+	 */
+	static void play(Dungeon dungeon, Random random, int turns) {
+		Input[] values = Input.values();
+		for (int i = 0; i < turns; i++) {
+			values[random.nextInt(values.length)].apply(dungeon.getPlayer());
+		}
+	}
+
+	/**
+	 * Play random inputs through a journal
+	 *
+	 * @return Fingerprint of the dungeon after each number of turns
+	 */
+	static long[] play(Journal journal, Random random, int turns) {
+		long[] fingerprints = new long[turns + 1];
+		fingerprints[0] = Recording.fingerprint(journal.getDungeon());
+		Input[] values = Input.values();
+		for (int i = 1; i <= turns; i++) {
+			journal.play(values[random.nextInt(values.length)]);
+			fingerprints[i] = Recording.fingerprint(journal.getDungeon());
+		}
+		return fingerprints;
+	}
+
+	/**
+	 * Play the same random inputs on two dungeons, checking they stay the same
+	 */
+	static void playBoth(String message, Dungeon original, Dungeon other, Random random, int turns) {
+		Input[] values = Input.values();
+		for (int i = 0; i < turns; i++) {
+			Input input = values[random.nextInt(values.length)];
+			input.apply(original.getPlayer());
+			input.apply(other.getPlayer());
+			assertEquals(message + " turn " + i, Recording.fingerprint(original), Recording.fingerprint(other));
+		}
+	}
 }
@@ -0,0 +1,162 @@
+package unsw.dungeon.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import unsw.dungeon.util.emitter.EmitterData;
+import unsw.dungeon.util.emitter.EventSAM;
+import unsw.dungeon.util.emitter.IntentSAM;
+import unsw.dungeon.util.emitter.TileEventEmitter;
+import unsw.dungeon.util.emitter.TileIntentEmitter;
+import unsw.dungeon.util.emitter.TileSubscription;
+
+class DummyTileEvent extends EmitterData {
+
+}
+
+public class TileEmitterTest {
+	TileEventEmitter<TileEmitterTest, DummyTileEvent> events;
+	TileIntentEmitter<TileEmitterTest, DummyTileEvent> intents;
+	EventSAM<TileEmitterTest, DummyTileEvent> func;
+	IntentSAM<TileEmitterTest, DummyTileEvent> retFalse;
+	IntentSAM<TileEmitterTest, DummyTileEvent> retTrue;
+
+	DummyTileEvent event = new DummyTileEvent();
+
+	int counter;
+	String order;
+
+	@BeforeEach
+	void init() {
+		events = new TileEventEmitter<TileEmitterTest, DummyTileEvent>(this, 100, 100);
+		intents = new TileIntentEmitter<TileEmitterTest, DummyTileEvent>(this, 100, 100);
+
+		func = (a, b) -> {
+			counter++;
+		};
+
+		retFalse = (a, b) -> {
+			counter++;
+			return false;
+		};
+
+		retTrue = (a, b) -> {
+			counter++;
+			return true;
+		};
+
+		counter = 0;
+		order = "";
+	}
+
+	@Test
+	void onlyTileSubscribers() {
+		events.register(3, 4, func);
+		events.emit(4, 3, event);
+		assertEquals(0, counter);
+		events.emit(3, 4, event);
+		assertEquals(1, counter);
+	}
+
+	@Test
+	void registerOnce() {
+		events.register(3, 4, func);
+		events.register(3, 4, func);
+		events.emit(3, 4, event);
+		assertEquals(1, counter);
+	}
+
+	@Test
+	void outOfBounds() {
+		events.register(-1, 100, func);
+		events.emit(-1, 100, event);
+		assertEquals(0, counter);
+	}
+
+	@Test
+	void moveSubscription() {
+		TileSubscription<?> subscription = events.register(3, 4, func);
+		subscription.moveTo(80, 90);
+
+		events.emit(3, 4, event);
+		assertEquals(0, counter);
+		events.emit(80, 90, event);
+		assertEquals(1, counter);
+	}
+
+	@Test
+	void cancelSubscription() {
+		TileSubscription<?> subscription = events.register(3, 4, func);
+		subscription.cancel();
+		assertFalse(subscription.isActive());
+
+		events.emit(3, 4, event);
+		assertEquals(0, counter);
+
+		// Cancelled subscriptions stay cancelled
+		subscription.moveTo(5, 5);
+		events.emit(5, 5, event);
+		assertEquals(0, counter);
+	}
+
+	@Test
+	void cancelDuringEmit() {
+		TileSubscription<?> first = events.register(3, 4, (a, b) -> order += "a");
+		events.register(3, 4, (a, b) -> {
+			order += "b";
+			first.cancel();
+		});
+
+		events.emit(3, 4, event);
+		events.emit(3, 4, event);
+		assertEquals("abb", order);
+	}
+
+	@Test
+	void moveDuringEmit() {
+		TileSubscription<?> first = events.register(3, 4, (a, b) -> order += "a");
+		events.register(3, 4, (a, b) -> order += "b");
+		events.register(3, 4, (a, b) -> {
+			order += "c";
+			first.moveTo(5, 5);
+		});
+
+		events.emit(3, 4, event);
+		events.emit(3, 4, event);
+		events.emit(5, 5, event);
+		assertEquals("abcbca", order);
+	}
+
+	@Test
+	void registrationOrderKeptAfterMove() {
+		TileSubscription<?> first = events.register(0, 0, (a, b) -> order += "a");
+		events.register(1, 1, (a, b) -> order += "b");
+
+		first.moveTo(1, 1);
+		events.emit(1, 1, event);
+		assertEquals("ab", order);
+	}
+
+	@Test
+	void intentsTrueFalse() {
+		intents.register(2, 2, retTrue);
+		intents.register(2, 2, retFalse);
+		assertFalse(intents.emit(2, 2, event));
+		assertEquals(2, counter);
+
+		assertTrue(intents.emit(2, 3, event));
+		assertEquals(2, counter);
+	}
+
+	@Test
+	void intentsFalseTrue() {
+		intents.register(2, 2, retFalse);
+		intents.register(2, 2, retTrue);
+		assertFalse(intents.emit(2, 2, event));
+		assertEquals(1, counter);
+	}
+}
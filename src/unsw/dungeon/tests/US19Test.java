@@ -33,7 +33,7 @@ public class US19Test {
 	void playerCollideSaw() {
 		saw = Create.saw(1, 2, "V");
 		player.moveDown();
-		assertEquals(player.alive().get(), false);
+		assertEquals(player.isAlive(), false);
 	}
 	
 	@Test
@@ -42,7 +42,7 @@ public class US19Test {
 		saw = Create.saw(1, 2, "V");
 		player.getInventory().add(Create.InvincibilityPotion(2,1));
 		player.moveDown();
-		assertEquals(player.alive().get(), true);
+		assertEquals(player.isAlive(), true);
 	}
 	
 	@Test
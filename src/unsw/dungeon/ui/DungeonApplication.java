@@ -24,8 +24,9 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import javafx.util.Duration;
+import unsw.dungeon.Dungeon;
 import unsw.dungeon.goals.Goal;
-import unsw.dungeon.goals.TextTree;
+import unsw.dungeon.goals.GoalTree;
 
 public class DungeonApplication extends Application {
 
@@ -45,7 +46,7 @@ public class DungeonApplication extends Application {
 		levelSelectController.onSelected((level) -> {
 			try {
 				this.dungeonControllerLoader = new DungeonControllerLoader(level);
-				setGame(primaryStage);
+				setGame(primaryStage, this.dungeonControllerLoader.loadController());
 				primaryStage.setResizable(false);
 
 				FXMLLoader startScreenLoader = new FXMLLoader(getClass().getResource("StartScreen.fxml"));
@@ -116,16 +117,15 @@ public class DungeonApplication extends Application {
 	}
 
 	/**
-	 * Load the game
+	 * Show a game
 	 * 
 	 * @param primaryStage
+	 * @param controller   - controller of the game, from dungeonControllerLoader
 	 * @return DungeonController instance
 	 */
-	private DungeonController setGame(Stage primaryStage) {
+	private DungeonController setGame(Stage primaryStage, DungeonController controller) {
 
 		FXMLLoader loader = new FXMLLoader(getClass().getResource("DungeonView.fxml"));
-
-		DungeonController controller = dungeonControllerLoader.loadController();
 		loader.setController(controller);
 
 		StackPane container = new StackPane();
@@ -141,9 +141,6 @@ public class DungeonApplication extends Application {
 		gameRoot = forceLoad(loader);
 		HUDnode = forceLoad(HUDloader);
 
-		// Hook HUD onto the controller
-		HUD.attach(controller);
-
 		StackPane gameScreen = new StackPane(gameRoot);
 		gameScreen.setAlignment(Pos.CENTER);
 
@@ -155,16 +152,61 @@ public class DungeonApplication extends Application {
 		container.getChildren().addAll(box);
 
 		// Register restart event
-		controller.restartEvent.register(() -> setGame(primaryStage));
+		controller.restartEvent.register(() -> setGame(primaryStage, dungeonControllerLoader.loadController()));
+
+		// One hint line for the game, kept when it goes back or forward a turn
+		Text hintLine = new Text();
+		hintLine.setFill(Color.WHITE);
+		controller.hintEvent.register((c, hint) -> hintLine.setText(hint.toString()));
+
+		VBox hintContainer = new VBox(hintLine);
+		hintContainer.setAlignment(Pos.BOTTOM_LEFT);
+		hintContainer.setPadding(new Insets(0, 0, 10, 10));
+
+		Parent view = gameRoot;
+		showDungeon(primaryStage, controller, HUD, gameScreen, view, hintContainer, hintLine);
+
+		// Going back or forward a turn swaps the journal's dungeon into the same view
+		controller.onTurnSelected(dungeonControllerLoader::seek);
+		controller.dungeonChangedEvent.register(() -> {
+			showDungeon(primaryStage, controller, HUD, gameScreen, view, hintContainer, hintLine);
+		});
+
+		Scene scene = new Scene(container);
+		gameRoot.requestFocus();
+		primaryStage.setScene(scene);
+
+		return controller;
+	}
+
+	/**
+	 * Hook the HUD, goals, hints and the win and lose screens onto the
+	 * controller's dungeon, replacing any shown for its last dungeon
+	 * 
+	 * @param primaryStage
+	 * @param controller
+	 * @param HUD
+	 * @param gameScreen    - stack of the game's view and what is shown over it
+	 * @param view          - the game's view
+	 * @param hintContainer
+	 * @param hintLine
+	 */
+	private void showDungeon(Stage primaryStage, DungeonController controller, HUDController HUD,
+			StackPane gameScreen, Parent view, VBox hintContainer, Text hintLine) {
+		Dungeon dungeon = controller.getDungeon();
+		gameScreen.getChildren().setAll(view);
+
+		// Hook HUD onto the controller
+		HUD.attach(controller);
 
 		// Register finish event
-		controller.getDungeon().finishEvent.register(() -> {
+		dungeon.finishEvent.register(() -> {
 			FXMLLoader winLoader = new FXMLLoader(getClass().getResource("WinScreen.fxml"));
 			primaryStage.setScene(new Scene(forceLoad(winLoader)));
 		});
 
 		// Register lose event
-		controller.getDungeon().playerDeadEvent.register(() -> {
+		dungeon.playerDeadEvent.register(() -> {
 			FXMLLoader loseLoader = new FXMLLoader(getClass().getResource("LoseScreen.fxml"));
 			gameScreen.getChildren().add(forceLoad(loseLoader));
 		});
@@ -172,31 +214,52 @@ public class DungeonApplication extends Application {
 		{
 			// Add Goals information
 
-			Goal goal = controller.getDungeon().getGoal();
+			Goal goal = dungeon.getGoal();
 
 			// Get first updates
 			goal.check();
-			Text goalText = new Text(TextTree.createTextTree(goal));
-			goalText.setFill(Color.WHITE);
+			GoalTree goalTree = new GoalTree(goal);
 
-			// Register updates
-			controller.getDungeon().getPlayer().moveEvent.register((p, e) -> {
-				goalText.setText(TextTree.createTextTree(goal));
+			// One Text per goal, so a change only relays out its own line
+			Text[] goalLines = new Text[goalTree.size()];
+			for (int i = 0; i < goalLines.length; i++) {
+				goalLines[i] = new Text(goalTree.getLine(i));
+				goalLines[i].setFill(Color.WHITE);
+			}
+
+			// Register updates, goals are checked by the dungeon after each move
+			goalTree.lineChanged.register((tree, e) -> {
+				goalLines[e.index].setText(e.text);
 			});
 
 			// Wrap in an alignment box (VBox in this case)
-			VBox goalContainer = new VBox(goalText);
+			VBox goalContainer = new VBox(goalLines);
 			goalContainer.setAlignment(Pos.TOP_LEFT);
 			goalContainer.setPadding(new Insets(10, 0, 0, 10));
 
 			gameScreen.getChildren().add(goalContainer);
 		}
 
-		Scene scene = new Scene(container);
-		gameRoot.requestFocus();
-		primaryStage.setScene(scene);
+		{
+			// Add hints, and a warning once the level can no longer be won
 
-		return controller;
+			String lost = "A boulder is stuck, so the level can no longer be won. Press R to restart";
+			hintLine.setText(dungeon.getDeadlocks().isLost() ? lost
+					: "Press H for a hint, Z to undo a move and Y to redo it");
+
+			dungeon.getDeadlocks().lostEvent.register(() -> {
+				hintLine.setText(lost);
+			});
+
+			// A hint is only for the move it was asked on
+			dungeon.getPlayer().moveEvent.register((player, e) -> {
+				if (!dungeon.getDeadlocks().isLost()) {
+					hintLine.setText("");
+				}
+			});
+
+			gameScreen.getChildren().add(hintContainer);
+		}
 	}
 
 	public static void main(String[] args) {
@@ -1,8 +1,11 @@
 package unsw.dungeon.ui;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
@@ -16,6 +19,12 @@ import javafx.scene.layout.BackgroundSize;
 import javafx.scene.layout.GridPane;
 import unsw.dungeon.Dungeon;
 import unsw.dungeon.entity.Player;
+import unsw.dungeon.replay.Input;
+import unsw.dungeon.replay.Journal;
+import unsw.dungeon.replay.Recording;
+import unsw.dungeon.solver.Hint;
+import unsw.dungeon.solver.HintEngine;
+import unsw.dungeon.util.emitter.EventEmitter;
 import unsw.dungeon.util.emitter.GenericEmitter;
 
 /**
@@ -33,13 +42,63 @@ public class DungeonController {
 
 	private Dungeon dungeon;
 
+	private Recording recording;
+
+	private Journal journal;
+
+	private HintEngine hints;
+
+	private TurnSelectedSAM onTurnSelected;
+
 	public final GenericEmitter restartEvent;
 
+	// Fired when the dungeon is swapped for another turn of the game
+	public final GenericEmitter dungeonChangedEvent;
+
+	// Fired on the JavaFX thread with each hint for the game as it is
+	public final EventEmitter<DungeonController, Hint> hintEvent;
+
+	/**
+	 * A controller for a dungeon that wasn't loaded from a level file, so its
+	 * games aren't saved as recordings
+	 * 
+	 * @param dungeon
+	 * @param entities
+	 */
 	public DungeonController(Dungeon dungeon, List<EntityImagePair> entities) {
+		this(dungeon, entities, null);
+	}
+
+	/**
+	 * @param dungeon
+	 * @param entities
+	 * @param level    - level file the dungeon was loaded from
+	 */
+	public DungeonController(Dungeon dungeon, List<EntityImagePair> entities, String level) {
 		this.dungeon = dungeon;
 		this.player = dungeon.getPlayer();
 		this.entities = new ArrayList<EntityImagePair>(entities);
+		this.recording = new Recording(level, dungeon.getSeed());
+		this.journal = new Journal(dungeon);
 		this.restartEvent = new GenericEmitter();
+		this.dungeonChangedEvent = new GenericEmitter();
+		this.hintEvent = new EventEmitter<>(this);
+		this.setHints(new HintEngine(dungeon));
+	}
+
+	/**
+	 * Hints are searched for in the background, and only shown if they are from
+	 * the current engine and the player hasn't moved since
+	 * 
+	 * @param hints
+	 */
+	private void setHints(HintEngine hints) {
+		this.hints = hints;
+		hints.hintEvent.register((engine, hint) -> Platform.runLater(() -> {
+			if (engine == this.hints && engine.isCurrent(hint)) {
+				this.hintEvent.emit(hint);
+			}
+		}));
 	}
 
 	@FXML
@@ -47,16 +106,42 @@ public class DungeonController {
 		squares.setBackground(new Background(new BackgroundImage(new Image("dirt_0_new.png"), BackgroundRepeat.REPEAT,
 				BackgroundRepeat.REPEAT, BackgroundPosition.DEFAULT, BackgroundSize.DEFAULT)));
 
-		// Sort entities by their EntityLevel order
+		this.showEntities();
+	}
+
+	/**
+	 * Add the entities' ImageViews to the GridPane, in their EntityLevel order
+	 */
+	private void showEntities() {
 		entities.sort((e, f) -> f.entity.getEntityLevel().ordinal() - e.entity.getEntityLevel().ordinal());
 		ObservableList<Node> children = squares.getChildren();
 
-		// Add items to the GridPane
 		for (EntityImagePair entity : entities) {
 			children.add(entity.imageView);
 		}
 	}
 
+	/**
+	 * Carry on the game from a dungeon that its journal has gone back or forward
+	 * to. The new dungeon's ImageViews replace the old ones in the same view,
+	 * and the hint engine and recording follow it to its turn.
+	 * 
+	 * @param dungeon  - the game at the journal's turn
+	 * @param entities - ImageViews loaded with the dungeon
+	 */
+	void setDungeon(Dungeon dungeon, List<EntityImagePair> entities) {
+		this.dungeon = dungeon;
+		this.player = dungeon.getPlayer();
+		this.entities = new ArrayList<EntityImagePair>(entities);
+		squares.getChildren().clear();
+		this.showEntities();
+
+		int turn = this.journal.getTurn();
+		this.recording.truncate(turn);
+		this.setHints(this.hints.follow(dungeon, this.journal.getTracked(), turn));
+		this.dungeonChangedEvent.emit();
+	}
+
 	@FXML
 	public void handleKeyPress(KeyEvent event) {
 		switch (event.getCode()) {
@@ -64,16 +149,16 @@ public class DungeonController {
 		 * PLAYER MOVEMENT
 		 */
 		case UP:
-			player.moveUp();
+			this.play(Input.UP);
 			break;
 		case DOWN:
-			player.moveDown();
+			this.play(Input.DOWN);
 			break;
 		case LEFT:
-			player.moveLeft();
+			this.play(Input.LEFT);
 			break;
 		case RIGHT:
-			player.moveRight();
+			this.play(Input.RIGHT);
 			break;
 		/*
 		 * UTILITIES
@@ -81,15 +166,111 @@ public class DungeonController {
 		case R:
 			this.restart();
 			break;
+		case H:
+			this.hint();
+			break;
+		case Z:
+			this.undo();
+			break;
+		case Y:
+			this.redo();
+			break;
 		default:
 			break;
 		}
 	}
 
+	/**
+	 * Record an input and apply it to the player
+	 * 
+	 * @param input
+	 */
+	private void play(Input input) {
+		if (this.recording.isFinished()) {
+			this.journal.play(input);
+			this.hints.moved(input);
+			return;
+		}
+
+		this.recording.add(input);
+		this.journal.play(input);
+		this.hints.moved(input);
+
+		if (!this.player.isAlive() || this.dungeon.isFinished()) {
+			this.recording.finish(this.dungeon);
+			this.saveRecording();
+		}
+	}
+
+	/**
+	 * Save the recording of a finished game, if a directory for recordings was
+	 * given with -Ddungeon.recordings=directory and the game has a level file
+	 */
+	private void saveRecording() {
+		String directory = System.getProperty("dungeon.recordings");
+		if (directory == null || this.recording.getLevel() == null) {
+			return;
+		}
+
+		String name = this.recording.getLevel().replace(".json", "");
+		File file = new File(directory, String.format("%s-%d.rec", name, System.currentTimeMillis()));
+		try {
+			this.recording.save(file);
+		} catch (IOException e) {
+			System.err.println(String.format("Could not save the recording to %s: %s", file, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Search for the next move in the background, which hintEvent is fired with
+	 */
+	public void hint() {
+		this.hints.request();
+	}
+
+	/**
+	 * Go back a turn, if one has been played
+	 */
+	public void undo() {
+		if (this.journal.canUndo()) {
+			this.selectTurn(this.journal.getTurn() - 1);
+		}
+	}
+
+	/**
+	 * Go forward a turn that was undone, if there is one
+	 */
+	public void redo() {
+		if (this.journal.canRedo()) {
+			this.selectTurn(this.journal.getTurn() + 1);
+		}
+	}
+
+	/**
+	 * Have the game replaced with the dungeon as it was at a turn, which is
+	 * passed back to setDungeon
+	 * 
+	 * @param turn
+	 */
+	private void selectTurn(int turn) {
+		if (this.onTurnSelected == null) {
+			return;
+		}
+		this.onTurnSelected.execute(this, turn);
+	}
+
+	/**
+	 * @param onTurnSelected - called to go back or forward to a turn
+	 */
+	public void onTurnSelected(TurnSelectedSAM onTurnSelected) {
+		this.onTurnSelected = onTurnSelected;
+	}
+
 	/**
 	 * Call the restart event
 	 */
 	public void restart() {
+		this.hints.shutdown();
 		this.restartEvent.emit();
 	}
 
@@ -100,6 +281,20 @@ public class DungeonController {
 		return this.dungeon;
 	}
 
+	/**
+	 * @return Inputs played so far, with the level and seed to replay them
+	 */
+	public Recording getRecording() {
+		return this.recording;
+	}
+
+	/**
+	 * @return Turns played, to go back or forward through
+	 */
+	public Journal getJournal() {
+		return this.journal;
+	}
+
 	/**
 	 * @return Entity image pairs
 	 */
@@ -75,7 +75,7 @@ public class DungeonControllerHooks implements LoaderHook {
 		ImageView view = applyColourShift(new ImageView(images.doorClosedImage), door.getID());
 
 		// Register door opening graphical updates
-		door.opened().addListener((observer, oldValue, newValue) -> {
+		EntityProperties.of(door).state().addListener((observer, oldValue, newValue) -> {
 			Image newImage = newValue ? images.doorOpenedImage : images.doorClosedImage;
 			view.setImage(newImage);
 
@@ -128,7 +128,7 @@ public class DungeonControllerHooks implements LoaderHook {
 		ColorAdjust disabledEffect = new ColorAdjust(0, -0.5, -0.8, -0.3);
 		disabledEffect.setInput(activatedEffect);
 
-		portal.activated().addListener((observable, oldValue, newValue) -> {
+		EntityProperties.of(portal).state().addListener((observable, oldValue, newValue) -> {
 			view.setEffect(newValue ? activatedEffect : disabledEffect);
 		});
 
@@ -7,6 +7,7 @@ import java.util.List;
 import javafx.scene.Node;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.GridPane;
+import unsw.dungeon.Dungeon;
 import unsw.dungeon.DungeonLoader;
 import unsw.dungeon.entity.meta.Entity;
 
@@ -47,7 +48,7 @@ public class DungeonControllerLoader extends DungeonLoader {
 	 * in the dungeon.
 	 *
 	 * By connecting the model with the view in this way, the model requires no
-	 * knowledge of the view and changes to the position of entities in the model
+	 * knowledge of the view (or of JavaFX) and changes to the position of entities in the model
 	 * will automatically be reflected in the view.
 	 * 
 	 * @param entity
@@ -58,12 +59,14 @@ public class DungeonControllerLoader extends DungeonLoader {
 		GridPane.setColumnIndex(node, entity.getX());
 		GridPane.setRowIndex(node, entity.getY());
 
+		EntityProperties properties = EntityProperties.of(entity);
+
 		// Subscribe to position changes
-		entity.x().addListener((observable, oldValue, newValue) -> GridPane.setColumnIndex(node, newValue.intValue()));
-		entity.y().addListener((observable, oldValue, newValue) -> GridPane.setRowIndex(node, newValue.intValue()));
+		properties.x().addListener((observable, oldValue, newValue) -> GridPane.setColumnIndex(node, newValue.intValue()));
+		properties.y().addListener((observable, oldValue, newValue) -> GridPane.setRowIndex(node, newValue.intValue()));
 
 		// Subscribe to visibility changes
-		entity.visibility().addListener((observable, oldValue, newValue) -> node.setVisible(newValue.booleanValue()));
+		properties.visibility().addListener((observable, oldValue, newValue) -> node.setVisible(newValue.booleanValue()));
 
 	}
 
@@ -74,8 +77,21 @@ public class DungeonControllerLoader extends DungeonLoader {
 	 * @return
 	 */
 	public DungeonController loadController() {
-		DungeonController controller = new DungeonController(load(this.hook), entities);
+		DungeonController controller = new DungeonController(load(this.hook), entities, this.getFilename());
 		this.entities = new ArrayList<>();
 		return controller;
 	}
+
+	/**
+	 * Go back or forward to a turn of a controller's journal, loading the
+	 * ImageViews of the dungeon at that turn into the controller's view.
+	 * 
+	 * @param controller - controller of the game
+	 * @param turn
+	 */
+	public void seek(DungeonController controller, int turn) {
+		Dungeon dungeon = controller.getJournal().seek(turn, this.hook);
+		controller.setDungeon(dungeon, entities);
+		this.entities = new ArrayList<>();
+	}
 }
@@ -0,0 +1,113 @@
+package unsw.dungeon.ui;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import unsw.dungeon.entity.Door;
+import unsw.dungeon.entity.Exit;
+import unsw.dungeon.entity.Portal;
+import unsw.dungeon.entity.meta.Entity;
+import unsw.dungeon.entity.meta.EntityObserver;
+
+/**
+ * JavaFX view of an entity.
+ *
+ * The game model stores plain fields, so beans are only created for entities
+ * that are displayed. The properties mirror the entity and should not be set
+ * directly.
+ *
+ */
+public class EntityProperties implements EntityObserver {
+
+	private IntegerProperty x, y;
+	private BooleanProperty visible;
+	private BooleanProperty state;
+
+	private EntityProperties(Entity entity) {
+		this.x = new SimpleIntegerProperty(entity.getX());
+		this.y = new SimpleIntegerProperty(entity.getY());
+		this.visible = new SimpleBooleanProperty(entity.getVisibility());
+		this.state = new SimpleBooleanProperty(stateOf(entity));
+	}
+
+	/**
+	 * Get the JavaFX view of an entity, attaching one if it is not already
+	 * observed
+	 *
+	 * @param entity
+	 * @return EntityProperties
+	 */
+	public static EntityProperties of(Entity entity) {
+		if (entity.getObserver() instanceof EntityProperties) {
+			return (EntityProperties) entity.getObserver();
+		}
+
+		EntityProperties properties = new EntityProperties(entity);
+		entity.setObserver(properties);
+		return properties;
+	}
+
+	/**
+	 * @return Property for the x position
+	 */
+	public ReadOnlyIntegerProperty x() {
+		return this.x;
+	}
+
+	/**
+	 * @return Property for the y position
+	 */
+	public ReadOnlyIntegerProperty y() {
+		return this.y;
+	}
+
+	/**
+	 * @return Property for the entity's visibility
+	 */
+	public ReadOnlyBooleanProperty visibility() {
+		return this.visible;
+	}
+
+	/**
+	 * @return Property for whether a door is open, or a portal or exit is
+	 *         activated
+	 */
+	public ReadOnlyBooleanProperty state() {
+		return this.state;
+	}
+
+	@Override
+	public void positionChanged(Entity entity) {
+		this.x.set(entity.getX());
+		this.y.set(entity.getY());
+	}
+
+	@Override
+	public void visibilityChanged(Entity entity) {
+		this.visible.set(entity.getVisibility());
+	}
+
+	@Override
+	public void stateChanged(Entity entity) {
+		this.state.set(stateOf(entity));
+	}
+
+	private static boolean stateOf(Entity entity) {
+		if (entity instanceof Door) {
+			return ((Door) entity).getOpen();
+		}
+
+		if (entity instanceof Portal) {
+			return ((Portal) entity).getActivated();
+		}
+
+		if (entity instanceof Exit) {
+			return ((Exit) entity).getActivated();
+		}
+
+		return false;
+	}
+}
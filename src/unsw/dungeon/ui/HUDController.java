@@ -32,22 +32,29 @@ public class HUDController {
 	public HUDController() {
 
 		// When an item is picked up, find the associated EntityImagePair
-		this.itemPickedUpEvent = (player, event) -> {
-			EntityImagePair pair = null;
-			for (EntityImagePair p : this.entityImagePairs) {
-				if (p.entity == event.item) {
-					pair = p;
-					break;
-				}
-			}
+		this.itemPickedUpEvent = (player, event) -> this.addItem(event.item);
+	}
 
-			if (pair == null) {
-				return;
+	/**
+	 * Show an item the player holds
+	 * 
+	 * @param item
+	 */
+	private void addItem(ItemEntity item) {
+		EntityImagePair pair = null;
+		for (EntityImagePair p : this.entityImagePairs) {
+			if (p.entity == item) {
+				pair = p;
+				break;
 			}
+		}
 
-			// Register the item
-			this.inventory.add(pair);
-		};
+		if (pair == null) {
+			return;
+		}
+
+		// Register the item
+		this.inventory.add(pair);
 	}
 
 	@FXML
@@ -59,6 +66,12 @@ public class HUDController {
 		this.dungeon = dungeonController.getDungeon();
 		this.entityImagePairs = dungeonController.getEntityImagePairs();
 
+		// Show the items already held, such as after going back a turn
+		this.inventory.clear();
+		for (ItemEntity item : this.dungeon.getPlayer().getInventory()) {
+			this.addItem(item);
+		}
+
 		// Register item pickup events
 		this.dungeon.getPlayer().itemPickedUpEvent.register(this.itemPickedUpEvent);
 	}
@@ -148,6 +161,15 @@ class GridPaneHUD {
 		return true;
 	}
 
+	/**
+	 * Remove every item from the HUD, keeping its slots
+	 */
+	public void clear() {
+		for (int i = 0; i < this.items.size(); i++) {
+			this.removeItem(this.items.get(i));
+		}
+	}
+
 	/**
 	 * Register events for Usable items: Item usage
 	 * 
@@ -0,0 +1,10 @@
+package unsw.dungeon.ui;
+
+/**
+ * SAM Interface for going back or forward to a turn of a game
+ *
+ */
+@FunctionalInterface
+public interface TurnSelectedSAM {
+	public void execute(DungeonController controller, int turn);
+}
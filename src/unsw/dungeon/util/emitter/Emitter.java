@@ -1,6 +1,6 @@
 package unsw.dungeon.util.emitter;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Scoped Publish/Subscribe Emitter Implementation
@@ -10,7 +10,7 @@ import java.util.ArrayList;
  * @param <DataType>
  */
 public abstract class Emitter<SAMType, ReferenceType, DataType extends EmitterData> {
-	protected ArrayList<SAMType> subscribers;
+	protected SubscriberList<SAMType> subscribers;
 	protected ReferenceType reference;
 
 	/**
@@ -20,7 +20,7 @@ public abstract class Emitter<SAMType, ReferenceType, DataType extends EmitterDa
 	 *                  every subscriber function
 	 */
 	public Emitter(ReferenceType reference) {
-		this.subscribers = new ArrayList<SAMType>();
+		this.subscribers = new SubscriberList<SAMType>();
 		this.reference = reference;
 	}
 
@@ -32,9 +32,6 @@ public abstract class Emitter<SAMType, ReferenceType, DataType extends EmitterDa
 	 * @param <SAMType> SAM
 	 */
 	public void register(SAMType function) {
-		if (this.subscribers.contains(function)) {
-			return;
-		}
 		this.subscribers.add(function);
 	}
 
@@ -47,4 +44,11 @@ public abstract class Emitter<SAMType, ReferenceType, DataType extends EmitterDa
 		this.subscribers.remove(function);
 	}
 
+	/**
+	 * @return A copy of the subscribers, in the order they are called
+	 */
+	public List<SAMType> getSubscribers() {
+		return this.subscribers.toList();
+	}
+
 }
@@ -1,7 +1,5 @@
 package unsw.dungeon.util.emitter;
 
-import java.util.ArrayList;
-
 /**
  * Implementation of Emitter to pass data objects to subscribers for events
  *
@@ -16,18 +14,23 @@ public class EventEmitter<BaseType, DataType extends EmitterData>
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public boolean emit(DataType data) {
 
-		// Create a copy of subscribers, to allow for subscribers to unregister
+		// Iterate a stable snapshot, to allow for subscribers to unregister
 		// themselves
-		ArrayList<EventSAM<BaseType, DataType>> subs = new ArrayList<EventSAM<BaseType, DataType>>();
-		for (EventSAM<BaseType, DataType> subscriber : this.subscribers) {
-			subs.add(subscriber);
-		}
-
-		// Execute all subscribers
-		for (EventSAM<BaseType, DataType> subscriber : subs) {
-			subscriber.execute(this.reference, data);
+		Object[] subs = this.subscribers.acquire();
+		int n = this.subscribers.limit();
+
+		try {
+			// Execute all subscribers
+			for (int i = 0; i < n; i++) {
+				if (subs[i] != null) {
+					((EventSAM<BaseType, DataType>) subs[i]).execute(this.reference, data);
+				}
+			}
+		} finally {
+			this.subscribers.release();
 		}
 
 		// Always pass
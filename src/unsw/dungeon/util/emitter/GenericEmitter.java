@@ -1,7 +1,5 @@
 package unsw.dungeon.util.emitter;
 
-import java.util.ArrayList;
-
 /**
  * Publish/Subscribe Emitter Implementation
  * 
@@ -9,29 +7,33 @@ import java.util.ArrayList;
  *
  */
 public class GenericEmitter {
-	protected ArrayList<GenericSAM> subscribers;
+	protected SubscriberList<GenericSAM> subscribers;
 
 	/**
 	 * Create the GenericEmitter
 	 */
 	public GenericEmitter() {
-		this.subscribers = new ArrayList<GenericSAM>();
+		this.subscribers = new SubscriberList<GenericSAM>();
 	}
 
 	/**
 	 * Execute each subscriber
 	 */
 	public void emit() {
-		// Create a copy of subscribers, to allow for subscribers to unregister
+		// Iterate a stable snapshot, to allow for subscribers to unregister
 		// themselves
-		ArrayList<GenericSAM> subs = new ArrayList<GenericSAM>();
-		for (GenericSAM subscriber : this.subscribers) {
-			subs.add(subscriber);
-		}
-
-		// Execute all subscribers
-		for (GenericSAM subscriber : subs) {
-			subscriber.execute();
+		Object[] subs = this.subscribers.acquire();
+		int n = this.subscribers.limit();
+
+		try {
+			// Execute all subscribers
+			for (int i = 0; i < n; i++) {
+				if (subs[i] != null) {
+					((GenericSAM) subs[i]).execute();
+				}
+			}
+		} finally {
+			this.subscribers.release();
 		}
 	}
 
@@ -41,9 +43,6 @@ public class GenericEmitter {
 	 * @param <GenericSAM> function
 	 */
 	public void register(GenericSAM function) {
-		if (this.subscribers.contains(function)) {
-			return;
-		}
 		this.subscribers.add(function);
 	}
 
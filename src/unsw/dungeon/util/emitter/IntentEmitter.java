@@ -1,7 +1,5 @@
 package unsw.dungeon.util.emitter;
 
-import java.util.ArrayList;
-
 /**
  * Returns true if all registered checks pass.
  * 
@@ -19,19 +17,23 @@ public class IntentEmitter<BaseType, DataType extends EmitterData>
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public boolean emit(DataType data) {
-		// Create a copy of subscribers, to allow for subscribers to unregister
+		// Iterate a stable snapshot, to allow for subscribers to unregister
 		// themselves
-		ArrayList<IntentSAM<BaseType, DataType>> localSubcribers = new ArrayList<IntentSAM<BaseType, DataType>>();
-		for (IntentSAM<BaseType, DataType> subscriber : this.subscribers) {
-			localSubcribers.add(subscriber);
-		}
+		Object[] localSubcribers = this.subscribers.acquire();
+		int n = this.subscribers.limit();
 
-		// Execute all subscribers, return false if any subscribers fail
-		for (IntentSAM<BaseType, DataType> subscriber : localSubcribers) {
-			if (!subscriber.execute(this.reference, data)) {
-				return false;
+		try {
+			// Execute all subscribers, return false if any subscribers fail
+			for (int i = 0; i < n; i++) {
+				if (localSubcribers[i] != null
+						&& !((IntentSAM<BaseType, DataType>) localSubcribers[i]).execute(this.reference, data)) {
+					return false;
+				}
 			}
+		} finally {
+			this.subscribers.release();
 		}
 
 		// Return with a pass
@@ -0,0 +1,186 @@
+package unsw.dungeon.util.emitter;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Copy-on-write subscriber store for the emitters.
+ * 
+ * Subscribers live in an array that emitters iterate directly. While an emit is
+ * iterating the array it is shared, and the first change made during that time
+ * copies it, so an emit always sees the subscribers it started with and
+ * iterating never allocates.
+ * 
+ * Membership is identity based. Removed subscribers leave a null behind, which
+ * is compacted away once at least half of the array is empty, so registering
+ * and unregistering are O(1) amortised.
+ *
+ * @param <T> subscriber type
+ */
+final class SubscriberList<T> {
+	private static final int MIN_CAPACITY = 4;
+
+	private Object[] items;
+	private int size;
+	private int count;
+	private IdentityHashMap<Object, Integer> positions;
+
+	private int emitting;
+	private boolean shared;
+
+	SubscriberList() {
+		this.items = new Object[MIN_CAPACITY];
+		this.size = 0;
+		this.count = 0;
+		this.positions = new IdentityHashMap<Object, Integer>();
+		this.emitting = 0;
+		this.shared = false;
+	}
+
+	/**
+	 * Add a subscriber to the end of the list
+	 * 
+	 * @param subscriber
+	 * @return false if it was already subscribed
+	 */
+	boolean add(T subscriber) {
+		if (this.positions.containsKey(subscriber)) {
+			return false;
+		}
+
+		if (this.shared) {
+			this.unshare();
+		}
+
+		if (this.size == this.items.length) {
+			if (this.count <= this.size / 2) {
+				this.compact();
+			} else {
+				Object[] grown = new Object[this.items.length * 2];
+				System.arraycopy(this.items, 0, grown, 0, this.size);
+				this.items = grown;
+			}
+		}
+
+		this.items[this.size] = subscriber;
+		this.positions.put(subscriber, this.size);
+		this.size++;
+		this.count++;
+		return true;
+	}
+
+	/**
+	 * Remove a subscriber
+	 * 
+	 * @param subscriber
+	 * @return false if it was not subscribed
+	 */
+	boolean remove(T subscriber) {
+		if (!this.positions.containsKey(subscriber)) {
+			return false;
+		}
+
+		if (this.shared) {
+			this.unshare();
+		}
+
+		int i = this.positions.remove(subscriber);
+		this.items[i] = null;
+		this.count--;
+
+		if (this.count <= this.size / 2 && this.size > MIN_CAPACITY) {
+			this.compact();
+		}
+		return true;
+	}
+
+	/**
+	 * @param subscriber
+	 * @return Whether the subscriber is registered
+	 */
+	boolean contains(T subscriber) {
+		return this.positions.containsKey(subscriber);
+	}
+
+	/**
+	 * @return The subscribers in the order they are called
+	 */
+	@SuppressWarnings("unchecked")
+	List<T> toList() {
+		ArrayList<T> list = new ArrayList<T>(this.count);
+		for (int i = 0; i < this.size; i++) {
+			if (this.items[i] != null) {
+				list.add((T) this.items[i]);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Start iterating. Entries from 0 to limit() may be null and must be
+	 * skipped. Every acquire() must be matched by a release().
+	 * 
+	 * @return The current subscriber array, which will not be modified
+	 */
+	Object[] acquire() {
+		this.emitting++;
+		this.shared = true;
+		return this.items;
+	}
+
+	/**
+	 * @return Number of array entries in use, including removed ones
+	 */
+	int limit() {
+		return this.size;
+	}
+
+	/**
+	 * Finish iterating
+	 */
+	void release() {
+		if (--this.emitting == 0) {
+			this.shared = false;
+		}
+	}
+
+	/**
+	 * Replace the shared array with a compacted copy
+	 */
+	private void unshare() {
+		Object[] copy = new Object[Math.max(MIN_CAPACITY, this.count * 2)];
+		this.moveInto(copy);
+		this.shared = false;
+	}
+
+	/**
+	 * Compact the array in place
+	 */
+	private void compact() {
+		this.moveInto(this.items);
+	}
+
+	private void moveInto(Object[] target) {
+		Object[] source = this.items;
+		int n = 0;
+		for (int i = 0; i < this.size; i++) {
+			Object subscriber = source[i];
+			if (subscriber == null) {
+				continue;
+			}
+			if (i != n) {
+				this.positions.put(subscriber, n);
+			}
+			target[n++] = subscriber;
+		}
+
+		// Clear the tail so the removed subscribers can be collected
+		for (int i = n; i < this.size && target == source; i++) {
+			target[i] = null;
+		}
+
+		this.items = target;
+		this.size = n;
+	}
+}
@@ -0,0 +1,207 @@
+package unsw.dungeon.util.emitter;
+
+/**
+ * Tile-scoped Publish/Subscribe Emitter Implementation
+ * 
+ * Subscribers are registered against a tile and are only executed for
+ * emissions on that tile, so the cost of an emission depends on what is on the
+ * tile rather than on the size of the dungeon.
+ * 
+ * Subscribers on the same tile are executed in the order they were first
+ * registered, even if they have since moved between tiles.
+ *
+ * @param <SAMType>
+ * @param <ReferenceType>
+ * @param <DataType>
+ */
+public abstract class TileEmitter<SAMType, ReferenceType, DataType extends EmitterData> {
+
+	// Cells are allocated in square pages, so huge sparse maps stay small
+	private static final int PAGE_SHIFT = 6;
+	private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+	private static final Object[] EMPTY = new Object[0];
+
+	protected ReferenceType reference;
+
+	private int width, height, pagesWide;
+	private Object[][][] pages;
+	private long order;
+	private int emitting;
+
+	/**
+	 * Create the TileEmitter.
+	 * 
+	 * @param reference - the object that can be accessed as the first argument by
+	 *                  every subscriber function
+	 * @param width     - number of tile columns
+	 * @param height    - number of tile rows
+	 */
+	public TileEmitter(ReferenceType reference, int width, int height) {
+		this.reference = reference;
+		this.width = width;
+		this.height = height;
+		this.pagesWide = (width + PAGE_SIZE - 1) >> PAGE_SHIFT;
+		this.pages = new Object[this.pagesWide * ((height + PAGE_SIZE - 1) >> PAGE_SHIFT)][][];
+		this.order = 0;
+		this.emitting = 0;
+	}
+
+	/**
+	 * Emit to the subscribers of a tile
+	 * 
+	 * @param x
+	 * @param y
+	 * @param data
+	 * @return result
+	 */
+	abstract public boolean emit(int x, int y, DataType data);
+
+	/**
+	 * Add a new subscriber to a tile
+	 * 
+	 * @param x
+	 * @param y
+	 * @param function
+	 * @return Subscription, which can be moved to another tile or cancelled
+	 */
+	@SuppressWarnings("unchecked")
+	public TileSubscription<SAMType> register(int x, int y, SAMType function) {
+		Object[] subscriptions = this.subscribersAt(x, y);
+		for (int i = 0; i < subscriptions.length && subscriptions[i] != null; i++) {
+			if (((TileSubscription<SAMType>) subscriptions[i]).function == function) {
+				return (TileSubscription<SAMType>) subscriptions[i];
+			}
+		}
+
+		TileSubscription<SAMType> subscription = new TileSubscription<SAMType>(this, function, this.order++, x, y);
+		this.add(subscription);
+		return subscription;
+	}
+
+	/**
+	 * Start iterating over the subscriptions on a tile. Every acquire() must be
+	 * matched by a release().
+	 * 
+	 * The returned array is not modified until the matching release(), so it is
+	 * safe to iterate while subscribers register, move or cancel. The
+	 * subscriptions are followed by null if the array is not full.
+	 * 
+	 * @param x
+	 * @param y
+	 * @return Array of TileSubscription
+	 */
+	protected Object[] acquire(int x, int y) {
+		this.emitting++;
+		return this.subscribersAt(x, y);
+	}
+
+	/**
+	 * Finish iterating
+	 */
+	protected void release() {
+		this.emitting--;
+	}
+
+	private Object[] subscribersAt(int x, int y) {
+		if (!this.contains(x, y)) {
+			return EMPTY;
+		}
+
+		Object[][] page = this.pages[this.page(x, y)];
+		if (page == null || page[this.cell(x, y)] == null) {
+			return EMPTY;
+		}
+		return page[this.cell(x, y)];
+	}
+
+	/**
+	 * Insert a subscription into its tile, keeping registration order.
+	 * 
+	 * Cells are changed in place unless an emit may be iterating them.
+	 */
+	void add(TileSubscription<SAMType> subscription) {
+		int x = subscription.getX();
+		int y = subscription.getY();
+		if (!this.contains(x, y)) {
+			return;
+		}
+
+		Object[][] page = this.pages[this.page(x, y)];
+		if (page == null) {
+			page = this.pages[this.page(x, y)] = new Object[PAGE_SIZE * PAGE_SIZE][];
+		}
+
+		Object[] old = page[this.cell(x, y)];
+		if (old == null) {
+			old = EMPTY;
+		}
+
+		int size = 0;
+		while (size < old.length && old[size] != null) {
+			size++;
+		}
+
+		Object[] subscribers = old;
+		if (size == old.length) {
+			subscribers = new Object[Math.max(2, old.length * 2)];
+		} else if (this.emitting > 0) {
+			subscribers = new Object[old.length];
+		}
+
+		// Shift later subscriptions up to make room
+		int i = size;
+		while (i > 0 && ((TileSubscription<?>) old[i - 1]).order > subscription.order) {
+			subscribers[i] = old[i - 1];
+			i--;
+		}
+		subscribers[i] = subscription;
+		if (subscribers != old) {
+			System.arraycopy(old, 0, subscribers, 0, i);
+		}
+
+		page[this.cell(x, y)] = subscribers;
+	}
+
+	/**
+	 * Remove a subscription from its tile
+	 */
+	void remove(TileSubscription<SAMType> subscription) {
+		int x = subscription.getX();
+		int y = subscription.getY();
+
+		Object[] old = this.subscribersAt(x, y);
+		for (int i = 0; i < old.length && old[i] != null; i++) {
+			if (old[i] != subscription) {
+				continue;
+			}
+
+			Object[] subscribers = old;
+			if (this.emitting > 0) {
+				subscribers = new Object[old.length];
+				System.arraycopy(old, 0, subscribers, 0, i);
+			}
+
+			// Shift later subscriptions down over the removed one
+			for (; i + 1 < old.length && old[i + 1] != null; i++) {
+				subscribers[i] = old[i + 1];
+			}
+			subscribers[i] = null;
+
+			this.pages[this.page(x, y)][this.cell(x, y)] = subscribers;
+			return;
+		}
+	}
+
+	private boolean contains(int x, int y) {
+		return !(y < 0 || y >= this.height || x < 0 || x >= this.width);
+	}
+
+	private int page(int x, int y) {
+		return (y >> PAGE_SHIFT) * this.pagesWide + (x >> PAGE_SHIFT);
+	}
+
+	private int cell(int x, int y) {
+		return ((y & (PAGE_SIZE - 1)) << PAGE_SHIFT) + (x & (PAGE_SIZE - 1));
+	}
+
+}
@@ -0,0 +1,34 @@
+package unsw.dungeon.util.emitter;
+
+/**
+ * Tile-scoped EventEmitter
+ *
+ * @param <BaseType>
+ * @param <DataType>
+ */
+public class TileEventEmitter<BaseType, DataType extends EmitterData>
+		extends TileEmitter<EventSAM<BaseType, DataType>, BaseType, DataType> {
+
+	public TileEventEmitter(BaseType reference, int width, int height) {
+		super(reference, width, height);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean emit(int x, int y, DataType data) {
+		Object[] subscriptions = this.acquire(x, y);
+
+		try {
+			// Execute the tile's subscribers
+			for (int i = 0; i < subscriptions.length && subscriptions[i] != null; i++) {
+				((TileSubscription<EventSAM<BaseType, DataType>>) subscriptions[i]).function.execute(this.reference,
+						data);
+			}
+		} finally {
+			this.release();
+		}
+
+		// Always pass
+		return true;
+	}
+}
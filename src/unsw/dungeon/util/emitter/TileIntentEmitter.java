@@ -0,0 +1,38 @@
+package unsw.dungeon.util.emitter;
+
+/**
+ * Tile-scoped IntentEmitter.
+ * 
+ * Returns true if all checks registered on the tile pass.
+ *
+ * @param <BaseType>
+ * @param <DataType>
+ */
+public class TileIntentEmitter<BaseType, DataType extends EmitterData>
+		extends TileEmitter<IntentSAM<BaseType, DataType>, BaseType, DataType> {
+
+	public TileIntentEmitter(BaseType reference, int width, int height) {
+		super(reference, width, height);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean emit(int x, int y, DataType data) {
+		Object[] subscriptions = this.acquire(x, y);
+
+		try {
+			// Execute the tile's subscribers, return false if any subscribers fail
+			for (int i = 0; i < subscriptions.length && subscriptions[i] != null; i++) {
+				if (!((TileSubscription<IntentSAM<BaseType, DataType>>) subscriptions[i]).function
+						.execute(this.reference, data)) {
+					return false;
+				}
+			}
+		} finally {
+			this.release();
+		}
+
+		// Return with a pass
+		return true;
+	}
+}
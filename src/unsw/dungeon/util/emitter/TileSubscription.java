@@ -0,0 +1,76 @@
+package unsw.dungeon.util.emitter;
+
+/**
+ * A subscriber registered on a tile of a TileEmitter.
+ * 
+ * Subscribers that belong to moving entities follow them with moveTo().
+ *
+ * @param <SAMType>
+ */
+public class TileSubscription<SAMType> {
+	public final SAMType function;
+	final long order;
+
+	private TileEmitter<SAMType, ?, ?> emitter;
+	private int x, y;
+	private boolean active;
+
+	TileSubscription(TileEmitter<SAMType, ?, ?> emitter, SAMType function, long order, int x, int y) {
+		this.emitter = emitter;
+		this.function = function;
+		this.order = order;
+		this.x = x;
+		this.y = y;
+		this.active = true;
+	}
+
+	/**
+	 * Move the subscriber to another tile
+	 * 
+	 * @param x
+	 * @param y
+	 */
+	public void moveTo(int x, int y) {
+		if (!this.active || (this.x == x && this.y == y)) {
+			return;
+		}
+
+		this.emitter.remove(this);
+		this.x = x;
+		this.y = y;
+		this.emitter.add(this);
+	}
+
+	/**
+	 * Remove the subscriber from the emitter
+	 */
+	public void cancel() {
+		if (!this.active) {
+			return;
+		}
+
+		this.emitter.remove(this);
+		this.active = false;
+	}
+
+	/**
+	 * @return Whether the subscriber has not been cancelled
+	 */
+	public boolean isActive() {
+		return this.active;
+	}
+
+	/**
+	 * @return x position of the subscribed tile
+	 */
+	public int getX() {
+		return this.x;
+	}
+
+	/**
+	 * @return y position of the subscribed tile
+	 */
+	public int getY() {
+		return this.y;
+	}
+}